@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Functions for creating the input data used by benchmarks in the regression suite.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkUtils {
+
+	/**
+	 * Converts the short name of an image type used as a benchmark parameter into its class.
+	 *
+	 * @param name Either "U8" or "F32"
+	 * @return The image type
+	 */
+	public static Class<? extends ImageSingleBand> imageType( String name ) {
+		if( name.equals("U8") )
+			return ImageUInt8.class;
+		else if( name.equals("F32") )
+			return ImageFloat32.class;
+		else
+			throw new IllegalArgumentException("Unknown image type: "+name);
+	}
+
+	/**
+	 * Creates an image with a 4:3 aspect ratio which is filled with randomly placed rectangles.  The rectangles
+	 * ensure that there are edges, corners, and blobs for feature detectors to find.
+	 *
+	 * @param type Type of image
+	 * @param width Image width.  Height = 3*width/4
+	 * @param rand Random number generator
+	 */
+	public static <T extends ImageSingleBand> T createImage( Class<T> type , int width , Random rand ) {
+		int height = 3*width/4;
+		T image = GeneralizedImageOps.createSingleBand(type, width, height);
+
+		GeneralizedImageOps.randomize(image, rand, 0, 20);
+
+		int numRectangles = width*height/400;
+		for( int i = 0; i < numRectangles; i++ ) {
+			int w = 5 + rand.nextInt(30);
+			int h = 5 + rand.nextInt(30);
+			int x0 = rand.nextInt(width-w);
+			int y0 = rand.nextInt(height-h);
+
+			GeneralizedImageOps.fillRectangle(image, 50 + rand.nextInt(200), x0, y0, w, h);
+		}
+
+		return image;
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark;
+
+import com.google.caliper.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * <p>
+ * Compares two sets of results saved by {@link RunBenchmarkSuite}, typically from two different releases.  For
+ * each scenario the fastest median time across all trials is compared.  If the current run is slower than the
+ * baseline by more than the tolerance it is reported as a regression and the application exits with an error.
+ * </p>
+ *
+ * <p>
+ * Usage: CompareBenchmarkResults &lt;baseline directory&gt; &lt;current directory&gt; [tolerance]<br>
+ * Tolerance is the fractional increase in time that is allowed.  Default is 0.1.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompareBenchmarkResults {
+
+	// fractional increase in run time which is considered a regression
+	double tolerance;
+
+	// number of scenarios which got slower
+	int totalRegressions;
+
+	public CompareBenchmarkResults(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Compares all the results in the baseline directory against the results in the current directory
+	 *
+	 * @return number of regressions found
+	 */
+	public int compare( File baselineDir , File currentDir ) throws IOException {
+		totalRegressions = 0;
+
+		File[] files = baselineDir.listFiles();
+		if( files == null )
+			throw new IllegalArgumentException("Not a directory: "+baselineDir.getPath());
+		Arrays.sort(files);
+
+		for( File baseline : files ) {
+			if( !baseline.getName().endsWith(".json"))
+				continue;
+
+			File current = new File(currentDir,baseline.getName());
+			if( !current.exists() ) {
+				System.out.println("Missing from current results: "+baseline.getName());
+				continue;
+			}
+
+			compare(baseline.getName(), load(baseline), load(current));
+		}
+
+		return totalRegressions;
+	}
+
+	private void compare( String name , Map<String,Double> baseline , Map<String,Double> current ) {
+		System.out.println("==================== "+name);
+
+		for( String scenario : baseline.keySet() ) {
+			Double timeCurrent = current.get(scenario);
+			if( timeCurrent == null ) {
+				System.out.println("  missing "+scenario);
+				continue;
+			}
+			double timeBaseline = baseline.get(scenario);
+			double change = (timeCurrent-timeBaseline)/timeBaseline;
+
+			String flag = "";
+			if( change > tolerance ) {
+				flag = "  REGRESSION";
+				totalRegressions++;
+			}
+
+			System.out.printf("  %-60s %12.1f ns %12.1f ns %+7.1f%%%s\n",
+					scenario,timeBaseline,timeCurrent,change*100,flag);
+		}
+	}
+
+	/**
+	 * Loads caliper results and returns the fastest median time for each scenario across all the trials
+	 */
+	public static Map<String,Double> load( File file ) throws IOException {
+		InputStream in = new FileInputStream(file);
+		Result result;
+		try {
+			result = new ResultsReader().getResult(in);
+		} finally {
+			in.close();
+		}
+
+		Map<String,Double> times = new TreeMap<String,Double>();
+		Map<Scenario,ScenarioResult> measurements = result.getRun().getMeasurements();
+
+		for( Scenario s : measurements.keySet() ) {
+			MeasurementSet set = measurements.get(s).getMeasurementSet(MeasurementType.TIME);
+			if( set == null )
+				continue;
+
+			String key = scenarioKey(s);
+			double time = set.medianRaw();
+			Double previous = times.get(key);
+			if( previous == null || previous > time )
+				times.put(key,time);
+		}
+
+		return times;
+	}
+
+	/**
+	 * Identifies the scenario using all of its variables, except for the VM and trial number
+	 */
+	private static String scenarioKey( Scenario s ) {
+		Map<String,String> variables = new TreeMap<String,String>(s.getVariables());
+		variables.remove("vm");
+		variables.remove("trial");
+		return variables.toString();
+	}
+
+	public static void main( String args[] ) throws IOException {
+		if( args.length < 2 ) {
+			System.out.println("Usage: CompareBenchmarkResults <baseline directory> <current directory> [tolerance]");
+			System.exit(1);
+		}
+
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+
+		CompareBenchmarkResults app = new CompareBenchmarkResults(tolerance);
+		int regressions = app.compare(new File(args[0]),new File(args[1]));
+
+		System.out.println();
+		System.out.println("Total regressions: "+regressions);
+		if( regressions > 0 )
+			System.exit(1);
+	}
+}
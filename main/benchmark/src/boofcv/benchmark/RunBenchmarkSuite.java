@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark;
+
+import boofcv.benchmark.feature.BenchmarkAssociateGreedy;
+import boofcv.benchmark.feature.BenchmarkDescribeRegion;
+import boofcv.benchmark.feature.BenchmarkDetectFastHessian;
+import boofcv.benchmark.feature.BenchmarkStereoDisparity;
+import boofcv.benchmark.geo.BenchmarkEpipolarLinear;
+import boofcv.benchmark.geo.BenchmarkRobustEpipolar;
+import boofcv.benchmark.ip.BenchmarkBlurOps;
+import boofcv.benchmark.ip.BenchmarkDerivativeOps;
+import boofcv.benchmark.ip.BenchmarkDistortOps;
+import boofcv.benchmark.numerics.BenchmarkModelMatcher;
+import com.google.caliper.Runner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Runs every benchmark in the runtime regression suite and saves the results of each benchmark into its own
+ * JSON file.  Caliper runs each scenario in a separate VM, warms up the JIT, and repeats each measurement
+ * multiple times.  The saved results can be compared between releases using {@link CompareBenchmarkResults}.
+ * </p>
+ *
+ * <p>
+ * Usage: RunBenchmarkSuite &lt;results directory&gt; [benchmark name] ... <br>
+ * If one or more benchmark names are specified (e.g. BenchmarkBlurOps) then only those are run.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RunBenchmarkSuite {
+
+	/**
+	 * All the benchmarks in the suite
+	 */
+	public static final Class<?> BENCHMARKS[] = new Class<?>[]{
+			BenchmarkBlurOps.class,
+			BenchmarkDerivativeOps.class,
+			BenchmarkDistortOps.class,
+			BenchmarkDetectFastHessian.class,
+			BenchmarkDescribeRegion.class,
+			BenchmarkAssociateGreedy.class,
+			BenchmarkStereoDisparity.class,
+			BenchmarkEpipolarLinear.class,
+			BenchmarkRobustEpipolar.class,
+			BenchmarkModelMatcher.class};
+
+	/**
+	 * Arguments passed to caliper for every benchmark
+	 */
+	public static final String CALIPER_ARGS[] = new String[]{
+			"--trials","3",
+			"--warmupMillis","3000",
+			"--runMillis","1000"};
+
+	public static void main( String args[] ) {
+		if( args.length < 1 ) {
+			System.out.println("Usage: RunBenchmarkSuite <results directory> [benchmark name] ...");
+			System.exit(1);
+		}
+
+		File outputDir = new File(args[0]);
+		if( !outputDir.exists() && !outputDir.mkdirs() )
+			throw new RuntimeException("Can't create output directory "+outputDir.getPath());
+
+		List<String> selected = Arrays.asList(args).subList(1, args.length);
+
+		List<String> failed = new ArrayList<String>();
+		for( Class<?> c : BENCHMARKS ) {
+			if( selected.size() > 0 && !selected.contains(c.getSimpleName()) )
+				continue;
+
+			System.out.println("==================== "+c.getSimpleName());
+
+			List<String> caliperArgs = new ArrayList<String>();
+			caliperArgs.addAll(Arrays.asList(CALIPER_ARGS));
+			caliperArgs.add("--saveResults");
+			caliperArgs.add(new File(outputDir,c.getSimpleName()+".json").getPath());
+			caliperArgs.add(c.getName());
+
+			try {
+				new Runner().run(caliperArgs.toArray(new String[caliperArgs.size()]));
+			} catch( RuntimeException e ) {
+				e.printStackTrace();
+				failed.add(c.getSimpleName());
+			}
+		}
+
+		if( failed.size() > 0 ) {
+			System.out.println("Failed benchmarks: "+failed);
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.associate.GeneralAssociation;
+import boofcv.abst.feature.associate.WrapAssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedy_MT;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F64;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for feature association.  The destination list is composed of noisy copies
+ * of the source list, which are then shuffled.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkAssociateGreedy extends SimpleBenchmark {
+
+	@Param({"500", "2000"}) private int numFeatures;
+
+	FastQueue<TupleDesc_F64> srcF64;
+	FastQueue<TupleDesc_F64> dstF64;
+	FastQueue<TupleDesc_B> srcB;
+	FastQueue<TupleDesc_B> dstB;
+
+	@Override protected void setUp() throws Exception {
+		Random rand = new Random(234);
+
+		srcF64 = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,64,true);
+		dstF64 = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,64,true);
+		srcB = new TupleDescQueue<TupleDesc_B>(TupleDesc_B.class,512,true);
+		dstB = new TupleDescQueue<TupleDesc_B>(TupleDesc_B.class,512,true);
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_F64 a = srcF64.grow();
+			TupleDesc_F64 b = dstF64.grow();
+			for( int j = 0; j < a.value.length; j++ ) {
+				a.value[j] = rand.nextDouble();
+				b.value[j] = a.value[j] + rand.nextGaussian()*0.01;
+			}
+
+			TupleDesc_B c = srcB.grow();
+			TupleDesc_B d = dstB.grow();
+			for( int j = 0; j < c.data.length; j++ ) {
+				c.data[j] = rand.nextInt();
+				// flip a single bit
+				d.data[j] = c.data[j] ^ (1 << rand.nextInt(32));
+			}
+		}
+
+		shuffle(dstF64,rand);
+		shuffle(dstB,rand);
+	}
+
+	private static void shuffle( FastQueue list , Random rand ) {
+		for( int i = list.size-1; i > 0; i-- ) {
+			int j = rand.nextInt(i+1);
+			Object tmp = list.data[i];
+			list.data[i] = list.data[j];
+			list.data[j] = tmp;
+		}
+	}
+
+	public int timeGreedy_F64(int reps) {
+		GeneralAssociation<TupleDesc_F64> alg =
+				FactoryAssociation.greedy(FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),
+						Double.MAX_VALUE,-1,false);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcF64,dstF64);
+		return alg.getMatches().size;
+	}
+
+	public int timeGreedyBackwards_F64(int reps) {
+		GeneralAssociation<TupleDesc_F64> alg =
+				FactoryAssociation.greedy(FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),
+						Double.MAX_VALUE,-1,true);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcF64,dstF64);
+		return alg.getMatches().size;
+	}
+
+	public int timeGreedyBackwardsMT_F64(int reps) {
+		AssociateGreedy<TupleDesc_F64> greedy = new AssociateGreedy_MT<TupleDesc_F64>(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,true);
+		GeneralAssociation<TupleDesc_F64> alg = new WrapAssociateGreedy<TupleDesc_F64>(greedy,-1);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcF64,dstF64);
+		return alg.getMatches().size;
+	}
+
+	public int timeKdTree_F64(int reps) {
+		GeneralAssociation<TupleDesc_F64> alg =
+				FactoryAssociation.kdtree(FactoryAssociation.kdDistance(TupleDesc_F64.class),
+						Double.MAX_VALUE,-1,200,false);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcF64,dstF64);
+		return alg.getMatches().size;
+	}
+
+	public int timeKdForest_F64(int reps) {
+		GeneralAssociation<TupleDesc_F64> alg =
+				FactoryAssociation.kdRandomForest(FactoryAssociation.kdDistance(TupleDesc_F64.class),
+						Double.MAX_VALUE,-1,200,4,5,false,234);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcF64,dstF64);
+		return alg.getMatches().size;
+	}
+
+	public int timeGreedy_B(int reps) {
+		GeneralAssociation<TupleDesc_B> alg =
+				FactoryAssociation.greedy(FactoryAssociation.scoreHamming(TupleDesc_B.class),
+						Double.MAX_VALUE,-1,false);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcB,dstB);
+		return alg.getMatches().size;
+	}
+
+	public int timeGreedyBackwards_B(int reps) {
+		GeneralAssociation<TupleDesc_B> alg =
+				FactoryAssociation.greedy(FactoryAssociation.scoreHamming(TupleDesc_B.class),
+						Double.MAX_VALUE,-1,true);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcB,dstB);
+		return alg.getMatches().size;
+	}
+
+	public int timeMultiIndex_B(int reps) {
+		GeneralAssociation<TupleDesc_B> alg =
+				FactoryAssociation.hammingMultiIndex(Double.MAX_VALUE,-1,-1,-1,false);
+		for( int i = 0; i < reps; i++ )
+			alg.associate(srcB,dstB);
+		return alg.getMatches().size;
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkAssociateGreedy.class, args);
+	}
+}
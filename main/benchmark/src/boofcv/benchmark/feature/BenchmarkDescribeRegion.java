@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.benchmark.BenchmarkUtils;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.image.ImageFloat32;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+import georegression.struct.point.Point2D_F64;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for region descriptors.  Each descriptor is computed at the same set of
+ * randomly selected points.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkDescribeRegion extends SimpleBenchmark {
+
+	@Param({"640", "1280"}) private int width;
+	@Param({"500", "2000"}) private int numFeatures;
+
+	ImageFloat32 input;
+
+	List<Point2D_F64> points = new ArrayList<Point2D_F64>();
+	double orientation[];
+	double scale[];
+
+	@Override protected void setUp() throws Exception {
+		Random rand = new Random(234);
+		input = BenchmarkUtils.createImage(ImageFloat32.class,width,rand);
+
+		points.clear();
+		orientation = new double[numFeatures];
+		scale = new double[numFeatures];
+		for( int i = 0; i < numFeatures; i++ ) {
+			points.add( new Point2D_F64(40+rand.nextInt(input.width-80),40+rand.nextInt(input.height-80)));
+			orientation[i] = (rand.nextDouble()-0.5)*Math.PI;
+			scale[i] = 1 + rand.nextDouble();
+		}
+	}
+
+	private int describe( DescribeRegionPoint<ImageFloat32,TupleDesc> alg , int reps ) {
+		TupleDescQueue<TupleDesc> storage = new TupleDescQueue<TupleDesc>(alg,true);
+
+		for( int i = 0; i < reps; i++ ) {
+			alg.setImage(input);
+			storage.reset();
+			for( int j = 0; j < points.size(); j++ ) {
+				Point2D_F64 p = points.get(j);
+				if( alg.isInBounds(p.x,p.y,orientation[j],scale[j]))
+					alg.process(p.x,p.y,orientation[j],scale[j],storage.grow());
+			}
+		}
+		return storage.size;
+	}
+
+	public int timeSurf(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.surf(true, ImageFloat32.class),reps);
+	}
+
+	public int timeSurfM(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.surfm(true, ImageFloat32.class),reps);
+	}
+
+	public int timeBrief(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.brief(16, 512, -1, 4, true, ImageFloat32.class),reps);
+	}
+
+	public int timeBriefSO(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.brief(16, 512, -1, 4, false, ImageFloat32.class),reps);
+	}
+
+	public int timeGaussian12(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.gaussian12(20, ImageFloat32.class, ImageFloat32.class),reps);
+	}
+
+	public int timePixelNCC(int reps) {
+		return describe((DescribeRegionPoint)FactoryDescribeRegionPoint.pixelNCC(11, 11, ImageFloat32.class),reps);
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkDescribeRegion.class, args);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.benchmark.BenchmarkUtils;
+import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
+import boofcv.struct.image.ImageSingleBand;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for the Fast Hessian (SURF) detector.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkDetectFastHessian extends SimpleBenchmark {
+
+	@Param({"320", "640", "1280"}) private int width;
+	@Param({"U8", "F32"}) private String imageType;
+
+	ImageSingleBand input;
+	InterestPointDetector detector;
+
+	@Override protected void setUp() throws Exception {
+		Class<ImageSingleBand> type = (Class)BenchmarkUtils.imageType(imageType);
+		input = BenchmarkUtils.createImage(type,width,new Random(234));
+		detector = FactoryInterestPoint.fastHessian(1, 2, -1, 1, 9, 4, 4);
+	}
+
+	public int timeDetect(int reps) {
+		int total = 0;
+		for( int i = 0; i < reps; i++ ) {
+			detector.detect(input);
+			total += detector.getNumberOfFeatures();
+		}
+		return total;
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkDetectFastHessian.class, args);
+	}
+}
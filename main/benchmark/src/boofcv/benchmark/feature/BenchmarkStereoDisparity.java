@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.benchmark.BenchmarkUtils;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for dense stereo disparity.  The right image is the left image shifted
+ * by a constant amount.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkStereoDisparity extends SimpleBenchmark {
+
+	@Param({"320", "640"}) private int width;
+	@Param({"U8", "F32"}) private String imageType;
+	@Param({"RECT", "RECT_FIVE"}) private DisparityAlgorithms algorithm;
+	@Param({"50", "100"}) private int maxDisparity;
+
+	ImageSingleBand left;
+	ImageSingleBand right;
+
+	StereoDisparity<ImageSingleBand,ImageUInt8> alg;
+
+	@Override protected void setUp() throws Exception {
+		Class<ImageSingleBand> type = (Class)BenchmarkUtils.imageType(imageType);
+		left = BenchmarkUtils.createImage(type,width,new Random(234));
+		right = (ImageSingleBand)left._createNew(left.width,left.height);
+
+		int shift = 10;
+		right.subimage(0,0,left.width-shift,left.height).setTo(left.subimage(shift,0,left.width,left.height));
+
+		alg = FactoryStereoDisparity.regionWta(algorithm,0,maxDisparity,3,3,-1,-1,-1,type);
+	}
+
+	public int timeDisparity(int reps) {
+		for( int i = 0; i < reps; i++ )
+			alg.process(left,right);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkStereoDisparity.class, args);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.geo;
+
+import boofcv.abst.geo.Estimate1ofEpipolar;
+import boofcv.factory.geo.EnumEpipolar;
+import boofcv.factory.geo.FactoryMultiView;
+import boofcv.struct.geo.AssociatedPair;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for linear estimation of epipolar matrices.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkEpipolarLinear extends SimpleBenchmark {
+
+	@Param({"8", "50", "500"}) private int numPoints;
+
+	List<AssociatedPair> pairs;
+	List<AssociatedPair> pairsPlanar;
+
+	DenseMatrix64F found = new DenseMatrix64F(3,3);
+
+	@Override protected void setUp() throws Exception {
+		Random rand = new Random(234);
+		pairs = SyntheticStereoPairs.create(numPoints,false,0.5,0,rand);
+		pairsPlanar = SyntheticStereoPairs.create(numPoints,true,0.5,0,rand);
+	}
+
+	private int estimate( Estimate1ofEpipolar alg , List<AssociatedPair> points , int reps ) {
+		int total = 0;
+		for( int i = 0; i < reps; i++ ) {
+			if( alg.process(points,found) )
+				total++;
+		}
+		return total;
+	}
+
+	public int timeFundamental8(int reps) {
+		return estimate(FactoryMultiView.computeFundamental_1(EnumEpipolar.FUNDAMENTAL_8_LINEAR,0),pairs,reps);
+	}
+
+	public int timeFundamental7(int reps) {
+		// the 7-point algorithm requires an exact number of points
+		return estimate(FactoryMultiView.computeFundamental_1(EnumEpipolar.FUNDAMENTAL_7_LINEAR,1),pairs.subList(0,8),reps);
+	}
+
+	public int timeHomography4(int reps) {
+		return estimate(FactoryMultiView.computeHomography(true),pairsPlanar,reps);
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkEpipolarLinear.class, args);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.geo;
+
+import boofcv.abst.geo.fitting.DistanceFromModelResidual;
+import boofcv.abst.geo.fitting.GenerateEpipolarMatrix;
+import boofcv.alg.geo.f.FundamentalResidualSampson;
+import boofcv.factory.geo.EnumEpipolar;
+import boofcv.factory.geo.FactoryMultiView;
+import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.ModelGenerator;
+import boofcv.numerics.fitting.modelset.ModelMatcher;
+import boofcv.numerics.fitting.modelset.lmeds.LeastMedianOfSquares;
+import boofcv.numerics.fitting.modelset.lmeds.LeastMedianOfSquares_MT;
+import boofcv.numerics.fitting.modelset.ransac.Ransac;
+import boofcv.struct.geo.AssociatedPair;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for robust estimation of the fundamental matrix.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkRobustEpipolar extends SimpleBenchmark {
+
+	@Param({"200", "1000"}) private int numPoints;
+	@Param({"0.3"}) private double outlierFraction;
+
+	List<AssociatedPair> pairs;
+
+	@Override protected void setUp() throws Exception {
+		pairs = SyntheticStereoPairs.create(numPoints,false,0.5,outlierFraction,new Random(234));
+	}
+
+	private GenerateEpipolarMatrix createGenerator() {
+		return new GenerateEpipolarMatrix(FactoryMultiView.computeFundamental_1(EnumEpipolar.FUNDAMENTAL_7_LINEAR, 2));
+	}
+
+	private DistanceFromModelResidual<DenseMatrix64F,AssociatedPair> createDistance() {
+		return new DistanceFromModelResidual<DenseMatrix64F,AssociatedPair>(new FundamentalResidualSampson());
+	}
+
+	private int process( ModelMatcher<DenseMatrix64F,AssociatedPair> alg , int reps ) {
+		int total = 0;
+		for( int i = 0; i < reps; i++ ) {
+			if( alg.process(pairs) )
+				total += alg.getMatchSet().size();
+		}
+		return total;
+	}
+
+	public int timeRansac(int reps) {
+		return process(new Ransac<DenseMatrix64F,AssociatedPair>(234,createGenerator(),createDistance(),500,1.0),reps);
+	}
+
+	public int timeLMedS(int reps) {
+		GenerateEpipolarMatrix generator = createGenerator();
+		return process(new LeastMedianOfSquares<DenseMatrix64F,AssociatedPair>(234,generator.getMinimumPoints(),
+				500,1.0,0.9,generator,createDistance()),reps);
+	}
+
+	public int timeLMedS_MT(int reps) {
+		List<ModelGenerator<DenseMatrix64F,AssociatedPair>> generators =
+				new ArrayList<ModelGenerator<DenseMatrix64F,AssociatedPair>>();
+		List<DistanceFromModel<DenseMatrix64F,AssociatedPair>> distances =
+				new ArrayList<DistanceFromModel<DenseMatrix64F,AssociatedPair>>();
+		for( int i = 0; i < 4; i++ ) {
+			generators.add(createGenerator());
+			distances.add(createDistance());
+		}
+		return process(new LeastMedianOfSquares_MT<DenseMatrix64F,AssociatedPair>(234,
+				generators.get(0).getMinimumPoints(),500,1.0,0.9,generators,distances),reps);
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkRobustEpipolar.class, args);
+	}
+}
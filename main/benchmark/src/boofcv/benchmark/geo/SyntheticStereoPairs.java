@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.geo;
+
+import boofcv.alg.geo.PerspectiveOps;
+import boofcv.struct.geo.AssociatedPair;
+import georegression.geometry.RotationMatrixGenerator;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.transform.se.SePointOps_F64;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates a synthetic set of associated pixel observations from two views of a random 3D scene with
+ * known motion.  Optionally a fraction of the observations are replaced with outliers.
+ *
+ * @author Peter Abeles
+ */
+public class SyntheticStereoPairs {
+
+	// a reasonable calibration matrix
+	public static DenseMatrix64F K = new DenseMatrix64F(3,3,true,705,0,326,0,704,224,0,0,1);
+
+	/**
+	 * Generates a list of associated pixel observations.
+	 *
+	 * @param N Number of observations
+	 * @param planar If true all the points will lie on a plane, e.g. for homographies.
+	 * @param noiseSigma Standard deviation of pixel noise
+	 * @param outlierFraction Fraction of observations which are replaced by random points.
+	 * @param rand Random number generator
+	 */
+	public static List<AssociatedPair> create( int N , boolean planar ,
+											   double noiseSigma , double outlierFraction ,
+											   Random rand ) {
+		Se3_F64 motion = new Se3_F64();
+		motion.getR().set(RotationMatrixGenerator.eulerArbitrary(0, 1, 2, 0.05, -0.03, 0.02));
+		motion.getT().set(0.3,-0.05,0.02);
+
+		List<AssociatedPair> pairs = new ArrayList<AssociatedPair>();
+		Point3D_F64 p2 = new Point3D_F64();
+
+		for( int i = 0; i < N; i++ ) {
+			Point3D_F64 p1 = new Point3D_F64();
+			p1.x = (rand.nextDouble()-0.5)*2;
+			p1.y = (rand.nextDouble()-0.5)*2;
+			p1.z = planar ? 3 : 2 + rand.nextDouble();
+
+			SePointOps_F64.transform(motion,p1,p2);
+
+			AssociatedPair pair = new AssociatedPair();
+			pair.p1.set(p1.x/p1.z,p1.y/p1.z);
+			pair.p2.set(p2.x/p2.z,p2.y/p2.z);
+
+			PerspectiveOps.convertNormToPixel(K,pair.p1,pair.p1);
+			PerspectiveOps.convertNormToPixel(K,pair.p2,pair.p2);
+
+			if( rand.nextDouble() < outlierFraction ) {
+				pair.p2.x = rand.nextDouble()*640;
+				pair.p2.y = rand.nextDouble()*480;
+			} else {
+				pair.p1.x += rand.nextGaussian()*noiseSigma;
+				pair.p1.y += rand.nextGaussian()*noiseSigma;
+				pair.p2.x += rand.nextGaussian()*noiseSigma;
+				pair.p2.y += rand.nextGaussian()*noiseSigma;
+			}
+
+			pairs.add(pair);
+		}
+
+		return pairs;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.benchmark.BenchmarkUtils;
+import boofcv.struct.image.ImageSingleBand;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for image blur operations.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkBlurOps extends SimpleBenchmark {
+
+	@Param({"320", "640", "1280"}) private int width;
+	@Param({"U8", "F32"}) private String imageType;
+	@Param({"2", "6"}) private int radius;
+
+	ImageSingleBand input;
+	ImageSingleBand output;
+	ImageSingleBand storage;
+
+	@Override protected void setUp() throws Exception {
+		Class<ImageSingleBand> type = (Class)BenchmarkUtils.imageType(imageType);
+		input = BenchmarkUtils.createImage(type,width,new Random(234));
+		output = (ImageSingleBand)input._createNew(input.width,input.height);
+		storage = (ImageSingleBand)input._createNew(input.width,input.height);
+	}
+
+	public int timeGaussian(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GBlurImageOps.gaussian(input,output,-1,radius,storage);
+		return 0;
+	}
+
+	public int timeMean(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GBlurImageOps.mean(input,output,radius,storage);
+		return 0;
+	}
+
+	public int timeMedian(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GBlurImageOps.median(input,output,radius);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkBlurOps.class, args);
+	}
+}
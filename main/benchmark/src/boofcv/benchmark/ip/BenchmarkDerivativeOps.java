@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.benchmark.BenchmarkUtils;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImageSingleBand;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for image gradients.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration", "unchecked"})
+public class BenchmarkDerivativeOps extends SimpleBenchmark {
+
+	@Param({"320", "640", "1280"}) private int width;
+	@Param({"U8", "F32"}) private String imageType;
+
+	ImageSingleBand input;
+	ImageSingleBand derivX;
+	ImageSingleBand derivY;
+	ImageSingleBand derivXY;
+
+	@Override protected void setUp() throws Exception {
+		Class<ImageSingleBand> type = (Class)BenchmarkUtils.imageType(imageType);
+		Class<ImageSingleBand> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		input = BenchmarkUtils.createImage(type,width,new Random(234));
+		derivX = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+		derivY = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+		derivXY = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+	}
+
+	public int timeSobel(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GImageDerivativeOps.sobel(input,derivX,derivY,BorderType.EXTENDED);
+		return 0;
+	}
+
+	public int timeThree(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GImageDerivativeOps.three(input,derivX,derivY,BorderType.EXTENDED);
+		return 0;
+	}
+
+	public int timeHessianSobel(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GImageDerivativeOps.hessianSobel(input,derivX,derivY,derivXY,BorderType.EXTENDED);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkDerivativeOps.class, args);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.numerics;
+
+import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.ModelGenerator;
+import boofcv.numerics.fitting.modelset.ModelMatcher;
+import boofcv.numerics.fitting.modelset.lmeds.LeastMedianOfSquares;
+import boofcv.numerics.fitting.modelset.ransac.PreemptiveRansac;
+import boofcv.numerics.fitting.modelset.ransac.Ransac;
+import boofcv.numerics.fitting.modelset.ransac.SequentialProbabilityRatioTest;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+import georegression.struct.point.Point2D_F64;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runtime regression benchmark for robust model matchers.  A trivial line model is used so that the
+ * overhead of the matchers themselves dominates.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkModelMatcher extends SimpleBenchmark {
+
+	@Param({"200", "2000"}) private int numPoints;
+	@Param({"0.2", "0.5"}) private double outlierFraction;
+
+	List<Point2D_F64> points = new ArrayList<Point2D_F64>();
+
+	@Override protected void setUp() throws Exception {
+		Random rand = new Random(234);
+
+		points.clear();
+		for( int i = 0; i < numPoints; i++ ) {
+			double x = rand.nextDouble()*10;
+			double y;
+			if( rand.nextDouble() < outlierFraction )
+				y = rand.nextDouble()*20-5;
+			else
+				y = 0.5*x + 2 + rand.nextGaussian()*0.05;
+			points.add( new Point2D_F64(x,y));
+		}
+	}
+
+	private int process( ModelMatcher<double[],Point2D_F64> alg , int reps ) {
+		int total = 0;
+		for( int i = 0; i < reps; i++ ) {
+			if( alg.process(points) )
+				total += alg.getMatchSet().size();
+		}
+		return total;
+	}
+
+	public int timeRansac(int reps) {
+		return process(new Ransac<double[],Point2D_F64>(234,new LineGenerator(),new LineDistance(),200,0.2),reps);
+	}
+
+	public int timeRansacSprt(int reps) {
+		Ransac<double[],Point2D_F64> alg =
+				new Ransac<double[],Point2D_F64>(234,new LineGenerator(),new LineDistance(),200,0.2);
+		alg.setSprt(new SequentialProbabilityRatioTest(20,0.1,0.01));
+		return process(alg,reps);
+	}
+
+	public int timePreemptive(int reps) {
+		return process(new PreemptiveRansac<double[],Point2D_F64>(234,new LineGenerator(),new LineDistance(),
+				200,50,0.2),reps);
+	}
+
+	public int timeLMedS(int reps) {
+		return process(new LeastMedianOfSquares<double[],Point2D_F64>(234,2,200,1.0,0.9,
+				new LineGenerator(),new LineDistance()),reps);
+	}
+
+	/**
+	 * Line model y = a*x + b, stored as {a,b}, computed from two points.
+	 */
+	private static class LineGenerator implements ModelGenerator<double[],Point2D_F64> {
+		@Override
+		public double[] createModelInstance() {
+			return new double[2];
+		}
+
+		@Override
+		public boolean generate(List<Point2D_F64> dataSet, double[] model) {
+			Point2D_F64 a = dataSet.get(0);
+			Point2D_F64 b = dataSet.get(1);
+
+			double dx = b.x - a.x;
+			if( dx == 0 )
+				return false;
+
+			model[0] = (b.y - a.y)/dx;
+			model[1] = a.y - model[0]*a.x;
+			return true;
+		}
+
+		@Override
+		public int getMinimumPoints() {
+			return 2;
+		}
+	}
+
+	/**
+	 * Vertical distance of a point from the line
+	 */
+	private static class LineDistance implements DistanceFromModel<double[],Point2D_F64> {
+		double a,b;
+
+		@Override
+		public void setModel(double[] model) {
+			a = model[0];
+			b = model[1];
+		}
+
+		@Override
+		public double computeDistance(Point2D_F64 pt) {
+			return Math.abs(a*pt.x + b - pt.y);
+		}
+
+		@Override
+		public void computeDistance(List<Point2D_F64> points, double[] distance) {
+			for( int i = 0; i < points.size(); i++ )
+				distance[i] = computeDistance(points.get(i));
+		}
+	}
+
+	public static void main( String args[] ) {
+		Runner.main(BenchmarkModelMatcher.class, args);
+	}
+}
@@ -45,27 +45,44 @@ public class BenchmarkFeatureScore {
 	static final FastQueue<TupleDesc_F64> listA = createSet();
 	static final FastQueue<TupleDesc_F64> listB = createSet();
 
+	static final FastQueue<TupleDesc_F32> listA_F32 = createSet_F32();
+	static final FastQueue<TupleDesc_F32> listB_F32 = createSet_F32();
+
+	static final FastQueue<TupleDesc_U8> listA_U8 = createSet_U8();
+	static final FastQueue<TupleDesc_U8> listB_U8 = createSet_U8();
+
 	static final FastQueue<TupleDesc_B> briefA = createBriefSet();
 	static final FastQueue<TupleDesc_B> briefB = createBriefSet();
 
 	static final FastQueue<NccFeature> nccA = createNccSet();
 	static final FastQueue<NccFeature> nccB = createNccSet();
 
+	// sum of all the scores.  Prevents the JVM from optimizing away the calls
+	static double total;
+
 	public static class General implements Performer {
 
 		ScoreAssociation alg;
 		String name;
+		FastQueue setA;
+		FastQueue setB;
 
 		public General(String name, ScoreAssociation alg) {
+			this(name,alg,listA,listB);
+		}
+
+		public General(String name, ScoreAssociation alg, FastQueue setA, FastQueue setB) {
 			this.alg = alg;
 			this.name = name;
+			this.setA = setA;
+			this.setB = setB;
 		}
 
 		@Override
 		public void process() {
-			for( int i = 0; i < listA.size; i++ )
-				for( int j = 0; j < listB.size; j++ )
-					alg.score(listA.data[i],listB.data[j]);
+			for( int i = 0; i < setA.size; i++ )
+				for( int j = 0; j < setB.size; j++ )
+					total += alg.score(setA.data[i],setB.data[j]);
 		}
 
 		@Override
@@ -82,7 +99,7 @@ public class BenchmarkFeatureScore {
 		public void process() {
 			for( int i = 0; i < briefA.size; i++ )
 				for( int j = 0; j < briefB.size; j++ )
-					scorer.score(briefA.data[i],briefB.data[j]);
+					total += scorer.score(briefA.data[i],briefB.data[j]);
 		}
 	}
 
@@ -94,7 +111,7 @@ public class BenchmarkFeatureScore {
 		public void process() {
 			for( int i = 0; i < nccA.size; i++ )
 				for( int j = 0; j < nccB.size; j++ )
-					scorer.score(nccA.data[i],nccB.data[j]);
+					total += scorer.score(nccA.data[i],nccB.data[j]);
 		}
 	}
 
@@ -110,6 +127,30 @@ public class BenchmarkFeatureScore {
 		return ret;
 	}
 
+	private static FastQueue<TupleDesc_F32> createSet_F32() {
+		FastQueue<TupleDesc_F32> ret = new TupleDescQueue<TupleDesc_F32>(TupleDesc_F32.class,DOF_TUPLE, true);
+
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			TupleDesc_F32 t = ret.grow();
+			for( int j = 0; j < DOF_TUPLE; j++ ) {
+				t.value[j] = (rand.nextFloat()-0.5f)*20;
+			}
+		}
+		return ret;
+	}
+
+	private static FastQueue<TupleDesc_U8> createSet_U8() {
+		FastQueue<TupleDesc_U8> ret = new TupleDescQueue<TupleDesc_U8>(TupleDesc_U8.class,DOF_TUPLE, true);
+
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			TupleDesc_U8 t = ret.grow();
+			for( int j = 0; j < DOF_TUPLE; j++ ) {
+				t.value[j] = (byte)rand.nextInt(256);
+			}
+		}
+		return ret;
+	}
+
 	private static FastQueue<TupleDesc_B> createBriefSet() {
 		FastQueue<TupleDesc_B> ret = new BriefFeatureQueue(DOF_BRIEF);
 
@@ -144,6 +185,10 @@ public class BenchmarkFeatureScore {
 		ProfileOperation.printOpsPerSec(new General("Correlation", new ScoreAssociateCorrelation()),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new General("Euclidean", new ScoreAssociateEuclidean_F64()),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new General("Euclidean Sq", new ScoreAssociateEuclideanSq_F64()),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("Euclidean Sq F32", new ScoreAssociateEuclideanSq_F32(),listA_F32,listB_F32),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("SAD F64", new ScoreAssociateSad_F64()),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("SAD F32", new ScoreAssociateSad_F32(),listA_F32,listB_F32),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("SAD U8", new ScoreAssociateSad_U8(),listA_U8,listB_U8),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Brief(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Ncc(),TEST_TIME);
 
@@ -22,6 +22,7 @@ import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
@@ -30,6 +31,7 @@ import boofcv.misc.Performer;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDescQueue;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
@@ -56,6 +58,9 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 	Point2D_I32 pts[];
 	double scales[];
 	double yaws[];
+	// coordinates of each point for batch processing
+	double ptsX[];
+	double ptsY[];
 
 	Class<I> imageType;
 	Class<D> derivType;
@@ -75,6 +80,8 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 		pts = new Point2D_I32[ NUM_POINTS ];
 		scales = new double[ NUM_POINTS ];
 		yaws = new double[ NUM_POINTS ];
+		ptsX = new double[ NUM_POINTS ];
+		ptsY = new double[ NUM_POINTS ];
 		int border = 20;
 		for( int i = 0; i < NUM_POINTS; i++ ) {
 			int x = rand.nextInt(width-border*2)+border;
@@ -82,6 +89,8 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 			pts[i] = new Point2D_I32(x,y);
 			scales[i] = rand.nextDouble()*3+1;
 			yaws[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
+			ptsX[i] = x;
+			ptsY[i] = y;
 		}
 
 	}
@@ -145,6 +154,30 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 		}
 	}
 
+	public class Batch<D extends TupleDesc> implements Performer {
+
+		DescribeRegionPoint<I,D> alg;
+		TupleDescQueue<D> output;
+		String name;
+
+		public Batch(String name, DescribeRegionPoint<I,D> alg) {
+			this.alg = alg;
+			this.name = name;
+			output = new TupleDescQueue<D>(alg,true);
+		}
+
+		@Override
+		public void process() {
+			alg.setImage(image);
+			alg.process(ptsX,ptsY,yaws,scales,NUM_POINTS,output);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
 	public void perform() {
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
 		System.out.println();
@@ -153,6 +186,22 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 		ProfileOperation.printOpsPerSec(new Describe("MSURF", FactoryDescribeRegionPoint.<I,II>surfm(true, imageType)),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Describe("SURF UP", FactoryDescribeRegionPoint.<I,II>surf(false, imageType)),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Describe("MSURF UP", FactoryDescribeRegionPoint.<I,II>surfm(false, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("SURF Batch", FactoryDescribeRegionPoint.<I,II>surf(true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("MSURF Batch", FactoryDescribeRegionPoint.<I,II>surfm(true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("BRIEF Batch", FactoryDescribeRegionPoint.brief(16, 512, 0, 4, true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("BRIEF-SO Batch", FactoryDescribeRegionPoint.brief(16, 512, 0, 4, false, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("ORB Batch", FactoryDescribeRegionPoint.orb(15, 256, 30, new int[]{1,2,4}, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("Gaussian 12 r=12 Batch", FactoryDescribeRegionPoint.gaussian12(12, imageType, derivType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("NCC 11x11 Batch", FactoryDescribeRegionPoint.pixelNCC(11, 11, imageType)),TEST_TIME);
+		BoofConcurrency.USE_CONCURRENT = true;
+		ProfileOperation.printOpsPerSec(new Batch("SURF Batch MT", FactoryDescribeRegionPoint.<I,II>surf(true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("MSURF Batch MT", FactoryDescribeRegionPoint.<I,II>surfm(true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("BRIEF Batch MT", FactoryDescribeRegionPoint.brief(16, 512, 0, 4, true, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("BRIEF-SO Batch MT", FactoryDescribeRegionPoint.brief(16, 512, 0, 4, false, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("ORB Batch MT", FactoryDescribeRegionPoint.orb(15, 256, 30, new int[]{1,2,4}, imageType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("Gaussian 12 r=12 Batch MT", FactoryDescribeRegionPoint.gaussian12(12, imageType, derivType)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Batch("NCC 11x11 Batch MT", FactoryDescribeRegionPoint.pixelNCC(11, 11, imageType)),TEST_TIME);
+		BoofConcurrency.USE_CONCURRENT = false;
 		ProfileOperation.printOpsPerSec(new Brief512(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new BriefSO512(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Describe("Steer r=12", FactoryDescribeRegionPoint.steerableGaussian(12, false, imageType, derivType)),TEST_TIME);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.ImageFloat32;
+
+import java.util.Random;
+
+
+/**
+ * Compares the single threaded and concurrent implementations of {@link FastHessianFeatureDetector}
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkFastHessianFeatureDetector {
+	static int width = 640;
+	static int height = 480;
+	static long TEST_TIME = 1000;
+
+	static Random rand = new Random(234);
+
+	static ImageFloat32 integral = new ImageFloat32(width,height);
+
+	public static class Detect extends PerformerBase {
+		FastHessianFeatureDetector<ImageFloat32> alg;
+		String name;
+
+		public Detect(FastHessianFeatureDetector<ImageFloat32> alg, String name) {
+			this.alg = alg;
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.detect(integral);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static FeatureExtractor createExtractor() {
+		return FactoryFeatureExtractor.nonmax(2, 1, 5, true);
+	}
+
+	public static void main(String args[]) {
+		ImageFloat32 original = new ImageFloat32(width,height);
+		ImageFloat32 noise = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(noise,rand,0,200);
+		BlurImageOps.gaussian(noise,original,-1,2,null);
+		IntegralImageOps.transform(original,integral);
+
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
+		System.out.println("     threads = "+ BoofConcurrency.getMaxThreads());
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new Detect(
+				new FastHessianFeatureDetector<ImageFloat32>(createExtractor(),-1,1,9,4,4),"Serial"), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Detect(
+				new FastHessianFeatureDetector_MT<ImageFloat32>(createExtractor(),-1,1,9,4,4,false),"Scales_MT"), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Detect(
+				new FastHessianFeatureDetector_MT<ImageFloat32>(createExtractor(),-1,1,9,4,4,true),"Tiled_MT"), TEST_TIME);
+	}
+}
@@ -19,12 +19,18 @@
 package boofcv.alg.feature.disparity;
 
 import boofcv.alg.feature.disparity.impl.*;
+import boofcv.alg.feature.disparity.sgm.SgmCostCensus;
+import boofcv.alg.feature.disparity.sgm.SgmCostSad;
+import boofcv.alg.feature.disparity.sgm.SgmDisparity;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -119,6 +125,77 @@ public class BenchmarkDisparityAlgs {
 		}
 	}
 
+	public static class ConcurrentSad_U8 extends PerformerBase {
+
+		int numThreads;
+		DisparityScoreRowFormat_MT<ImageUInt8,ImageUInt8> alg;
+
+		public ConcurrentSad_U8(int numThreads) {
+			this.numThreads = numThreads;
+
+			List<DisparityScoreRowFormat<ImageUInt8,ImageUInt8>> workers =
+					new ArrayList<DisparityScoreRowFormat<ImageUInt8,ImageUInt8>>();
+			for( int i = 0; i < numThreads; i++ ) {
+				DisparitySelect<int[],ImageUInt8> compDisp =
+						new ImplSelectRectStandard_S32_U8(250,2,0.1);
+				workers.add(new ImplDisparityScoreSadRect_U8<ImageUInt8>(min,max,radiusX,radiusY,compDisp));
+			}
+			alg = new DisparityScoreRowFormat_MT<ImageUInt8,ImageUInt8>(workers);
+		}
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+
+		@Override
+		public String getName() {
+			return "ConcurrentSad_U8 threads = "+numThreads;
+		}
+	}
+
+	public static class SemiGlobalCensus extends PerformerBase {
+
+		SgmDisparity alg = new SgmDisparity(new SgmCostCensus(2),min,max,2,24,8,1);
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	public static class SemiGlobalSad extends PerformerBase {
+
+		SgmDisparity alg = new SgmDisparity(new SgmCostSad(0),min,max,10,120,8,1);
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	/**
+	 * How well the concurrent implementation scales with the number of threads
+	 */
+	public static void threadScaling() {
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		int originalThreads = BoofConcurrency.getMaxThreads();
+
+		BoofConcurrency.setMaxThreads(maxThreads);
+		for( int threads = 1; threads <= maxThreads; threads *= 2 ) {
+			ProfileOperation.printOpsPerSec(new ConcurrentSad_U8(threads),TEST_TIME);
+		}
+
+		BoofConcurrency.USE_CONCURRENT = true;
+		for( int threads = 1; threads <= maxThreads; threads *= 2 ) {
+			BoofConcurrency.setMaxThreads(threads);
+			System.out.print("threads = "+threads+"  ");
+			ProfileOperation.printOpsPerSec(new SemiGlobalCensus(),TEST_TIME);
+		}
+		BoofConcurrency.USE_CONCURRENT = false;
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
 	public static void main( String argsp[ ] ) {
 		System.out.println("=========  Image Size "+ width +" "+height+"  disparity "+max);
 		System.out.println();
@@ -133,7 +210,12 @@ public class BenchmarkDisparityAlgs {
 		ProfileOperation.printOpsPerSec(new EfficientSadFive_U8(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new EfficientSad_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new EfficientSubpixelSad(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new SemiGlobalCensus(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new SemiGlobalSad(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
 
+		System.out.println();
+		threadScaling();
+
 	}
 }
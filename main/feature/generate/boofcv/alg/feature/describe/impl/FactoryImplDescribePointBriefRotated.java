@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.impl;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * @author Peter Abeles
+ */
+public class FactoryImplDescribePointBriefRotated extends CodeGeneratorBase {
+
+	AutoTypeImage imageType;
+
+	@Override
+	public void generate() throws FileNotFoundException {
+		printClass(AutoTypeImage.F32);
+		printClass(AutoTypeImage.U8);
+	}
+
+	private void printClass( AutoTypeImage imageType ) throws FileNotFoundException {
+		this.imageType = imageType;
+		className = "ImplDescribePointBriefRotated_"+imageType.getAbbreviatedType();
+		out = new PrintStream(new FileOutputStream(className + ".java"));
+		printPreamble();
+		printFunctions();
+
+		out.print("}\n");
+	}
+
+	private void printPreamble() throws FileNotFoundException {
+		setOutputFile(className);
+		out.print("import boofcv.abst.filter.blur.BlurFilter;\n" +
+				"import boofcv.alg.feature.describe.DescribePointBriefRotated;\n" +
+				"import boofcv.alg.feature.describe.brief.BriefRotatedLookup;\n" +
+				"import boofcv.struct.feature.TupleDesc_B;\n" +
+				"import boofcv.struct.image.*;\n" +
+				"import georegression.struct.point.Point2D_I32;\n" +
+				"import java.util.Arrays;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Implementation of {@link DescribePointBriefRotated} for a specific image type.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * WARNING: Do not modify.  Automatically generated by {@link FactoryImplDescribePointBriefRotated}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" extends DescribePointBriefRotated<"+imageType.getImageName()+"> {\n" +
+				"\n" +
+				"\tpublic "+className+"(BriefRotatedLookup lookup, BlurFilter<"+imageType.getImageName()+"> filterBlur) {\n" +
+				"\t\tsuper(lookup, filterBlur);\n" +
+				"\t}\n\n");
+	}
+
+	public void printFunctions() {
+		String bitwise = imageType.getBitWise();
+		String sumType = imageType.getSumType();
+
+		out.print("\t@Override\n" +
+				"\tpublic void processInside( int c_x , int c_y , int angle , TupleDesc_B feature )\n" +
+				"\t{\n" +
+				"\t\tArrays.fill(feature.data, 0);\n" +
+				"\n" +
+				"\t\tint index = blur.startIndex + blur.stride*c_y + c_x;\n" +
+				"\t\tint offsetsA[] = this.offsetsA[angle];\n" +
+				"\t\tint offsetsB[] = this.offsetsB[angle];\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < offsetsA.length; i++ ) {\n" +
+				"\t\t\t"+sumType+" valA = blur.data[index + offsetsA[i]]"+bitwise+";\n" +
+				"\t\t\t"+sumType+" valB = blur.data[index + offsetsB[i]]"+bitwise+";\n" +
+				"\n" +
+				"\t\t\tif( valA < valB ) {\n" +
+				"\t\t\t\tfeature.data[ i/32 ] |= 1 << (i % 32);\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+
+		out.print("\t@Override\n" +
+				"\tpublic void processBorder( int c_x , int c_y , int angle , TupleDesc_B feature ) {\n" +
+				"\t\tArrays.fill(feature.data, 0);\n" +
+				"\n" +
+				"\t\tint index = blur.startIndex + blur.stride*c_y + c_x;\n" +
+				"\t\tint offsetsA[] = this.offsetsA[angle];\n" +
+				"\t\tint offsetsB[] = this.offsetsB[angle];\n" +
+				"\t\tPoint2D_I32 samples[] = lookup.getSamples(angle);\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < offsetsA.length; i++ ) {\n" +
+				"\t\t\tPoint2D_I32 c = definition.compare[i];\n" +
+				"\t\t\tPoint2D_I32 p_a = samples[c.x];\n" +
+				"\t\t\tPoint2D_I32 p_b = samples[c.y];\n" +
+				"\n" +
+				"\t\t\tif( blur.isInBounds(p_a.x + c_x , p_a.y + c_y) &&\n" +
+				"\t\t\t\t\tblur.isInBounds(p_b.x + c_x , p_b.y + c_y) ){\n" +
+				"\t\t\t\t"+sumType+" valA = blur.data[index + offsetsA[i]]"+bitwise+";\n" +
+				"\t\t\t\t"+sumType+" valB = blur.data[index + offsetsB[i]]"+bitwise+";\n" +
+				"\n" +
+				"\t\t\t\tif( valA < valB ) {\n" +
+				"\t\t\t\t\tfeature.data[ i/32 ] |= 1 << (i % 32);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		FactoryImplDescribePointBriefRotated app = new FactoryImplDescribePointBriefRotated();
+		app.generate();
+	}
+
+}
@@ -182,6 +182,16 @@ public class GenerateImplIntegralImageFeatureIntensity extends CodeGeneratorBase
 				"\tpublic static void hessianInner( "+input.getImageName()+" integral, int skip , int size ,\n" +
 				"\t\t\t\t\t\t\t\t\t ImageFloat32 intensity)\n" +
 				"\t{\n" +
+				"\t\thessianInner(integral,skip,size,intensity,0,intensity.height);\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * Optimizes intensity for the inner image.  Only rows from y0 to y1-1 in the intensity image are\n" +
+				"\t * computed, which allows the image to be processed in blocks.\n" +
+				"\t */\n" +
+				"\tpublic static void hessianInner( "+input.getImageName()+" integral, int skip , int size ,\n" +
+				"\t\t\t\t\t\t\t\t\t ImageFloat32 intensity , int y0 , int y1 )\n" +
+				"\t{\n" +
 				"\t\tfinal int w = intensity.width;\n" +
 				"\t\tfinal int h = intensity.height;\n" +
 				"\n" +
@@ -204,10 +214,11 @@ public class GenerateImplIntegralImageFeatureIntensity extends CodeGeneratorBase
 				"\t\tfinal int borderOrig = radiusFeature+ 1 + (skip-(radiusFeature+1)%skip);\n" +
 				"\t\tfinal int border = borderOrig/skip;\n" +
 				"\t\tfinal int lostPixel = borderOrig - radiusFeature-1;\n" +
-				"\t\tfinal int endY = h - border;\n" +
+				"\t\tfinal int startY = Math.max(border,y0);\n" +
+				"\t\tfinal int endY = Math.min(h - border,y1);\n" +
 				"\t\tfinal int endX = w - border;\n" +
 				"\n" +
-				"\t\tfor( int y = border; y < endY; y++ ) {\n" +
+				"\t\tfor( int y = startY; y < endY; y++ ) {\n" +
 				"\n" +
 				"\t\t\t// pixel location in original input image\n" +
 				"\t\t\tint yy = y*skip;\n" +
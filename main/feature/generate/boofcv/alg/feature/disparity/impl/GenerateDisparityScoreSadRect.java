@@ -32,6 +32,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	boolean isFloat;
 
 	@Override
 	public void generate() throws FileNotFoundException {
@@ -44,6 +45,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 		typeInput = image.getImageName();
 		bitWise = image.getBitWise();
 		sumType = image.getSumType();
+		isFloat = !image.isInteger();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
@@ -137,15 +139,19 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\t// compute score for the top possible row\n" +
-				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t"+sumType+" sum = 0;\n" +
-				"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
-				"\t\t\t\tsum += horizontalScore[row][i];\n" +
-				"\t\t\t}\n" +
-				"\t\t\tverticalScore[i] = sum;\n" +
-				"\t\t}\n" +
-				"\n" +
+				"\t\t// compute score for the top possible row\n");
+		if( isFloat ) {
+			out.print("\t\tcomputeVerticalScore(0);\n");
+		} else {
+			out.print("\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[row][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tverticalScore[i] = sum;\n" +
+					"\t\t}\n");
+		}
+		out.print("\n" +
 				"\t\t// compute disparity\n" +
 				"\t\tcomputeDisparity.process(radiusY, verticalScore);\n" +
 				"\t}\n\n");
@@ -170,12 +176,24 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\n" +
 				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
 				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
-				"\n" +
-				"\t\t\t// add the new score\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tverticalScore[i] += scores[i];\n" +
-				"\t\t\t}\n" +
-				"\n" +
+				"\n");
+		if( isFloat ) {
+			out.print("\t\t\tif( (row - regionHeight + 1) % SYNC_ROWS == 0 ) {\n" +
+					"\t\t\t\t// recompute from scratch so the results don't depend on which row processing started at\n" +
+					"\t\t\t\tcomputeVerticalScore(row - regionHeight + 1);\n" +
+					"\t\t\t} else {\n" +
+					"\t\t\t\t// add the new score\n" +
+					"\t\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\t\tverticalScore[i] += scores[i];\n" +
+					"\t\t\t\t}\n" +
+					"\t\t\t}\n");
+		} else {
+			out.print("\t\t\t// add the new score\n" +
+					"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\tverticalScore[i] += scores[i];\n" +
+					"\t\t\t}\n");
+		}
+		out.print("\n" +
 				"\t\t\t// compute disparity\n" +
 				"\t\t\tcomputeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);\n" +
 				"\t\t}\n" +
@@ -183,6 +201,20 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	}
 
 	private void printTheRest() {
+		if( isFloat ) {
+			out.print("\t/**\n" +
+					"\t * Sums up the horizontal scores in the region starting at the top row\n" +
+					"\t */\n" +
+					"\tprivate void computeVerticalScore( int topRow ) {\n" +
+					"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[(topRow+row)%regionHeight][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tverticalScore[i] = sum;\n" +
+					"\t\t}\n" +
+					"\t}\n\n");
+		}
 		out.print("\t@Override\n" +
 				"\tpublic Class<"+typeInput+"> getInputType() {\n" +
 				"\t\treturn "+typeInput+".class;\n" +
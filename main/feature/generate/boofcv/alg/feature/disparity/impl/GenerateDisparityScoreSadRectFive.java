@@ -32,6 +32,7 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	boolean isFloat;
 
 	@Override
 	public void generate() throws FileNotFoundException {
@@ -44,6 +45,7 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 		typeInput = image.getImageName();
 		bitWise = image.getBitWise();
 		sumType = image.getSumType();
+		isFloat = !image.isInteger();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
@@ -140,15 +142,19 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t\t\t\t\tminDisparity, maxDisparity, regionWidth, elementScore);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\t// compute score for the top possible row\n" +
-				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t"+sumType+" sum = 0;\n" +
-				"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
-				"\t\t\t\tsum += horizontalScore[row][i];\n" +
-				"\t\t\t}\n" +
-				"\t\t\tfirstRow[i] = sum;\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t// compute score for the top possible row\n");
+		if( isFloat ) {
+			out.print("\t\tcomputeVerticalScore(0, firstRow);\n");
+		} else {
+			out.print("\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[row][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tfirstRow[i] = sum;\n" +
+					"\t\t}\n");
+		}
+		out.print("\t}\n\n");
 	}
 
 	private void printComputeRemainingRows() {
@@ -172,12 +178,24 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\n" +
 				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
 				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
-				"\n" +
-				"\t\t\t// add the new score\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tactive[i] += scores[i];\n" +
-				"\t\t\t}\n" +
-				"\n" +
+				"\n");
+		if( isFloat ) {
+			out.print("\t\t\tif( (row - regionHeight + 1) % SYNC_ROWS == 0 ) {\n" +
+					"\t\t\t\t// recompute from scratch so the results don't depend on which row processing started at\n" +
+					"\t\t\t\tcomputeVerticalScore(row - regionHeight + 1, active);\n" +
+					"\t\t\t} else {\n" +
+					"\t\t\t\t// add the new score\n" +
+					"\t\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\t\tactive[i] += scores[i];\n" +
+					"\t\t\t\t}\n" +
+					"\t\t\t}\n");
+		} else {
+			out.print("\t\t\t// add the new score\n" +
+					"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\tactive[i] += scores[i];\n" +
+					"\t\t\t}\n");
+		}
+		out.print("\n" +
 				"\t\t\tif( activeVerticalScore >= regionHeight-1 ) {\n" +
 				"\t\t\t\t"+sumType+" top[] = verticalScore[ (activeVerticalScore -2*radiusY) % regionHeight ];\n" +
 				"\t\t\t\t"+sumType+" middle[] = verticalScore[ (activeVerticalScore -radiusY) % regionHeight ];\n" +
@@ -191,6 +209,20 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 	}
 
 	private void printScoreFive() {
+		if( isFloat ) {
+			out.print("\t/**\n" +
+					"\t * Sums up the horizontal scores in the region starting at the top row\n" +
+					"\t */\n" +
+					"\tprivate void computeVerticalScore( int topRow , "+sumType+" vertical[] ) {\n" +
+					"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[(topRow+row)%regionHeight][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tvertical[i] = sum;\n" +
+					"\t\t}\n" +
+					"\t}\n\n");
+		}
 		out.print("\t/**\n" +
 				"\t * Compute the final score by sampling the 5 regions.  Four regions are sampled around the center\n" +
 				"\t * region.  Out of those four only the two with the smallest score are used.\n" +
@@ -74,6 +74,8 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\n" +
 				"\t// scores up to the maximum baseline\n" +
 				"\t"+sumType+" scores[];\n" +
+				"\t// cached score for each column along the most recently processed row. index = x*rangeDisparity + disparity\n" +
+				"\t"+sumType+" columnScores[] = new "+sumType+"[0];\n" +
 				"\n" +
 				"\tpublic "+className+"( int minDisparity , int maxDisparity, int radiusX, int radiusY) {\n" +
 				"\t\tsuper(minDisparity,maxDisparity,radiusX, radiusY);\n" +
@@ -84,6 +86,15 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 
 	private void printProcess() {
 		out.print("\t@Override\n" +
+				"\tpublic void setImages( "+typeInput+" left , "+typeInput+" right ) {\n" +
+				"\t\tsuper.setImages(left,right);\n" +
+				"\n" +
+				"\t\tint N = left.width*rangeDisparity;\n" +
+				"\t\tif( columnScores.length < N )\n" +
+				"\t\t\tcolumnScores = new "+sumType+"[N];\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic boolean process( int x , int y ) {\n" +
 				"\t\t// adjust disparity for image border\n" +
 				"\t\tlocalMaxDisparity = Math.min(rangeDisparity,x-radiusX+1-minDisparity);\n" +
@@ -91,25 +102,16 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\t\tif( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )\n" +
 				"\t\t\treturn false;\n" +
 				"\n" +
+				"\t\tupdateColumns(x,y);\n" +
+				"\n" +
 				"\t\tArrays.fill(scores,0);\n" +
 				"\n" +
-				"\t\t// sum up horizontal errors in the region\n" +
-				"\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
-				"\t\t\t// pixel indexes\n" +
-				"\t\t\tint startLeft = left.startIndex + left.stride*(y-radiusY+row) + x-radiusX;\n" +
-				"\t\t\tint startRight = right.startIndex + right.stride*(y-radiusY+row) + x-radiusX-minDisparity;\n" +
+				"\t\t// sum up the column scores inside the region\n" +
+				"\t\tfor( int col = x-radiusX; col <= x+radiusX; col++ ) {\n" +
+				"\t\t\tint index = col*rangeDisparity;\n" +
 				"\n" +
 				"\t\t\tfor( int i = 0; i < localMaxDisparity; i++ ) {\n" +
-				"\t\t\t\tint indexLeft = startLeft;\n" +
-				"\t\t\t\tint indexRight = startRight-i;\n" +
-				"\n" +
-				"\t\t\t\t"+sumType+" score = 0;\n" +
-				"\t\t\t\tfor( int j = 0; j < regionWidth; j++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" diff = (left.data[ indexLeft++ ]"+bitWise+") - (right.data[ indexRight++ ]"+bitWise+");\n" +
-				"\n" +
-				"\t\t\t\t\tscore += Math.abs(diff);\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t\tscores[i] += score;\n" +
+				"\t\t\t\tscores[i] += columnScores[index+i];\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\n" +
@@ -117,6 +119,29 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
+				"\tprotected void computeColumn( int x , int y ) {\n" +
+				"\t\t// adjust disparity for image border\n" +
+				"\t\tint localRange = Math.min(rangeDisparity,x+1-minDisparity);\n" +
+				"\t\tint index = x*rangeDisparity;\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < localRange; i++ ) {\n" +
+				"\t\t\tcolumnScores[index+i] = 0;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t// sum up vertical errors along the column\n" +
+				"\t\tfor( int row = y-radiusY; row <= y+radiusY; row++ ) {\n" +
+				"\t\t\t"+sumType+" valueLeft = left.data[ left.startIndex + left.stride*row + x ]"+bitWise+";\n" +
+				"\t\t\tint indexRight = right.startIndex + right.stride*row + x-minDisparity;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < localRange; i++ ) {\n" +
+				"\t\t\t\t"+sumType+" diff = valueLeft - (right.data[ indexRight-i ]"+bitWise+");\n" +
+				"\n" +
+				"\t\t\t\tcolumnScores[index+i] += Math.abs(diff);\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic "+sumType+"[] getScore() {\n" +
 				"\t\treturn scores;\n" +
 				"\t}\n" +
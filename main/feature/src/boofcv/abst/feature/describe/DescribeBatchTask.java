@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.feature.describe.SortPointsByTile;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDesc;
+
+/**
+ * <p>
+ * Common code for implementing {@link DescribeRegionPoint#process(double[], double[], double[], double[], int, FastQueue)}.
+ * Features are first sorted so that features in the same region of the image are next to each other, improving
+ * memory locality.  The sorted features are then split into contiguous ranges, one for each worker, which are
+ * processed in parallel.  A worker can be an independent copy of the algorithm or the same instance if the
+ * algorithm is thread safe once the image has been set.
+ * </p>
+ *
+ * <p>
+ * Inputs are saved in protected fields which {@link #describe} can reference.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class DescribeBatchTask<D extends TupleDesc> implements IntRangeTask {
+
+	// sorts the batch so that features near each other are processed together
+	SortPointsByTile sorter = new SortPointsByTile(64);
+
+	// description of each feature
+	protected double x[], y[], orientation[], scale[];
+	protected FastQueue<D> output;
+
+	int numPoints;
+	int numWorkers;
+
+	/**
+	 * Describes the batch of features.  See {@link DescribeRegionPoint} for a description of the parameters.
+	 *
+	 * @param describe The descriptor.  Used to check the inputs and create new descriptions.
+	 * @param imageWidth Width of the image being processed.
+	 * @param imageHeight Height of the image being processed.
+	 * @param numWorkers Maximum number of workers the batch is split between.
+	 */
+	public void process( DescribeRegionPoint<?,D> describe , int imageWidth , int imageHeight ,
+						 double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 int numWorkers , FastQueue<D> output ) {
+		if( orientation == null && describe.requiresOrientation() )
+			throw new IllegalArgumentException("Orientation must be provided");
+		if( scale == null && describe.requiresScale() )
+			throw new IllegalArgumentException("Scale must be provided");
+
+		declareOutput(describe,numPoints,output);
+
+		sorter.sort(x,y,numPoints,imageWidth,imageHeight);
+
+		this.x = x;
+		this.y = y;
+		this.orientation = orientation;
+		this.scale = scale;
+		this.numPoints = numPoints;
+		this.output = output;
+		this.numWorkers = Math.min(numWorkers,numPoints);
+
+		BoofConcurrency.loopTasks(this.numWorkers,this);
+
+		// don't hold onto references to the caller's data
+		this.x = this.y = this.orientation = this.scale = null;
+		this.output = null;
+	}
+
+	/**
+	 * Resets the output and grows it to the specified size.  If the output does not declare its own instances
+	 * then new descriptions are created.
+	 */
+	public static <D extends TupleDesc>
+	void declareOutput( DescribeRegionPoint<?,D> describe , int numPoints , FastQueue<D> output ) {
+		output.reset();
+		for( int i = 0; i < numPoints; i++ ) {
+			if( output.grow() == null )
+				output.data[i] = describe.createDescription();
+		}
+	}
+
+	@Override
+	public void process(int start, int end) {
+		int order[] = sorter.getOrder();
+
+		for( int worker = start; worker < end; worker++ ) {
+			int k0 = worker*numPoints/numWorkers;
+			int k1 = (worker+1)*numPoints/numWorkers;
+			for( int k = k0; k < k1; k++ ) {
+				int i = order[k];
+				describe(worker,i,output.data[i]);
+			}
+		}
+	}
+
+	/**
+	 * Describes a single feature using the specified worker.
+	 *
+	 * @param worker Index of the worker.  Each worker is only used by one thread at a time.
+	 * @param index Index of the feature in the input arrays.
+	 * @param desc Storage for the description.
+	 */
+	protected abstract void describe( int worker , int index , D desc );
+}
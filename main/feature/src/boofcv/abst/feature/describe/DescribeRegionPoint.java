@@ -18,15 +18,24 @@
 
 package boofcv.abst.feature.describe;
 
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
 
 
 /**
+ * <p>
  * Describes the region around a point in the image.  The number of features used to compute the descriptor
  * is algorithm and scale dependent. To find out how many pixels the descriptor uses at a scale of one
  * call {@link #getCanonicalRadius()}.  The size at other scales is simply that number multiplied by the scale,
  * rounded up.
+ * </p>
+ *
+ * <p>
+ * A set of features can be described at once by calling
+ * {@link #process(double[], double[], double[], double[], int, FastQueue)}, which avoids the overhead of
+ * describing them one at a time and lets implementations process the batch in parallel.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -78,6 +87,23 @@ public interface DescribeRegionPoint<T extends ImageSingleBand, D extends TupleD
 	 */
 	public D process( double x , double y , double orientation , double scale , D ret );
 
+	/**
+	 * Extracts the description of a batch of features.  The description of the i<sup>th</sup> feature is written
+	 * into the i<sup>th</sup> element of 'output', which is reset first and owned by the caller.  If 'output' does
+	 * not declare its own instances then new descriptions are created as needed.  As with the single feature
+	 * version each feature should be checked using {@link #isInBounds(double, double, double, double)} first.
+	 * Results are identical to describing each feature individually.
+	 *
+	 * @param x x-coordinate of each feature.
+	 * @param y y-coordinate of each feature.
+	 * @param orientation Orientation of each feature.  Can be null if {@link #requiresOrientation()} is false.
+	 * @param scale Scale of each feature.  Can be null if {@link #requiresScale()} is false.
+	 * @param numPoints Number of features in the batch.
+	 * @param output Storage for the descriptions, e.g. {@link boofcv.struct.feature.TupleDescQueue}.
+	 */
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<D> output );
+
 	/**
 	 *
 	 * @return if scale needs to be provided or not
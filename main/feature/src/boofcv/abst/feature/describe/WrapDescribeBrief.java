@@ -19,6 +19,8 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointBrief;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageSingleBand;
 
@@ -30,6 +32,11 @@ public class WrapDescribeBrief<T extends ImageSingleBand> implements DescribeReg
 	int length;
 	DescribePointBrief<T> alg;
 
+	// shape of the input image
+	int imageWidth, imageHeight;
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
 	public WrapDescribeBrief( DescribePointBrief<T> alg ) {
 		this.alg = alg;
 		this.length = alg.getDefinition().getLength();
@@ -43,6 +50,8 @@ public class WrapDescribeBrief<T extends ImageSingleBand> implements DescribeReg
 	@Override
 	public void setImage(T image) {
 		alg.setImage(image);
+		imageWidth = image.width;
+		imageHeight = image.height;
 	}
 
 	@Override
@@ -70,6 +79,23 @@ public class WrapDescribeBrief<T extends ImageSingleBand> implements DescribeReg
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<TupleDesc_B> output ) {
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		batchTask.process(this,imageWidth,imageHeight,x,y,orientation,scale,numPoints,numWorkers,output);
+	}
+
+	/**
+	 * Describing a feature does not modify the algorithm's state, so all the workers share the same instance
+	 */
+	private class BatchTask extends DescribeBatchTask<TupleDesc_B> {
+		@Override
+		protected void describe(int worker, int i, TupleDesc_B desc) {
+			alg.process(x[i],y[i],desc);
+		}
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return false;
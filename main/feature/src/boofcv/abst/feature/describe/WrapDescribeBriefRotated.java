@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.feature.describe.DescribePointBriefRotated;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+
+/**
+ * <p>
+ * Wrapper around {@link DescribePointBriefRotated} for {@link DescribeRegionPoint}.  An image pyramid is computed
+ * from the input image and each feature is described in the layer whose scale is closest to the feature's scale.
+ * Features found by {@link boofcv.alg.feature.detect.interest.OrbFeaturePyramid} with the same pyramid
+ * will be described in the layer they were detected in.
+ * </p>
+ *
+ * <p>
+ * Describing a feature does not modify the state of the descriptors, so batches are processed in parallel using
+ * the same instances when {@link BoofConcurrency#USE_CONCURRENT} is true.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WrapDescribeBriefRotated<T extends ImageSingleBand> implements DescribeRegionPoint<T,TupleDesc_B> {
+
+	// one descriptor for each layer in the pyramid
+	DescribePointBriefRotated<T> layers[];
+
+	PyramidUpdaterDiscrete<T> updater;
+	PyramidDiscrete<T> pyramid;
+
+	int length;
+
+	// shape of the input image
+	int imageWidth, imageHeight;
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
+	/**
+	 * @param layers Descriptor for each layer in the pyramid.  All must have the same configuration.
+	 * @param updater Computes the image pyramid.
+	 * @param pyramid The image pyramid.
+	 */
+	public WrapDescribeBriefRotated(DescribePointBriefRotated<T> layers[],
+									PyramidUpdaterDiscrete<T> updater,
+									PyramidDiscrete<T> pyramid) {
+		if( layers.length != pyramid.getNumLayers() )
+			throw new IllegalArgumentException("Must have one descriptor for each layer in the pyramid");
+
+		this.layers = layers;
+		this.updater = updater;
+		this.pyramid = pyramid;
+		this.length = layers[0].getDefinition().getLength();
+	}
+
+	@Override
+	public void setImage(T image) {
+		updater.update(image,pyramid);
+
+		for( int i = 0; i < layers.length; i++ ) {
+			layers[i].setImage(pyramid.getLayer(i));
+		}
+
+		imageWidth = image.width;
+		imageHeight = image.height;
+	}
+
+	@Override
+	public TupleDesc_B createDescription() {
+		return new TupleDesc_B(length);
+	}
+
+	@Override
+	public int getDescriptionLength() {
+		return length;
+	}
+
+	@Override
+	public int getCanonicalRadius() {
+		return layers[0].getDefinition().radius;
+	}
+
+	@Override
+	public boolean isInBounds(double x, double y, double orientation, double scale) {
+		return true;
+	}
+
+	@Override
+	public TupleDesc_B process(double x, double y, double orientation, double scale, TupleDesc_B ret) {
+		if( ret == null )
+			ret = createDescription();
+
+		describe(x,y,orientation,scale,ret);
+
+		return ret;
+	}
+
+	/**
+	 * Describes the feature inside the layer with the closest scale
+	 */
+	private void describe( double x , double y , double orientation , double scale , TupleDesc_B ret ) {
+		int best = 0;
+		double bestError = Double.MAX_VALUE;
+		for( int i = 0; i < layers.length; i++ ) {
+			double error = Math.abs(Math.log(scale/pyramid.getScale(i)));
+			if( error < bestError ) {
+				bestError = error;
+				best = i;
+			}
+		}
+
+		double s = pyramid.getScale(best);
+		layers[best].process(x/s,y/s,orientation,ret);
+	}
+
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<TupleDesc_B> output ) {
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		batchTask.process(this,imageWidth,imageHeight,x,y,orientation,scale,numPoints,numWorkers,output);
+	}
+
+	/**
+	 * Describing a feature does not modify the algorithm's state, so all the workers share the same instances
+	 */
+	private class BatchTask extends DescribeBatchTask<TupleDesc_B> {
+		@Override
+		protected void describe(int worker, int i, TupleDesc_B desc) {
+			WrapDescribeBriefRotated.this.describe(x[i],y[i],orientation[i],scale[i],desc);
+		}
+	}
+
+	@Override
+	public boolean requiresScale() {
+		return true;
+	}
+
+	@Override
+	public boolean requiresOrientation() {
+		return true;
+	}
+
+	@Override
+	public Class<TupleDesc_B> getDescriptorType() {
+		return TupleDesc_B.class;
+	}
+}
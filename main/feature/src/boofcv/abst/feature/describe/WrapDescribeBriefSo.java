@@ -19,10 +19,24 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
+ * <p>
+ * Wrapper around {@link DescribePointBriefSO} for {@link DescribeRegionPoint}.
+ * </p>
+ *
+ * <p>
+ * {@link DescribePointBriefSO} has internal storage which is modified when a feature is described, so to
+ * describe a batch of features in parallel additional instances must be provided using {@link #addWorker}.
+ * The image is only blurred once and shared between all the instances.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class WrapDescribeBriefSo<T extends ImageSingleBand> implements DescribeRegionPoint<T,TupleDesc_B> {
@@ -30,9 +44,37 @@ public class WrapDescribeBriefSo<T extends ImageSingleBand> implements DescribeR
 	int length;
 	DescribePointBriefSO<T> alg;
 
+	// instances used to describe a batch in parallel.  The first one is 'alg'
+	List<DescribePointBriefSO<T>> workers = new ArrayList<DescribePointBriefSO<T>>();
+
+	// shape of the input image
+	int imageWidth, imageHeight;
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
 	public WrapDescribeBriefSo(DescribePointBriefSO<T> alg ) {
 		this.alg = alg;
 		this.length = alg.getDefinition().getLength();
+		workers.add(alg);
+	}
+
+	/**
+	 * Adds another instance which is used to describe a batch of features in parallel.  It must have the
+	 * same configuration as the one passed into the constructor.
+	 *
+	 * @param worker Additional instance of the descriptor.
+	 */
+	public void addWorker( DescribePointBriefSO<T> worker ) {
+		workers.add(worker);
+		if( imageWidth > 0 )
+			worker.setImage(alg);
+	}
+
+	/**
+	 * Number of algorithm instances which a batch is divided between
+	 */
+	public int getNumWorkers() {
+		return workers.size();
 	}
 
 	@Override
@@ -48,6 +90,11 @@ public class WrapDescribeBriefSo<T extends ImageSingleBand> implements DescribeR
 	@Override
 	public void setImage(T image) {
 		alg.setImage(image);
+		for( int i = 1; i < workers.size(); i++ ) {
+			workers.get(i).setImage(alg);
+		}
+		imageWidth = image.width;
+		imageHeight = image.height;
 	}
 
 	@Override
@@ -70,6 +117,22 @@ public class WrapDescribeBriefSo<T extends ImageSingleBand> implements DescribeR
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<TupleDesc_B> output ) {
+		batchTask.process(this,imageWidth,imageHeight,x,y,orientation,scale,numPoints,workers.size(),output);
+	}
+
+	/**
+	 * Each worker has its own instance of the algorithm
+	 */
+	private class BatchTask extends DescribeBatchTask<TupleDesc_B> {
+		@Override
+		protected void describe(int worker, int i, TupleDesc_B desc) {
+			workers.get(worker).process((float)x[i],(float)y[i],(float)orientation[i],(float)scale[i],desc);
+		}
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return true;
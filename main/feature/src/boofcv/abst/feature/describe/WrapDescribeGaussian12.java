@@ -42,6 +42,14 @@ public class WrapDescribeGaussian12<T extends ImageSingleBand, D extends ImageSi
 		this.steer = steer;
 	}
 
+	/**
+	 * Adds another instance of the algorithms which is used to describe a batch of features in parallel.
+	 * They must be configured identically to the ones passed into the constructor.
+	 */
+	public void addWorker( DescribePointGaussian12<T,?> steer, ImageGradient<T, D> gradient ) {
+		addWorker(new WrapDescribeGaussian12<T,D>(steer,gradient,inputType,derivType));
+	}
+
 	@Override
 	public int getCanonicalRadius() {
 		return steer.getRadius();
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointPixelRegion;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.feature.TupleDesc_F32;
 import boofcv.struct.feature.TupleDesc_U8;
@@ -35,6 +37,11 @@ public class WrapDescribePixelRegion<T extends ImageSingleBand, D extends TupleD
 {
 	DescribePointPixelRegion<T,D> alg;
 
+	// shape of the input image
+	int imageWidth, imageHeight;
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
 	public WrapDescribePixelRegion(DescribePointPixelRegion<T, D> alg) {
 		this.alg = alg;
 	}
@@ -50,6 +57,8 @@ public class WrapDescribePixelRegion<T extends ImageSingleBand, D extends TupleD
 	@Override
 	public void setImage(T image) {
 		alg.setImage(image);
+		imageWidth = image.width;
+		imageHeight = image.height;
 	}
 
 	@Override
@@ -78,6 +87,23 @@ public class WrapDescribePixelRegion<T extends ImageSingleBand, D extends TupleD
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<D> output ) {
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		batchTask.process(this,imageWidth,imageHeight,x,y,orientation,scale,numPoints,numWorkers,output);
+	}
+
+	/**
+	 * Describing a feature does not modify the algorithm's state, so all the workers share the same instance
+	 */
+	private class BatchTask extends DescribeBatchTask<D> {
+		@Override
+		protected void describe(int worker, int i, D desc) {
+			alg.process((int)x[i],(int)y[i],desc);
+		}
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return false;
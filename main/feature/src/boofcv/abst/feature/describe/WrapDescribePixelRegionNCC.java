@@ -19,6 +19,8 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointPixelRegionNCC;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.NccFeature;
 import boofcv.struct.image.ImageSingleBand;
 
@@ -33,6 +35,11 @@ public class WrapDescribePixelRegionNCC<T extends ImageSingleBand>
 {
 	DescribePointPixelRegionNCC<T> alg;
 
+	// shape of the input image
+	int imageWidth, imageHeight;
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
 	public WrapDescribePixelRegionNCC(DescribePointPixelRegionNCC<T> alg) {
 		this.alg = alg;
 	}
@@ -45,6 +52,8 @@ public class WrapDescribePixelRegionNCC<T extends ImageSingleBand>
 	@Override
 	public void setImage(T image) {
 		alg.setImage(image);
+		imageWidth = image.width;
+		imageHeight = image.height;
 	}
 
 	@Override
@@ -74,6 +83,23 @@ public class WrapDescribePixelRegionNCC<T extends ImageSingleBand>
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<NccFeature> output ) {
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		batchTask.process(this,imageWidth,imageHeight,x,y,orientation,scale,numPoints,numWorkers,output);
+	}
+
+	/**
+	 * Describing a feature does not modify the algorithm's state, so all the workers share the same instance
+	 */
+	private class BatchTask extends DescribeBatchTask<NccFeature> {
+		@Override
+		protected void describe(int worker, int i, NccFeature desc) {
+			alg.process((int)x[i],(int)y[i],desc);
+		}
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return false;
@@ -21,11 +21,27 @@ package boofcv.abst.feature.describe;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.orientation.OrientationIntegral;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
+ * <p>
+ * Wrapper around {@link DescribePointSurf} for {@link DescribeRegionPoint}.
+ * </p>
+ *
+ * <p>
+ * A batch of features can be described at once using
+ * {@link #process(double[], double[], double[], double[], int, FastQueue)}.  The features are processed in an
+ * order where features in the same region of the image are next to each other, which improves memory locality
+ * when sampling the integral image.  If additional workers are provided using {@link #addWorker} then the batch
+ * is split between them and processed in parallel.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleBand>
@@ -39,12 +55,41 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 	// integral image
 	II ii;
 
+	// additional instances of the algorithms which are used to describe a batch in parallel
+	List<DescribePointSurf<II>> workerSurf = new ArrayList<DescribePointSurf<II>>();
+	List<OrientationIntegral<II>> workerOrientation = new ArrayList<OrientationIntegral<II>>();
+
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
 
 	public WrapDescribeSurf(DescribePointSurf<II> surf,
 							OrientationIntegral<II> orientation)
 	{
 		this.surf = surf;
 		this.orientationAlg = orientation;
+
+		workerSurf.add(surf);
+		workerOrientation.add(orientation);
+	}
+
+	/**
+	 * Adds another set of algorithms which are used to describe a batch of features in parallel.  They must be
+	 * configured identically to the ones passed into the constructor.
+	 *
+	 * @param surf Computes SURF descriptor.
+	 * @param orientation Estimates the feature's orientation.  Must be null if the constructor's orientation is null.
+	 */
+	public void addWorker( DescribePointSurf<II> surf, OrientationIntegral<II> orientation ) {
+		if( (orientation == null) != (orientationAlg == null) )
+			throw new IllegalArgumentException("Orientation must be provided if and only if the main one was");
+
+		workerSurf.add(surf);
+		workerOrientation.add(orientation);
+		if( ii != null ) {
+			surf.setImage(ii);
+			if( orientation != null )
+				orientation.setImage(ii);
+		}
 	}
 
 	@Override
@@ -65,9 +110,12 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 
 		// compute integral image
 		ii = GIntegralImageOps.transform(image,ii);
-		if( orientationAlg != null )
-			orientationAlg.setImage(ii);
-		surf.setImage(ii);
+		for( int i = 0; i < workerSurf.size(); i++ ) {
+			OrientationIntegral<II> orientation = workerOrientation.get(i);
+			if( orientation != null )
+				orientation.setImage(ii);
+			workerSurf.get(i).setImage(ii);
+		}
 	}
 
 	@Override
@@ -98,6 +146,39 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<SurfFeature> output ) {
+		batchTask.process(this,ii.width,ii.height,x,y,orientation,scale,numPoints,workerSurf.size(),output);
+	}
+
+	/**
+	 * Each worker has its own copy of the algorithms
+	 */
+	private class BatchTask extends DescribeBatchTask<SurfFeature> {
+		@Override
+		protected void describe(int worker, int i, SurfFeature desc) {
+			OrientationIntegral<II> orientationAlg = workerOrientation.get(worker);
+
+			double angle;
+			if( orientationAlg != null ) {
+				orientationAlg.setScale(scale[i]);
+				angle = orientationAlg.compute(x[i],y[i]);
+			} else {
+				angle = orientation[i];
+			}
+
+			workerSurf.get(worker).describe(x[i],y[i],scale[i],angle,desc);
+		}
+	}
+
+	/**
+	 * Number of algorithm instances which a batch is divided between
+	 */
+	public int getNumWorkers() {
+		return workerSurf.size();
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return true;
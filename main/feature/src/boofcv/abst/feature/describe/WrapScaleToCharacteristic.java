@@ -23,14 +23,25 @@ import boofcv.alg.distort.DistortImageOps;
 import boofcv.alg.interpolate.TypeInterpolate;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.misc.BoofMiscOps;
+import boofcv.struct.FastQueue;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
+ * <p>
  * Wrapper for steerable filters.  The input image patch is resized to a characteristic size and then
  * feed into the filter.
+ * </p>
+ *
+ * <p>
+ * Each instance has its own storage for the resized image patch.  To describe a batch of features in parallel
+ * additional instances are provided by sub-classes using {@link #addWorker(WrapScaleToCharacteristic)}.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -46,11 +57,21 @@ public abstract class WrapScaleToCharacteristic <T extends ImageSingleBand, D ex
 
 	int steerR;
 
+	protected Class<T> inputType;
+	protected Class<D> derivType;
+
+	// instances used to describe a batch in parallel.  The first one is 'this'
+	List<WrapScaleToCharacteristic<T,D>> workers = new ArrayList<WrapScaleToCharacteristic<T,D>>();
+	// describes a batch of features
+	BatchTask batchTask = new BatchTask();
+
 	public WrapScaleToCharacteristic( int radiusR ,
 								   ImageGradient<T, D> gradient,
 								   Class<T> inputType ,
 								   Class<D> derivType ) {
 		this.gradient = gradient;
+		this.inputType = inputType;
+		this.derivType = derivType;
 
 		steerR = radiusR;
 		int w = steerR*2+1+2;
@@ -59,6 +80,26 @@ public abstract class WrapScaleToCharacteristic <T extends ImageSingleBand, D ex
 		scaledImage = GeneralizedImageOps.createSingleBand(inputType, w, w);
 		scaledDerivX = GeneralizedImageOps.createSingleBand(derivType, w, w);
 		scaledDerivY = GeneralizedImageOps.createSingleBand(derivType, w, w);
+
+		workers.add(this);
+	}
+
+	/**
+	 * Adds another instance which is used to describe a batch of features in parallel.
+	 *
+	 * @param worker Instance with the same configuration as this one.
+	 */
+	protected void addWorker( WrapScaleToCharacteristic<T,D> worker ) {
+		workers.add(worker);
+		if( image != null )
+			worker.setImage(image);
+	}
+
+	/**
+	 * Number of algorithm instances which a batch is divided between
+	 */
+	public int getNumWorkers() {
+		return workers.size();
 	}
 
 	@Override
@@ -69,6 +110,9 @@ public abstract class WrapScaleToCharacteristic <T extends ImageSingleBand, D ex
 	@Override
 	public void setImage(T image) {
 		this.image = image;
+		for( int i = 1; i < workers.size(); i++ ) {
+			workers.get(i).setImage(image);
+		}
 	}
 
 	@Override
@@ -106,6 +150,22 @@ public abstract class WrapScaleToCharacteristic <T extends ImageSingleBand, D ex
 		return ret;
 	}
 
+	@Override
+	public void process( double x[] , double y[] , double orientation[] , double scale[] , int numPoints ,
+						 FastQueue<TupleDesc_F64> output ) {
+		batchTask.process(this,image.width,image.height,x,y,orientation,scale,numPoints,workers.size(),output);
+	}
+
+	/**
+	 * Each worker is a different instance of this class
+	 */
+	private class BatchTask extends DescribeBatchTask<TupleDesc_F64> {
+		@Override
+		protected void describe(int worker, int i, TupleDesc_F64 desc) {
+			workers.get(worker).process(x[i],y[i],orientation[i],scale[i],desc);
+		}
+	}
+
 	protected abstract void describe( int x , int y , double angle , TupleDesc_F64 ret );
 
 	@Override
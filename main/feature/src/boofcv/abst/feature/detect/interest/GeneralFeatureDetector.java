@@ -54,6 +54,9 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 	// list of corners found by the extractor
 	protected QueueCorner foundCorners = new QueueCorner(10);
 
+	// sub-image of the intensity image which is reused between regions to avoid declaring new memory
+	protected ImageFloat32 intenSub = new ImageFloat32();
+
 	// Corners which should be excluded
 	protected QueueCorner excludedCorners;
 
@@ -166,7 +169,11 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 				if (j == numColumns - 1) x1 -= ignoreBorder;
 
 				// extract features from inside the sub-image in question
-				ImageFloat32 intenSub = intensityImage.subimage(x0, y0, x1, y1);
+				intenSub.data = intensityImage.data;
+				intenSub.stride = intensityImage.stride;
+				intenSub.startIndex = intensityImage.startIndex + y0 * intensityImage.stride + x0;
+				intenSub.width = x1 - x0;
+				intenSub.height = y1 - y0;
 
 				regionCorners.reset();
 				if (intensity.hasCandidates()) {
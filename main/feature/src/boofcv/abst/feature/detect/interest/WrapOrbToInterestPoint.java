@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.interest;
+
+import boofcv.alg.feature.detect.interest.OrbFeaturePyramid;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * Wrapper around {@link OrbFeaturePyramid} for {@link InterestPointDetector}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapOrbToInterestPoint<T extends ImageSingleBand> implements InterestPointDetector<T> {
+
+	OrbFeaturePyramid<T> alg;
+	// radius of the region used to estimate orientation
+	double radius;
+
+	/**
+	 * @param alg The detector.
+	 * @param radius Radius of the region used to estimate orientation at a scale of one.
+	 */
+	public WrapOrbToInterestPoint(OrbFeaturePyramid<T> alg, double radius ) {
+		this.alg = alg;
+		this.radius = radius;
+	}
+
+	@Override
+	public void detect(T input) {
+		alg.detect(input);
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return alg.getNumberOfFeatures();
+	}
+
+	@Override
+	public Point2D_F64 getLocation(int featureIndex) {
+		return alg.getLocation(featureIndex);
+	}
+
+	@Override
+	public double getScale(int featureIndex) {
+		return alg.getLocation(featureIndex).scale;
+	}
+
+	@Override
+	public double getOrientation(int featureIndex) {
+		return alg.getOrientation(featureIndex);
+	}
+
+	@Override
+	public double getCanonicalRadius() {
+		return radius;
+	}
+
+	@Override
+	public boolean hasScale() {
+		return true;
+	}
+
+	@Override
+	public boolean hasOrientation() {
+		return true;
+	}
+
+	public OrbFeaturePyramid<T> getAlgorithm() {
+		return alg;
+	}
+}
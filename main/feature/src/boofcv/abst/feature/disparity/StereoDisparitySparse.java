@@ -54,6 +54,19 @@ public interface StereoDisparitySparse<Image extends ImageSingleBand> {
 	 */
 	public boolean process( int x  , int y );
 
+	/**
+	 * Calculates the disparity for a set of points in a single call.  Implementations can take advantage
+	 * of points which lie along the same row to share calculations.  Points which are outside the image
+	 * or too close to the border are treated as failures.
+	 *
+	 * @param x center of region x-axis for each point
+	 * @param y center of region y-axis for each point
+	 * @param numPoints Number of points in the arrays which are processed
+	 * @param disparity (Output) Found disparity for each point.  Set to NaN if no correspondence was found.
+	 * @return Number of points which a correspondence was found for
+	 */
+	public int process( int x[] , int y[] , int numPoints , double disparity[] );
+
 	/**
 	 * The found disparity at the selected point
 	 *
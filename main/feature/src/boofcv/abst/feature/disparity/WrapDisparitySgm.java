@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmDisparity;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Wrapper around {@link SgmDisparity} for {@link StereoDisparity}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparitySgm implements StereoDisparity<ImageUInt8,ImageUInt8>
+{
+	SgmDisparity alg;
+	ImageUInt8 disparity;
+
+	public WrapDisparitySgm(SgmDisparity alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public void process(ImageUInt8 imageLeft, ImageUInt8 imageRight) {
+		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
+			disparity = new ImageUInt8(imageLeft.width,imageLeft.height);
+		}
+
+		alg.process(imageLeft,imageRight,disparity);
+	}
+
+	@Override
+	public ImageUInt8 getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getBorderX() {
+		return 0;
+	}
+
+	@Override
+	public int getBorderY() {
+		return 0;
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+
+	@Override
+	public Class<ImageUInt8> getDisparityType() {
+		return ImageUInt8.class;
+	}
+
+	public SgmDisparity getAlg() {
+		return alg;
+	}
+}
@@ -22,7 +22,13 @@ import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.Arrays;
+
 /**
+ * Wrapper around {@link DisparitySparseScoreSadRect} and {@link DisparitySparseSelect} for
+ * {@link StereoDisparitySparse}.  When a batch of points is processed they are visited one row at a time,
+ * allowing the cached column scores in {@link DisparitySparseScoreSadRect} to be shared between points.
+ *
  * @author Peter Abeles
  */
 public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
@@ -34,6 +40,12 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 	// for an insignificant speed boost save this constant as a floating point number
 	double minDisparityFloat;
 
+	// height of the input image
+	int imageHeight;
+	// storage for sorting a batch of points by row
+	int rowStart[] = new int[0];
+	int order[] = new int[0];
+
 	public WrapDisparitySparseSadRect(DisparitySparseScoreSadRect<ArrayData,T> computeScore,
 									  DisparitySparseSelect<ArrayData> select ) {
 		this.computeScore = computeScore;
@@ -44,6 +56,7 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 	public void setImages(T imageLeft, T imageRight ) {
 		computeScore.setImages(imageLeft,imageRight);
 		minDisparityFloat = computeScore.getMinDisparity();
+		imageHeight = imageLeft.height;
 	}
 
 	@Override
@@ -59,6 +72,46 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageSingleBand>
 		return false;
 	}
 
+	@Override
+	public int process(int[] x, int[] y, int numPoints, double[] disparity) {
+		if( rowStart.length < imageHeight+1 )
+			rowStart = new int[imageHeight+1];
+		if( order.length < numPoints )
+			order = new int[numPoints];
+
+		// sort the points by row using a counting sort
+		Arrays.fill(rowStart,0,imageHeight+1,0);
+		for( int i = 0; i < numPoints; i++ ) {
+			int row = y[i];
+			if( row >= 0 && row < imageHeight )
+				rowStart[row+1]++;
+		}
+		for( int row = 0; row < imageHeight; row++ ) {
+			rowStart[row+1] += rowStart[row];
+		}
+		int numInside = rowStart[imageHeight];
+		for( int i = 0; i < numPoints; i++ ) {
+			int row = y[i];
+			if( row >= 0 && row < imageHeight )
+				order[rowStart[row]++] = i;
+			else
+				disparity[i] = Double.NaN;
+		}
+
+		int numFound = 0;
+		for( int k = 0; k < numInside; k++ ) {
+			int i = order[k];
+			if( process(x[i],y[i]) ) {
+				disparity[i] = getDisparity();
+				numFound++;
+			} else {
+				disparity[i] = Double.NaN;
+			}
+		}
+
+		return numFound;
+	}
+
 	@Override
 	public int getBorderX() {
 		return computeScore.getRadiusX();
@@ -21,22 +21,28 @@ package boofcv.alg.feature.associate;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc_F64;
-import pja.storage.GrowQueue_F64;
-import pja.storage.GrowQueue_I32;
 
 
 /**
  * <p>
  * Brute force greedy association for objects described by a {@link TupleDesc_F64}.  An
  * object is associated with whichever object has the best fit score and every possible combination
- * is examined.  If there are a large number of features this can be quite slow.
+ * is examined.  If there are a large number of features this can be quite slow, run time is O(N*M) where
+ * N and M are the number of src and dst objects.  See {@link AssociateGreedy_MT} for a concurrent version.
  * </p>
  *
  * <p>
  * Optionally, backwards validation can be used to reduce the number of false associations.
  * Backwards validation works by checking to see if two objects are mutually the best association
  * for each other.  First an association is found from src to dst, then the best fit in dst is
- * associated with feature in src.
+ * associated with feature in src.  Only the best score for each dst object is saved while src is being
+ * processed, so memory is O(N+M) and the score matrix is never stored.
+ * </p>
+ *
+ * <p>
+ * Optionally, a ratio test can also be used to reject ambiguous associations.  The best and second best
+ * score are found for each src object and the association is rejected if best &gt; ratio*secondBest.  Only
+ * valid for scores which have a minimum of zero.  Note that for squared distance the ratio is also squared.
  * </p>
  *
  * @param <D> Feature description type.
@@ -46,17 +52,22 @@ import pja.storage.GrowQueue_I32;
 public class AssociateGreedy<D> {
 
 	// computes association score
-	private ScoreAssociation<D> score;
+	protected ScoreAssociation<D> score;
 	// worst allowed fit score to associate
 	private double maxFitError;
 	// stores the quality of fit score
-	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
+	protected double fitQuality[] = new double[100];
 	// stores indexes of associated
-	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
-	// various
-	private GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
+	protected int pairs[] = new int[100];
+	// best score for each src, ignoring maxFitError, and the second best
+	protected double bestScore[] = new double[100];
+	protected double secondScore[] = new double[100];
+	// best score for each dst
+	protected double columnScore[] = new double[100];
 	// if true backwardsValidation is done
 	private boolean backwardsValidation;
+	// the association is rejected if best > ratio*secondBest.  1 disables
+	private double ratioTest = 1;
 
 	/**
 	 * Configure association
@@ -82,49 +93,102 @@ public class AssociateGreedy<D> {
 	public void associate( FastQueue<D> src ,
 						   FastQueue<D> dst )
 	{
-		fitQuality.reset();
-		pairs.reset();
-		workBuffer.reset();
+		if( pairs.length < src.size ) {
+			pairs = new int[ src.size ];
+			fitQuality = new double[ src.size ];
+			bestScore = new double[ src.size ];
+			secondScore = new double[ src.size ];
+		}
+		if( columnScore.length < dst.size ) {
+			columnScore = new double[ dst.size ];
+		}
+
+		computeScores(src, dst);
 
 		for( int i = 0; i < src.size; i++ ) {
+			int match = pairs[i];
+			if( match == -1 )
+				continue;
+
+			double scoreToBeat = bestScore[i];
+
+			if( (backwardsValidation && columnScore[match] < scoreToBeat) ||
+					scoreToBeat > ratioTest*secondScore[i] ) {
+				pairs[i] = -1;
+				fitQuality[i] = Double.MAX_VALUE;
+			}
+		}
+	}
+
+	/**
+	 * Finds the best and second best score for each src object and the best score for each dst
+	 * object.
+	 */
+	protected void computeScores( FastQueue<D> src , FastQueue<D> dst ) {
+		for( int j = 0; j < dst.size; j++ )
+			columnScore[j] = Double.MAX_VALUE;
+
+		computeRows(src, dst, 0, src.size, columnScore);
+	}
+
+	/**
+	 * Computes the best matches for src objects from start to end-1.
+	 *
+	 * @param columnScore Best score for each dst object is written to this array.  Must be initialized.
+	 */
+	protected void computeRows( FastQueue<D> src , FastQueue<D> dst ,
+								int start , int end , double columnScore[] ) {
+		for( int i = start; i < end; i++ ) {
 			D a = src.data[i];
-			double bestScore = maxFitError;
+			double best = Double.MAX_VALUE;
+			double second = Double.MAX_VALUE;
 			int bestIndex = -1;
 
 			for( int j = 0; j < dst.size; j++ ) {
 				D b = dst.data[j];
 
 				double fit = score.score(a,b);
-				workBuffer.push(fit);
 
-				if( fit < bestScore ) {
+				if( fit < best ) {
+					second = best;
 					bestIndex = j;
-					bestScore = fit;
+					best = fit;
+				} else if( fit < second ) {
+					second = fit;
 				}
-			}
-			pairs.push(bestIndex);
-			fitQuality.push(bestScore);
-		}
 
-		if( backwardsValidation ) {
-			for( int i = 0; i < src.size; i++ ) {
-				int match = pairs.data[i];
-				if( match == -1 )
-					continue;
-
-				double scoreToBeat = workBuffer.data[i*dst.size+match];
+				if( fit < columnScore[j] )
+					columnScore[j] = fit;
+			}
 
-				for( int j = 0; j < src.size; j++ , match += dst.size ) {
-					if( workBuffer.data[match] < scoreToBeat ) {
-						pairs.data[i] = -1;
-						fitQuality.data[i] = Double.MAX_VALUE;
-						break;
-					}
-				}
+			bestScore[i] = best;
+			secondScore[i] = second;
+			if( best < maxFitError ) {
+				pairs[i] = bestIndex;
+				fitQuality[i] = best;
+			} else {
+				pairs[i] = -1;
+				fitQuality[i] = maxFitError;
 			}
 		}
 	}
 
+	/**
+	 * Specifies the ratio test threshold.  An association is rejected if the best score is more than
+	 * the ratio times the second best score.  Only valid for scores with a minimum of zero.
+	 *
+	 * @param ratioTest Value from 0 to 1.  Try 0.8, or 0.64 for a squared distance.  Set to 1 to disable.
+	 */
+	public void setRatioTest(double ratioTest) {
+		if( ratioTest < 1 && !score.isZeroMinimum() )
+			throw new IllegalArgumentException("The ratio test requires a score with a minimum of zero");
+		this.ratioTest = ratioTest;
+	}
+
+	public double getRatioTest() {
+		return ratioTest;
+	}
+
 	/**
 	 * Returns a list of association pairs.  Each element in the returned list corresponds
 	 * to an element in the src list.  The value contained in the index indicate which element
@@ -134,7 +198,7 @@ public class AssociateGreedy<D> {
 	 * @return Array containing associations by src index.
 	 */
 	public int[] getPairs() {
-		return pairs.data;
+		return pairs;
 	}
 
 	/**
@@ -143,6 +207,6 @@ public class AssociateGreedy<D> {
 	 * @return Array of fit sources by src index.
 	 */
 	public double[] getFitQuality() {
-		return fitQuality.data;
+		return fitQuality;
 	}
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link AssociateGreedy}.  The src list is broken up into contiguous blocks
+ * of rows which are scored in parallel.  Each block records the best score for each dst object in its own
+ * array, which are then merged in parallel across dst objects.  The results are identical to
+ * {@link AssociateGreedy}.
+ * </p>
+ *
+ * <p>
+ * Memory usage is O(N + T*M), where T is the number of threads.
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateGreedy_MT<D> extends AssociateGreedy<D> {
+
+	// minimum number of src objects in a block
+	private static final int MIN_BLOCK = 10;
+
+	// best score for each dst object in each block
+	private List<double[]> blockColumnScore = new ArrayList<double[]>();
+
+	// input lists for the current call
+	private FastQueue<D> src;
+	private FastQueue<D> dst;
+	private int numBlocks;
+
+	private IntRangeTask rowTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int block = start; block < end; block++ ) {
+				double[] column = blockColumnScore.get(block);
+				for( int j = 0; j < dst.size; j++ )
+					column[j] = Double.MAX_VALUE;
+
+				int rowStart = block*src.size/numBlocks;
+				int rowEnd = (block+1)*src.size/numBlocks;
+				computeRows(src, dst, rowStart, rowEnd, column);
+			}
+		}
+	};
+
+	private IntRangeTask columnTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int j = start; j < end; j++ ) {
+				double best = Double.MAX_VALUE;
+				for( int block = 0; block < numBlocks; block++ ) {
+					double v = blockColumnScore.get(block)[j];
+					if( v < best )
+						best = v;
+				}
+				columnScore[j] = best;
+			}
+		}
+	};
+
+	/**
+	 * Configure association
+	 *
+	 * @param score Computes the association score.  Must be thread safe.
+	 * @param maxFitError Maximum allowed fit error.  To disable set to Double.MAX_VALUE
+	 * @param backwardsValidation If true then backwards validation is performed.
+	 */
+	public AssociateGreedy_MT(ScoreAssociation<D> score,
+							  double maxFitError,
+							  boolean backwardsValidation) {
+		super(score, maxFitError, backwardsValidation);
+	}
+
+	@Override
+	protected void computeScores(FastQueue<D> src, FastQueue<D> dst) {
+		this.src = src;
+		this.dst = dst;
+
+		numBlocks = Math.max(1,Math.min(BoofConcurrency.getMaxThreads(), src.size/MIN_BLOCK));
+
+		while( blockColumnScore.size() < numBlocks )
+			blockColumnScore.add(new double[ dst.size ]);
+		for( int i = 0; i < numBlocks; i++ ) {
+			if( blockColumnScore.get(i).length < dst.size )
+				blockColumnScore.set(i,new double[ dst.size ]);
+		}
+
+		BoofConcurrency.loopTasks(numBlocks,rowTask);
+		BoofConcurrency.loopBlocks(0,dst.size,100,columnTask);
+
+		this.src = null;
+		this.dst = null;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import pja.storage.GrowQueue_F64;
+import pja.storage.GrowQueue_I32;
+
+
+/**
+ * <p>
+ * Associates features using a {@link NearestNeighborSearch}, such as {@link KdForestSearch} or
+ * {@link HammingMultiIndexSearch}.  The search is built from the dst list and each feature in the src list
+ * is associated with the nearest feature found.  Unlike {@link AssociateGreedy} not every possible pair is
+ * examined, which makes it much faster for large sets of features, but if the search is approximate the
+ * best match might be missed.  The fit score is the distance computed by the search.
+ * </p>
+ *
+ * <p>
+ * Optionally, backwards validation can be used to reduce the number of false associations.  A second
+ * search is built from the src list and an association is only accepted if no other src feature is
+ * closer to the dst feature.
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateNearestNeighbor<D> {
+
+	// searches for the nearest neighbor in dst
+	private NearestNeighborSearch<D> searchDst;
+	// searches for the nearest neighbor in src.  null if no backwards validation
+	private NearestNeighborSearch<D> searchSrc;
+	// worst allowed fit score to associate
+	private double maxFitError;
+	// stores the quality of fit score
+	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
+	// stores indexes of associated
+	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
+
+	/**
+	 * Configure association
+	 *
+	 * @param searchDst Nearest-neighbor search used to find matches in the dst list.
+	 * @param searchSrc Nearest-neighbor search used for backwards validation.  If null then backwards
+	 *                  validation is not performed.
+	 * @param maxFitError Maximum allowed fit error.  To disable set to Double.MAX_VALUE
+	 */
+	public AssociateNearestNeighbor(NearestNeighborSearch<D> searchDst,
+									NearestNeighborSearch<D> searchSrc,
+									double maxFitError) {
+		this.searchDst = searchDst;
+		this.searchSrc = searchSrc;
+		this.maxFitError = maxFitError;
+	}
+
+	/**
+	 * Associates the two sets objects against each other by minimizing fit score.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	public void associate( FastQueue<D> src ,
+						   FastQueue<D> dst )
+	{
+		fitQuality.reset();
+		pairs.reset();
+
+		searchDst.setPoints(dst);
+		if( searchSrc != null )
+			searchSrc.setPoints(src);
+
+		for( int i = 0; i < src.size; i++ ) {
+			if( searchDst.findNearest(src.data[i],maxFitError) ) {
+				int match = searchDst.getBestIndex();
+				double fit = searchDst.getBestDistance();
+
+				// reject if another src feature is a better fit to the dst feature
+				if( searchSrc != null ) {
+					if( searchSrc.findNearest(dst.data[match],fit) && searchSrc.getBestIndex() != i ) {
+						pairs.push(-1);
+						fitQuality.push(Double.MAX_VALUE);
+						continue;
+					}
+				}
+
+				pairs.push(match);
+				fitQuality.push(fit);
+			} else {
+				pairs.push(-1);
+				fitQuality.push(Double.MAX_VALUE);
+			}
+		}
+	}
+
+	/**
+	 * Returns a list of association pairs.  Each element in the returned list corresponds
+	 * to an element in the src list.  The value contained in the index indicate which element
+	 * in the dst list that object was associated with.  If a value of -1 is stored then
+	 * no association was found.
+	 *
+	 * @return Array containing associations by src index.
+	 */
+	public int[] getPairs() {
+		return pairs.data;
+	}
+
+	/**
+	 * Quality of fit scores for each association.  Lower fit scores are better.
+	 *
+	 * @return Array of fit sources by src index.
+	 */
+	public double[] getFitQuality() {
+		return fitQuality.data;
+	}
+}
@@ -21,7 +21,16 @@ package boofcv.alg.feature.associate;
 import boofcv.struct.feature.*;
 
 /**
+ * <p>
  * Series of simple functions for computing difference distance measures between two descriptors.
+ * </p>
+ *
+ * <p>
+ * The inner loops are unrolled with independent partial sums.  This breaks up the dependency chain on a single
+ * accumulator, allowing the CPU to overlap several additions and the JIT to use SIMD instructions
+ * when it can.  Due to the different ordering floating point results can differ from a naive summation
+ * by round off error.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -35,14 +44,7 @@ public class DescriptorDistance {
 	 * @return Euclidean distance
 	 */
 	public static double euclidean(TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
-		}
-
-		return Math.sqrt(total);
+		return Math.sqrt(euclideanSq(a,b));
 	}
 
 	/**
@@ -53,14 +55,29 @@ public class DescriptorDistance {
 	 * @return Euclidean distance squared
 	 */
 	public static double euclideanSq(TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
+		final double[] va = a.value;
+		final double[] vb = b.value;
+		final int N = va.length;
+		final int end = N - N % 4;
+
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			double d0 = va[i  ]-vb[i  ];
+			double d1 = va[i+1]-vb[i+1];
+			double d2 = va[i+2]-vb[i+2];
+			double d3 = va[i+3]-vb[i+3];
+			total0 += d0*d0;
+			total1 += d1*d1;
+			total2 += d2*d2;
+			total3 += d3*d3;
+		}
+		for( ; i < N; i++ ) {
+			double d = va[i]-vb[i];
+			total0 += d*d;
 		}
 
-		return total;
+		return (total0 + total1) + (total2 + total3);
 	}
 
 	/**
@@ -71,14 +88,29 @@ public class DescriptorDistance {
 	 * @return Euclidean distance squared
 	 */
 	public static double euclideanSq(TupleDesc_F32 a, TupleDesc_F32 b) {
-		final int N = a.value.length;
-		float total = 0;
-		for( int i = 0; i < N; i++ ) {
-			double d = a.value[i]-b.value[i];
-			total += d*d;
+		final float[] va = a.value;
+		final float[] vb = b.value;
+		final int N = va.length;
+		final int end = N - N % 4;
+
+		float total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			float d0 = va[i  ]-vb[i  ];
+			float d1 = va[i+1]-vb[i+1];
+			float d2 = va[i+2]-vb[i+2];
+			float d3 = va[i+3]-vb[i+3];
+			total0 += d0*d0;
+			total1 += d1*d1;
+			total2 += d2*d2;
+			total3 += d3*d3;
+		}
+		for( ; i < N; i++ ) {
+			float d = va[i]-vb[i];
+			total0 += d*d;
 		}
 
-		return total;
+		return (total0 + total1) + (total2 + total3);
 	}
 
 	/**
@@ -89,13 +121,7 @@ public class DescriptorDistance {
 	 * @return Correlation score
 	 */
 	public static double correlation( TupleDesc_F64 a, TupleDesc_F64 b) {
-		final int N = a.value.length;
-		double total = 0;
-		for( int i = 0; i < N; i++ ) {
-			total += a.value[i]*b.value[i];
-		}
-
-		return total;
+		return dot(a.value,b.value,a.value.length);
 	}
 
 	/**
@@ -111,12 +137,7 @@ public class DescriptorDistance {
 	 * @return NCC score
 	 */
 	public static double ncc( NccFeature a, NccFeature b) {
-		double top = 0;
-
-		int N = a.value.length;
-		for( int i = 0; i < N; i++ ) {
-			top += a.value[i]*b.value[i];
-		}
+		double top = dot(a.value,b.value,a.value.length);
 
 		// negative so that smaller values are better
 		return top/(a.sigma * b.sigma);
@@ -130,10 +151,13 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static double sad(TupleDesc_U8 a, TupleDesc_U8 b) {
+		final byte[] va = a.value;
+		final byte[] vb = b.value;
+		final int N = va.length;
 
 		int total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( (a.value[i] & 0xFF) - (b.value[i] & 0xFF));
+		for( int i = 0; i < N; i++ ) {
+			total += Math.abs( (va[i] & 0xFF) - (vb[i] & 0xFF));
 		}
 		return total;
 	}
@@ -146,12 +170,23 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static double sad(TupleDesc_F32 a, TupleDesc_F32 b) {
+		final float[] va = a.value;
+		final float[] vb = b.value;
+		final int N = va.length;
+		final int end = N - N % 4;
 
-		int total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( a.value[i] - b.value[i]);
+		float total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			total0 += Math.abs( va[i  ] - vb[i  ]);
+			total1 += Math.abs( va[i+1] - vb[i+1]);
+			total2 += Math.abs( va[i+2] - vb[i+2]);
+			total3 += Math.abs( va[i+3] - vb[i+3]);
 		}
-		return total;
+		for( ; i < N; i++ ) {
+			total0 += Math.abs( va[i] - vb[i]);
+		}
+		return (total0 + total1) + (total2 + total3);
 	}
 
 	/**
@@ -162,12 +197,23 @@ public class DescriptorDistance {
 	 * @return SAD score
 	 */
 	public static double sad(TupleDesc_F64 a, TupleDesc_F64 b) {
+		final double[] va = a.value;
+		final double[] vb = b.value;
+		final int N = va.length;
+		final int end = N - N % 4;
 
-		int total = 0;
-		for( int i = 0; i < a.value.length; i++ ) {
-			total += Math.abs( a.value[i] - b.value[i]);
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			total0 += Math.abs( va[i  ] - vb[i  ]);
+			total1 += Math.abs( va[i+1] - vb[i+1]);
+			total2 += Math.abs( va[i+2] - vb[i+2]);
+			total3 += Math.abs( va[i+3] - vb[i+3]);
 		}
-		return total;
+		for( ; i < N; i++ ) {
+			total0 += Math.abs( va[i] - vb[i]);
+		}
+		return (total0 + total1) + (total2 + total3);
 	}
 
 	/**
@@ -178,12 +224,23 @@ public class DescriptorDistance {
 	 * @return The hamming distance
 	 */
 	public static int hamming( TupleDesc_B a, TupleDesc_B b ) {
-		int score = 0;
-		final int N = a.data.length;
-		for( int i = 0; i < N; i++ ) {
-			score += hamming(a.data[i] ^ b.data[i]);
+		final int[] da = a.data;
+		final int[] db = b.data;
+		final int N = da.length;
+		final int end = N - N % 4;
+
+		int score0 = 0, score1 = 0, score2 = 0, score3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			score0 += Integer.bitCount(da[i  ] ^ db[i  ]);
+			score1 += Integer.bitCount(da[i+1] ^ db[i+1]);
+			score2 += Integer.bitCount(da[i+2] ^ db[i+2]);
+			score3 += Integer.bitCount(da[i+3] ^ db[i+3]);
 		}
-		return score;
+		for( ; i < N; i++ ) {
+			score0 += Integer.bitCount(da[i] ^ db[i]);
+		}
+		return (score0 + score1) + (score2 + score3);
 	}
 
 	/**
@@ -193,12 +250,26 @@ public class DescriptorDistance {
 	 * @return The hamming distance
 	 */
 	public static int hamming( int val ) {
-		int distance = 0;
+		return Integer.bitCount(val);
+	}
 
-		while( val != 0 ) {
-			val &= val - 1;
-			distance++;
+	/**
+	 * Dot product of the first N elements in the two arrays
+	 */
+	private static double dot( double[] a , double[] b , int N ) {
+		final int end = N - N % 4;
+
+		double total0 = 0, total1 = 0, total2 = 0, total3 = 0;
+		int i = 0;
+		for( ; i < end; i += 4 ) {
+			total0 += a[i  ]*b[i  ];
+			total1 += a[i+1]*b[i+1];
+			total2 += a[i+2]*b[i+2];
+			total3 += a[i+3]*b[i+3];
+		}
+		for( ; i < N; i++ ) {
+			total0 += a[i]*b[i];
 		}
-		return distance;
+		return (total0 + total1) + (total2 + total3);
 	}
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDesc_B;
+
+/**
+ * <p>
+ * Nearest-neighbor search for binary descriptors using multi-index hashing.  Each descriptor is divided
+ * into disjoint substrings and a hash table is built for each substring.  If two descriptors have a Hamming
+ * distance of d then at least one of their m substrings differs by no more than floor(d/m) bits.  The
+ * search probes each table with all substrings which are within radius s of the query's substring, starting
+ * with s = 0 and increasing s until no unseen descriptor could be closer than the best found so far.  The
+ * result is the exact nearest neighbor found in sublinear time.  A bounded-error search can be performed by
+ * limiting the maximum radius s.
+ * </p>
+ *
+ * <p>
+ * Descriptors are packed into 64-bit words and distance is computed with {@link Long#bitCount(long)}.
+ * Hash tables are stored as flat arrays indexed by the substring value, making it best suited for
+ * substrings of 16 bits or less.
+ * </p>
+ *
+ * <p>
+ * Norouzi, M., Punjani, A., Fleet, D. J. "Fast Search in Hamming Space with Multi-Index Hashing" CVPR 2012
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HammingMultiIndexSearch implements NearestNeighborSearch<TupleDesc_B> {
+
+	// requested number of bits in a substring.  if <= 0 then it is selected automatically
+	private int substringBits;
+	// maximum radius each substring is searched at.  if < 0 the search is exact
+	private int maxSubstringRadius;
+
+	// number of bits in each substring
+	private int bits;
+	// number of substrings/hash tables
+	private int numTables;
+	// number of bits in a descriptor
+	private int numBits;
+	// number of 64-bit words in a packed descriptor
+	private int numWords;
+	// number of descriptors being searched
+	private int numPoints;
+
+	// packed descriptors
+	private long packed[] = new long[1];
+	// packed query descriptor
+	private long query[] = new long[1];
+
+	// index of the first item in each bucket for each table.  (1 << bits)+1 elements per table
+	private int tableStart[] = new int[1];
+	// descriptor indexes sorted by bucket.  numPoints elements per table
+	private int tableItems[] = new int[1];
+
+	// marks points which have been checked in the current search
+	private int visited[] = new int[1];
+	private int visitedStamp;
+
+	// results of the search
+	private int checks;
+	private int bestIndex;
+	private double bestDistance;
+
+	/**
+	 * Configures the search.
+	 *
+	 * @param substringBits Number of bits in each substring.  Must be <= 16.  If <= 0 then it is selected
+	 *                      automatically from the number of points.
+	 * @param maxSubstringRadius Maximum radius each substring is searched at.  If < 0 the search is exact.
+	 */
+	public HammingMultiIndexSearch(int substringBits, int maxSubstringRadius) {
+		if( substringBits > 16 )
+			throw new IllegalArgumentException("Substrings can have at most 16 bits");
+		this.substringBits = substringBits;
+		this.maxSubstringRadius = maxSubstringRadius;
+	}
+
+	@Override
+	public void setPoints(FastQueue<TupleDesc_B> points) {
+		numPoints = points.size;
+		if( numPoints == 0 )
+			return;
+
+		TupleDesc_B first = points.data[0];
+		numBits = first.numBits;
+		numWords = (first.data.length+1)/2;
+
+		// pack the descriptors into 64-bit words
+		if( packed.length < numPoints*numWords )
+			packed = new long[ numPoints*numWords ];
+		if( query.length < numWords )
+			query = new long[ numWords ];
+		for( int i = 0; i < numPoints; i++ ) {
+			pack(points.data[i], packed, i*numWords);
+		}
+
+		// select the substring length so that each bucket contains about one point
+		if( substringBits > 0 ) {
+			bits = substringBits;
+		} else {
+			bits = (int)Math.round(Math.log(numPoints)/Math.log(2));
+			bits = Math.max(4,Math.min(16,bits));
+		}
+		bits = Math.min(bits,numBits);
+		numTables = (numBits+bits-1)/bits;
+
+		int numBuckets = 1 << bits;
+		if( tableStart.length < numTables*(numBuckets+1) )
+			tableStart = new int[ numTables*(numBuckets+1) ];
+		if( tableItems.length < numTables*numPoints )
+			tableItems = new int[ numTables*numPoints ];
+		if( visited.length < numPoints ) {
+			visited = new int[ numPoints ];
+			visitedStamp = 0;
+		}
+
+		// sort the points into buckets using a counting sort
+		for( int table = 0; table < numTables; table++ ) {
+			int startIndex = table*(numBuckets+1);
+			int itemIndex = table*numPoints;
+
+			for( int i = 0; i <= numBuckets; i++ )
+				tableStart[startIndex+i] = 0;
+			for( int i = 0; i < numPoints; i++ )
+				tableStart[startIndex+substring(packed,i*numWords,table)+1]++;
+			for( int i = 0; i < numBuckets; i++ )
+				tableStart[startIndex+i+1] += tableStart[startIndex+i];
+			for( int i = 0; i < numPoints; i++ ) {
+				int bucket = startIndex+substring(packed,i*numWords,table);
+				tableItems[itemIndex + tableStart[bucket]++] = i;
+			}
+			// the fill operation shifted the start of each bucket to the next bucket
+			for( int i = numBuckets; i > 0; i-- )
+				tableStart[startIndex+i] = tableStart[startIndex+i-1];
+			tableStart[startIndex] = 0;
+		}
+	}
+
+	@Override
+	public boolean findNearest(TupleDesc_B desc, double maxDistance) {
+		bestIndex = -1;
+		bestDistance = maxDistance;
+		checks = 0;
+
+		if( numPoints == 0 )
+			return false;
+
+		if( ++visitedStamp == Integer.MAX_VALUE ) {
+			visitedStamp = 1;
+			for( int i = 0; i < numPoints; i++ )
+				visited[i] = 0;
+		}
+
+		pack(desc,query,0);
+
+		int numBuckets = 1 << bits;
+		for( int radius = 0; radius <= bits; radius++ ) {
+			if( maxSubstringRadius >= 0 && radius > maxSubstringRadius )
+				break;
+			// every point which has not been checked has a distance of at least numTables*radius
+			if( numTables*radius >= bestDistance )
+				break;
+
+			for( int table = 0; table < numTables; table++ ) {
+				int length = substringLength(table);
+				if( radius > length )
+					continue;
+
+				int startIndex = table*(numBuckets+1);
+				int itemIndex = table*numPoints;
+				int value = substring(query,0,table);
+
+				if( radius == 0 ) {
+					checkBucket(startIndex+value,itemIndex);
+					continue;
+				}
+
+				// enumerate all masks with 'radius' bits set using Gosper's hack
+				int limit = 1 << length;
+				int mask = (1 << radius) - 1;
+				while( mask < limit ) {
+					checkBucket(startIndex+(value ^ mask),itemIndex);
+
+					int c = mask & -mask;
+					int r = mask + c;
+					mask = (((r ^ mask) >>> 2) / c) | r;
+				}
+			}
+		}
+
+		return bestIndex >= 0;
+	}
+
+	/**
+	 * Computes the distance to each point in the bucket which has not already been checked
+	 */
+	private void checkBucket( int bucket , int itemIndex ) {
+		int end = tableStart[bucket+1];
+		for( int i = tableStart[bucket]; i < end; i++ ) {
+			int index = tableItems[itemIndex+i];
+			if( visited[index] == visitedStamp )
+				continue;
+			visited[index] = visitedStamp;
+			checks++;
+
+			int offset = index*numWords;
+			int d = 0;
+			for( int j = 0; j < numWords; j++ ) {
+				d += Long.bitCount(packed[offset+j] ^ query[j]);
+			}
+			if( d < bestDistance ) {
+				bestDistance = d;
+				bestIndex = index;
+			}
+		}
+	}
+
+	/**
+	 * Number of bits in the specified substring.  The last one can be shorter than the others.
+	 */
+	private int substringLength( int table ) {
+		return Math.min(bits,numBits-table*bits);
+	}
+
+	/**
+	 * Extracts the value of a substring from the packed descriptor
+	 */
+	private int substring( long[] words , int offset , int table ) {
+		int bit = table*bits;
+		int index = offset + (bit >> 6);
+		int shift = bit & 63;
+		int length = substringLength(table);
+
+		long value = words[index] >>> shift;
+		if( shift + length > 64 )
+			value |= words[index+1] << (64-shift);
+
+		return (int)(value & ((1L << length) - 1));
+	}
+
+	/**
+	 * Packs the descriptor's 32-bit words into 64-bit words
+	 */
+	private void pack( TupleDesc_B desc , long[] words , int offset ) {
+		int[] data = desc.data;
+		int N = data.length/2;
+		for( int i = 0; i < N; i++ ) {
+			words[offset+i] = (data[i*2] & 0xFFFFFFFFL) | ((long)data[i*2+1] << 32);
+		}
+		if( data.length % 2 == 1 )
+			words[offset+N] = data[data.length-1] & 0xFFFFFFFFL;
+	}
+
+	@Override
+	public int getBestIndex() {
+		return bestIndex;
+	}
+
+	@Override
+	public double getBestDistance() {
+		return bestDistance;
+	}
+
+	/**
+	 * Number of points which the distance was computed to in the most recent search.
+	 */
+	public int getChecks() {
+		return checks;
+	}
+
+	/**
+	 * Number of bits in each substring selected in the most recent call to {@link #setPoints}
+	 */
+	public int getSubstringBits() {
+		return bits;
+	}
+}
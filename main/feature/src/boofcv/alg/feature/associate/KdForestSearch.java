@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import pja.storage.GrowQueue_F64;
+import pja.storage.GrowQueue_I32;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest-neighbor search using a forest of randomized k-d trees and best-bin-first search.
+ * Each tree splits along the mean of an axis which is randomly selected from the axes with the largest
+ * variance.  With one tree and one candidate axis this reduces to a standard k-d tree.  All trees are
+ * searched together using a single priority queue and the search stops after the distance to
+ * 'maxChecks' points has been computed.  If 'maxChecks' is <= 0 the search is exact.
+ * </p>
+ *
+ * <p>
+ * Tree nodes are stored in flat arrays so that rebuilding the forest each time a new set of points is
+ * provided does not create new objects once the internal storage has grown large enough.
+ * </p>
+ *
+ * <p>
+ * Muja, Marius and Lowe, David G. "Fast Approximate Nearest Neighbors with Automatic Algorithm
+ * Configuration" VISAPP 2009
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class KdForestSearch<D> implements NearestNeighborSearch<D> {
+
+	// number of points sampled when estimating the variance along each axis
+	private static final int NUM_SAMPLE_VARIANCE = 100;
+
+	// computes distance between points
+	private KdTreeDistance<D> distance;
+	// number of trees in the forest
+	private int numTrees;
+	// number of largest variance axes which a split is randomly selected from
+	private int numConsiderSplit;
+	// maximum number of points which are checked during a search
+	private int maxChecks;
+	private Random rand;
+
+	// points which are being searched
+	private FastQueue<D> points;
+	// number of elements in each point
+	private int dof;
+
+	// axis which the node is split along.  -1 for leafs
+	private GrowQueue_I32 splitAxis = new GrowQueue_I32(100);
+	// value the node is split at
+	private GrowQueue_F64 splitValue = new GrowQueue_F64(100);
+	// child with values less than the split.  For leafs the index of the point
+	private GrowQueue_I32 left = new GrowQueue_I32(100);
+	// child with values greater than or equal to the split
+	private GrowQueue_I32 right = new GrowQueue_I32(100);
+	// root of each tree
+	private int roots[];
+
+	// work space for building the trees
+	private int indexes[] = new int[1];
+	private double mean[] = new double[1];
+	private double variance[] = new double[1];
+	private int bestAxes[];
+
+	// marks points which have been checked in the current search
+	private int visited[] = new int[1];
+	private int visitedStamp;
+
+	// priority queue of unexplored branches sorted by minimum distance
+	private GrowQueue_I32 heapNode = new GrowQueue_I32(100);
+	private GrowQueue_F64 heapDist = new GrowQueue_F64(100);
+
+	// results of the search
+	private int checks;
+	private int bestIndex;
+	private double bestDistance;
+
+	/**
+	 * Configures the search.
+	 *
+	 * @param distance Computes distance between points.
+	 * @param numTrees Number of trees in the forest.  Try 4.
+	 * @param numConsiderSplit Number of largest variance axes a split is randomly selected from.  Try 5.  If 1
+	 *                         the split is always along the axis with the largest variance.
+	 * @param maxChecks Maximum number of points the distance is computed to in a single search.  If <= 0 then
+	 *                  the search is exact.
+	 * @param randSeed Random seed used to select split axes.
+	 */
+	public KdForestSearch(KdTreeDistance<D> distance,
+						  int numTrees, int numConsiderSplit,
+						  int maxChecks, long randSeed ) {
+		if( numTrees <= 0 )
+			throw new IllegalArgumentException("There must be at least one tree");
+		if( numConsiderSplit <= 0 )
+			throw new IllegalArgumentException("numConsiderSplit must be at least one");
+
+		this.distance = distance;
+		this.numTrees = numTrees;
+		this.numConsiderSplit = numConsiderSplit;
+		this.maxChecks = maxChecks;
+		this.rand = new Random(randSeed);
+
+		roots = new int[ numTrees ];
+		bestAxes = new int[ numConsiderSplit ];
+	}
+
+	/**
+	 * Builds the forest from the set of points.  The points are not copied and must not be modified
+	 * until the search is finished.
+	 *
+	 * @param points Set of points which are searched.
+	 */
+	@Override
+	public void setPoints( FastQueue<D> points ) {
+		this.points = points;
+
+		splitAxis.reset();
+		splitValue.reset();
+		left.reset();
+		right.reset();
+
+		int N = points.size;
+		if( N == 0 )
+			return;
+
+		dof = distance.length(points.data[0]);
+		if( mean.length < dof ) {
+			mean = new double[ dof ];
+			variance = new double[ dof ];
+		}
+		if( indexes.length < N ) {
+			indexes = new int[ N ];
+			visited = new int[ N ];
+			visitedStamp = 0;
+		}
+
+		for( int tree = 0; tree < numTrees; tree++ ) {
+			for( int i = 0; i < N; i++ )
+				indexes[i] = i;
+			roots[tree] = build(0, N);
+		}
+	}
+
+	/**
+	 * Recursively creates a node for the points in indexes from start to end-1.
+	 *
+	 * @return index of the created node
+	 */
+	private int build( int start , int end ) {
+		int node = splitAxis.size;
+		splitAxis.push(-1);
+		splitValue.push(0);
+		left.push(indexes[start]);
+		right.push(-1);
+
+		if( end - start == 1 )
+			return node;
+
+		int axis = selectSplitAxis(start, end);
+		double value = mean[axis];
+
+		int mid = partition(start, end, axis, value);
+
+		// the mean is computed from a sample and might not split the points, use the range instead
+		if( mid == start || mid == end ) {
+			double min = Double.MAX_VALUE;
+			double max = -Double.MAX_VALUE;
+			for( int i = start; i < end; i++ ) {
+				double v = distance.valueAt(points.data[indexes[i]],axis);
+				if( v < min ) min = v;
+				if( v > max ) max = v;
+			}
+			if( min == max ) {
+				// all the points have the same value along this axis
+				mid = (start+end)/2;
+				value = min;
+			} else {
+				value = (min+max)/2.0;
+				if( value <= min )
+					value = max;
+				mid = partition(start, end, axis, value);
+			}
+		}
+
+		splitAxis.data[node] = axis;
+		splitValue.data[node] = value;
+		int l = build(start, mid);
+		int r = build(mid, end);
+		left.data[node] = l;
+		right.data[node] = r;
+
+		return node;
+	}
+
+	/**
+	 * Moves points with a value less than the split value to the start of the range.
+	 *
+	 * @return index of the first point which is greater than or equal to the split value
+	 */
+	private int partition( int start , int end , int axis , double value ) {
+		int mid = start;
+		for( int i = start; i < end; i++ ) {
+			int index = indexes[i];
+			if( distance.valueAt(points.data[index],axis) < value ) {
+				indexes[i] = indexes[mid];
+				indexes[mid++] = index;
+			}
+		}
+		return mid;
+	}
+
+	/**
+	 * Computes the mean and variance along each axis from a sample of the points and randomly selects
+	 * one of the axes with the largest variance.
+	 */
+	private int selectSplitAxis( int start , int end ) {
+		int N = Math.min(end-start,NUM_SAMPLE_VARIANCE);
+
+		for( int i = 0; i < dof; i++ ) {
+			mean[i] = 0;
+			variance[i] = 0;
+		}
+		for( int i = 0; i < N; i++ ) {
+			D p = points.data[indexes[start+i]];
+			for( int j = 0; j < dof; j++ )
+				mean[j] += distance.valueAt(p,j);
+		}
+		for( int j = 0; j < dof; j++ )
+			mean[j] /= N;
+		for( int i = 0; i < N; i++ ) {
+			D p = points.data[indexes[start+i]];
+			for( int j = 0; j < dof; j++ ) {
+				double d = distance.valueAt(p,j) - mean[j];
+				variance[j] += d*d;
+			}
+		}
+
+		// find the axes with the largest variance using an insertion sort
+		int numBest = 0;
+		int K = Math.min(numConsiderSplit,dof);
+		for( int j = 0; j < dof; j++ ) {
+			double v = variance[j];
+			if( numBest == K && v <= variance[bestAxes[K-1]] )
+				continue;
+			int k = numBest < K ? numBest++ : K-1;
+			while( k > 0 && variance[bestAxes[k-1]] < v ) {
+				bestAxes[k] = bestAxes[k-1];
+				k--;
+			}
+			bestAxes[k] = j;
+		}
+
+		if( numBest == 1 )
+			return bestAxes[0];
+		return bestAxes[rand.nextInt(numBest)];
+	}
+
+	/**
+	 * Searches for the point which is closest to the query point.
+	 *
+	 * @param query The point being searched for.
+	 * @param maxDistance Only points with a distance less than this are considered.
+	 * @return true if a point was found.
+	 */
+	@Override
+	public boolean findNearest( D query , double maxDistance ) {
+		bestIndex = -1;
+		bestDistance = maxDistance;
+		checks = 0;
+
+		if( splitAxis.size == 0 )
+			return false;
+
+		if( ++visitedStamp == Integer.MAX_VALUE ) {
+			visitedStamp = 1;
+			for( int i = 0; i < points.size; i++ )
+				visited[i] = 0;
+		}
+
+		heapNode.reset();
+		heapDist.reset();
+
+		for( int tree = 0; tree < numTrees; tree++ )
+			searchNode(query, roots[tree]);
+
+		while( heapNode.size > 0 && (maxChecks <= 0 || checks < maxChecks) ) {
+			double d = heapDist.data[0];
+			int node = heapPop();
+			if( d >= bestDistance )
+				break;
+			searchNode(query, node);
+		}
+
+		return bestIndex >= 0;
+	}
+
+	/**
+	 * Descends from the node to a leaf, adding the branches not taken to the priority queue.
+	 */
+	private void searchNode( D query , int node ) {
+		int axis;
+		while( (axis = splitAxis.data[node]) >= 0 ) {
+			double diff = distance.valueAt(query,axis) - splitValue.data[node];
+			int near,far;
+			if( diff < 0 ) {
+				near = left.data[node];
+				far = right.data[node];
+			} else {
+				near = right.data[node];
+				far = left.data[node];
+			}
+			double boundDist = diff*diff;
+			if( boundDist < bestDistance )
+				heapPush(far,boundDist);
+			node = near;
+		}
+
+		int index = left.data[node];
+		if( visited[index] == visitedStamp )
+			return;
+		visited[index] = visitedStamp;
+		checks++;
+
+		double d = distance.distance(query,points.data[index]);
+		if( d < bestDistance ) {
+			bestDistance = d;
+			bestIndex = index;
+		}
+	}
+
+	private void heapPush( int node , double dist ) {
+		heapNode.push(node);
+		heapDist.push(dist);
+
+		int[] nodes = heapNode.data;
+		double[] dists = heapDist.data;
+		int i = heapNode.size-1;
+		while( i > 0 ) {
+			int parent = (i-1)/2;
+			if( dists[parent] <= dist )
+				break;
+			nodes[i] = nodes[parent];
+			dists[i] = dists[parent];
+			i = parent;
+		}
+		nodes[i] = node;
+		dists[i] = dist;
+	}
+
+	private int heapPop() {
+		int[] nodes = heapNode.data;
+		double[] dists = heapDist.data;
+
+		int ret = nodes[0];
+		int N = --heapNode.size;
+		heapDist.size = N;
+		if( N == 0 )
+			return ret;
+
+		int node = nodes[N];
+		double dist = dists[N];
+		int i = 0;
+		while( true ) {
+			int child = 2*i+1;
+			if( child >= N )
+				break;
+			if( child+1 < N && dists[child+1] < dists[child] )
+				child++;
+			if( dists[child] >= dist )
+				break;
+			nodes[i] = nodes[child];
+			dists[i] = dists[child];
+			i = child;
+		}
+		nodes[i] = node;
+		dists[i] = dist;
+
+		return ret;
+	}
+
+	/**
+	 * Index of the nearest point found in the most recent search.  -1 if none was found.
+	 */
+	@Override
+	public int getBestIndex() {
+		return bestIndex;
+	}
+
+	/**
+	 * Distance to the nearest point found in the most recent search.
+	 */
+	@Override
+	public double getBestDistance() {
+		return bestDistance;
+	}
+
+	/**
+	 * Number of points which the distance was computed to in the most recent search.
+	 */
+	public int getChecks() {
+		return checks;
+	}
+
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	public void setMaxChecks(int maxChecks) {
+		this.maxChecks = maxChecks;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+/**
+ * Provides access to the elements of a feature description and computes the distance between
+ * two descriptions for use inside of a k-d tree.  The distance must be the sum of per element
+ * distances, e.g. Euclidean squared, so that the distance along a single axis is a lower bound.
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public interface KdTreeDistance<D> {
+
+	/**
+	 * Distance between the two descriptions.
+	 */
+	public double distance( D a , D b );
+
+	/**
+	 * Value of the specified element in the description.
+	 */
+	public double valueAt( D point , int index );
+
+	/**
+	 * Number of elements in the description.
+	 */
+	public int length( D point );
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.TupleDesc_F64;
+
+/**
+ * Euclidean distance squared for {@link TupleDesc_F64} inside of a k-d tree.
+ *
+ * @author Peter Abeles
+ */
+public class KdTreeEuclideanSq_F64 implements KdTreeDistance<TupleDesc_F64> {
+
+	@Override
+	public double distance(TupleDesc_F64 a, TupleDesc_F64 b) {
+		final double[] va = a.value;
+		final double[] vb = b.value;
+
+		double total = 0;
+		for( int i = 0; i < va.length; i++ ) {
+			double d = va[i] - vb[i];
+			total += d*d;
+		}
+		return total;
+	}
+
+	@Override
+	public double valueAt(TupleDesc_F64 point, int index) {
+		return point.value[index];
+	}
+
+	@Override
+	public int length(TupleDesc_F64 point) {
+		return point.value.length;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+
+/**
+ * Data structure for finding the nearest neighbor of a point inside a set of points.  Depending on the
+ * implementation the search might be approximate.
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public interface NearestNeighborSearch<D> {
+
+	/**
+	 * Specifies the set of points which are searched.  The points are not copied and must not be modified
+	 * until the search is finished.
+	 *
+	 * @param points Set of points which are searched.
+	 */
+	public void setPoints( FastQueue<D> points );
+
+	/**
+	 * Searches for the point which is closest to the query point.
+	 *
+	 * @param query The point being searched for.
+	 * @param maxDistance Only points with a distance less than this are considered.
+	 * @return true if a point was found.
+	 */
+	public boolean findNearest( D query , double maxDistance );
+
+	/**
+	 * Index of the nearest point found in the most recent search.  -1 if none was found.
+	 */
+	public int getBestIndex();
+
+	/**
+	 * Distance to the nearest point found in the most recent search.
+	 */
+	public double getBestDistance();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe;
+
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_I32;
+
+/**
+ * <p>
+ * Rotated BRIEF descriptor, as used by ORB [1].  Works the same as {@link DescribePointBrief} except that the
+ * sample points are rotated by the feature's orientation.  Instead of rotating and interpolating each sample
+ * point, like {@link DescribePointBriefSO}, the orientation is rounded to the closest angle in a
+ * {@link BriefRotatedLookup} and the pixel offsets of the rotated points are precomputed.  Computing the
+ * descriptor then only requires array lookups and integer comparisons.
+ * </p>
+ *
+ * <p>
+ * Scale is not handled by this class.  Instead features should be described in the layer of an image pyramid
+ * which they were detected in.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class DescribePointBriefRotated<T extends ImageSingleBand> {
+	// describes the BRIEF feature
+	protected BriefDefinition_I32 definition;
+	// the rotated sample points
+	protected BriefRotatedLookup lookup;
+	// blurs the image prior to sampling
+	protected BlurFilter<T> filterBlur;
+	// blurred image
+	protected T blur;
+
+	// precomputed offsets of the rotated sample points inside the image.  [angle][compare]
+	protected int offsetsA[][];
+	protected int offsetsB[][];
+	// the stride which the offsets were computed for
+	private int stride = -1;
+
+	public DescribePointBriefRotated(BriefRotatedLookup lookup, BlurFilter<T> filterBlur) {
+		this.lookup = lookup;
+		this.definition = lookup.getDefinition();
+		this.filterBlur = filterBlur;
+
+		blur = GeneralizedImageOps.createSingleBand(filterBlur.getInputType(), 1, 1);
+
+		int numAngles = lookup.getNumAngles();
+		offsetsA = new int[ numAngles ][ definition.compare.length ];
+		offsetsB = new int[ numAngles ][ definition.compare.length ];
+	}
+
+	/**
+	 * Function which creates a description of the appropriate size.
+	 *
+	 * @return Creates a bew description.
+	 */
+	public TupleDesc_B createFeature() {
+		return new TupleDesc_B(definition.getLength());
+	}
+
+	/**
+	 * Specifies the image from which feature descriptions are to be created.
+	 *
+	 * @param image Image being examined.
+	 */
+	public void setImage(T image) {
+		blur.reshape(image.width,image.height);
+		filterBlur.process(image,blur);
+
+		if( stride != blur.stride ) {
+			stride = blur.stride;
+			for( int angle = 0; angle < offsetsA.length; angle++ ) {
+				Point2D_I32 samples[] = lookup.getSamples(angle);
+				for( int i = 0; i < definition.compare.length ; i++ ) {
+					Point2D_I32 c = definition.compare[i];
+					Point2D_I32 a = samples[c.x];
+					Point2D_I32 b = samples[c.y];
+					offsetsA[angle][i] = stride*a.y + a.x;
+					offsetsB[angle][i] = stride*b.y + b.x;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the descriptor at the specified point.  Sample points outside the image are not compared and
+	 * their bits are set to zero.  Once the image has been set this function does not modify the internal
+	 * state, so it can be called by multiple threads at once.
+	 *
+	 * @param c_x Center of region being described.
+	 * @param c_y Center of region being described.
+	 * @param orientation Orientation of the feature in radians.
+	 * @param feature Where the descriptor is written to.
+	 */
+	public void process( double c_x , double c_y , double orientation , TupleDesc_B feature ) {
+		int x = (int)c_x;
+		int y = (int)c_y;
+		int angle = lookup.angleToIndex(orientation);
+
+		if( BoofMiscOps.checkInside(blur,x, y, lookup.getRadius()) ) {
+			processInside(x,y,angle,feature);
+		} else {
+			processBorder(x,y,angle,feature);
+		}
+	}
+
+	/**
+	 * Called if the descriptor region is contained entirely inside the image
+	 */
+	public abstract void processInside( int c_x , int c_y , int angle , TupleDesc_B feature );
+
+	/**
+	 * Called if the descriptor region goes outside the image border
+	 */
+	public abstract void processBorder( int c_x , int c_y , int angle , TupleDesc_B feature );
+
+	public BriefDefinition_I32 getDefinition() {
+		return definition;
+	}
+
+	public BriefRotatedLookup getLookup() {
+		return lookup;
+	}
+}
@@ -78,6 +78,18 @@ public class DescribePointBriefSO<T extends ImageSingleBand> {
 		interp.setImage(blur);
 	}
 
+	/**
+	 * Describes features in the same image as another instance without blurring the image again.  The blurred
+	 * image is referenced and not copied, so this instance must not be used after the other instance has
+	 * processed a different image.  Used to describe features in parallel, with one instance per thread.
+	 *
+	 * @param original Instance which has already processed the image.
+	 */
+	public void setImage( DescribePointBriefSO<T> original ) {
+		blur = original.blur;
+		interp.setImage(blur);
+	}
+
 	public void process( float c_x , float c_y , float orientation , float scale , TupleDesc_B feature )
 	{
 		// NOTE: This doesn't seem to take in account the interpolation border.  Might not work algs
@@ -110,6 +122,8 @@ public class DescribePointBriefSO<T extends ImageSingleBand> {
 				if( blur.isInBounds((int) x0, (int) y0) ) {
 					// it might be inside the image but too close to the border for unsafe
 					values[i] = interp.get(x0,y0);
+				} else {
+					values[i] = 0;
 				}
 			}
 		}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Computes an order for a set of points so that points inside the same square tile of the image are next to
+ * each other.  Tiles are ordered row by row and inside a tile the original order is preserved.  Describing points
+ * in this order improves memory locality, since neighboring points reference the same region of the image.
+ * Points outside the image are assigned to the closest tile.
+ * </p>
+ *
+ * <p>
+ * Sorting is done using a counting sort and internal storage is only declared when it needs to grow.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SortPointsByTile {
+
+	// width and height of a tile in pixels
+	private int tileWidth;
+
+	// index of the first point in each tile
+	private int tileStart[] = new int[0];
+	// index of the points in sorted order
+	private int order[] = new int[0];
+
+	/**
+	 * @param tileWidth Width and height of a tile in pixels.
+	 */
+	public SortPointsByTile(int tileWidth) {
+		setTileWidth(tileWidth);
+	}
+
+	/**
+	 * Sorts the points by tile.  The results are returned by {@link #getOrder()}.
+	 *
+	 * @param x x-coordinate of each point.
+	 * @param y y-coordinate of each point.
+	 * @param numPoints Number of points.
+	 * @param imageWidth Width of the image.
+	 * @param imageHeight Height of the image.
+	 */
+	public void sort( double x[] , double y[] , int numPoints , int imageWidth , int imageHeight ) {
+		int tilesX = Math.max(1,(imageWidth+tileWidth-1)/tileWidth);
+		int tilesY = Math.max(1,(imageHeight+tileWidth-1)/tileWidth);
+		int numTiles = tilesX*tilesY;
+
+		if( tileStart.length < numTiles+1 )
+			tileStart = new int[numTiles+1];
+		if( order.length < numPoints )
+			order = new int[numPoints];
+
+		Arrays.fill(tileStart,0,numTiles+1,0);
+		for( int i = 0; i < numPoints; i++ ) {
+			tileStart[tile(x[i],y[i],tilesX,tilesY)+1]++;
+		}
+		for( int i = 0; i < numTiles; i++ ) {
+			tileStart[i+1] += tileStart[i];
+		}
+		for( int i = 0; i < numPoints; i++ ) {
+			order[tileStart[tile(x[i],y[i],tilesX,tilesY)]++] = i;
+		}
+	}
+
+	private int tile( double x , double y , int tilesX , int tilesY ) {
+		int tx = (int)(x/tileWidth);
+		int ty = (int)(y/tileWidth);
+
+		if( tx < 0 ) tx = 0; else if( tx >= tilesX ) tx = tilesX-1;
+		if( ty < 0 ) ty = 0; else if( ty >= tilesY ) ty = tilesY-1;
+
+		return ty*tilesX + tx;
+	}
+
+	/**
+	 * Index of each point in sorted order.  Only the first numPoints elements are valid.
+	 */
+	public int[] getOrder() {
+		return order;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public void setTileWidth(int tileWidth) {
+		if( tileWidth <= 0 )
+			throw new IllegalArgumentException("Tile width must be more than zero");
+		this.tileWidth = tileWidth;
+	}
+}
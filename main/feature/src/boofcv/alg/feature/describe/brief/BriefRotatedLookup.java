@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.brief;
+
+import georegression.struct.point.Point2D_I32;
+
+/**
+ * <p>
+ * Lookup table which contains the sample points in a {@link BriefDefinition_I32} rotated by a discrete set of
+ * angles.  Allows a rotated BRIEF descriptor to be computed using only integer arithmetic, by looking up the
+ * sample points for the angle closest to the feature's orientation, see [1].  Rotated sample points are rounded
+ * to the nearest pixel.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BriefRotatedLookup {
+	// the original unrotated descriptor
+	protected BriefDefinition_I32 definition;
+
+	// sample points after being rotated.  [angle][sample]
+	protected Point2D_I32 samples[][];
+
+	// the largest absolute value of a rotated sample point's coordinate
+	protected int radius;
+
+	/**
+	 * Computes the lookup table.
+	 *
+	 * @param definition Describes the unrotated descriptor.
+	 * @param numAngles Number of discrete angles the pattern is rotated by. ORB uses 30, i.e. 12 degrees.
+	 */
+	public BriefRotatedLookup(BriefDefinition_I32 definition, int numAngles) {
+		if( numAngles <= 0 )
+			throw new IllegalArgumentException("numAngles must be more than zero");
+
+		this.definition = definition;
+
+		samples = new Point2D_I32[ numAngles ][];
+		radius = 0;
+		for( int i = 0; i < numAngles; i++ ) {
+			double theta = 2.0*Math.PI*i/numAngles;
+			double c = Math.cos(theta);
+			double s = Math.sin(theta);
+
+			Point2D_I32 rotated[] = samples[i] = new Point2D_I32[ definition.samplePoints.length ];
+			for( int j = 0; j < rotated.length; j++ ) {
+				Point2D_I32 p = definition.samplePoints[j];
+				int x = (int)Math.round(c*p.x - s*p.y);
+				int y = (int)Math.round(s*p.x + c*p.y);
+				rotated[j] = new Point2D_I32(x,y);
+
+				radius = Math.max(radius,Math.max(Math.abs(x),Math.abs(y)));
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the discrete angle which is closest to the specified angle
+	 *
+	 * @param angle Angle in radians.  Can be any value.
+	 * @return Index of the closest discrete angle
+	 */
+	public int angleToIndex( double angle ) {
+		int numAngles = samples.length;
+		int index = (int)Math.round(angle*numAngles/(2.0*Math.PI)) % numAngles;
+		if( index < 0 )
+			index += numAngles;
+		return index;
+	}
+
+	/**
+	 * Sample points rotated by the specified discrete angle.
+	 *
+	 * @param index Index of the discrete angle.
+	 * @return Rotated sample points.  Do not modify.
+	 */
+	public Point2D_I32[] getSamples( int index ) {
+		return samples[index];
+	}
+
+	public int getNumAngles() {
+		return samples.length;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public BriefDefinition_I32 getDefinition() {
+		return definition;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.impl;
+
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.DescribePointBriefRotated;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Implementation of {@link DescribePointBriefRotated} for a specific image type.
+ * </p>
+ *
+ * <p>
+ * WARNING: Do not modify.  Automatically generated by {@link FactoryImplDescribePointBriefRotated}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplDescribePointBriefRotated_U8 extends DescribePointBriefRotated<ImageUInt8> {
+
+	public ImplDescribePointBriefRotated_U8(BriefRotatedLookup lookup, BlurFilter<ImageUInt8> filterBlur) {
+		super(lookup, filterBlur);
+	}
+
+	@Override
+	public void processInside( int c_x , int c_y , int angle , TupleDesc_B feature )
+	{
+		Arrays.fill(feature.data, 0);
+
+		int index = blur.startIndex + blur.stride*c_y + c_x;
+		int offsetsA[] = this.offsetsA[angle];
+		int offsetsB[] = this.offsetsB[angle];
+
+		for( int i = 0; i < offsetsA.length; i++ ) {
+			int valA = blur.data[index + offsetsA[i]]& 0xFF;
+			int valB = blur.data[index + offsetsB[i]]& 0xFF;
+
+			if( valA < valB ) {
+				feature.data[ i/32 ] |= 1 << (i % 32);
+			}
+		}
+	}
+
+	@Override
+	public void processBorder( int c_x , int c_y , int angle , TupleDesc_B feature ) {
+		Arrays.fill(feature.data, 0);
+
+		int index = blur.startIndex + blur.stride*c_y + c_x;
+		int offsetsA[] = this.offsetsA[angle];
+		int offsetsB[] = this.offsetsB[angle];
+		Point2D_I32 samples[] = lookup.getSamples(angle);
+
+		for( int i = 0; i < offsetsA.length; i++ ) {
+			Point2D_I32 c = definition.compare[i];
+			Point2D_I32 p_a = samples[c.x];
+			Point2D_I32 p_b = samples[c.y];
+
+			if( blur.isInBounds(p_a.x + c_x , p_a.y + c_y) &&
+					blur.isInBounds(p_b.x + c_x , p_b.y + c_y) ){
+				int valA = blur.data[index + offsetsA[i]]& 0xFF;
+				int valB = blur.data[index + offsetsB[i]]& 0xFF;
+
+				if( valA < valB ) {
+					feature.data[ i/32 ] |= 1 << (i % 32);
+				}
+			}
+		}
+	}
+
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.detect.intensity;
 
+import boofcv.alg.feature.detect.intensity.impl.ImplIntegralImageFeatureIntensity;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageSingleBand;
@@ -47,4 +48,50 @@ public class GIntegralImageFeatureIntensity {
 			throw new IllegalArgumentException("Unsupported input type");
 		}
 	}
+
+	/**
+	 * Computes an approximation to the Hessian's determinant only along the image border.
+	 * See {@link #hessian}.
+	 *
+	 * @param integral Integral image transform of input image. Not modified.
+	 * @param skip How many pixels should it skip over.
+	 * @param size Hessian kernel's size.
+	 * @param intensity Output intensity image.
+	 */
+	public static <T extends ImageSingleBand>
+	void hessianBorder( T integral, int skip , int size ,
+						ImageFloat32 intensity) {
+
+		if( integral instanceof ImageFloat32 ) {
+			ImplIntegralImageFeatureIntensity.hessianBorder((ImageFloat32)integral,skip,size,intensity);
+		} else if( integral instanceof ImageSInt32) {
+			ImplIntegralImageFeatureIntensity.hessianBorder((ImageSInt32)integral,skip,size,intensity);
+		} else {
+			throw new IllegalArgumentException("Unsupported input type");
+		}
+	}
+
+	/**
+	 * Computes an approximation to the Hessian's determinant inside the image and for rows y0 to y1-1 in the
+	 * intensity image.  Rows along the image border are not modified.  See {@link #hessian}.
+	 *
+	 * @param integral Integral image transform of input image. Not modified.
+	 * @param skip How many pixels should it skip over.
+	 * @param size Hessian kernel's size.
+	 * @param intensity Output intensity image.
+	 * @param y0 First row in the intensity image. Inclusive.
+	 * @param y1 Last row in the intensity image. Exclusive.
+	 */
+	public static <T extends ImageSingleBand>
+	void hessianInner( T integral, int skip , int size ,
+					   ImageFloat32 intensity , int y0 , int y1 ) {
+
+		if( integral instanceof ImageFloat32 ) {
+			ImplIntegralImageFeatureIntensity.hessianInner((ImageFloat32)integral,skip,size,intensity,y0,y1);
+		} else if( integral instanceof ImageSInt32) {
+			ImplIntegralImageFeatureIntensity.hessianInner((ImageSInt32)integral,skip,size,intensity,y0,y1);
+		} else {
+			throw new IllegalArgumentException("Unsupported input type");
+		}
+	}
 }
@@ -130,6 +130,16 @@ public class ImplIntegralImageFeatureIntensity {
 	 */
 	public static void hessianInner( ImageFloat32 integral, int skip , int size ,
 									 ImageFloat32 intensity)
+	{
+		hessianInner(integral,skip,size,intensity,0,intensity.height);
+	}
+
+	/**
+	 * Optimizes intensity for the inner image.  Only rows from y0 to y1-1 in the intensity image are
+	 * computed, which allows the image to be processed in blocks.
+	 */
+	public static void hessianInner( ImageFloat32 integral, int skip , int size ,
+									 ImageFloat32 intensity , int y0 , int y1 )
 	{
 		final int w = intensity.width;
 		final int h = intensity.height;
@@ -153,10 +163,11 @@ public class ImplIntegralImageFeatureIntensity {
 		final int borderOrig = radiusFeature+ 1 + (skip-(radiusFeature+1)%skip);
 		final int border = borderOrig/skip;
 		final int lostPixel = borderOrig - radiusFeature-1;
-		final int endY = h - border;
+		final int startY = Math.max(border,y0);
+		final int endY = Math.min(h - border,y1);
 		final int endX = w - border;
 
-		for( int y = border; y < endY; y++ ) {
+		for( int y = startY; y < endY; y++ ) {
 
 			// pixel location in original input image
 			int yy = y*skip;
@@ -303,6 +314,16 @@ public class ImplIntegralImageFeatureIntensity {
 	 */
 	public static void hessianInner( ImageSInt32 integral, int skip , int size ,
 									 ImageFloat32 intensity)
+	{
+		hessianInner(integral,skip,size,intensity,0,intensity.height);
+	}
+
+	/**
+	 * Optimizes intensity for the inner image.  Only rows from y0 to y1-1 in the intensity image are
+	 * computed, which allows the image to be processed in blocks.
+	 */
+	public static void hessianInner( ImageSInt32 integral, int skip , int size ,
+									 ImageFloat32 intensity , int y0 , int y1 )
 	{
 		final int w = intensity.width;
 		final int h = intensity.height;
@@ -326,10 +347,11 @@ public class ImplIntegralImageFeatureIntensity {
 		final int borderOrig = radiusFeature+ 1 + (skip-(radiusFeature+1)%skip);
 		final int border = borderOrig/skip;
 		final int lostPixel = borderOrig - radiusFeature-1;
-		final int endY = h - border;
+		final int startY = Math.max(border,y0);
+		final int endY = Math.min(h - border,y1);
 		final int endX = w - border;
 
-		for( int y = border; y < endY; y++ ) {
+		for( int y = startY; y < endY; y++ ) {
 
 			// pixel location in original input image
 			int yy = y*skip;
@@ -148,12 +148,6 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( T integral ) {
-		if( intensity == null ) {
-			intensity = new ImageFloat32[3];
-			for( int i = 0; i < intensity.length; i++ ) {
-				intensity[i] = new ImageFloat32(integral.width,integral.height);
-			}
-		}
 		foundPoints.clear();
 
 		// computes feature intensity every 'skip' pixels
@@ -194,6 +188,13 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 		int w = integral.width/skip;
 		int h = integral.height/skip;
 
+		if( intensity == null ) {
+			intensity = new ImageFloat32[3];
+			for( int i = 0; i < intensity.length; i++ ) {
+				intensity[i] = new ImageFloat32(integral.width,integral.height);
+			}
+		}
+
 		// resize the output intensity image taking in account subsampling
 		for( int i = 0; i < intensity.length; i++ ) {
 			intensity[i].reshape(w,h);
@@ -209,7 +210,8 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 
 			// find maximum in scale space
 			if( i >= 2 ) {
-				findLocalScaleSpaceMax(featureSize,i-1,skip);
+				findLocalScaleSpaceMax(intensity[spaceIndex],intensity[(spaceIndex + 1) % 3],
+						intensity[(spaceIndex + 2) % 3],featureSize,i-1,skip);
 			}
 		}
 	}
@@ -217,30 +219,30 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 	/**
 	 * Looks for features which are local maximums in the image and scale-space.
 	 *
+	 * @param intenLower Feature intensity in the level below.
+	 * @param intenLevel Feature intensity in the level being searched.
+	 * @param intenUpper Feature intensity in the level above.
 	 * @param size Size of features in different scale-spaces.
 	 * @param level Which level in the scale-space
 	 * @param skip How many pixels are skipped over.
 	 */
-	private void findLocalScaleSpaceMax(int []size, int level, int skip) {
-		int index0 = spaceIndex;
-		int index1 = (spaceIndex + 1) % 3;
-		int index2 = (spaceIndex + 2) % 3;
-
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		ImageFloat32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+	protected void findLocalScaleSpaceMax(ImageFloat32 intenLower, ImageFloat32 intenLevel, ImageFloat32 intenUpper,
+										  int []size, int level, int skip) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intenLower, 0);
+		ImageFloat32 inten1 = intenLevel;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intenUpper, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip)+extractor.getSearchRadius());
-		extractor.process(intensity[index1],null,-1,foundFeatures);
+		extractor.process(inten1,null,-1,foundFeatures);
 
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( selectBest != null ) {
-			selectBest.process(intensity[index1],foundFeatures);
+			selectBest.process(inten1,foundFeatures);
 			features = selectBest.getBestCorners();
 		} else {
 			features = foundFeatures;
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastHessianFeatureDetector}.  Inside an octave the feature intensity
+ * of each scale only depends on the integral image, so the intensity of every scale is computed in parallel
+ * and saved into its own buffer.  Once all the scales have been computed, local maximums are found in each
+ * scale in the same order as the single threaded version, producing identical results.
+ * </p>
+ *
+ * <p>
+ * Two ways of dividing up the work are provided.  By default each scale is a separate task.  In tiled mode
+ * the intensity image is divided into blocks of rows and every scale is computed for one block before
+ * moving on to the next.  A block only references a small number of rows in the integral image, which
+ * then stay in the CPU cache while each scale is computed.  Tiled mode also spreads the work evenly when
+ * there are more threads than scales.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastHessianFeatureDetector_MT<T extends ImageSingleBand> extends FastHessianFeatureDetector<T> {
+
+	// feature intensity for each scale in the octave
+	private ImageFloat32 intensityScales[];
+
+	// if true the intensity is computed in blocks of rows
+	private boolean tiled;
+	// target size in bytes of the integral image region referenced by a single block
+	private int tileBytes = 256*1024;
+
+	// input to the tasks
+	private T integral;
+	private int skip;
+	private int featureSize[];
+	private int rowsPerTile;
+
+	private ScaleTask scaleTask = new ScaleTask();
+	private TileTask tileTask = new TileTask();
+	private BorderTask borderTask = new BorderTask();
+
+	/**
+	 * See {@link FastHessianFeatureDetector#FastHessianFeatureDetector} for a description of the common parameters.
+	 *
+	 * @param tiled If true the intensity is computed in blocks of rows across all the scales at once, otherwise
+	 *              each scale is computed independently.
+	 */
+	public FastHessianFeatureDetector_MT(FeatureExtractor extractor, int maxFeaturesPerScale,
+										 int initialSampleRate, int initialSize,
+										 int numberScalesPerOctave,
+										 int numberOfOctaves , boolean tiled ) {
+		super(extractor, maxFeaturesPerScale, initialSampleRate, initialSize, numberScalesPerOctave, numberOfOctaves);
+		this.tiled = tiled;
+		intensityScales = new ImageFloat32[numberScalesPerOctave];
+		for( int i = 0; i < numberScalesPerOctave; i++ ) {
+			intensityScales[i] = new ImageFloat32(1,1);
+		}
+	}
+
+	@Override
+	protected void detectOctave( T integral , int skip , int ...featureSize ) {
+		int w = integral.width/skip;
+		int h = integral.height/skip;
+
+		for( int i = 0; i < featureSize.length; i++ ) {
+			intensityScales[i].reshape(w,h);
+		}
+
+		this.integral = integral;
+		this.skip = skip;
+		this.featureSize = featureSize;
+
+		if( tiled ) {
+			// number of input rows which a block of output rows references
+			int maxSize = featureSize[featureSize.length-1];
+			int bytesPerRow = Math.max(1,integral.stride*4);
+			rowsPerTile = Math.max(1, (tileBytes/bytesPerRow - maxSize)/skip);
+
+			BoofConcurrency.loopBlocks(0,h,rowsPerTile,tileTask);
+			BoofConcurrency.loopTasks(featureSize.length,borderTask);
+		} else {
+			BoofConcurrency.loopTasks(featureSize.length,scaleTask);
+		}
+
+		this.integral = null;
+
+		// find maximums in scale space
+		for( int i = 1; i < featureSize.length-1; i++ ) {
+			findLocalScaleSpaceMax(intensityScales[i-1],intensityScales[i],intensityScales[i+1],featureSize,i,skip);
+		}
+	}
+
+	public boolean isTiled() {
+		return tiled;
+	}
+
+	public int getTileBytes() {
+		return tileBytes;
+	}
+
+	/**
+	 * Specifies how much of the integral image a block of rows should reference in tiled mode.  Should be
+	 * smaller than the CPU's cache.
+	 */
+	public void setTileBytes(int tileBytes) {
+		this.tileBytes = tileBytes;
+	}
+
+	/**
+	 * Computes the intensity of each scale independently
+	 */
+	private class ScaleTask implements IntRangeTask {
+		@Override
+		public void process(int start, int end) {
+			for( int i = start; i < end; i++ ) {
+				GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],intensityScales[i]);
+			}
+		}
+	}
+
+	/**
+	 * Computes the intensity in the inner image for rows from start to end-1 across all scales, one tile
+	 * at a time
+	 */
+	private class TileTask implements IntRangeTask {
+		@Override
+		public void process(int start, int end) {
+			for( int y0 = start; y0 < end; y0 += rowsPerTile ) {
+				int y1 = Math.min(end,y0+rowsPerTile);
+				for( int i = 0; i < featureSize.length; i++ ) {
+					GIntegralImageFeatureIntensity.hessianInner(integral,skip,featureSize[i],intensityScales[i],y0,y1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the intensity along the image border for each scale
+	 */
+	private class BorderTask implements IntRangeTask {
+		@Override
+		public void process(int start, int end) {
+			for( int i = start; i < end; i++ ) {
+				GIntegralImageFeatureIntensity.hessianBorder(integral,skip,featureSize[i],intensityScales[i]);
+			}
+		}
+	}
+}
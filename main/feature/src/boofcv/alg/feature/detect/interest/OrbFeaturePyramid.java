@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.feature.describe.DescribePointBriefRotated;
+import boofcv.alg.feature.orientation.OrientationIntensityCentroid;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.FastQueue;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+import georegression.struct.point.Point2D_I16;
+
+/**
+ * <p>
+ * ORB [1] style feature detector and descriptor.  FAST corners are detected independently in each layer of a
+ * {@link PyramidDiscrete}, their orientation is estimated using {@link OrientationIntensityCentroid}, and then
+ * they are optionally described using the rotated BRIEF descriptor in {@link DescribePointBriefRotated}.  Each
+ * feature is processed in the layer it was detected in while that layer is still in the cache.  When the input is
+ * an integer image everything except computing the final angle is done using integer arithmetic.
+ * </p>
+ *
+ * <p>
+ * Differences from [1]: The pyramid's scale factors are integers, e.g. 1,2,4,8, instead of 1.2.  The FAST score
+ * is used to rank features instead of the Harris measure.
+ * </p>
+ *
+ * <p>
+ * Features whose orientation region extends outside of the layer are discarded.  Locations are returned in the
+ * input image's pixel coordinates and the scale is the layer's scale factor.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs
+ */
+public class OrbFeaturePyramid<T extends ImageSingleBand> {
+
+	// detects corners inside each layer
+	protected GeneralFeatureDetector<T,?> detector;
+	// estimates each feature's orientation
+	protected OrientationIntensityCentroid<T> orientation;
+	// describes the features.  Can be null.
+	protected DescribePointBriefRotated<T> describe;
+
+	// computes the image pyramid
+	protected PyramidUpdaterDiscrete<T> updater;
+	protected PyramidDiscrete<T> pyramid;
+
+	// location and scale of found features
+	protected FastQueue<ScalePoint> locations = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
+	// orientation of each feature
+	protected double orientations[] = new double[10];
+	// description of each feature
+	protected TupleDescQueue<TupleDesc_B> descriptions;
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param detector FAST corner detector which is applied to each layer.
+	 * @param orientation Estimates the orientation.
+	 * @param describe Describes the feature.  If null then features are not described.
+	 * @param updater Computes the image pyramid.
+	 * @param pyramid Image pyramid.
+	 */
+	public OrbFeaturePyramid(GeneralFeatureDetector<T, ?> detector,
+							 OrientationIntensityCentroid<T> orientation,
+							 DescribePointBriefRotated<T> describe,
+							 PyramidUpdaterDiscrete<T> updater,
+							 PyramidDiscrete<T> pyramid) {
+		if( detector.getRequiresGradient() || detector.getRequiresHessian() )
+			throw new IllegalArgumentException("The detector must not require image derivatives");
+
+		this.detector = detector;
+		this.orientation = orientation;
+		this.describe = describe;
+		this.updater = updater;
+		this.pyramid = pyramid;
+
+		if( describe != null ) {
+			int length = describe.getDefinition().getLength();
+			descriptions = new TupleDescQueue<TupleDesc_B>(TupleDesc_B.class,length,true);
+		}
+	}
+
+	/**
+	 * Detects and describes features inside the image
+	 *
+	 * @param input Input image.  Not modified.
+	 */
+	public void detect( T input ) {
+		updater.update(input,pyramid);
+
+		locations.reset();
+		if( descriptions != null )
+			descriptions.reset();
+
+		orientation.setScale(1);
+		int border = orientation.getRadius();
+
+		for( int layer = 0; layer < pyramid.getNumLayers(); layer++ ) {
+			T image = pyramid.getLayer(layer);
+			double scale = pyramid.getScale(layer);
+
+			detector.process(image,null,null,null,null,null);
+			orientation.setImage(image);
+			if( describe != null )
+				describe.setImage(image);
+
+			QueueCorner corners = detector.getFeatures();
+			for( int i = 0; i < corners.size; i++ ) {
+				Point2D_I16 p = corners.get(i);
+
+				if( !BoofMiscOps.checkInside(image,p.x,p.y,border) )
+					continue;
+
+				double angle = orientation.compute(p.x,p.y);
+
+				int index = locations.size;
+				ScalePoint s = locations.grow();
+				s.x = p.x*scale;
+				s.y = p.y*scale;
+				s.scale = scale;
+
+				if( orientations.length <= index ) {
+					double tmp[] = new double[ index*2 ];
+					System.arraycopy(orientations,0,tmp,0,index);
+					orientations = tmp;
+				}
+				orientations[index] = angle;
+
+				if( describe != null )
+					describe.process(p.x,p.y,angle,descriptions.grow());
+			}
+		}
+	}
+
+	/**
+	 * Number of features found
+	 */
+	public int getNumberOfFeatures() {
+		return locations.size;
+	}
+
+	/**
+	 * Location of the feature in the input image and the scale of the layer it was detected in
+	 */
+	public ScalePoint getLocation( int index ) {
+		return locations.get(index);
+	}
+
+	/**
+	 * Orientation of the feature in radians
+	 */
+	public double getOrientation( int index ) {
+		return orientations[index];
+	}
+
+	/**
+	 * Description of all the features, or null if features are not being described
+	 */
+	public TupleDescQueue<TupleDesc_B> getDescriptions() {
+		return descriptions;
+	}
+
+	public PyramidDiscrete<T> getPyramid() {
+		return pyramid;
+	}
+
+	public DescribePointBriefRotated<T> getDescribe() {
+		return describe;
+	}
+}
@@ -41,6 +41,14 @@ import boofcv.struct.image.ImageSingleBand;
 public abstract class DisparityScoreRowFormat
 		<Input extends ImageSingleBand, Disparity extends ImageSingleBand>
 {
+	/**
+	 * Implementations which use floating point scores recompute the vertical sum from scratch when the
+	 * top row of the region is a multiple of this value, instead of updating it.  This prevents round off
+	 * errors from accumulating and makes the results independent of which row processing started at,
+	 * allowing the image to be processed in strips which start at these rows.
+	 */
+	public static final int SYNC_ROWS = 16;
+
 	// the minimum disparity that it will check
 	protected int minDisparity;
 	// maximum allowed image disparity
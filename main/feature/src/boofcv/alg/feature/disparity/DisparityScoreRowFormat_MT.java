@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link DisparityScoreRowFormat}.  The image is split into horizontal strips
+ * which are processed in parallel by separate instances of the algorithm, each with its own row score buffers
+ * and {@link DisparitySelect}.  Adjacent strips overlap by the border so that every strip sees all the rows
+ * its regions touch.  Strips start at rows which are a multiple of {@link #SYNC_ROWS} relative to the first
+ * row, making the output identical to processing the whole image with a single instance.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("unchecked")
+public class DisparityScoreRowFormat_MT
+		<Input extends ImageSingleBand, Disparity extends ImageSingleBand>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// algorithms which process each strip.  all must have the same configuration
+	private List<DisparityScoreRowFormat<Input,Disparity>> workers;
+
+	// input and output images for the current call
+	private Input left, right;
+	private Disparity disparity;
+	// first output row in each strip, with an extra element for the end
+	private int stripRows[];
+
+	private IntRangeTask task = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			int border = getBorderY();
+			for( int strip = start; strip < end; strip++ ) {
+				int y0 = stripRows[strip] - border;
+				int y1 = stripRows[strip+1] + border;
+
+				Input subLeft = (Input)left.subimage(0,y0,left.width,y1);
+				Input subRight = (Input)right.subimage(0,y0,right.width,y1);
+				Disparity subDisparity = (Disparity)disparity.subimage(0,y0,disparity.width,y1);
+
+				workers.get(strip).process(subLeft,subRight,subDisparity);
+			}
+		}
+	};
+
+	/**
+	 * Specifies the algorithms used to process each strip.  The maximum number of strips is
+	 * the number of workers.
+	 *
+	 * @param workers Algorithms with identical configurations which do not share any data.
+	 */
+	public DisparityScoreRowFormat_MT( List<DisparityScoreRowFormat<Input,Disparity>> workers ) {
+		super(workers.get(0).minDisparity, workers.get(0).maxDisparity,
+				workers.get(0).radiusX, workers.get(0).radiusY);
+		this.workers = workers;
+		stripRows = new int[ workers.size()+1 ];
+	}
+
+	@Override
+	public void _process(Input left, Input right, Disparity disparity) {
+		int border = getBorderY();
+		int numChunks = (left.height - 2*border + SYNC_ROWS - 1)/SYNC_ROWS;
+		int numStrips = Math.min(workers.size(),numChunks);
+
+		if( numStrips <= 1 ) {
+			workers.get(0).process(left,right,disparity);
+			return;
+		}
+
+		for( int i = 0; i < numStrips; i++ ) {
+			stripRows[i] = border + (i*numChunks/numStrips)*SYNC_ROWS;
+		}
+		stripRows[numStrips] = left.height - border;
+
+		this.left = left;
+		this.right = right;
+		this.disparity = disparity;
+
+		BoofConcurrency.loopTasks(numStrips,task);
+
+		this.left = null;
+		this.right = null;
+		this.disparity = null;
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return workers.get(0).getInputType();
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return workers.get(0).getDisparityType();
+	}
+
+	@Override
+	public int getBorderX() {
+		return workers.get(0).getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return workers.get(0).getBorderY();
+	}
+
+	public List<DisparityScoreRowFormat<Input, Disparity>> getWorkers() {
+		return workers;
+	}
+}
@@ -21,9 +21,22 @@ package boofcv.alg.feature.disparity;
 import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.Arrays;
+
 /**
+ * <p>
  * Computes disparity SAD scores using a rectangular region at the specified points only along
  * the x-axis. Scores are returned in an array where the index refers to the disparity.
+ * </p>
+ *
+ * <p>
+ * The score for a region is the sum of scores for each column inside the region.  Column scores for the
+ * most recently processed row are cached so that points on the same row which have overlapping regions
+ * share the computation.  Processing points row by row, e.g. with
+ * {@link boofcv.abst.feature.disparity.StereoDisparitySparse#process(int[], int[], int, double[])}, reduces
+ * the cost of each additional point on the row to summing up the columns.  The cache is discarded when
+ * {@link #setImages} is called, which must be done each time the image contents change.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -44,6 +57,12 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 	protected Input left;
 	protected Input right;
 
+	// the row which the cached column scores were computed for
+	protected int cachedRow;
+	// if columnStamp[x] == stamp then the score for column x has been computed for the cached row
+	protected int columnStamp[] = new int[0];
+	protected int stamp;
+
 	/**
 	 * Configures disparity calculation.
 	 *
@@ -74,8 +93,48 @@ public abstract class DisparitySparseScoreSadRect< ArrayData , Input extends Ima
 
 		this.left = left;
 		this.right = right;
+
+		if( columnStamp.length < left.width )
+			columnStamp = new int[left.width];
+		invalidateCache();
+	}
+
+	/**
+	 * Marks all the cached column scores as invalid
+	 */
+	protected void invalidateCache() {
+		cachedRow = -1;
+		if( ++stamp == Integer.MAX_VALUE ) {
+			Arrays.fill(columnStamp,0);
+			stamp = 1;
+		}
 	}
 
+	/**
+	 * Computes the score for each column inside the region centered at (x,y) which is not already cached.
+	 */
+	protected void updateColumns( int x , int y ) {
+		if( y != cachedRow ) {
+			invalidateCache();
+			cachedRow = y;
+		}
+
+		for( int col = x-radiusX; col <= x+radiusX; col++ ) {
+			if( columnStamp[col] != stamp ) {
+				computeColumn(col,y);
+				columnStamp[col] = stamp;
+			}
+		}
+	}
+
+	/**
+	 * Computes the score for each disparity for a single column of the region along row y.
+	 *
+	 * @param x column in the left image
+	 * @param y center row of the region
+	 */
+	protected abstract void computeColumn( int x , int y );
+
 	/**
 	 * Compute disparity scores for the specified pixel.  Be sure that its not too close to
 	 * the image border.
@@ -96,13 +96,7 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 		}
 
 		// compute score for the top possible row
-		for( int i = 0; i < lengthHorizontal; i++ ) {
-			float sum = 0;
-			for( int row = 0; row < regionHeight; row++ ) {
-				sum += horizontalScore[row][i];
-			}
-			firstRow[i] = sum;
-		}
+		computeVerticalScore(0, firstRow);
 	}
 
 	/**
@@ -126,9 +120,14 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 			UtilDisparityScore.computeScoreRow(left, right, row, scores,
 					minDisparity,maxDisparity,regionWidth,elementScore);
 
-			// add the new score
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				active[i] += scores[i];
+			if( (row - regionHeight + 1) % SYNC_ROWS == 0 ) {
+				// recompute from scratch so the results don't depend on which row processing started at
+				computeVerticalScore(row - regionHeight + 1, active);
+			} else {
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					active[i] += scores[i];
+				}
 			}
 
 			if( activeVerticalScore >= regionHeight-1 ) {
@@ -142,6 +141,19 @@ public class ImplDisparityScoreSadRectFive_F32<Disparity extends ImageSingleBand
 		}
 	}
 
+	/**
+	 * Sums up the horizontal scores in the region starting at the top row
+	 */
+	private void computeVerticalScore( int topRow , float vertical[] ) {
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			float sum = 0;
+			for( int row = 0; row < regionHeight; row++ ) {
+				sum += horizontalScore[(topRow+row)%regionHeight][i];
+			}
+			vertical[i] = sum;
+		}
+	}
+
 	/**
 	 * Compute the final score by sampling the 5 regions.  Four regions are sampled around the center
 	 * region.  Out of those four only the two with the smallest score are used.
@@ -91,13 +91,7 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 		}
 
 		// compute score for the top possible row
-		for( int i = 0; i < lengthHorizontal; i++ ) {
-			float sum = 0;
-			for( int row = 0; row < regionHeight; row++ ) {
-				sum += horizontalScore[row][i];
-			}
-			verticalScore[i] = sum;
-		}
+		computeVerticalScore(0);
 
 		// compute disparity
 		computeDisparity.process(radiusY, verticalScore);
@@ -122,9 +116,14 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 			UtilDisparityScore.computeScoreRow(left, right, row, scores,
 					minDisparity,maxDisparity,regionWidth,elementScore);
 
-			// add the new score
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				verticalScore[i] += scores[i];
+			if( (row - regionHeight + 1) % SYNC_ROWS == 0 ) {
+				// recompute from scratch so the results don't depend on which row processing started at
+				computeVerticalScore(row - regionHeight + 1);
+			} else {
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					verticalScore[i] += scores[i];
+				}
 			}
 
 			// compute disparity
@@ -132,6 +131,19 @@ public class ImplDisparityScoreSadRect_F32<Disparity extends ImageSingleBand>
 		}
 	}
 
+	/**
+	 * Sums up the horizontal scores in the region starting at the top row
+	 */
+	private void computeVerticalScore( int topRow ) {
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			float sum = 0;
+			for( int row = 0; row < regionHeight; row++ ) {
+				sum += horizontalScore[(topRow+row)%regionHeight][i];
+			}
+			verticalScore[i] = sum;
+		}
+	}
+
 	@Override
 	public Class<ImageFloat32> getInputType() {
 		return ImageFloat32.class;
@@ -38,6 +38,8 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 
 	// scores up to the maximum baseline
 	int scores[];
+	// cached score for each column along the most recently processed row. index = x*rangeDisparity + disparity
+	int columnScores[] = new int[0];
 
 	public ImplDisparitySparseScoreSadRect_U8( int minDisparity , int maxDisparity, int radiusX, int radiusY) {
 		super(minDisparity,maxDisparity,radiusX, radiusY);
@@ -45,6 +47,15 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 		scores = new int[ maxDisparity ];
 	}
 
+	@Override
+	public void setImages( ImageUInt8 left , ImageUInt8 right ) {
+		super.setImages(left,right);
+
+		int N = left.width*rangeDisparity;
+		if( columnScores.length < N )
+			columnScores = new int[N];
+	}
+
 	@Override
 	public boolean process( int x , int y ) {
 		// adjust disparity for image border
@@ -53,31 +64,45 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 		if( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )
 			return false;
 
+		updateColumns(x,y);
+
 		Arrays.fill(scores,0);
 
-		// sum up horizontal errors in the region
-		for( int row = 0; row < regionHeight; row++ ) {
-			// pixel indexes
-			int startLeft = left.startIndex + left.stride*(y-radiusY+row) + x-radiusX;
-			int startRight = right.startIndex + right.stride*(y-radiusY+row) + x-radiusX-minDisparity;
+		// sum up the column scores inside the region
+		for( int col = x-radiusX; col <= x+radiusX; col++ ) {
+			int index = col*rangeDisparity;
 
 			for( int i = 0; i < localMaxDisparity; i++ ) {
-				int indexLeft = startLeft;
-				int indexRight = startRight-i;
-
-				int score = 0;
-				for( int j = 0; j < regionWidth; j++ ) {
-					int diff = (left.data[ indexLeft++ ]& 0xFF) - (right.data[ indexRight++ ]& 0xFF);
-
-					score += Math.abs(diff);
-				}
-				scores[i] += score;
+				scores[i] += columnScores[index+i];
 			}
 		}
 
 		return true;
 	}
 
+	@Override
+	protected void computeColumn( int x , int y ) {
+		// adjust disparity for image border
+		int localRange = Math.min(rangeDisparity,x+1-minDisparity);
+		int index = x*rangeDisparity;
+
+		for( int i = 0; i < localRange; i++ ) {
+			columnScores[index+i] = 0;
+		}
+
+		// sum up vertical errors along the column
+		for( int row = y-radiusY; row <= y+radiusY; row++ ) {
+			int valueLeft = left.data[ left.startIndex + left.stride*row + x ]& 0xFF;
+			int indexRight = right.startIndex + right.stride*row + x-minDisparity;
+
+			for( int i = 0; i < localRange; i++ ) {
+				int diff = valueLeft - (right.data[ indexRight-i ]& 0xFF);
+
+				columnScores[index+i] += Math.abs(diff);
+			}
+		}
+	}
+
 	@Override
 	public int[] getScore() {
 		return scores;
@@ -90,8 +90,11 @@ public class UtilDisparityScore {
 									   int elementMax, int indexLeft, int indexRight,
 									   int elementScore[] )
 	{
+		// a single loop index and local references to the arrays lets the JIT vectorize this loop
+		final byte[] dataLeft = left.data;
+		final byte[] dataRight = right.data;
 		for( int rCol = 0; rCol < elementMax; rCol++ ) {
-			int diff = (left.data[ indexLeft++ ]& 0xFF) - (right.data[ indexRight++ ]& 0xFF);
+			int diff = (dataLeft[ indexLeft+rCol ]& 0xFF) - (dataRight[ indexRight+rCol ]& 0xFF);
 
 			elementScore[rCol] = Math.abs(diff);
 		}
@@ -159,8 +162,11 @@ public class UtilDisparityScore {
 									   int elementMax, int indexLeft, int indexRight,
 									   float elementScore[] )
 	{
+		// a single loop index and local references to the arrays lets the JIT vectorize this loop
+		final float[] dataLeft = left.data;
+		final float[] dataRight = right.data;
 		for( int rCol = 0; rCol < elementMax; rCol++ ) {
-			float diff = (left.data[ indexLeft++ ]) - (right.data[ indexRight++ ]);
+			float diff = dataLeft[ indexLeft+rCol ] - dataRight[ indexRight+rCol ];
 
 			elementScore[rCol] = Math.abs(diff);
 		}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Census transform based cost for {@link SgmDisparity}.  Each pixel is described by a bit string which indicates
+ * whether each pixel in a square region around it is darker than the center pixel.  The cost is the
+ * hamming distance between the two bit strings.  Census is insensitive to changes in gain and bias between
+ * the two cameras.  Pixels outside the image are handled by clamping to the nearest pixel inside.
+ * </p>
+ *
+ * <p>
+ * The transform is computed once for each image when {@link #setImages} is called and is the only memory
+ * it requires.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostCensus implements SgmCostFunction {
+
+	// radius of the census region
+	int radius;
+	// number of bits in the descriptor, which is also the maximum cost
+	int maxCost;
+
+	// census transform of the left and right images
+	long censusLeft[] = new long[0];
+	long censusRight[] = new long[0];
+
+	int width;
+
+	/**
+	 * Configures the census transform.
+	 *
+	 * @param radius Radius of the square census region.  Must be from 1 to 3.
+	 */
+	public SgmCostCensus(int radius) {
+		if( radius < 1 || radius > 3 )
+			throw new IllegalArgumentException("Radius must be from 1 to 3");
+		this.radius = radius;
+		int w = radius*2+1;
+		maxCost = w*w-1;
+	}
+
+	@Override
+	public void setImages(ImageUInt8 left, ImageUInt8 right) {
+		width = left.width;
+		int N = left.width*left.height;
+		if( censusLeft.length < N ) {
+			censusLeft = new long[N];
+			censusRight = new long[N];
+		}
+		transform(left,censusLeft);
+		transform(right,censusRight);
+	}
+
+	/**
+	 * Computes the census transform of the whole image.
+	 */
+	protected void transform( ImageUInt8 image , long output[] ) {
+		final int w = image.width;
+		final int h = image.height;
+
+		int indexOut = 0;
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				int center = image.data[image.startIndex + y*image.stride + x] & 0xFF;
+				long bits = 0;
+				for( int i = -radius; i <= radius; i++ ) {
+					int yy = y+i < 0 ? 0 : (y+i >= h ? h-1 : y+i);
+					int rowStart = image.startIndex + yy*image.stride;
+					for( int j = -radius; j <= radius; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						int xx = x+j < 0 ? 0 : (x+j >= w ? w-1 : x+j);
+						bits <<= 1;
+						if( (image.data[rowStart + xx] & 0xFF) < center )
+							bits |= 1;
+					}
+				}
+				output[indexOut++] = bits;
+			}
+		}
+	}
+
+	@Override
+	public void compute(int x, int y, int minDisparity, int rangeDisparity, int[] costs) {
+		int indexRow = y*width;
+		long valueLeft = censusLeft[indexRow+x];
+
+		for( int i = 0; i < rangeDisparity; i++ ) {
+			int xr = x - minDisparity - i;
+			if( xr < 0 )
+				costs[i] = maxCost;
+			else
+				costs[i] = Long.bitCount(valueLeft ^ censusRight[indexRow+xr]);
+		}
+	}
+
+	@Override
+	public int getMaxCost() {
+		return maxCost;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Computes the matching cost between a pixel in the left image and pixels along the same row in the right image
+ * for use in {@link SgmDisparity}.  The cost is computed on demand for each pixel instead of being stored
+ * in a cost volume.  Pixel (x,y) in the left image is matched against (x-d,y) in the right image.
+ * </p>
+ *
+ * <p>
+ * After {@link #setImages} has been called {@link #compute} must be safe to call from multiple threads at once.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SgmCostFunction {
+
+	/**
+	 * Specifies the rectified stereo images and performs any precomputation.
+	 *
+	 * @param left Left rectified image.
+	 * @param right Right rectified image.
+	 */
+	public void setImages( ImageUInt8 left , ImageUInt8 right );
+
+	/**
+	 * Computes the cost of each disparity for the specified pixel in the left image.  Disparities which
+	 * would fall outside of the right image are assigned {@link #getMaxCost()}.
+	 *
+	 * @param x Pixel x-coordinate in left image.
+	 * @param y Pixel y-coordinate in left image.
+	 * @param minDisparity Minimum disparity that is considered.
+	 * @param rangeDisparity Number of disparities that are considered.
+	 * @param costs (Output) Cost for disparity minDisparity+i is written to element i.
+	 */
+	public void compute( int x , int y , int minDisparity , int rangeDisparity , int costs[] );
+
+	/**
+	 * Largest possible value of a cost.
+	 */
+	public int getMaxCost();
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Sum of absolute difference (SAD) cost for {@link SgmDisparity}.  The error is summed across a square region and
+ * divided by the number of pixels in the region so that the cost is always between 0 and 255.  Pixels outside
+ * the image are handled by clamping to the nearest pixel inside.  A radius of zero is the pixel-wise absolute
+ * difference, which is what is typically used with semi global matching since the path aggregation already
+ * enforces smoothness.  Since the cost is recomputed for each path the computational cost increases
+ * quickly with the radius.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostSad implements SgmCostFunction {
+
+	// radius of the square region
+	int radius;
+	// number of pixels in the region
+	int regionArea;
+
+	ImageUInt8 left;
+	ImageUInt8 right;
+
+	/**
+	 * Configures the region.
+	 *
+	 * @param radius Radius of the square region.  Must be >= 0.
+	 */
+	public SgmCostSad(int radius) {
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be >= 0");
+		this.radius = radius;
+		int w = radius*2+1;
+		this.regionArea = w*w;
+	}
+
+	@Override
+	public void setImages(ImageUInt8 left, ImageUInt8 right) {
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	public void compute(int x, int y, int minDisparity, int rangeDisparity, int[] costs) {
+		if( radius == 0 ) {
+			int valueLeft = left.data[left.startIndex + y*left.stride + x] & 0xFF;
+			int indexRight = right.startIndex + y*right.stride;
+			for( int i = 0; i < rangeDisparity; i++ ) {
+				int xr = x - minDisparity - i;
+				if( xr < 0 )
+					costs[i] = 255;
+				else
+					costs[i] = Math.abs(valueLeft - (right.data[indexRight+xr] & 0xFF));
+			}
+			return;
+		}
+
+		final int w = left.width;
+		final int h = left.height;
+
+		for( int i = 0; i < rangeDisparity; i++ ) {
+			int d = minDisparity + i;
+			if( x - d < 0 ) {
+				costs[i] = 255;
+				continue;
+			}
+			int sum = 0;
+			for( int a = -radius; a <= radius; a++ ) {
+				int yy = y+a < 0 ? 0 : (y+a >= h ? h-1 : y+a);
+				int rowLeft = left.startIndex + yy*left.stride;
+				int rowRight = right.startIndex + yy*right.stride;
+				for( int b = -radius; b <= radius; b++ ) {
+					int xl = x+b < 0 ? 0 : (x+b >= w ? w-1 : x+b);
+					int xr = xl-d < 0 ? 0 : xl-d;
+					sum += Math.abs((left.data[rowLeft+xl] & 0xFF) - (right.data[rowRight+xr] & 0xFF));
+				}
+			}
+			costs[i] = sum/regionArea;
+		}
+	}
+
+	@Override
+	public int getMaxCost() {
+		return 255;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Semi Global Matching (SGM) dense stereo disparity [1].  Instead of selecting the disparity for each pixel
+ * independently, the matching cost is aggregated along 1D paths which travel across the image in 4 or 8 different
+ * directions.  Along each path a penalty of P1 is added for disparity changes of one and a penalty of P2 for
+ * larger changes, which approximates a global smoothness constraint.  The disparity with the lowest
+ * aggregated cost is then selected for each pixel.
+ * </p>
+ *
+ * <p>
+ * The matching cost is computed on demand by a {@link SgmCostFunction} and the cost along a path only depends on
+ * the previous pixel in the path, so the only W*H*D structure is the sum of all the paths, which is stored as
+ * 16-bit unsigned integers.  Each path direction is processed in a separate pass and the paths within
+ * a pass never cross each other.  If {@link BoofConcurrency#USE_CONCURRENT} is true then the paths in each pass
+ * are processed in parallel and the disparity is selected in parallel.  The results are identical to the single
+ * threaded version since each aggregated element is only written to by one path in a pass.
+ * </p>
+ *
+ * <p>
+ * The output disparity image follows the same convention as {@link boofcv.abst.feature.disparity.StereoDisparity}.
+ * The value of each pixel is the disparity minus the minimum disparity and invalid pixels are set to
+ * the disparity range plus one.  Pixels which can't be matched because their disparity would be outside the
+ * right image are marked as invalid.
+ * </p>
+ *
+ * <p>
+ * [1] Heiko Hirschmuller, "Stereo Processing by Semiglobal Matching and Mutual Information" IEEE PAMI 2008
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmDisparity {
+
+	// path directions.  The first four are horizontal and vertical and the remaining are diagonal.
+	private static final int DIRECTIONS[][] = new int[][]{
+			{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,-1},{-1,1},{1,-1}};
+
+	// computes matching cost
+	SgmCostFunction cost;
+
+	// minimum and number of disparities considered
+	int minDisparity;
+	int rangeDisparity;
+	// penalty for a disparity change of one and greater than one
+	int penalty1;
+	int penalty2;
+	// number of paths which are aggregated
+	int numPaths;
+	// tolerance for right to left validation.  < 0 to disable
+	int validateRtoL;
+
+	// value assigned to invalid pixels
+	int invalidDisparity;
+
+	int width;
+	int height;
+
+	// sum of the cost along all the paths.  Stored as unsigned 16-bit integers. index = (y*width + x)*range + i
+	short aggregated[] = new short[0];
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param cost Function used to compute the matching cost.
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param penalty1 Penalty for a disparity change of one.  Must be >= 0
+	 * @param penalty2 Penalty for a disparity change of more than one.  Must be >= penalty1
+	 * @param numPaths Number of paths which are aggregated.  4 or 8.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Disable
+	 *                     with a value < 0.
+	 */
+	public SgmDisparity(SgmCostFunction cost,
+						int minDisparity, int maxDisparity,
+						int penalty1, int penalty2,
+						int numPaths, int validateRtoL) {
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Minimum disparity must be >= 0 and < the maximum disparity");
+		if( maxDisparity-minDisparity > 254 )
+			throw new IllegalArgumentException("Disparity range must be <= 254 to fit in an 8-bit image");
+		if( penalty1 < 0 || penalty2 < penalty1 )
+			throw new IllegalArgumentException("Penalties must be >= 0 and penalty2 >= penalty1");
+		if( numPaths != 4 && numPaths != 8 )
+			throw new IllegalArgumentException("Number of paths must be 4 or 8");
+		// the cost along a path is bounded by the max cost plus penalty2
+		if( numPaths*(cost.getMaxCost()+penalty2) > 0xFFFF )
+			throw new IllegalArgumentException("Aggregated cost can overflow.  Reduce penalty2 or the number of paths");
+
+		this.cost = cost;
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = maxDisparity-minDisparity;
+		this.penalty1 = penalty1;
+		this.penalty2 = penalty2;
+		this.numPaths = numPaths;
+		this.validateRtoL = validateRtoL;
+		this.invalidDisparity = rangeDisparity+1;
+	}
+
+	/**
+	 * Computes the disparity between the two rectified images.
+	 *
+	 * @param left Left rectified image.
+	 * @param right Right rectified image.
+	 * @param disparity (Output) Disparity image.
+	 */
+	public void process( ImageUInt8 left , ImageUInt8 right , final ImageUInt8 disparity ) {
+		InputSanityCheck.checkSameShape(left,right,disparity);
+
+		width = left.width;
+		height = left.height;
+
+		int N = width*height*rangeDisparity;
+		if( aggregated.length < N )
+			aggregated = new short[N];
+		else
+			Arrays.fill(aggregated,0,N,(short)0);
+
+		cost.setImages(left,right);
+
+		for( int i = 0; i < numPaths; i++ ) {
+			final int dx = DIRECTIONS[i][0];
+			final int dy = DIRECTIONS[i][1];
+
+			loop(numberOfLines(dx,dy),new IntRangeTask() {
+				@Override
+				public void process(int start, int end) {
+					aggregateLines(dx,dy,start,end);
+				}
+			});
+		}
+
+		loop(height,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				selectRows(start,end,disparity);
+			}
+		});
+	}
+
+	/**
+	 * Processes the range in parallel if concurrency is turned on or in the calling thread if not
+	 */
+	private void loop( int total , IntRangeTask task ) {
+		if( BoofConcurrency.USE_CONCURRENT )
+			BoofConcurrency.loopBlocks(0,total,1,task);
+		else
+			task.process(0,total);
+	}
+
+	/**
+	 * Number of paths in the image which travel in the specified direction
+	 */
+	protected int numberOfLines( int dx , int dy ) {
+		if( dy == 0 )
+			return height;
+		else if( dx == 0 )
+			return width;
+		else
+			return width+height-1;
+	}
+
+	/**
+	 * Aggregates the cost along the paths with the specified indexes.  Paths start at the side of the image
+	 * which the direction points away from.
+	 */
+	protected void aggregateLines( int dx , int dy , int start , int end ) {
+		int costs[] = new int[rangeDisparity];
+		int workA[] = new int[rangeDisparity+2];
+		int workB[] = new int[rangeDisparity+2];
+
+		for( int i = start; i < end; i++ ) {
+			int x,y;
+			if( dy == 0 ) {
+				x = dx > 0 ? 0 : width-1;
+				y = i;
+			} else if( dx == 0 ) {
+				x = i;
+				y = dy > 0 ? 0 : height-1;
+			} else if( i < width ) {
+				x = i;
+				y = dy > 0 ? 0 : height-1;
+			} else {
+				int j = i-width+1;
+				x = dx > 0 ? 0 : width-1;
+				y = dy > 0 ? j : height-1-j;
+			}
+			aggregateLine(x,y,dx,dy,costs,workA,workB);
+		}
+	}
+
+	/**
+	 * Aggregates cost along a single path using the recursive formula:<br>
+	 * L(p,d) = C(p,d) + min( L(p-r,d) , L(p-r,d-1) + P1 , L(p-r,d+1) + P1 , min_k L(p-r,k) + P2 ) - min_k L(p-r,k)
+	 *
+	 * The work arrays have an extra element at the beginning and end which acts as a sentinel so that the
+	 * inner loop doesn't need to check for the end of the disparity range.
+	 */
+	protected void aggregateLine( int x , int y , int dx , int dy ,
+								  int costs[] , int prev[] , int curr[] ) {
+		final int range = rangeDisparity;
+		prev[0] = prev[range+1] = curr[0] = curr[range+1] = Integer.MAX_VALUE/2;
+
+		// first pixel in the path has nothing to be compared against
+		cost.compute(x,y,minDisparity,range,costs);
+		int index = (y*width + x)*range;
+		int minPrev = Integer.MAX_VALUE;
+		for( int d = 0; d < range; d++ ) {
+			int v = costs[d];
+			prev[d+1] = v;
+			aggregated[index+d] = (short)((aggregated[index+d] & 0xFFFF) + v);
+			if( v < minPrev )
+				minPrev = v;
+		}
+
+		x += dx; y += dy;
+		while( x >= 0 && x < width && y >= 0 && y < height ) {
+			cost.compute(x,y,minDisparity,range,costs);
+			index = (y*width + x)*range;
+
+			int limit = minPrev + penalty2;
+			int minCurr = Integer.MAX_VALUE;
+			for( int d = 0; d < range; d++ ) {
+				int best = prev[d+1];
+				int neighbor = Math.min(prev[d],prev[d+2]) + penalty1;
+				if( neighbor < best )
+					best = neighbor;
+				if( best > limit )
+					best = limit;
+
+				int v = costs[d] + best - minPrev;
+				curr[d+1] = v;
+				aggregated[index+d] = (short)((aggregated[index+d] & 0xFFFF) + v);
+				if( v < minCurr )
+					minCurr = v;
+			}
+
+			int tmp[] = prev; prev = curr; curr = tmp;
+			minPrev = minCurr;
+			x += dx; y += dy;
+		}
+	}
+
+	/**
+	 * Selects the disparity with the lowest aggregated cost for each pixel in the rows
+	 */
+	protected void selectRows( int start , int end , ImageUInt8 disparity ) {
+		final int range = rangeDisparity;
+
+		for( int y = start; y < end; y++ ) {
+			int indexOut = disparity.startIndex + y*disparity.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				// largest disparity which is inside the right image
+				int localRange = Math.min(range, x - minDisparity + 1);
+				if( localRange <= 0 ) {
+					disparity.data[indexOut++] = (byte)invalidDisparity;
+					continue;
+				}
+
+				int index = (y*width + x)*range;
+				int best = 0;
+				int bestScore = aggregated[index] & 0xFFFF;
+				for( int d = 1; d < localRange; d++ ) {
+					int v = aggregated[index+d] & 0xFFFF;
+					if( v < bestScore ) {
+						bestScore = v;
+						best = d;
+					}
+				}
+
+				if( validateRtoL >= 0 ) {
+					int bestRight = selectRightToLeft(x - minDisparity - best, y);
+					if( Math.abs(bestRight-best) > validateRtoL )
+						best = invalidDisparity;
+				}
+
+				disparity.data[indexOut++] = (byte)best;
+			}
+		}
+	}
+
+	/**
+	 * Finds the best disparity for a pixel in the right image by searching along the diagonal of the aggregated
+	 * cost for the left image
+	 */
+	protected int selectRightToLeft( int xr , int y ) {
+		final int range = rangeDisparity;
+		// largest disparity which is inside the left image
+		int localRange = Math.min(range, width - xr - minDisparity);
+
+		int index = (y*width + xr + minDisparity)*range;
+		int best = 0;
+		int bestScore = aggregated[index] & 0xFFFF;
+		for( int d = 1; d < localRange; d++ ) {
+			index += range + 1;
+			int v = aggregated[index] & 0xFFFF;
+			if( v < bestScore ) {
+				bestScore = v;
+				best = d;
+			}
+		}
+		return best;
+	}
+
+	public SgmCostFunction getCost() {
+		return cost;
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return minDisparity + rangeDisparity;
+	}
+
+	public int getPenalty1() {
+		return penalty1;
+	}
+
+	public int getPenalty2() {
+		return penalty2;
+	}
+
+	public int getNumPaths() {
+		return numPaths;
+	}
+
+	public int getInvalidDisparity() {
+		return invalidDisparity;
+	}
+}
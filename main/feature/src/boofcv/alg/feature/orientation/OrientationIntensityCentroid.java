@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.orientation;
+
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSingleBand;
+
+
+/**
+ * <p>
+ * Estimates the orientation of a region using its intensity centroid [1].  The first order moments of the pixel
+ * intensities inside a circle centered at the feature are computed, m10 = &sum; x*I(x,y) and
+ * m01 = &sum; y*I(x,y), and the orientation is the angle of the vector from the center to the centroid,
+ * atan2(m01,m10).  For integer images the moments are computed using integer arithmetic.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class OrientationIntensityCentroid<T extends ImageSingleBand> implements OrientationImage<T> {
+
+	// input image
+	protected T image;
+
+	// local variable used to define the region being examined.
+	// this makes it easy to avoid going outside the image
+	protected ImageRectangle rect = new ImageRectangle();
+
+	// radius at a scale of 1
+	protected int radius;
+	// the radius at this scale
+	protected int radiusScale;
+
+	// half the width of the circle in each row.  Index 0 is the top row
+	protected int halfWidth[] = new int[0];
+
+	public OrientationIntensityCentroid(int radius) {
+		setRadius(radius);
+	}
+
+	@Override
+	public void setImage( T image ) {
+		this.image = image;
+	}
+
+	public void setRadius(int radius) {
+		this.radius = radius;
+		setScale(1);
+	}
+
+	@Override
+	public void setScale(double scale) {
+		radiusScale = (int)Math.ceil(scale*radius);
+
+		int w = radiusScale*2+1;
+		if( halfWidth.length < w )
+			halfWidth = new int[w];
+
+		for( int y = -radiusScale; y <= radiusScale; y++ ) {
+			halfWidth[y+radiusScale] = (int)Math.sqrt(radiusScale*radiusScale - y*y);
+		}
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	@Override
+	public double compute(double X, double Y) {
+
+		int c_x = (int)X;
+		int c_y = (int)Y;
+
+		// compute the visible region while taking in account
+		// the image borders
+		rect.x0 = c_x-radiusScale;
+		rect.y0 = c_y-radiusScale;
+		rect.x1 = c_x+radiusScale+1;
+		rect.y1 = c_y+radiusScale+1;
+
+		BoofMiscOps.boundRectangleInside(image,rect);
+
+		return computeAngle(c_x,c_y);
+	}
+
+	/**
+	 * Computes the angle of the intensity centroid.  Only pixels inside both the circle and 'rect' are used.
+	 */
+	protected abstract double computeAngle( int c_x , int c_y );
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.orientation.impl;
+
+import boofcv.alg.feature.orientation.OrientationIntensityCentroid;
+import boofcv.struct.image.ImageFloat32;
+
+
+/**
+ * <p>
+ * Implementation of {@link OrientationIntensityCentroid} for a specific image type.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplOrientationIntensityCentroid_F32 extends OrientationIntensityCentroid<ImageFloat32> {
+
+	public ImplOrientationIntensityCentroid_F32(int radius) {
+		super(radius);
+	}
+
+	@Override
+	protected double computeAngle( int c_x , int c_y ) {
+
+		double m10 = 0, m01 = 0;
+
+		for( int y = rect.y0; y < rect.y1; y++ ) {
+			int dy = y - c_y;
+			int w = halfWidth[dy+radiusScale];
+			int x0 = Math.max(rect.x0,c_x-w);
+			int x1 = Math.min(rect.x1,c_x+w+1);
+
+			int index = image.startIndex + image.stride*y + x0;
+			float sumRow = 0, sumRowX = 0;
+			for( int x = x0; x < x1; x++ , index++ ) {
+				float val = image.data[index];
+				sumRow += val;
+				sumRowX += (x-c_x)*val;
+			}
+			m10 += sumRowX;
+			m01 += dy*sumRow;
+		}
+
+		return Math.atan2(m01,m10);
+	}
+
+	@Override
+	public Class<ImageFloat32> getImageType() {
+		return ImageFloat32.class;
+	}
+}
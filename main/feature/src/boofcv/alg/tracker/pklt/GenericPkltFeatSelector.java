@@ -19,13 +19,12 @@
 package boofcv.alg.tracker.pklt;
 
 import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.struct.FastQueue;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 import georegression.struct.point.Point2D_I16;
 
-import java.util.List;
-
 /**
  * Automatically selects features for the {@link PyramidKltTracker} using a {@link boofcv.abst.feature.detect.interest.GeneralFeatureDetector}.
  *
@@ -70,14 +69,14 @@ public class GenericPkltFeatSelector<InputImage extends ImageSingleBand, Derivat
 	}
 
 	@Override
-	public void compute(List<PyramidKltFeature> active, List<PyramidKltFeature> availableData) {
+	public void compute(FastQueue<PyramidKltFeature> active, FastQueue<PyramidKltFeature> availableData) {
 
 		float scaleBottom = (float) image.getScale(0);
 
 		// exclude active tracks
 		excludeList.reset();
 		for (int i = 0; i < active.size(); i++) {
-			PyramidKltFeature f = active.get(i);
+			PyramidKltFeature f = active.data[i];
 			excludeList.add((int) (f.x / scaleBottom), (int) (f.y / scaleBottom));
 		}
 
@@ -89,10 +88,10 @@ public class GenericPkltFeatSelector<InputImage extends ImageSingleBand, Derivat
 		// extract the features
 		QueueCorner found = detector.getFeatures();
 
-		for (int i = 0; i < found.size() && !availableData.isEmpty(); i++) {
+		for (int i = 0; i < found.size() && availableData.size() > 0; i++) {
 			Point2D_I16 pt = found.get(i);
 
-			PyramidKltFeature feat = availableData.remove(availableData.size() - 1);
+			PyramidKltFeature feat = availableData.removeTail();
 			feat.x = pt.x * scaleBottom;
 			feat.y = pt.y * scaleBottom;
 
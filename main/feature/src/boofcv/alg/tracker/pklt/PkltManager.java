@@ -24,10 +24,10 @@ import boofcv.alg.tracker.klt.KltTrackFault;
 import boofcv.alg.tracker.klt.KltTracker;
 import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.FastQueue;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
@@ -37,6 +37,13 @@ import java.util.List;
  * by performing basic track management,
  * </p>
  *
+ * <p>
+ * All the features are declared when {@link #configure} is called and are recycled between the active and
+ * unused lists.  The lists are stored in {@link FastQueue} which have enough room for every feature, so once
+ * the feature detector and tracker have processed the first frames no memory is allocated while tracking.
+ * The lists returned by the get functions are read only views which should not be modified.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -45,13 +52,13 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	protected PkltManagerConfig<I, D> config;
 
 	// list of features which are actively being tracked
-	protected List<PyramidKltFeature> active = new ArrayList<PyramidKltFeature>();
+	protected FastQueue<PyramidKltFeature> active;
 	// list of features which were just spawned
-	protected List<PyramidKltFeature> spawned = new ArrayList<PyramidKltFeature>();
+	protected FastQueue<PyramidKltFeature> spawned;
 	// list of features which were just dropped
-	protected List<PyramidKltFeature> dropped = new ArrayList<PyramidKltFeature>();
+	protected FastQueue<PyramidKltFeature> dropped;
 	// feature data available for future tracking
-	protected List<PyramidKltFeature> unused = new ArrayList<PyramidKltFeature>();
+	protected FastQueue<PyramidKltFeature> unused;
 
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
@@ -93,7 +100,12 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 		tracker = new PyramidKltTracker<I, D>(klt);
 		featureSelector.setTracker(tracker);
 
-		// pre-declare image features
+		// pre-declare image features and storage large enough for all of them
+		active = new FastQueue<PyramidKltFeature>(config.maxFeatures,PyramidKltFeature.class,false);
+		spawned = new FastQueue<PyramidKltFeature>(config.maxFeatures,PyramidKltFeature.class,false);
+		dropped = new FastQueue<PyramidKltFeature>(config.maxFeatures,PyramidKltFeature.class,false);
+		unused = new FastQueue<PyramidKltFeature>(config.maxFeatures,PyramidKltFeature.class,false);
+
 		int numLayers = config.pyramidScaling.length;
 		for (int i = 0; i < config.maxFeatures; i++) {
 			unused.add(new PyramidKltFeature(numLayers, config.featureRadius));
@@ -106,10 +118,10 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	 * @return if the new feature was added or not.
 	 */
 	public boolean addTrack(float x, float y) {
-		if (unused.isEmpty())
+		if (unused.size() == 0)
 			return false;
 
-		PyramidKltFeature f = unused.remove(unused.size() - 1);
+		PyramidKltFeature f = unused.removeTail();
 		f.setPosition(x, y);
 		tracker.setDescription(f);
 		if (f.maxLayer == -1) {
@@ -134,22 +146,38 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 							 ImagePyramid<D> derivX,
 							 ImagePyramid<D> derivY) {
 
-		spawned.clear();
-		dropped.clear();
+		spawned.reset();
+		dropped.reset();
 		tracker.setImage(image, derivX, derivY);
 
 		for (int i = active.size() - 1; i >= 0; i--) {
-			PyramidKltFeature f = active.get(i);
+			PyramidKltFeature f = active.data[i];
 			KltTrackFault result = tracker.track(f);
 			if (result != KltTrackFault.SUCCESS) {
 //				System.out.println("Dropping feature: "+result);
 				unused.add(f);
-				active.remove(i);
 				dropped.add(f);
+				active.data[i] = null;
 			} else {
 				tracker.setDescription(f);
 			}
 		}
+
+		removeDroppedFromActive();
+	}
+
+	/**
+	 * Removes dropped features, which have been set to null, from the active list while preserving the order of
+	 * the remaining features.
+	 */
+	protected void removeDroppedFromActive() {
+		int count = 0;
+		for (int i = 0; i < active.size; i++) {
+			PyramidKltFeature f = active.data[i];
+			if (f != null)
+				active.data[count++] = f;
+		}
+		active.size = count;
 	}
 
 	/**
@@ -157,7 +185,7 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	 */
 	public void dropAllTracks() {
 		unused.addAll(active);
-		active.clear();
+		active.reset();
 	}
 
 	/**
@@ -166,7 +194,7 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	 * @return List of features.
 	 */
 	public List<PyramidKltFeature> getTracks() {
-		return active;
+		return active.toList();
 	}
 
 	/**
@@ -175,7 +203,7 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	 * @return List of features.
 	 */
 	public List<PyramidKltFeature> getSpawned() {
-		return spawned;
+		return spawned.toList();
 	}
 
 	/**
@@ -184,7 +212,7 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	 * @return List of features.
 	 */
 	public List<PyramidKltFeature> getDropped() {
-		return dropped;
+		return dropped.toList();
 	}
 
 	public PkltManagerConfig<I, D> getConfig() {
@@ -192,8 +220,18 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	}
 
 	public void dropTrack(PyramidKltFeature feature) {
-		if (!active.remove(feature))
+		int index = -1;
+		for (int i = 0; i < active.size; i++) {
+			if (active.data[i] == feature) {
+				index = i;
+				break;
+			}
+		}
+		if (index < 0)
 			throw new IllegalArgumentException("Feature not in active list");
+
+		System.arraycopy(active.data, index + 1, active.data, index, active.size - index - 1);
+		active.size--;
 		dropped.add(feature);
 		unused.add(feature);
 	}
@@ -204,14 +242,14 @@ public class PkltManager<I extends ImageSingleBand, D extends ImageSingleBand> {
 	public void spawnTracks(ImagePyramid<I> image,
 							ImagePyramid<D> derivX,
 							ImagePyramid<D> derivY) {
-		spawned.clear();
+		spawned.reset();
 		int numBefore = active.size();
 		featureSelector.setInputs(image, derivX, derivY);
 		featureSelector.compute(active, unused);
 
 		// add new features which were just added
 		for (int i = numBefore; i < active.size(); i++) {
-			spawned.add(active.get(i));
+			spawned.add(active.data[i]);
 		}
 	}
 }
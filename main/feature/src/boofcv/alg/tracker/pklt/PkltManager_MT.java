@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.pklt;
+
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.tracker.klt.KltTrackFault;
+import boofcv.alg.tracker.klt.KltTracker;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link PkltManager}.  Active features are split into contiguous blocks with one
+ * block per worker thread.  Each worker has its own {@link PyramidKltTracker}, which contains all the scratch
+ * space used while tracking, and reads from the shared image pyramids.  Once all the features have been tracked
+ * the active, dropped, and unused lists are updated in the same order as the single threaded version, so the
+ * results are identical and don't depend on the number of threads.
+ * </p>
+ *
+ * <p>
+ * The first worker uses the tracker which was created from the interpolation passed into
+ * {@link #configure}.  Additional workers use copies of that interpolation, see {@link InterpolateRectangle#copy()},
+ * so every feature is tracked the same way no matter which worker it is assigned to.
+ * The number of workers is set by {@link BoofConcurrency#getMaxThreads()} when configure is called.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class PkltManager_MT<I extends ImageSingleBand, D extends ImageSingleBand> extends PkltManager<I,D> {
+
+	// trackers for each worker thread.  Not initialized here since configure is called by the super constructor
+	protected List<PyramidKltTracker<I, D>> workers;
+
+	// outcome of tracking each active feature
+	protected KltTrackFault results[] = new KltTrackFault[0];
+
+	// number of active features and blocks in the current frame
+	private int numActive;
+	private int numBlocks;
+
+	// tracks each block of features.  Saved to avoid declaring a new task each frame
+	private IntRangeTask trackTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int block = start; block < end; block++ ) {
+				trackFeatures(workers.get(block), block*numActive/numBlocks, (block+1)*numActive/numBlocks);
+			}
+		}
+	};
+
+	/**
+	 * Creates a PkltManager_MT with a default interpolation and feature selector
+	 *
+	 * @param config Configuration for the tracker/manager.
+	 */
+	public PkltManager_MT(PkltManagerConfig<I, D> config) {
+		super(config);
+	}
+
+	public PkltManager_MT() {
+	}
+
+	@Override
+	public void configure(PkltManagerConfig<I, D> config,
+						  InterpolateRectangle<I> interpInput,
+						  InterpolateRectangle<D> interpDeriv,
+						  GenericPkltFeatSelector<I, D> featureSelector) {
+		super.configure(config, interpInput, interpDeriv, featureSelector);
+
+		workers = new ArrayList<PyramidKltTracker<I, D>>();
+		workers.add(tracker);
+		int numThreads = BoofConcurrency.getMaxThreads();
+		for( int i = 1; i < numThreads; i++ ) {
+			KltTracker<I, D> klt = new KltTracker<I, D>(interpInput.copy(), interpDeriv.copy(), config.config);
+			workers.add(new PyramidKltTracker<I, D>(klt));
+		}
+	}
+
+	@Override
+	public void processFrame(ImagePyramid<I> image,
+							 ImagePyramid<D> derivX,
+							 ImagePyramid<D> derivY) {
+
+		spawned.reset();
+		dropped.reset();
+
+		for( int i = 0; i < workers.size(); i++ ) {
+			workers.get(i).setImage(image, derivX, derivY);
+		}
+
+		int N = active.size();
+		if( results.length < N )
+			results = new KltTrackFault[N];
+
+		numActive = N;
+		numBlocks = Math.min(workers.size(), N);
+		BoofConcurrency.loopTasks(numBlocks, trackTask);
+
+		// update the lists in the same order as the single threaded version
+		for (int i = N - 1; i >= 0; i--) {
+			if (results[i] != KltTrackFault.SUCCESS) {
+				PyramidKltFeature f = active.data[i];
+				unused.add(f);
+				dropped.add(f);
+				active.data[i] = null;
+			}
+			results[i] = null;
+		}
+		removeDroppedFromActive();
+	}
+
+	/**
+	 * Tracks the active features from start to end-1 and updates the description of the features which
+	 * were successfully tracked.
+	 */
+	protected void trackFeatures( PyramidKltTracker<I, D> tracker , int start , int end ) {
+		for( int i = start; i < end; i++ ) {
+			PyramidKltFeature f = active.data[i];
+			KltTrackFault result = tracker.track(f);
+			if (result == KltTrackFault.SUCCESS)
+				tracker.setDescription(f);
+			results[i] = result;
+		}
+	}
+
+	/**
+	 * Number of trackers which features are divided between
+	 */
+	public int getNumWorkers() {
+		return workers.size();
+	}
+}
@@ -18,11 +18,10 @@
 
 package boofcv.alg.tracker.pklt;
 
+import boofcv.struct.FastQueue;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 
-import java.util.List;
-
 /**
  * Interface for automatically selects {@link PyramidKltFeature} from an image.
  *
@@ -43,10 +42,11 @@ public interface PyramidKltFeatureSelector
 						  ImagePyramid<DerivativeImage> derivX, ImagePyramid<DerivativeImage> derivY);
 
 	/**
-	 * Selects new features using provided data structures.
+	 * Selects new features using provided data structures.  Features are moved from the tail of availableData
+	 * to the tail of active.
 	 *
 	 * @param active List of currently active features which should not be returned again.
 	 * @param availableData List of feature data that can be used to create a new features.
 	 */
-	public void compute( List<PyramidKltFeature> active , List<PyramidKltFeature> availableData );
+	public void compute( FastQueue<PyramidKltFeature> active , FastQueue<PyramidKltFeature> availableData );
 }
@@ -19,7 +19,8 @@
 package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
-import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.*;
 
 
@@ -50,9 +51,152 @@ public class FactoryAssociation {
 			int maxMatches ,
 			boolean backwardsValidation )
 	{
-		AssociateGreedy<D> alg = new AssociateGreedy<D>(score,maxError,backwardsValidation);
-		WrapAssociateGreedy<D> ret = new WrapAssociateGreedy<D>(alg,maxMatches);
-		return ret;
+		return greedy(score,maxError,maxMatches,backwardsValidation,1);
+	}
+
+	/**
+	 * Returns an algorithm for associating features together which uses a brute force greedy algorithm with
+	 * an optional ratio test.  If {@link BoofConcurrency#USE_CONCURRENT} is true then the concurrent
+	 * implementation is returned.  See {@link AssociateGreedy} for details.
+	 *
+	 * @param score Computes the fit score between two features.
+	 * @param maxError Maximum allowed error/fit score between two features.  To disable set to Double.MAX_VALUE
+	 * @param maxMatches  Maximum number of matches returned.  If more than this are found then only the ones with the
+	 *                  best fit score are returned.  To disable set to a value <= 0.
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.  If the
+	 *                  forward and reverse matches fit an association is excepted.
+	 * @param ratioTest Associations are rejected if the best score is more than ratioTest times the second best
+	 *                  score.  Only valid for scores with a minimum of zero.  To disable set to 1.
+	 * @param <D> Data structure being associated
+	 * @return Association algorithm
+	 */
+	public static <D> GeneralAssociation<D>
+	greedy( ScoreAssociation<D> score ,
+			double maxError ,
+			int maxMatches ,
+			boolean backwardsValidation ,
+			double ratioTest )
+	{
+		AssociateGreedy<D> alg;
+		if( BoofConcurrency.USE_CONCURRENT )
+			alg = new AssociateGreedy_MT<D>(score,maxError,backwardsValidation);
+		else
+			alg = new AssociateGreedy<D>(score,maxError,backwardsValidation);
+		alg.setRatioTest(ratioTest);
+		return new WrapAssociateGreedy<D>(alg,maxMatches);
+	}
+
+	/**
+	 * Returns an algorithm for associating features together using approximate nearest-neighbor search
+	 * with a single k-d tree and best-bin-first search.  See {@link AssociateNearestNeighbor} for details.
+	 *
+	 * @param distance Distance between two features.  See {@link #kdDistance(Class)}.
+	 * @param maxError Maximum allowed distance between two features.  To disable set to Double.MAX_VALUE
+	 * @param maxMatches  Maximum number of matches returned.  If more than this are found then only the ones with the
+	 *                  best fit score are returned.  To disable set to a value <= 0.
+	 * @param maxChecks Maximum number of features examined when searching for a match.  Larger values are more
+	 *                  accurate but slower.  If <= 0 then the search is exact.  Try 200.
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.  If the
+	 *                  forward and reverse matches fit an association is excepted.
+	 * @param <D> Data structure being associated
+	 * @return Association algorithm
+	 */
+	public static <D> GeneralAssociation<D>
+	kdtree( KdTreeDistance<D> distance ,
+			double maxError ,
+			int maxMatches ,
+			int maxChecks ,
+			boolean backwardsValidation )
+	{
+		return kdRandomForest(distance,maxError,maxMatches,maxChecks,1,1,backwardsValidation,0xBEEF);
+	}
+
+	/**
+	 * Returns an algorithm for associating features together using approximate nearest-neighbor search
+	 * with a forest of randomized k-d trees.  For high dimensional descriptors this finds the true nearest
+	 * neighbor more often than a single tree for the same number of checks.  See {@link KdForestSearch}
+	 * and {@link AssociateNearestNeighbor} for details.
+	 *
+	 * @param distance Distance between two features.  See {@link #kdDistance(Class)}.
+	 * @param maxError Maximum allowed distance between two features.  To disable set to Double.MAX_VALUE
+	 * @param maxMatches  Maximum number of matches returned.  If more than this are found then only the ones with the
+	 *                  best fit score are returned.  To disable set to a value <= 0.
+	 * @param maxChecks Maximum number of features examined when searching for a match.  Larger values are more
+	 *                  accurate but slower.  If <= 0 then the search is exact.  Try 200.
+	 * @param numTrees Number of trees in the forest.  Try 4.
+	 * @param numConsiderSplit Number of largest variance axes a split is randomly selected from.  Try 5.
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.  If the
+	 *                  forward and reverse matches fit an association is excepted.
+	 * @param randSeed Random seed used when constructing the trees.
+	 * @param <D> Data structure being associated
+	 * @return Association algorithm
+	 */
+	public static <D> GeneralAssociation<D>
+	kdRandomForest( KdTreeDistance<D> distance ,
+					double maxError ,
+					int maxMatches ,
+					int maxChecks ,
+					int numTrees ,
+					int numConsiderSplit ,
+					boolean backwardsValidation ,
+					long randSeed )
+	{
+		KdForestSearch<D> searchDst = new KdForestSearch<D>(distance,numTrees,numConsiderSplit,maxChecks,randSeed);
+		KdForestSearch<D> searchSrc = null;
+		if( backwardsValidation )
+			searchSrc = new KdForestSearch<D>(distance,numTrees,numConsiderSplit,maxChecks,randSeed+1);
+
+		AssociateNearestNeighbor<D> alg = new AssociateNearestNeighbor<D>(searchDst,searchSrc,maxError);
+		return new WrapAssociateNearestNeighbor<D>(alg,maxMatches);
+	}
+
+	/**
+	 * Returns an algorithm for associating binary descriptors using multi-index hashing.  The nearest neighbor
+	 * is found in sublinear time and is exact unless the substring search radius is bounded.  The fit score
+	 * is the Hamming distance.  See {@link HammingMultiIndexSearch} and {@link AssociateNearestNeighbor}
+	 * for details.
+	 *
+	 * @param maxError Maximum allowed Hamming distance between two features.  To disable set to Double.MAX_VALUE
+	 * @param maxMatches  Maximum number of matches returned.  If more than this are found then only the ones with the
+	 *                  best fit score are returned.  To disable set to a value <= 0.
+	 * @param substringBits Number of bits in each hashed substring, up to 16.  If <= 0 it's selected automatically.
+	 * @param maxSubstringRadius Maximum Hamming radius each substring is searched at.  If < 0 the search is exact.
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.  If the
+	 *                  forward and reverse matches fit an association is excepted.
+	 * @return Association algorithm
+	 */
+	public static GeneralAssociation<TupleDesc_B>
+	hammingMultiIndex( double maxError ,
+					   int maxMatches ,
+					   int substringBits ,
+					   int maxSubstringRadius ,
+					   boolean backwardsValidation )
+	{
+		HammingMultiIndexSearch searchDst = new HammingMultiIndexSearch(substringBits,maxSubstringRadius);
+		HammingMultiIndexSearch searchSrc = null;
+		if( backwardsValidation )
+			searchSrc = new HammingMultiIndexSearch(substringBits,maxSubstringRadius);
+
+		AssociateNearestNeighbor<TupleDesc_B> alg =
+				new AssociateNearestNeighbor<TupleDesc_B>(searchDst,searchSrc,maxError);
+		return new WrapAssociateNearestNeighbor<TupleDesc_B>(alg,maxMatches);
+	}
+
+	/**
+	 * Returns the Euclidean distance squared for use with k-d tree association.
+	 *
+	 * @param tupleType Type of descriptor being associated
+	 * @return Distance measure
+	 */
+	public static <D>
+	KdTreeDistance<D> kdDistance( Class<D> tupleType ) {
+		if( TupleDesc_F64.class.isAssignableFrom(tupleType) ) {
+			return (KdTreeDistance)new KdTreeEuclideanSq_F64();
+		} else if( tupleType == TupleDesc_F32.class ) {
+			return (KdTreeDistance)new KdTreeEuclideanSq_F32();
+		}
+
+		throw new IllegalArgumentException("k-d tree distance not supported for type "+tupleType.getSimpleName());
 	}
 
 	/**
@@ -21,6 +21,7 @@ package boofcv.factory.feature.describe;
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.feature.describe.*;
 import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
 import boofcv.alg.feature.describe.impl.*;
 import boofcv.alg.filter.kernel.SteerableKernel;
 import boofcv.alg.interpolate.InterpolatePixel;
@@ -66,6 +67,19 @@ public class FactoryDescribePointAlgs {
 		}
 	}
 
+	public static <T extends ImageSingleBand>
+	DescribePointBriefRotated<T> briefRotated(BriefRotatedLookup lookup, BlurFilter<T> filterBlur ) {
+		Class<T> imageType = filterBlur.getInputType();
+
+		if( imageType == ImageFloat32.class ) {
+			return (DescribePointBriefRotated<T> )new ImplDescribePointBriefRotated_F32(lookup,(BlurFilter<ImageFloat32>)filterBlur);
+		} else if( imageType == ImageUInt8.class ) {
+			return (DescribePointBriefRotated<T> )new ImplDescribePointBriefRotated_U8(lookup,(BlurFilter<ImageUInt8>)filterBlur);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+imageType.getSimpleName());
+		}
+	}
+
 	// todo remove filterBlur for all BRIEF change to radius,sigma,type
 	public static <T extends ImageSingleBand>
 	DescribePointBriefSO<T> briefso(BriefDefinition_I32 definition, BlurFilter<T> filterBlur) {
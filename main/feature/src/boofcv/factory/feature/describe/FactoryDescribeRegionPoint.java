@@ -21,18 +21,24 @@ package boofcv.factory.feature.describe;
 import boofcv.abst.feature.describe.*;
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.describe.DescribePointBriefRotated;
 import boofcv.alg.feature.describe.DescribePointGaussian12;
 import boofcv.alg.feature.describe.DescribePointSteerable2D;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.orientation.OrientationIntegral;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.feature.*;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
 
 import java.util.Random;
 
@@ -51,7 +57,12 @@ public class FactoryDescribeRegionPoint {
 	 * implementation provided by the original author.
 	 * </p>
 	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then batches of features are described in parallel.
+	 * </p>
+	 *
 	 * @see DescribePointSurf
+	 * @see WrapDescribeSurf
 	 *
 	 * @param isOriented True for orientation invariant.
 	 * @param imageType Type of input image.
@@ -59,17 +70,25 @@ public class FactoryDescribeRegionPoint {
 	 */
 	public static <T extends ImageSingleBand, II extends ImageSingleBand>
 	DescribeRegionPoint<T,SurfFeature> surf( boolean isOriented , Class<T> imageType) {
-		OrientationIntegral<II> orientation = null;
-
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
-		if( isOriented )
-//			orientation = FactoryOrientationAlgs.image_ii(6, 1 , 6, -1, integralType);
-			orientation = FactoryOrientationAlgs.average_ii(6, 1 , 6, -1, integralType);
-//			orientation = FactoryOrientationAlgs.sliding_ii(42,Math.PI/3.0,6,true,integralType);
+		WrapDescribeSurf<T,II> ret = null;
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		for( int i = 0; i < numWorkers; i++ ) {
+			OrientationIntegral<II> orientation = null;
+
+			if( isOriented )
+//				orientation = FactoryOrientationAlgs.image_ii(6, 1 , 6, -1, integralType);
+				orientation = FactoryOrientationAlgs.average_ii(6, 1 , 6, -1, integralType);
+//				orientation = FactoryOrientationAlgs.sliding_ii(42,Math.PI/3.0,6,true,integralType);
 
-		DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>surf(integralType);
-		return new WrapDescribeSurf<T,II>( alg ,orientation);
+			DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>surf(integralType);
+			if( ret == null )
+				ret = new WrapDescribeSurf<T,II>( alg ,orientation);
+			else
+				ret.addWorker(alg,orientation);
+		}
+		return ret;
 	}
 
 	/**
@@ -79,7 +98,12 @@ public class FactoryDescribeRegionPoint {
 	 * similar to reference implementation provided by the original author.
 	 * </p>
 	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then batches of features are described in parallel.
+	 * </p>
+	 *
 	 * @see DescribePointSurf
+	 * @see WrapDescribeSurf
 	 *
 	 * @param isOriented True for orientation invariant.
 	 * @param imageType Type of input image.
@@ -87,20 +111,29 @@ public class FactoryDescribeRegionPoint {
 	 */
 	public static <T extends ImageSingleBand, II extends ImageSingleBand>
 	DescribeRegionPoint<T,SurfFeature> surfm(boolean isOriented, Class<T> imageType) {
-		OrientationIntegral<II> orientation = null;
-
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
-		if( isOriented )
-//			orientation = FactoryOrientationAlgs.average_ii(6, true, integralType);
-			orientation = FactoryOrientationAlgs.sliding_ii(0.65, Math.PI/3.0,8,-1, 6, integralType);
+		WrapDescribeSurf<T,II> ret = null;
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		for( int i = 0; i < numWorkers; i++ ) {
+			OrientationIntegral<II> orientation = null;
+
+			if( isOriented )
+//				orientation = FactoryOrientationAlgs.average_ii(6, true, integralType);
+				orientation = FactoryOrientationAlgs.sliding_ii(0.65, Math.PI/3.0,8,-1, 6, integralType);
 
-		DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>msurf(integralType);
-		return new WrapDescribeSurf<T,II>( alg ,orientation);
+			DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>msurf(integralType);
+			if( ret == null )
+				ret = new WrapDescribeSurf<T,II>( alg ,orientation);
+			else
+				ret.addWorker(alg,orientation);
+		}
+		return ret;
 	}
 
 	/**
-	 * Steerable Gaussian descriptor normalized by 1st order gradient.
+	 * Steerable Gaussian descriptor normalized by 1st order gradient.  If {@link BoofConcurrency#USE_CONCURRENT}
+	 * is true then batches of features are described in parallel.
 	 *
 	 * @see DescribePointGaussian12
 	 *
@@ -117,7 +150,15 @@ public class FactoryDescribeRegionPoint {
 		ImageGradient<T,D> gradient = FactoryDerivative.sobel(imageType,derivType);
 		DescribePointGaussian12<T, ?> steer = FactoryDescribePointAlgs.steerableGaussian12(radius, imageType);
 
-		return new WrapDescribeGaussian12<T,D>(steer,gradient,imageType,derivType);
+		WrapDescribeGaussian12<T,D> ret = new WrapDescribeGaussian12<T,D>(steer,gradient,imageType,derivType);
+
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		for( int i = 1; i < numWorkers; i++ ) {
+			ret.addWorker(FactoryDescribePointAlgs.steerableGaussian12(radius, imageType),
+					FactoryDerivative.sobel(imageType,derivType));
+		}
+
+		return ret;
 	}
 
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
@@ -127,7 +168,15 @@ public class FactoryDescribeRegionPoint {
 		ImageGradient<T,D> gradient = FactoryDerivative.sobel(imageType,derivType);
 		DescribePointSteerable2D<T, ?> steer = FactoryDescribePointAlgs.steerableGaussian(normalized, -1, radius, imageType);
 
-		return new WrapDescribeSteerable<T,D>(steer,gradient,imageType,derivType);
+		WrapDescribeSteerable<T,D> ret = new WrapDescribeSteerable<T,D>(steer,gradient,imageType,derivType);
+
+		int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+		for( int i = 1; i < numWorkers; i++ ) {
+			ret.addWorker(FactoryDescribePointAlgs.steerableGaussian(normalized, -1, radius, imageType),
+					FactoryDerivative.sobel(imageType,derivType));
+		}
+
+		return ret;
 	}
 
 	/**
@@ -136,6 +185,10 @@ public class FactoryDescribeRegionPoint {
 	 * provided for testing and validation purposes.
 	 * </p>
 	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then batches of features are described in parallel.
+	 * </p>
+	 *
 	 * @see boofcv.alg.feature.describe.DescribePointBrief
 	 * @see boofcv.alg.feature.describe.DescribePointBriefSO
 	 *
@@ -159,10 +212,59 @@ public class FactoryDescribeRegionPoint {
 		if( isFixed) {
 			return new WrapDescribeBrief<T>(FactoryDescribePointAlgs.brief(definition,filter));
 		} else {
-			return new WrapDescribeBriefSo<T>(FactoryDescribePointAlgs.briefso(definition, filter));
+			WrapDescribeBriefSo<T> ret = new WrapDescribeBriefSo<T>(FactoryDescribePointAlgs.briefso(definition, filter));
+
+			int numWorkers = BoofConcurrency.USE_CONCURRENT ? BoofConcurrency.getMaxThreads() : 1;
+			for( int i = 1; i < numWorkers; i++ ) {
+				ret.addWorker(FactoryDescribePointAlgs.briefso(definition,
+						FactoryBlurFilter.gaussian(imageType,blurSigma,blurRadius)));
+			}
+
+			return ret;
 		}
 	}
 
+	/**
+	 * <p>
+	 * Rotated BRIEF descriptor used by ORB.  Orientation is handled using a lookup table of rotated sample points
+	 * and scale by describing the feature in the closest layer of an image pyramid.  A fast, binary, alternative to
+	 * SURF.  Features should be detected using {@link boofcv.factory.feature.detect.interest.FactoryInterestPoint#orb}
+	 * with the same scale factors.
+	 * </p>
+	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then batches of features are described in parallel.
+	 * </p>
+	 *
+	 * @see DescribePointBriefRotated
+	 * @see WrapDescribeBriefRotated
+	 *
+	 * @param radius Region's radius.  ORB uses 15.
+	 * @param numPoints Number of points sampled.  Typical value is 256.
+	 * @param numAngles Number of discrete angles in the lookup table.  ORB uses 30.
+	 * @param scaleFactors Scale factor of each layer in the pyramid, e.g. 1,2,4,8.
+	 * @param imageType Type of gray scale image it processes.
+	 * @return Rotated BRIEF descriptor
+	 */
+	@SuppressWarnings({"unchecked"})
+	public static <T extends ImageSingleBand>
+	DescribeRegionPoint<T,TupleDesc_B> orb(int radius, int numPoints, int numAngles,
+										   int scaleFactors[], Class<T> imageType)
+	{
+		BriefDefinition_I32 definition = FactoryBriefDefinition.gaussian2(new Random(123), radius, numPoints);
+		BriefRotatedLookup lookup = new BriefRotatedLookup(definition, numAngles);
+
+		DescribePointBriefRotated<T> layers[] = new DescribePointBriefRotated[ scaleFactors.length ];
+		for( int i = 0; i < layers.length; i++ ) {
+			layers[i] = FactoryDescribePointAlgs.briefRotated(lookup, FactoryBlurFilter.gaussian(imageType, -1, 2));
+		}
+
+		PyramidUpdaterDiscrete<T> updater = FactoryPyramid.discreteGaussian(imageType, -1, 2);
+		PyramidDiscrete<T> pyramid = new PyramidDiscrete<T>(imageType, true, scaleFactors);
+
+		return new WrapDescribeBriefRotated<T>(layers, updater, pyramid);
+	}
+
 	/**
 	 * Creates a region descriptor based on pixel intensity values alone.  A classic and fast to compute
 	 * descriptor, but much less stable than more modern ones.
@@ -24,6 +24,7 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.alg.feature.detect.interest.*;
 import boofcv.alg.transform.gss.ScaleSpacePyramid;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.inst.FactoryImageGenerator;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
@@ -149,7 +150,8 @@ public class FactoryInterestPoint {
 
 	/**
 	 * Creates a {@link FastHessianFeatureDetector} detector which is wrapped inside
-	 * an {@link InterestPointDetector}
+	 * an {@link InterestPointDetector}.  If {@link BoofConcurrency#USE_CONCURRENT} is true then
+	 * {@link FastHessianFeatureDetector_MT} is used instead.
 	 *
 	 * @param detectThreshold       Minimum feature intensity. Image dependent.  Start tuning at 1.
 	 * @param extractRadius         Radius used for non-max-suppression.  Typically 1 or 2.
@@ -168,10 +170,38 @@ public class FactoryInterestPoint {
 										 int numberScalesPerOctave,
 										 int numberOfOctaves) {
 		FeatureExtractor extractor = FactoryFeatureExtractor.nonmax(extractRadius, detectThreshold, 5, true);
-		FastHessianFeatureDetector feature = new FastHessianFeatureDetector<T>(extractor, maxFeaturesPerScale,
-				initialSampleSize, initialSize, numberScalesPerOctave, numberOfOctaves);
+		FastHessianFeatureDetector feature;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			feature = new FastHessianFeatureDetector_MT<T>(extractor, maxFeaturesPerScale,
+					initialSampleSize, initialSize, numberScalesPerOctave, numberOfOctaves, true);
+		} else {
+			feature = new FastHessianFeatureDetector<T>(extractor, maxFeaturesPerScale,
+					initialSampleSize, initialSize, numberScalesPerOctave, numberOfOctaves);
+		}
 
 		return new WrapFHtoInterestPoint(feature);
 	}
 
+	/**
+	 * Creates an ORB style detector which finds FAST corners in an image pyramid and estimates their orientation
+	 * using the intensity centroid.  Use {@link boofcv.factory.feature.describe.FactoryDescribeRegionPoint#orb}
+	 * to describe the features or {@link FactoryInterestPointAlgs#orb} to detect and describe in a single pass.
+	 *
+	 * @see OrbFeaturePyramid
+	 *
+	 * @param fastThreshold Minimum difference between the center pixel and the FAST circle.  Try 20 for 8-bit images.
+	 * @param maxFeaturesPerLayer Maximum number of features detected in each pyramid layer.
+	 * @param radius Radius of the region used to estimate orientation at a scale of one.  ORB uses 15.
+	 * @param scaleFactors Scale factor of each layer in the pyramid, e.g. 1,2,4,8.
+	 * @param imageType Type of input image.
+	 * @return The interest point detector.
+	 */
+	public static <T extends ImageSingleBand>
+	InterestPointDetector<T> orb(int fastThreshold, int maxFeaturesPerLayer, int radius,
+								 int scaleFactors[], Class<T> imageType) {
+		OrbFeaturePyramid<T> alg = FactoryInterestPointAlgs.orb(fastThreshold, maxFeaturesPerLayer,
+				radius, 0, 0, scaleFactors, false, imageType);
+
+		return new WrapOrbToInterestPoint<T>(alg, radius);
+	}
 }
@@ -25,18 +25,32 @@ import boofcv.abst.feature.detect.intensity.WrapperHessianBlobIntensity;
 import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.abst.filter.ImageFunctionSparse;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.feature.describe.DescribePointBriefRotated;
+import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
+import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.interest.FeatureLaplacePyramid;
 import boofcv.alg.feature.detect.interest.FeatureLaplaceScaleSpace;
 import boofcv.alg.feature.detect.interest.FeaturePyramid;
 import boofcv.alg.feature.detect.interest.FeatureScaleSpace;
+import boofcv.alg.feature.detect.interest.OrbFeaturePyramid;
+import boofcv.alg.feature.orientation.OrientationIntensityCentroid;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.core.image.inst.FactoryImageGenerator;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivativeSparse;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+
+import java.util.Random;
 
 /**
  * Factory for non-generic specific implementations of interest point detection algorithms.
@@ -256,4 +270,38 @@ public class FactoryInterestPointAlgs {
 		return new FeatureScaleSpace<T, D>(detector, 2);
 	}
 
+	/**
+	 * Creates an ORB style feature detector and descriptor, see {@link OrbFeaturePyramid}.  A low cost alternative
+	 * to SURF.
+	 *
+	 * @param fastThreshold Minimum difference between the center pixel and the FAST circle.  Try 20 for 8-bit images.
+	 * @param maxFeaturesPerLayer Maximum number of features detected in each pyramid layer.
+	 * @param radius Radius of the orientation region and BRIEF descriptor at a scale of one.  ORB uses 15.
+	 * @param numPoints Number of points sampled by the descriptor.  Typical value is 256.
+	 * @param numAngles Number of discrete angles in the rotated BRIEF lookup table.  ORB uses 30.
+	 * @param scaleFactors Scale factor of each layer in the pyramid, e.g. 1,2,4,8.
+	 * @param describe If true features will be described.
+	 * @param imageType Type of input image.
+	 * @return ORB detector
+	 */
+	public static <T extends ImageSingleBand>
+	OrbFeaturePyramid<T> orb(int fastThreshold, int maxFeaturesPerLayer,
+							 int radius, int numPoints, int numAngles,
+							 int scaleFactors[], boolean describe,
+							 Class<T> imageType) {
+		GeneralFeatureDetector<T, ?> detector = FactoryDetectPoint.createFast(2, fastThreshold, maxFeaturesPerLayer, imageType);
+		OrientationIntensityCentroid<T> orientation = FactoryOrientationAlgs.intensityCentroid(radius, imageType);
+
+		DescribePointBriefRotated<T> describer = null;
+		if( describe ) {
+			BriefDefinition_I32 definition = FactoryBriefDefinition.gaussian2(new Random(123), radius, numPoints);
+			BriefRotatedLookup lookup = new BriefRotatedLookup(definition, numAngles);
+			describer = FactoryDescribePointAlgs.briefRotated(lookup, FactoryBlurFilter.gaussian(imageType, -1, 2));
+		}
+
+		PyramidUpdaterDiscrete<T> updater = FactoryPyramid.discreteGaussian(imageType, -1, 2);
+		PyramidDiscrete<T> pyramid = new PyramidDiscrete<T>(imageType, true, scaleFactors);
+
+		return new OrbFeaturePyramid<T>(detector, orientation, describer, updater, pyramid);
+	}
 }
@@ -21,15 +21,25 @@ package boofcv.factory.feature.disparity;
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat_MT;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.sgm.SgmCostCensus;
+import boofcv.alg.feature.disparity.sgm.SgmCostFunction;
+import boofcv.alg.feature.disparity.sgm.SgmCostSad;
+import boofcv.alg.feature.disparity.sgm.SgmDisparity;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
 
 /**
@@ -46,6 +56,16 @@ import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
  * can better results, but is very computationally expensive.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true when a dense region based algorithm is created then the image
+ * will be processed in horizontal strips in parallel.  The output is identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Semi global matching (SGM) aggregates the matching cost along paths which cross the whole image, producing
+ * denser results than WTA region based algorithms inside of textureless regions.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings("unchecked")
@@ -80,50 +100,8 @@ public class FactoryStereoDisparity {
 			   double texture ,
 			   Class<T> imageType ) {
 
-		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
-
-		// 3 regions are used not just one in this case
-		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
-			maxError *= 3;
-
-		DisparitySelect select;
-		if( imageType == ImageUInt8.class ) {
-			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
-		} else if( imageType == ImageFloat32.class ) {
-			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
-		} else {
-			throw new IllegalArgumentException("Unknown image type");
-		}
-
-		DisparityScoreRowFormat<T,ImageUInt8> alg = null;
-
-		switch( whichAlg ) {
-			case RECT:
-				if( imageType == ImageUInt8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == ImageFloat32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			case RECT_FIVE:
-				if( imageType == ImageUInt8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == ImageFloat32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			default:
-				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
-
-		}
-		if( alg == null)
-			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+		DisparityScoreRowFormat<T,ImageUInt8> alg = createRegion(whichAlg,minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,maxPerPixelError,validateRtoL,texture,false,imageType);
 
 		return new WrapDisparitySadRect<T,ImageUInt8>(alg);
 	}
@@ -157,6 +135,49 @@ public class FactoryStereoDisparity {
 					   double texture ,
 					   Class<T> imageType ) {
 
+		DisparityScoreRowFormat<T,ImageFloat32> alg = createRegion(whichAlg,minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,maxPerPixelError,validateRtoL,texture,true,imageType);
+
+		return new WrapDisparitySadRect<T,ImageFloat32>(alg);
+	}
+
+	/**
+	 * Creates the dense region based algorithm.  If {@link BoofConcurrency#USE_CONCURRENT} is true then
+	 * a concurrent implementation is returned which processes the image in strips, one instance
+	 * per thread.
+	 */
+	private static DisparityScoreRowFormat
+	createRegion( DisparityAlgorithms whichAlg ,
+				  int minDisparity , int maxDisparity,
+				  int regionRadiusX, int regionRadiusY ,
+				  double maxPerPixelError ,
+				  int validateRtoL ,
+				  double texture ,
+				  boolean subpixel ,
+				  Class imageType ) {
+		if( !BoofConcurrency.USE_CONCURRENT ) {
+			return createRegionSingle(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+					maxPerPixelError,validateRtoL,texture,subpixel,imageType);
+		}
+
+		int numThreads = BoofConcurrency.getMaxThreads();
+		List<DisparityScoreRowFormat> workers = new ArrayList<DisparityScoreRowFormat>();
+		for( int i = 0; i < numThreads; i++ ) {
+			workers.add(createRegionSingle(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+					maxPerPixelError,validateRtoL,texture,subpixel,imageType));
+		}
+		return new DisparityScoreRowFormat_MT(workers);
+	}
+
+	private static DisparityScoreRowFormat
+	createRegionSingle( DisparityAlgorithms whichAlg ,
+						int minDisparity , int maxDisparity,
+						int regionRadiusX, int regionRadiusY ,
+						double maxPerPixelError ,
+						int validateRtoL ,
+						double texture ,
+						boolean subpixel ,
+						Class imageType ) {
 		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
 
 		// 3 regions are used not just one in this case
@@ -165,14 +186,20 @@ public class FactoryStereoDisparity {
 
 		DisparitySelect select;
 		if( imageType == ImageUInt8.class ) {
-			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == ImageFloat32.class ) {
-			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_F32((int) maxError, validateRtoL, texture);
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
 
-		DisparityScoreRowFormat<T,ImageFloat32> alg = null;
+		DisparityScoreRowFormat alg = null;
 
 		switch( whichAlg ) {
 			case RECT:
@@ -202,7 +229,54 @@ public class FactoryStereoDisparity {
 		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
-		return new WrapDisparitySadRect<T,ImageFloat32>(alg);
+		return alg;
+	}
+
+	/**
+	 * <p>
+	 * Creates a dense Semi Global Matching (SGM) disparity algorithm.  The matching cost is aggregated along
+	 * 4 or 8 paths with penalties for changes in disparity.  If {@link BoofConcurrency#USE_CONCURRENT} is true
+	 * then the paths are processed in parallel.
+	 * </p>
+	 *
+	 * <p>
+	 * The penalties need to be scaled to match the cost.  For CENSUS with a radius of 2 try penalty1=2 and
+	 * penalty2=24.  For SAD try penalty1=10 and penalty2=120.
+	 * </p>
+	 *
+	 * @param costType Which matching cost is used.
+	 * @param costRadius Radius of the region used to compute the cost.  CENSUS: 1 to 3.  SAD: try 0.
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param penalty1 Penalty for a disparity change of one.
+	 * @param penalty2 Penalty for a disparity change of more than one.  Must be >= penalty1
+	 * @param numPaths Number of paths which are aggregated.  4 or 8.  Try 8.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 1.
+	 *                     Disable with a value < 0.
+	 * @return SGM disparity algorithm.
+	 */
+	public static StereoDisparity<ImageUInt8,ImageUInt8>
+	semiGlobal( SgmCostType costType , int costRadius ,
+				int minDisparity , int maxDisparity ,
+				int penalty1 , int penalty2 ,
+				int numPaths , int validateRtoL ) {
+		SgmCostFunction cost;
+		switch( costType ) {
+			case CENSUS:
+				cost = new SgmCostCensus(costRadius);
+				break;
+
+			case SAD:
+				cost = new SgmCostSad(costRadius);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown cost type "+costType);
+		}
+
+		SgmDisparity alg = new SgmDisparity(cost,minDisparity,maxDisparity,penalty1,penalty2,numPaths,validateRtoL);
+
+		return new WrapDisparitySgm(alg);
 	}
 
 	public static <T extends ImageSingleBand> StereoDisparitySparse<T>
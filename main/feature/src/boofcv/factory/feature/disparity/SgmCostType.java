@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.disparity;
+
+/**
+ * List of matching costs which can be used with semi global matching
+ *
+ * @author Peter Abeles
+ */
+public enum SgmCostType {
+	/**
+	 * Hamming distance between census transforms.  Insensitive to gain and bias differences between cameras.
+	 *
+	 * @see boofcv.alg.feature.disparity.sgm.SgmCostCensus
+	 */
+	CENSUS,
+	/**
+	 * Average absolute difference inside a square region.
+	 *
+	 * @see boofcv.alg.feature.disparity.sgm.SgmCostSad
+	 */
+	SAD
+}
@@ -68,6 +68,27 @@ public class FactoryOrientationAlgs {
 		return ret;
 	}
 
+	/**
+	 * Estimates orientation using the intensity centroid of a circular region.
+	 *
+	 * @see OrientationIntensityCentroid
+	 *
+	 * @param radius Radius of the circular region at a scale of one.  ORB uses 15.
+	 * @param imageType Type of input image.
+	 * @return Orientation estimator.
+	 */
+	public static <T extends ImageSingleBand>
+	OrientationIntensityCentroid<T> intensityCentroid( int radius , Class<T> imageType )
+	{
+		if( imageType == ImageFloat32.class ) {
+			return (OrientationIntensityCentroid<T>)new ImplOrientationIntensityCentroid_F32(radius);
+		} else if( imageType == ImageUInt8.class ) {
+			return (OrientationIntensityCentroid<T>)new ImplOrientationIntensityCentroid_U8(radius);
+		} else {
+			throw new IllegalArgumentException("Unknown image type.");
+		}
+	}
+
 	public static <T extends ImageSingleBand>
 	OrientationAverage<T> average( int radius , boolean weighted , Class<T> derivType )
 	{
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.NccFeature;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.feature.TupleDesc_U8;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDescribeBatchTask {
+
+	Random rand = new Random(234);
+	int width = 120;
+	int height = 100;
+
+	int N = 50;
+	double x[] = new double[N];
+	double y[] = new double[N];
+	double yaw[] = new double[N];
+	double scale[] = new double[N];
+
+	int originalThreads;
+	boolean originalConcurrent;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		BoofConcurrency.setMaxThreads(3);
+		BoofConcurrency.USE_CONCURRENT = true;
+
+		for( int i = 0; i < N; i++ ) {
+			x[i] = rand.nextDouble()*width;
+			y[i] = rand.nextDouble()*height;
+			yaw[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
+			scale[i] = rand.nextDouble()*1.5+0.8;
+		}
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+	}
+
+	@Test
+	public void brief() {
+		ImageFloat32 image = createImage();
+		checkBatch(FactoryDescribeRegionPoint.brief(16, 512, -1, 4, true, ImageFloat32.class), image);
+	}
+
+	@Test
+	public void briefSo() {
+		ImageFloat32 image = createImage();
+		WrapDescribeBriefSo<ImageFloat32> alg = (WrapDescribeBriefSo<ImageFloat32>)
+				FactoryDescribeRegionPoint.brief(16, 512, -1, 4, false, ImageFloat32.class);
+		assertEquals(3,alg.getNumWorkers());
+		checkBatch(alg, image);
+	}
+
+	@Test
+	public void surf() {
+		ImageFloat32 image = createImage();
+		checkBatch(FactoryDescribeRegionPoint.<ImageFloat32,ImageFloat32>surf(true, ImageFloat32.class), image);
+		checkBatch(FactoryDescribeRegionPoint.<ImageFloat32,ImageFloat32>surf(false, ImageFloat32.class), image);
+	}
+
+	@Test
+	public void gaussian12() {
+		ImageFloat32 image = createImage();
+		WrapDescribeGaussian12<ImageFloat32,ImageFloat32> alg = (WrapDescribeGaussian12<ImageFloat32,ImageFloat32>)
+				FactoryDescribeRegionPoint.gaussian12(10, ImageFloat32.class, ImageFloat32.class);
+		assertEquals(3,alg.getNumWorkers());
+		checkBatch(alg, image);
+	}
+
+	@Test
+	public void steerable() {
+		ImageFloat32 image = createImage();
+		checkBatch(FactoryDescribeRegionPoint.steerableGaussian(10, true, ImageFloat32.class, ImageFloat32.class), image);
+	}
+
+	@Test
+	public void pixel() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(image,rand,0,100);
+		checkBatch(FactoryDescribeRegionPoint.<ImageUInt8,TupleDesc_U8>pixel(5, 7, ImageUInt8.class), image);
+	}
+
+	@Test
+	public void pixelNCC() {
+		ImageFloat32 image = createImage();
+		checkBatch(FactoryDescribeRegionPoint.pixelNCC(5, 7, ImageFloat32.class), image);
+	}
+
+	/**
+	 * The output should be the same when the output queue doesn't declare its own instances
+	 */
+	@Test
+	public void outputWithoutInstances() {
+		ImageFloat32 image = createImage();
+		DescribeRegionPoint<ImageFloat32,TupleDesc_B> alg =
+				FactoryDescribeRegionPoint.brief(16, 512, -1, 4, false, ImageFloat32.class);
+		alg.setImage(image);
+
+		FastQueue<TupleDesc_B> found = new TupleDescQueue<TupleDesc_B>(alg,false);
+		alg.process(x,y,yaw,scale,N,found);
+
+		assertEquals(N,found.size());
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_B expected = alg.process(x[i],y[i],yaw[i],scale[i],null);
+			assertEquals(0,compare(expected,found.get(i)),1e-8);
+		}
+	}
+
+	/**
+	 * Orientation and scale must be provided when required
+	 */
+	@Test
+	public void missingInputs() {
+		ImageFloat32 image = createImage();
+		DescribeRegionPoint<ImageFloat32,TupleDesc_B> alg =
+				FactoryDescribeRegionPoint.brief(16, 512, -1, 4, false, ImageFloat32.class);
+		alg.setImage(image);
+		FastQueue<TupleDesc_B> found = new TupleDescQueue<TupleDesc_B>(alg,true);
+
+		try {
+			alg.process(x,y,null,scale,N,found);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+		try {
+			alg.process(x,y,yaw,null,N,found);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+
+		// not required so it should be fine
+		alg = FactoryDescribeRegionPoint.brief(16, 512, -1, 4, true, ImageFloat32.class);
+		alg.setImage(image);
+		alg.process(x,y,null,null,N,found);
+		assertEquals(N,found.size());
+	}
+
+	private ImageFloat32 createImage() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(image,rand,0,100);
+		return image;
+	}
+
+	/**
+	 * Compares the batch results against describing each feature individually
+	 */
+	private void checkBatch( DescribeRegionPoint alg , ImageSingleBand image ) {
+		alg.setImage(image);
+
+		// only use features which can be processed
+		double bx[] = new double[N], by[] = new double[N], byaw[] = new double[N], bscale[] = new double[N];
+		int total = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( alg.isInBounds(x[i],y[i],yaw[i],scale[i]) ) {
+				bx[total] = x[i]; by[total] = y[i]; byaw[total] = yaw[i]; bscale[total] = scale[i];
+				total++;
+			}
+		}
+		assertTrue(total > 5);
+
+		FastQueue<TupleDesc> found = new TupleDescQueue<TupleDesc>(alg,true);
+
+		// call it twice to make sure the output is reset
+		alg.process(bx,by,byaw,bscale,total,found);
+		alg.process(bx,by,byaw,bscale,total,found);
+
+		assertEquals(total,found.size());
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc expected = alg.process(bx[i],by[i],byaw[i],bscale[i],null);
+			assertEquals(0,compare(expected,found.get(i)),1e-8);
+		}
+	}
+
+	private double compare( TupleDesc a , TupleDesc b ) {
+		if( a instanceof TupleDesc_B ) {
+			TupleDesc_B ba = (TupleDesc_B)a, bb = (TupleDesc_B)b;
+			double error = 0;
+			for( int i = 0; i < ba.data.length; i++ )
+				error += Math.abs(ba.data[i]-bb.data[i]);
+			return error;
+		} else if( a instanceof NccFeature ) {
+			NccFeature na = (NccFeature)a, nb = (NccFeature)b;
+			double error = Math.abs(na.mean-nb.mean) + Math.abs(na.sigma-nb.sigma);
+			for( int i = 0; i < na.value.length; i++ )
+				error += Math.abs(na.value[i]-nb.value[i]);
+			return error;
+		} else if( a instanceof TupleDesc_F64 ) {
+			TupleDesc_F64 fa = (TupleDesc_F64)a, fb = (TupleDesc_F64)b;
+			double error = 0;
+			for( int i = 0; i < fa.value.length; i++ )
+				error += Math.abs(fa.value[i]-fb.value[i]);
+			return error;
+		} else if( a instanceof TupleDesc_U8 ) {
+			TupleDesc_U8 ua = (TupleDesc_U8)a, ub = (TupleDesc_U8)b;
+			double error = 0;
+			for( int i = 0; i < ua.value.length; i++ )
+				error += Math.abs(ua.value[i]-ub.value[i]);
+			return error;
+		}
+		throw new RuntimeException("Unknown type");
+	}
+}
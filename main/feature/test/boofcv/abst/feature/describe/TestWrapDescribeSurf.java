@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.orientation.OrientationIntegral;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureQueue;
+import boofcv.struct.image.ImageFloat32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDescribeSurf {
+
+	Random rand = new Random(234);
+	int width = 200;
+	int height = 150;
+
+	ImageFloat32 image = new ImageFloat32(width,height);
+
+	int N = 60;
+	double x[] = new double[N];
+	double y[] = new double[N];
+	double yaw[] = new double[N];
+	double scale[] = new double[N];
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+
+		ImageTestingOps.randomize(image,rand,0,100);
+
+		for( int i = 0; i < N; i++ ) {
+			// include points along and outside the image border
+			x[i] = rand.nextDouble()*(width+20)-10;
+			y[i] = rand.nextDouble()*(height+20)-10;
+			yaw[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
+			scale[i] = rand.nextDouble()*3+0.8;
+		}
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Compare the batch results against describing each feature individually
+	 */
+	@Test
+	public void batch_compareToSingle() {
+		for( int numWorkers = 1; numWorkers <= 3; numWorkers++ ) {
+			batch_compareToSingle(numWorkers,true);
+			batch_compareToSingle(numWorkers,false);
+		}
+	}
+
+	private void batch_compareToSingle( int numWorkers , boolean oriented ) {
+		WrapDescribeSurf<ImageFloat32,ImageFloat32> alg = create(oriented);
+		alg.setImage(image);
+		for( int i = 1; i < numWorkers; i++ ) {
+			WrapDescribeSurf<ImageFloat32,ImageFloat32> w = create(oriented);
+			alg.addWorker(w.surf,w.orientationAlg);
+		}
+		assertEquals(numWorkers,alg.getNumWorkers());
+
+		SurfFeatureQueue found = new SurfFeatureQueue(alg.getDescriptionLength());
+
+		// call it twice to make sure the output is reset
+		alg.process(x,y,oriented ? null : yaw,scale,N,found);
+		alg.process(x,y,oriented ? null : yaw,scale,N,found);
+
+		assertEquals(N,found.size());
+		for( int i = 0; i < N; i++ ) {
+			SurfFeature expected = alg.process(x[i],y[i],yaw[i],scale[i],null);
+			SurfFeature f = found.get(i);
+
+			assertTrue(expected.laplacianPositive == f.laplacianPositive);
+			for( int j = 0; j < expected.value.length; j++ ) {
+				assertEquals(expected.value[j],f.value[j],1e-8);
+			}
+		}
+	}
+
+	/**
+	 * The orientation must be provided if it isn't estimated
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void batch_missingOrientation() {
+		WrapDescribeSurf<ImageFloat32,ImageFloat32> alg = create(false);
+		alg.setImage(image);
+		alg.process(x,y,null,scale,N,new SurfFeatureQueue(alg.getDescriptionLength()));
+	}
+
+	private WrapDescribeSurf<ImageFloat32,ImageFloat32> create( boolean oriented ) {
+		OrientationIntegral<ImageFloat32> orientation = null;
+		if( oriented )
+			orientation = FactoryOrientationAlgs.average_ii(6, 1 , 6, -1, ImageFloat32.class);
+		DescribePointSurf<ImageFloat32> surf = FactoryDescribePointAlgs.surf(ImageFloat32.class);
+
+		return new WrapDescribeSurf<ImageFloat32,ImageFloat32>(surf,orientation);
+	}
+}
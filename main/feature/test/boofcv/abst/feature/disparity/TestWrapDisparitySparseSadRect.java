@@ -19,7 +19,10 @@
 package boofcv.abst.feature.disparity;
 
 import boofcv.alg.feature.disparity.impl.ImplDisparitySparseScoreSadRect_F32;
+import boofcv.alg.feature.disparity.impl.ImplDisparitySparseScoreSadRect_U8;
 import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_F32;
+import boofcv.alg.feature.disparity.impl.ImplSelectSparseStandardWta_S32;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.disparity.DisparityAlgorithms;
 import boofcv.factory.feature.disparity.FactoryStereoDisparity;
 import boofcv.struct.image.ImageFloat32;
@@ -77,4 +80,47 @@ public class TestWrapDisparitySparseSadRect {
 		}
 	}
 
+	/**
+	 * Processing a batch of points should produce the same results as processing them one at a time
+	 */
+	@Test
+	public void processBatch() {
+		ImageUInt8 left = new ImageUInt8(w,h);
+		ImageUInt8 right = new ImageUInt8(w,h);
+		GeneralizedImageOps.randomize(left, rand, 0, 50);
+		GeneralizedImageOps.randomize(right,rand,0,50);
+
+		StereoDisparitySparse<ImageUInt8> alg = new WrapDisparitySparseSadRect<int[],ImageUInt8>(
+				new ImplDisparitySparseScoreSadRect_U8(2,12,r,r),
+				new ImplSelectSparseStandardWta_S32(-1,0.05));
+		StereoDisparitySparse<ImageUInt8> single = new WrapDisparitySparseSadRect<int[],ImageUInt8>(
+				new ImplDisparitySparseScoreSadRect_U8(2,12,r,r),
+				new ImplSelectSparseStandardWta_S32(-1,0.05));
+		alg.setImages(left,right);
+		single.setImages(left,right);
+
+		int N = 200;
+		int x[] = new int[N];
+		int y[] = new int[N];
+		for( int i = 0; i < N; i++ ) {
+			// some of the points will be outside the image
+			x[i] = rand.nextInt(w+4)-2;
+			y[i] = rand.nextInt(h+4)-2;
+		}
+		double disparity[] = new double[N];
+
+		int numFound = alg.process(x,y,N,disparity);
+
+		int expectedFound = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( single.process(x[i],y[i]) ) {
+				expectedFound++;
+				assertEquals(single.getDisparity(),disparity[i],1e-8);
+			} else {
+				assertTrue(Double.isNaN(disparity[i]));
+			}
+		}
+		assertEquals(expectedFound,numFound);
+		assertTrue(numFound > 0);
+	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.associate;
 
+import boofcv.abst.feature.associate.ScoreAssociateCorrelation;
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.struct.FastQueue;
@@ -98,6 +99,37 @@ public class TestAssociateGreedy {
 		assertEquals(2,fitScore[3],1e-5);
 	}
 
+	@Test
+	public void ratioTest() {
+		FastQueue<TupleDesc_F64> a = createData(1,2,3,8);
+		FastQueue<TupleDesc_F64> b = createData(3,4,1,10);
+
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,10,false);
+		alg.setRatioTest(0.4);
+
+		alg.associate(a,b);
+
+		int pairs[] = alg.getPairs();
+
+		assertEquals(2,pairs[0]);
+		// 2 is equally close to 1 and 3
+		assertEquals(-1,pairs[1]);
+		assertEquals(0,pairs[2]);
+		// best is 2 and second best is 4
+		assertEquals(-1,pairs[3]);
+
+		alg.setRatioTest(0.5);
+		alg.associate(a,b);
+		assertEquals(3,alg.getPairs()[3]);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void ratioTest_notZeroMinimum() {
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(
+				new ScoreAssociateCorrelation(),10,false);
+		alg.setRatioTest(0.6);
+	}
+
 	private FastQueue<TupleDesc_F64> createData( double ...values )
 	{
 		FastQueue<TupleDesc_F64> ret = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,1, true);
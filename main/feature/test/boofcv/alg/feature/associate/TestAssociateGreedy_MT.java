@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateEuclideanSq_F64;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateGreedy_MT {
+
+	Random rand = new Random(234);
+	ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclideanSq_F64();
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Results should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		FastQueue<TupleDesc_F64> src = createRandom(137);
+		FastQueue<TupleDesc_F64> dst = createRandom(151);
+
+		for( int threads = 1; threads <= 4; threads++ ) {
+			BoofConcurrency.setMaxThreads(threads);
+			compare(src, dst, 0.5, false, 1);
+			compare(src, dst, 0.5, true, 1);
+			compare(src, dst, Double.MAX_VALUE, true, 0.9);
+			// dst is larger than src
+			compare(dst, src, Double.MAX_VALUE, true, 0.9);
+		}
+	}
+
+	private void compare( FastQueue<TupleDesc_F64> src , FastQueue<TupleDesc_F64> dst ,
+						  double maxError , boolean backwards , double ratio ) {
+		AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<TupleDesc_F64>(score,maxError,backwards);
+		AssociateGreedy_MT<TupleDesc_F64> alg = new AssociateGreedy_MT<TupleDesc_F64>(score,maxError,backwards);
+		expected.setRatioTest(ratio);
+		alg.setRatioTest(ratio);
+
+		expected.associate(src,dst);
+		alg.associate(src,dst);
+
+		for( int i = 0; i < src.size; i++ ) {
+			assertEquals(expected.getPairs()[i],alg.getPairs()[i]);
+			assertEquals(expected.getFitQuality()[i],alg.getFitQuality()[i],0);
+		}
+	}
+
+	private FastQueue<TupleDesc_F64> createRandom( int num ) {
+		FastQueue<TupleDesc_F64> ret = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,4, true);
+
+		for( int i = 0; i < num; i++ ) {
+			TupleDesc_F64 d = ret.grow();
+			for( int j = 0; j < d.value.length; j++ )
+				d.value[j] = rand.nextDouble();
+		}
+
+		return ret;
+	}
+}
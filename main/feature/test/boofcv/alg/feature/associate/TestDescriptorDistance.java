@@ -139,6 +139,51 @@ public class TestDescriptorDistance {
 		}
 	}
 
+	/**
+	 * The inner loops are unrolled.  See if descriptors with lengths which are not a multiple of the
+	 * unrolled length and fractional values are handled correctly
+	 */
+	@Test
+	public void unrolled_variousLengths() {
+		for( int N = 1; N < 10; N++ ) {
+			TupleDesc_F64 a = new TupleDesc_F64(N);
+			TupleDesc_F64 b = new TupleDesc_F64(N);
+			TupleDesc_F32 c = new TupleDesc_F32(N);
+			TupleDesc_F32 d = new TupleDesc_F32(N);
+
+			double euclideanSq = 0, sad = 0, dot = 0;
+			float euclideanSqF = 0, sadF = 0;
+			for( int i = 0; i < N; i++ ) {
+				a.value[i] = rand.nextDouble()*10-5;
+				b.value[i] = rand.nextDouble()*10-5;
+				c.value[i] = (float)a.value[i];
+				d.value[i] = (float)b.value[i];
+
+				euclideanSq += (a.value[i]-b.value[i])*(a.value[i]-b.value[i]);
+				sad += Math.abs(a.value[i]-b.value[i]);
+				dot += a.value[i]*b.value[i];
+				euclideanSqF += (c.value[i]-d.value[i])*(c.value[i]-d.value[i]);
+				sadF += Math.abs(c.value[i]-d.value[i]);
+			}
+
+			assertEquals(euclideanSq,DescriptorDistance.euclideanSq(a,b),1e-8);
+			assertEquals(Math.sqrt(euclideanSq),DescriptorDistance.euclidean(a,b),1e-8);
+			assertEquals(sad,DescriptorDistance.sad(a,b),1e-8);
+			assertEquals(dot,DescriptorDistance.correlation(a,b),1e-8);
+			assertEquals(euclideanSqF,DescriptorDistance.euclideanSq(c,d),1e-3);
+			assertEquals(sadF,DescriptorDistance.sad(c,d),1e-3);
+		}
+
+		// 7 integers
+		TupleDesc_B a = new TupleDesc_B(200);
+		TupleDesc_B b = new TupleDesc_B(200);
+		for( int i = 0; i < a.data.length; i++ ) {
+			a.data[i] = rand.nextInt();
+			b.data[i] = rand.nextInt();
+		}
+		assertEquals(hamming(a,b),DescriptorDistance.hamming(a, b));
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHammingMultiIndexSearch {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare the results against brute force for different descriptor and substring sizes
+	 */
+	@Test
+	public void exact() {
+		checkExact(512,500,-1);
+		checkExact(512,500,7);
+		// odd number of ints and a number of bits not divisible by the substring
+		checkExact(96,300,10);
+		checkExact(64,50,16);
+	}
+
+	private void checkExact( int numBits , int numPoints , int substringBits ) {
+		FastQueue<TupleDesc_B> points = createRandom(numBits,numPoints);
+
+		HammingMultiIndexSearch alg = new HammingMultiIndexSearch(substringBits,-1);
+		alg.setPoints(points);
+
+		for( int i = 0; i < 100; i++ ) {
+			// half the queries are close to a point in the set and the other half are random
+			TupleDesc_B q;
+			if( i % 2 == 0 ) {
+				q = points.get(rand.nextInt(numPoints)).copy();
+				for( int j = 0; j < numBits/10; j++ ) {
+					int bit = rand.nextInt(numBits);
+					q.data[bit/32] ^= 1 << (bit%32);
+				}
+			} else {
+				q = createRandom(numBits,1).get(0);
+			}
+
+			int expected = bruteForce(q,points);
+
+			assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+			assertEquals(DescriptorDistance.hamming(q,points.get(expected)),alg.getBestDistance(),1e-8);
+			assertEquals(DescriptorDistance.hamming(q,points.get(alg.getBestIndex())),alg.getBestDistance(),1e-8);
+		}
+	}
+
+	/**
+	 * Queries which are close to a point should only need to examine a small fraction of the set
+	 */
+	@Test
+	public void sublinear() {
+		FastQueue<TupleDesc_B> points = createRandom(512,2000);
+
+		HammingMultiIndexSearch alg = new HammingMultiIndexSearch(-1,-1);
+		alg.setPoints(points);
+
+		for( int i = 0; i < points.size; i += 10 ) {
+			TupleDesc_B q = points.get(i).copy();
+			q.data[0] ^= 0x00010010;
+
+			assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+			assertEquals(i,alg.getBestIndex());
+			assertEquals(2,alg.getBestDistance(),1e-8);
+			assertTrue(alg.getChecks() < points.size/10);
+		}
+	}
+
+	/**
+	 * With a bounded search radius only points with a substring within the radius are found
+	 */
+	@Test
+	public void boundedRadius() {
+		FastQueue<TupleDesc_B> points = createRandom(64,2);
+		points.get(1).data[0] = ~points.get(0).data[0];
+		points.get(1).data[1] = ~points.get(0).data[1];
+
+		// 4 substrings of 16 bits
+		HammingMultiIndexSearch alg = new HammingMultiIndexSearch(16,0);
+		alg.setPoints(points);
+
+		// two bits flipped in each substring can't be found with a radius of zero
+		TupleDesc_B q = points.get(0).copy();
+		q.data[0] ^= 0x00030003;
+		q.data[1] ^= 0x00030003;
+		assertFalse(alg.findNearest(q,Double.MAX_VALUE));
+
+		// flip bits in only one substring
+		q = points.get(0).copy();
+		q.data[0] ^= 0x00000003;
+		assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+		assertEquals(0,alg.getBestIndex());
+	}
+
+	@Test
+	public void maxDistance() {
+		FastQueue<TupleDesc_B> points = createRandom(128,10);
+
+		HammingMultiIndexSearch alg = new HammingMultiIndexSearch(-1,-1);
+		alg.setPoints(points);
+
+		TupleDesc_B q = points.get(3).copy();
+		q.data[2] ^= 0x0F;
+
+		assertTrue(alg.findNearest(q,5));
+		assertEquals(3,alg.getBestIndex());
+		assertEquals(4,alg.getBestDistance(),1e-8);
+
+		assertFalse(alg.findNearest(q,4));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	@Test
+	public void emptySet() {
+		HammingMultiIndexSearch alg = new HammingMultiIndexSearch(-1,-1);
+		alg.setPoints(createRandom(128,0));
+
+		assertFalse(alg.findNearest(new TupleDesc_B(128),Double.MAX_VALUE));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	private int bruteForce( TupleDesc_B q , FastQueue<TupleDesc_B> points ) {
+		int best = -1;
+		int bestDist = Integer.MAX_VALUE;
+		for( int i = 0; i < points.size; i++ ) {
+			int d = DescriptorDistance.hamming(q,points.get(i));
+			if( d < bestDist ) {
+				bestDist = d;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private FastQueue<TupleDesc_B> createRandom( int numBits , int num ) {
+		FastQueue<TupleDesc_B> ret = new TupleDescQueue<TupleDesc_B>(TupleDesc_B.class,numBits, true);
+
+		for( int i = 0; i < num; i++ ) {
+			TupleDesc_B d = ret.grow();
+			for( int j = 0; j < numBits; j++ ) {
+				if( rand.nextBoolean() )
+					d.data[j/32] |= 1 << (j%32);
+			}
+		}
+
+		return ret;
+	}
+}
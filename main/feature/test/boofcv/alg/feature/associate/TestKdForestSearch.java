@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDescQueue;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKdForestSearch {
+
+	Random rand = new Random(234);
+	KdTreeDistance<TupleDesc_F64> distance = new KdTreeEuclideanSq_F64();
+
+	/**
+	 * With no limit on the number of checks the results should be identical to brute force
+	 */
+	@Test
+	public void exact() {
+		FastQueue<TupleDesc_F64> points = createRandom(500,8);
+		FastQueue<TupleDesc_F64> queries = createRandom(100,8);
+
+		checkExact(new KdForestSearch<TupleDesc_F64>(distance,1,1,-1,234),points,queries);
+		checkExact(new KdForestSearch<TupleDesc_F64>(distance,4,5,-1,234),points,queries);
+	}
+
+	private void checkExact( KdForestSearch<TupleDesc_F64> alg ,
+							 FastQueue<TupleDesc_F64> points , FastQueue<TupleDesc_F64> queries ) {
+		alg.setPoints(points);
+
+		for( int i = 0; i < queries.size; i++ ) {
+			TupleDesc_F64 q = queries.get(i);
+			int expected = bruteForce(q,points);
+
+			assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+			assertEquals(expected,alg.getBestIndex());
+			assertEquals(distance.distance(q,points.get(expected)),alg.getBestDistance(),1e-8);
+			// should not need to check all the points
+			assertTrue(alg.getChecks() < points.size);
+		}
+	}
+
+	/**
+	 * Make sure the number of checks is obeyed and that the results are still reasonable
+	 */
+	@Test
+	public void maxChecks() {
+		FastQueue<TupleDesc_F64> points = createRandom(1000,16);
+
+		KdForestSearch<TupleDesc_F64> alg = new KdForestSearch<TupleDesc_F64>(distance,4,5,50,234);
+		alg.setPoints(points);
+
+		int numCorrect = 0;
+		for( int i = 0; i < points.size; i++ ) {
+			// query is a noisy copy of a point in the set
+			TupleDesc_F64 q = points.get(i).copy();
+			for( int j = 0; j < q.value.length; j++ )
+				q.value[j] += rand.nextGaussian()*0.01;
+
+			assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+			// the initial descent of each tree can exceed the limit
+			assertTrue(alg.getChecks() <= 50+4);
+			if( alg.getBestIndex() == i )
+				numCorrect++;
+		}
+
+		assertTrue(numCorrect > points.size*0.9);
+	}
+
+	@Test
+	public void maxDistance() {
+		FastQueue<TupleDesc_F64> points = createData(1,5,10);
+
+		KdForestSearch<TupleDesc_F64> alg = new KdForestSearch<TupleDesc_F64>(distance,1,1,-1,234);
+		alg.setPoints(points);
+
+		TupleDesc_F64 q = new TupleDesc_F64(1);
+		q.set(7);
+		assertTrue(alg.findNearest(q,5));
+		assertEquals(1,alg.getBestIndex());
+		assertEquals(4,alg.getBestDistance(),1e-8);
+
+		assertFalse(alg.findNearest(q,4));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	/**
+	 * Points which are identical along every axis
+	 */
+	@Test
+	public void duplicatePoints() {
+		FastQueue<TupleDesc_F64> points = createData(2,2,2,2,2,2,2,3);
+
+		KdForestSearch<TupleDesc_F64> alg = new KdForestSearch<TupleDesc_F64>(distance,2,1,-1,234);
+		alg.setPoints(points);
+
+		TupleDesc_F64 q = new TupleDesc_F64(1);
+		q.set(3.1);
+		assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+		assertEquals(7,alg.getBestIndex());
+
+		q.set(1.5);
+		assertTrue(alg.findNearest(q,Double.MAX_VALUE));
+		assertTrue(alg.getBestIndex() < 7);
+	}
+
+	@Test
+	public void emptySet() {
+		KdForestSearch<TupleDesc_F64> alg = new KdForestSearch<TupleDesc_F64>(distance,2,1,-1,234);
+		alg.setPoints(createData());
+
+		TupleDesc_F64 q = new TupleDesc_F64(1);
+		assertFalse(alg.findNearest(q,Double.MAX_VALUE));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	private int bruteForce( TupleDesc_F64 q , FastQueue<TupleDesc_F64> points ) {
+		int best = -1;
+		double bestDist = Double.MAX_VALUE;
+		for( int i = 0; i < points.size; i++ ) {
+			double d = distance.distance(q,points.get(i));
+			if( d < bestDist ) {
+				bestDist = d;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private FastQueue<TupleDesc_F64> createRandom( int num , int length ) {
+		FastQueue<TupleDesc_F64> ret = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,length, true);
+
+		for( int i = 0; i < num; i++ ) {
+			TupleDesc_F64 d = ret.grow();
+			for( int j = 0; j < length; j++ )
+				d.value[j] = rand.nextGaussian();
+		}
+
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_F64> createData( double ...values ) {
+		FastQueue<TupleDesc_F64> ret = new TupleDescQueue<TupleDesc_F64>(TupleDesc_F64.class,1, true);
+
+		for( int i = 0; i < values.length; i++ ) {
+			ret.grow().set(values[i]);
+		}
+
+		return ret;
+	}
+}
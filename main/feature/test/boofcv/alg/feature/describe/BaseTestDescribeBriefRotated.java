@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe;
+
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
+import boofcv.alg.feature.describe.brief.BriefRotatedLookup;
+import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
+import boofcv.core.image.FactoryGImageSingleBand;
+import boofcv.core.image.GImageSingleBand;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class BaseTestDescribeBriefRotated<T extends ImageSingleBand> {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 40;
+	Class<T> imageType;
+
+	BriefDefinition_I32 def = FactoryBriefDefinition.gaussian2(rand, 5, 20);
+	BriefRotatedLookup lookup = new BriefRotatedLookup(def, 8);
+	BlurFilter<T> filterBlur;
+
+	public BaseTestDescribeBriefRotated(Class<T> imageType) {
+		this.imageType = imageType;
+		filterBlur = FactoryBlurFilter.gaussian(imageType, -1, 1);
+	}
+
+	protected T createImage( int width , int height ) {
+		T ret = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GeneralizedImageOps.randomize(ret,rand,0,50);
+		return ret;
+	}
+
+	/**
+	 * Have it process a sub-image and see if it produces the same results.
+	 */
+	@Test
+	public void testSubImage() {
+		T input = createImage(width,height);
+
+		DescribePointBriefRotated<T> alg = FactoryDescribePointAlgs.briefRotated(lookup, filterBlur);
+		TupleDesc_B desc1 = alg.createFeature();
+		TupleDesc_B desc2 = alg.createFeature();
+
+		alg.setImage(input);
+		alg.process(input.width / 2, input.height / 2, 0.8, desc1);
+
+		T sub = (T)BoofTesting.createSubImageOf(input);
+
+		alg.setImage(sub);
+		alg.process(input.width / 2, input.height / 2, 0.8, desc2);
+
+		for( int i = 0; i < desc1.data.length; i++ ) {
+			assertEquals(desc1.data[i],desc2.data[i]);
+		}
+	}
+
+	/**
+	 * With no rotation it should produce the same description as the unrotated BRIEF
+	 */
+	@Test
+	public void compareToBrief() {
+		T input = createImage(width,height);
+
+		DescribePointBriefRotated<T> alg = FactoryDescribePointAlgs.briefRotated(lookup, filterBlur);
+		DescribePointBrief<T> brief = FactoryDescribePointAlgs.brief(def, filterBlur);
+
+		TupleDesc_B found = alg.createFeature();
+		TupleDesc_B expected = brief.createFeature();
+
+		alg.setImage(input);
+		brief.setImage(input);
+
+		int c_x = input.width/2;
+		int c_y = input.height/2;
+		alg.process(c_x,c_y,0,found);
+		brief.process(c_x,c_y,expected);
+
+		for( int i = 0; i < found.data.length; i++ ) {
+			assertEquals(expected.data[i],found.data[i]);
+		}
+	}
+
+	/**
+	 * Compute the descriptor manually for each angle and see if it gets the same answer
+	 */
+	@Test
+	public void testManualCheck() {
+		T input = createImage(width,height);
+		T blurred = (T)input._createNew(width, height);
+		filterBlur.process(input,blurred);
+
+		GImageSingleBand a = FactoryGImageSingleBand.wrap(blurred);
+
+		DescribePointBriefRotated<T> alg = FactoryDescribePointAlgs.briefRotated(lookup, filterBlur);
+		alg.setImage(input);
+
+		int c_x = input.width/2;
+		int c_y = input.height/2;
+
+		TupleDesc_B desc = alg.createFeature();
+
+		for( int angle = 0; angle < lookup.getNumAngles(); angle++ ) {
+			double theta = 2.0*Math.PI*angle/lookup.getNumAngles();
+			alg.process(c_x, c_y, theta, desc);
+
+			Point2D_I32 samples[] = lookup.getSamples(angle);
+			for( int i = 0; i < def.compare.length; i++ ) {
+				Point2D_I32 c = def.compare[i];
+				Point2D_I32 p0 = samples[c.x];
+				Point2D_I32 p1 = samples[c.y];
+
+				boolean expected = a.get(c_x+p0.x,c_y+p0.y).doubleValue()
+						< a.get(c_x+p1.x,c_y+p1.y).doubleValue();
+				assertTrue(expected == desc.isBitTrue(i));
+			}
+		}
+	}
+
+	/**
+	 * See if the border is handled correctly
+	 */
+	@Test
+	public void testImageBorder() {
+		T input = createImage(width,height);
+
+		DescribePointBriefRotated<T> alg = FactoryDescribePointAlgs.briefRotated(lookup, filterBlur);
+		alg.setImage(input);
+
+		TupleDesc_B desc = alg.createFeature();
+
+		// just see if it blows up
+		alg.process(0, 0, 1, desc);
+		alg.process(width - 1, height - 1, 2, desc);
+
+		// if given a point inside it should produce the same answer
+		TupleDesc_B descInside = alg.createFeature();
+		for( int angle = 0; angle < lookup.getNumAngles(); angle++ ) {
+			alg.processBorder(width/2,height/2,angle,desc);
+			alg.processInside(width/2,height/2,angle,descInside);
+
+			for( int i = 0; i < desc.numBits; i++ )
+				assertEquals(desc.getDouble(i),descInside.getDouble(i),1e-8);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSortPointsByTile {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void basic() {
+		int width = 100, height = 80;
+		int N = 200;
+		double x[] = new double[N];
+		double y[] = new double[N];
+		for( int i = 0; i < N; i++ ) {
+			x[i] = rand.nextDouble()*(width+20)-10;
+			y[i] = rand.nextDouble()*(height+20)-10;
+		}
+
+		SortPointsByTile alg = new SortPointsByTile(16);
+		alg.sort(x,y,N,width,height);
+		int order[] = alg.getOrder();
+
+		// every point should be included once
+		boolean used[] = new boolean[N];
+		for( int k = 0; k < N; k++ ) {
+			assertTrue(!used[order[k]]);
+			used[order[k]] = true;
+		}
+
+		// the tile should never decrease and inside a tile the original order is preserved
+		for( int k = 1; k < N; k++ ) {
+			int a = order[k-1], b = order[k];
+			int tileA = tile(x[a],y[a],width,height);
+			int tileB = tile(x[b],y[b],width,height);
+
+			assertTrue(tileA <= tileB);
+			if( tileA == tileB )
+				assertTrue(a < b);
+		}
+	}
+
+	/**
+	 * Sort a second time with fewer points and a larger image
+	 */
+	@Test
+	public void reuse() {
+		SortPointsByTile alg = new SortPointsByTile(10);
+		alg.sort(new double[]{5,25,15},new double[]{5,5,5},3,30,10);
+		assertEquals(0,alg.getOrder()[0]);
+		assertEquals(2,alg.getOrder()[1]);
+		assertEquals(1,alg.getOrder()[2]);
+
+		alg.sort(new double[]{55,5},new double[]{45,5},2,60,50);
+		assertEquals(1,alg.getOrder()[0]);
+		assertEquals(0,alg.getOrder()[1]);
+	}
+
+	private int tile( double x , double y , int width , int height ) {
+		int tilesX = (width+15)/16;
+		int tilesY = (height+15)/16;
+		int tx = Math.min(tilesX-1,Math.max(0,(int)(x/16)));
+		int ty = Math.min(tilesY-1,Math.max(0,(int)(y/16)));
+		return ty*tilesX+tx;
+	}
+}
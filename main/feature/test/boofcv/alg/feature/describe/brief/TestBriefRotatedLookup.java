@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.brief;
+
+import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBriefRotatedLookup {
+
+	Random rand = new Random(234);
+	BriefDefinition_I32 def = FactoryBriefDefinition.gaussian2(rand, 5, 20);
+
+	/**
+	 * Check the rotated points against a few easily computed angles
+	 */
+	@Test
+	public void samples() {
+		BriefRotatedLookup alg = new BriefRotatedLookup(def,4);
+
+		assertEquals(4,alg.getNumAngles());
+
+		for( int i = 0; i < def.samplePoints.length; i++ ) {
+			Point2D_I32 p = def.samplePoints[i];
+
+			Point2D_I32 a = alg.getSamples(0)[i];
+			Point2D_I32 b = alg.getSamples(1)[i];
+			Point2D_I32 c = alg.getSamples(2)[i];
+
+			assertEquals(p.x,a.x);
+			assertEquals(p.y,a.y);
+			assertEquals(-p.y,b.x);
+			assertEquals(p.x,b.y);
+			assertEquals(-p.x,c.x);
+			assertEquals(-p.y,c.y);
+		}
+	}
+
+	@Test
+	public void radius() {
+		BriefRotatedLookup alg = new BriefRotatedLookup(def,30);
+
+		int r = alg.getRadius();
+		assertTrue( r <= def.radius*1.5 );
+
+		boolean touches = false;
+		for( int angle = 0; angle < alg.getNumAngles(); angle++ ) {
+			for( Point2D_I32 p : alg.getSamples(angle) ) {
+				assertTrue( Math.abs(p.x) <= r && Math.abs(p.y) <= r );
+				if( Math.abs(p.x) == r || Math.abs(p.y) == r )
+					touches = true;
+			}
+		}
+		assertTrue(touches);
+	}
+
+	@Test
+	public void angleToIndex() {
+		BriefRotatedLookup alg = new BriefRotatedLookup(def,8);
+
+		double step = 2.0*Math.PI/8;
+
+		assertEquals(0,alg.angleToIndex(0));
+		assertEquals(0,alg.angleToIndex(0.4*step));
+		assertEquals(1,alg.angleToIndex(0.6*step));
+		assertEquals(7,alg.angleToIndex(-step));
+		assertEquals(0,alg.angleToIndex(-0.4*step));
+		assertEquals(4,alg.angleToIndex(Math.PI));
+		assertEquals(4,alg.angleToIndex(-Math.PI));
+		assertEquals(0,alg.angleToIndex(2.0*Math.PI));
+		assertEquals(2,alg.angleToIndex(4.0*Math.PI+2*step));
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.impl;
+
+
+import boofcv.alg.feature.describe.BaseTestDescribeBriefRotated;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDescribePointBriefRotated_F32 extends BaseTestDescribeBriefRotated<ImageFloat32>{
+	public TestImplDescribePointBriefRotated_F32() {
+		super(ImageFloat32.class);
+	}
+}
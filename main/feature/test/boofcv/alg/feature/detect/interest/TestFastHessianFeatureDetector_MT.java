@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastHessianFeatureDetector_MT {
+
+	Random rand = new Random(234);
+	int width = 160;
+	int height = 130;
+
+	ImageFloat32 input = new ImageFloat32(width,height);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+
+		ImageFloat32 noise = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(noise,rand,0,200);
+		BlurImageOps.gaussian(noise,input,-1,2,null);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Should produce the exact same results as the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread_F32() {
+		ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+		for( boolean tiled : new boolean[]{false,true}) {
+			compare(integral,-1,1,tiled);
+			compare(integral,20,1,tiled);
+			compare(integral,-1,2,tiled);
+		}
+	}
+
+	@Test
+	public void compareToSingleThread_S32() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ConvertImage.convert(input,inputU8);
+		ImageSInt32 integral = IntegralImageOps.transform(inputU8,null);
+
+		for( boolean tiled : new boolean[]{false,true}) {
+			compare(integral,-1,1,tiled);
+			compare(integral,-1,2,tiled);
+		}
+	}
+
+	/**
+	 * Make the tiles small enough that there are several inside of each block
+	 */
+	@Test
+	public void smallTiles() {
+		ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+		FastHessianFeatureDetector<ImageFloat32> expected =
+				new FastHessianFeatureDetector<ImageFloat32>(createExtractor(),-1,1,9,4,4);
+		FastHessianFeatureDetector_MT<ImageFloat32> found =
+				new FastHessianFeatureDetector_MT<ImageFloat32>(createExtractor(),-1,1,9,4,4,true);
+		found.setTileBytes(width*4*60);
+
+		expected.detect(integral);
+		found.detect(integral);
+
+		compare(expected.getFoundPoints(),found.getFoundPoints());
+	}
+
+	private <T extends ImageSingleBand> void compare( T integral , int maxPerScale , int sampleRate , boolean tiled ) {
+		FastHessianFeatureDetector<T> expected =
+				new FastHessianFeatureDetector<T>(createExtractor(),maxPerScale,sampleRate,9,4,4);
+		FastHessianFeatureDetector_MT<T> found =
+				new FastHessianFeatureDetector_MT<T>(createExtractor(),maxPerScale,sampleRate,9,4,4,tiled);
+
+		expected.detect(integral);
+		found.detect(integral);
+		compare(expected.getFoundPoints(),found.getFoundPoints());
+
+		// see if it can be called multiple times
+		found.detect(integral);
+		compare(expected.getFoundPoints(),found.getFoundPoints());
+	}
+
+	private void compare( List<ScalePoint> expected , List<ScalePoint> found ) {
+		// sanity check
+		assertTrue(expected.size() > 5);
+
+		assertEquals(expected.size(),found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			ScalePoint e = expected.get(i);
+			ScalePoint f = found.get(i);
+
+			assertTrue(e.x == f.x);
+			assertTrue(e.y == f.y);
+			assertTrue(e.scale == f.scale);
+		}
+	}
+
+	private FeatureExtractor createExtractor() {
+		return FactoryFeatureExtractor.nonmax(2, 1, 5, true);
+	}
+}
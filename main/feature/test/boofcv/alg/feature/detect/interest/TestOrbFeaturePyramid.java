@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestOrbFeaturePyramid {
+
+	Random rand = new Random(234);
+	int width = 160;
+	int height = 120;
+
+	int radius = 7;
+	int scales[] = new int[]{1,2,4};
+
+	private ImageUInt8 createImage() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		for( int i = 0; i < 40; i++ ) {
+			int x = rand.nextInt(width-20);
+			int y = rand.nextInt(height-20);
+			int w = 4+rand.nextInt(16);
+			ImageTestingOps.fillRectangle(image,rand.nextInt(200)+50,x,y,w,w);
+		}
+		return image;
+	}
+
+	/**
+	 * Features should be found in multiple layers and be inside the image
+	 */
+	@Test
+	public void detect() {
+		ImageUInt8 image = createImage();
+
+		OrbFeaturePyramid<ImageUInt8> alg = FactoryInterestPointAlgs.orb(20, 100, radius, 256, 30,
+				scales, true, ImageUInt8.class);
+
+		alg.detect(image);
+
+		int N = alg.getNumberOfFeatures();
+		assertTrue(N > 0);
+		assertEquals(N, alg.getDescriptions().size);
+
+		boolean foundScaled = false;
+		for( int i = 0; i < N; i++ ) {
+			ScalePoint p = alg.getLocation(i);
+			assertTrue(p.x >= 0 && p.x < width);
+			assertTrue(p.y >= 0 && p.y < height);
+			if( p.scale > 1 )
+				foundScaled = true;
+		}
+		assertTrue(foundScaled);
+	}
+
+	/**
+	 * The descriptions computed while detecting should be the same as ones computed afterwards by the
+	 * region descriptor
+	 */
+	@Test
+	public void compareToDescribeRegion() {
+		ImageUInt8 image = createImage();
+
+		OrbFeaturePyramid<ImageUInt8> alg = FactoryInterestPointAlgs.orb(20, 100, radius, 256, 30,
+				scales, true, ImageUInt8.class);
+		DescribeRegionPoint<ImageUInt8,TupleDesc_B> describe =
+				FactoryDescribeRegionPoint.orb(radius, 256, 30, scales, ImageUInt8.class);
+
+		alg.detect(image);
+		describe.setImage(image);
+
+		int N = alg.getNumberOfFeatures();
+		assertTrue(N > 0);
+
+		for( int i = 0; i < N; i++ ) {
+			ScalePoint p = alg.getLocation(i);
+			TupleDesc_B expected = alg.getDescriptions().get(i);
+			TupleDesc_B found = describe.process(p.x, p.y, alg.getOrientation(i), p.scale, null);
+
+			for( int j = 0; j < expected.data.length; j++ ) {
+				assertEquals(expected.data[j],found.data[j]);
+			}
+		}
+	}
+
+	/**
+	 * When not describing features the descriptions should be null
+	 */
+	@Test
+	public void noDescription() {
+		ImageUInt8 image = createImage();
+
+		OrbFeaturePyramid<ImageUInt8> alg = FactoryInterestPointAlgs.orb(20, 100, radius, 0, 0,
+				scales, false, ImageUInt8.class);
+
+		alg.detect(image);
+
+		assertTrue(alg.getNumberOfFeatures() > 0);
+		assertTrue(alg.getDescriptions() == null);
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRowFormat_MT {
+
+	Random rand = new Random(234);
+
+	int width = 60;
+	int height = 107;
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Output should be identical to processing the whole image in a single thread
+	 */
+	@Test
+	public void compareToSingleThread_U8() {
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,100);
+		GeneralizedImageOps.randomize(right,rand,0,100);
+
+		compare(left, right, ImageUInt8.class);
+	}
+
+	/**
+	 * Floating point images with values which will cause round off errors when scores are added and subtracted
+	 */
+	@Test
+	public void compareToSingleThread_F32() {
+		ImageFloat32 left = new ImageFloat32(width,height);
+		ImageFloat32 right = new ImageFloat32(width,height);
+		for( int i = 0; i < left.data.length; i++ ) {
+			left.data[i] = rand.nextFloat()*100;
+			right.data[i] = rand.nextFloat()*100;
+		}
+
+		compare(left, right, ImageFloat32.class);
+	}
+
+	private <T extends ImageSingleBand> void compare( T left , T right , Class<T> imageType ) {
+		for( DisparityAlgorithms which : DisparityAlgorithms.values() ) {
+			BoofConcurrency.USE_CONCURRENT = false;
+			StereoDisparity<T,ImageUInt8> expected =
+					FactoryStereoDisparity.regionWta(which,2,20,2,3,30,2,0.1,imageType);
+			StereoDisparity<T,ImageFloat32> expectedSub =
+					FactoryStereoDisparity.regionSubpixelWta(which,2,20,2,3,30,2,0.1,imageType);
+
+			BoofConcurrency.USE_CONCURRENT = true;
+			StereoDisparity<T,ImageUInt8> found =
+					FactoryStereoDisparity.regionWta(which,2,20,2,3,30,2,0.1,imageType);
+			StereoDisparity<T,ImageFloat32> foundSub =
+					FactoryStereoDisparity.regionSubpixelWta(which,2,20,2,3,30,2,0.1,imageType);
+
+			expected.process(left,right);
+			expectedSub.process(left,right);
+			found.process(left,right);
+			foundSub.process(left,right);
+
+			assertIdentical(expected.getDisparity(),found.getDisparity());
+			assertIdentical(expectedSub.getDisparity(),foundSub.getDisparity());
+		}
+	}
+
+	/**
+	 * The number of strips is limited by the number of workers and the image height
+	 */
+	@Test
+	public void smallImage() {
+		BoofConcurrency.USE_CONCURRENT = true;
+		StereoDisparity<ImageUInt8,ImageUInt8> alg =
+				FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,0,10,2,2,30,2,0.1,ImageUInt8.class);
+		BoofConcurrency.USE_CONCURRENT = false;
+		StereoDisparity<ImageUInt8,ImageUInt8> expected =
+				FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,0,10,2,2,30,2,0.1,ImageUInt8.class);
+
+		ImageUInt8 left = new ImageUInt8(30,10);
+		ImageUInt8 right = new ImageUInt8(30,10);
+		GeneralizedImageOps.randomize(left,rand,0,100);
+		GeneralizedImageOps.randomize(right,rand,0,100);
+
+		alg.process(left,right);
+		expected.process(left,right);
+
+		assertIdentical(expected.getDisparity(),alg.getDisparity());
+	}
+
+	private void assertIdentical( ImageSingleBand expected , ImageSingleBand found ) {
+		int numValid = 0;
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				double a = GeneralizedImageOps.get(expected,x,y);
+				double b = GeneralizedImageOps.get(found,x,y);
+				assertTrue(x+" "+y+" "+a+" "+b, a == b);
+				if( a < 19 )
+					numValid++;
+			}
+		}
+		// sanity check to make sure something was computed
+		assertTrue(numValid > 0);
+	}
+}
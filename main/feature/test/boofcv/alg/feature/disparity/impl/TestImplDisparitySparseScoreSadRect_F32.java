@@ -81,4 +81,53 @@ public class TestImplDisparitySparseScoreSadRect_F32 {
 			}
 		}
 	}
+
+	/**
+	 * Points are processed in a random order and along different rows, forcing cached column scores to be
+	 * reused and recomputed.  The image is also modified to see if the cache is discarded by setImages().
+	 */
+	@Test
+	public void randomOrder() {
+		int w = 30, h = 25;
+		int minDisparity = 2;
+		int maxDisparity = 12;
+		int radiusX = 2;
+		int radiusY = 3;
+
+		ImageFloat32 left = new ImageFloat32(w,h);
+		ImageFloat32 right = new ImageFloat32(w,h);
+
+		ImplDisparitySparseScoreSadRect_F32 alg = new ImplDisparitySparseScoreSadRect_F32(minDisparity,maxDisparity,radiusX,radiusY);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			GeneralizedImageOps.randomize(left, rand, 0, 20);
+			GeneralizedImageOps.randomize(right,rand,0,20);
+			alg.setImages(left,right);
+
+			for( int i = 0; i < 300; i++ ) {
+				// bias it towards a few rows so that the cache is used
+				int x = rand.nextInt(w);
+				int y = radiusY + rand.nextInt(4);
+				if( i % 5 == 0 )
+					y = rand.nextInt(h);
+
+				boolean expected = x-radiusX-minDisparity >= 0 && x < w-radiusX && y >= radiusY && y < h-radiusY;
+				assertEquals(expected,alg.process(x,y));
+				if( !expected )
+					continue;
+
+				int localRange = Math.min(maxDisparity-minDisparity,x-radiusX-minDisparity+1);
+				assertEquals(localRange,alg.getLocalMaxDisparity());
+				for( int d = 0; d < localRange; d++ ) {
+					float score = 0;
+					for( int yy = -radiusY; yy <= radiusY; yy++ ) {
+						for( int xx = -radiusX; xx <= radiusX; xx++ ) {
+							score += Math.abs(left.get(x+xx,y+yy)-right.get(x+xx-minDisparity-d,y+yy));
+						}
+					}
+					assertEquals(score,alg.scores[d],1e-3);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmDisparity {
+
+	Random rand = new Random(234);
+
+	int width = 70;
+	int height = 50;
+
+	int minDisparity = 2;
+	int maxDisparity = 20;
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * The right image is the left image shifted by a constant amount.  Almost every pixel should have the
+	 * correct disparity for all the cost functions and number of paths
+	 */
+	@Test
+	public void constantDisparity() {
+		int disparity = 7;
+		ImageUInt8 left = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,255);
+		ImageUInt8 right = shift(left,disparity);
+
+		for( int numPaths = 4; numPaths <= 8; numPaths += 4 ) {
+			checkConstant(new SgmDisparity(new SgmCostCensus(2),minDisparity,maxDisparity,2,24,numPaths,-1),
+					left,right,disparity);
+			checkConstant(new SgmDisparity(new SgmCostSad(0),minDisparity,maxDisparity,10,120,numPaths,-1),
+					left,right,disparity);
+			checkConstant(new SgmDisparity(new SgmCostSad(1),minDisparity,maxDisparity,10,120,numPaths,1),
+					left,right,disparity);
+		}
+	}
+
+	private void checkConstant( SgmDisparity alg , ImageUInt8 left , ImageUInt8 right , int disparity ) {
+		ImageUInt8 found = new ImageUInt8(width,height);
+		alg.process(left,right,found);
+
+		int total = 0;
+		int correct = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = disparity; x < width; x++ ) {
+				total++;
+				if( found.get(x,y) == disparity-minDisparity )
+					correct++;
+			}
+		}
+		assertTrue(correct+" / "+total, correct >= total*0.95 );
+	}
+
+	/**
+	 * Pixels which can't be inside the right image are marked as invalid
+	 */
+	@Test
+	public void leftBorderInvalid() {
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,255);
+		GeneralizedImageOps.randomize(right,rand,0,255);
+
+		SgmDisparity alg = new SgmDisparity(new SgmCostCensus(1),minDisparity,maxDisparity,2,24,4,-1);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		alg.process(left,right,found);
+
+		int invalid = maxDisparity-minDisparity+1;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < minDisparity; x++ ) {
+				assertEquals(invalid,found.get(x,y));
+			}
+			// disparity can't be larger than the distance to the left border
+			for( int x = minDisparity; x < maxDisparity; x++ ) {
+				assertTrue(found.get(x,y) <= x-minDisparity);
+			}
+		}
+	}
+
+	/**
+	 * Two surfaces at different depths.  Right to left validation should mark the occluded pixels as invalid
+	 * and the rest should be mostly correct.
+	 */
+	@Test
+	public void twoSurfaces() {
+		int far = 4;
+		int near = 12;
+		int boundary = width/2;
+
+		ImageUInt8 left = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,255);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(right,rand,0,255);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int d = x < boundary ? far : near;
+				if( x-d >= 0 )
+					right.set(x-d,y,left.get(x,y));
+			}
+		}
+
+		SgmDisparity alg = new SgmDisparity(new SgmCostCensus(2),minDisparity,maxDisparity,2,24,8,1);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		alg.process(left,right,found);
+
+		int total = 0;
+		int correct = 0;
+		int wrong = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = near; x < width; x++ ) {
+				// skip pixels near the boundary
+				if( Math.abs(x-boundary) <= near-far )
+					continue;
+				total++;
+				int expected = (x < boundary ? far : near) - minDisparity;
+				int value = found.get(x,y);
+				if( value == expected )
+					correct++;
+				else if( value <= maxDisparity-minDisparity )
+					wrong++;
+			}
+		}
+		assertTrue(correct >= total*0.9);
+		assertTrue(wrong <= total*0.02);
+	}
+
+	/**
+	 * The concurrent version should produce identical results
+	 */
+	@Test
+	public void compareToSingleThread() {
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,255);
+		GeneralizedImageOps.randomize(right,rand,0,255);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		new SgmDisparity(new SgmCostCensus(2),minDisparity,maxDisparity,2,24,8,1).process(left,right,expected);
+		BoofConcurrency.USE_CONCURRENT = true;
+		new SgmDisparity(new SgmCostCensus(2),minDisparity,maxDisparity,2,24,8,1).process(left,right,found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(expected.get(x,y),found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Processing the same images twice should produce the same results
+	 */
+	@Test
+	public void processMultipleTimes() {
+		ImageUInt8 left = new ImageUInt8(width,height);
+		GeneralizedImageOps.randomize(left,rand,0,255);
+		ImageUInt8 right = shift(left,5);
+
+		SgmDisparity alg = new SgmDisparity(new SgmCostSad(0),minDisparity,maxDisparity,10,120,4,1);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		alg.process(left,right,expected);
+		alg.process(left,right,found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(expected.get(x,y),found.get(x,y));
+			}
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void checkOverflow() {
+		new SgmDisparity(new SgmCostSad(0),minDisparity,maxDisparity,10,10000,8,1);
+	}
+
+	/**
+	 * Creates the right image such that pixel x in the left image appears at x-disparity
+	 */
+	private ImageUInt8 shift( ImageUInt8 left , int disparity ) {
+		ImageUInt8 right = new ImageUInt8(left.width,left.height);
+		GeneralizedImageOps.randomize(right,rand,0,255);
+		for( int y = 0; y < left.height; y++ ) {
+			for( int x = disparity; x < left.width; x++ ) {
+				right.set(x-disparity,y,left.get(x,y));
+			}
+		}
+		return right;
+	}
+}
@@ -24,14 +24,12 @@ import boofcv.abst.feature.detect.intensity.WrapperGradientCornerIntensity;
 import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.FastQueue;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -62,8 +60,8 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 		GenericPkltFeatSelector<ImageFloat32, ImageFloat32> selector =
 				new GenericPkltFeatSelector<ImageFloat32, ImageFloat32>(detector, tracker);
 
-		List<PyramidKltFeature> active = new ArrayList<PyramidKltFeature>();
-		List<PyramidKltFeature> available = new ArrayList<PyramidKltFeature>();
+		FastQueue<PyramidKltFeature> active = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
+		FastQueue<PyramidKltFeature> available = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
 		for (int i = 0; i < maxFeatures - 5; i++) {
 			available.add(new PyramidKltFeature(pyramid.getNumLayers(), featureReadius));
 		}
@@ -87,7 +85,7 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 
 		// see how many features are in the outside quadrant
 		int numOutside = 0;
-		for (PyramidKltFeature f : active) {
+		for (PyramidKltFeature f : active.toList()) {
 			if (f.x > width / 2)
 				numOutside++;
 			else if (f.y > height / 2)
@@ -107,8 +105,8 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 
 		GenericPkltFeatSelector<ImageFloat32, ImageFloat32> selector = createSelector();
 
-		List<PyramidKltFeature> active = new ArrayList<PyramidKltFeature>();
-		List<PyramidKltFeature> available = new ArrayList<PyramidKltFeature>();
+		FastQueue<PyramidKltFeature> active = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
+		FastQueue<PyramidKltFeature> available = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
 		for (int i = 0; i < maxFeatures; i++) {
 			available.add(new PyramidKltFeature(pyramid.getNumLayers(), featureReadius));
 		}
@@ -123,7 +121,7 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 
 		// see if the description has been modified
 		// only the bottom layer is checked because the upper ones might not have changed.
-		for (PyramidKltFeature f : active) {
+		for (PyramidKltFeature f : active.toList()) {
 			assertTrue(f.x != 0);
 			assertTrue(f.y != 0);
 			assertTrue(f.maxLayer >= 0);
@@ -138,8 +136,8 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 	public void excludeAlreadyFound() {
 		GenericPkltFeatSelector<ImageFloat32, ImageFloat32> selector = createSelector();
 
-		List<PyramidKltFeature> active = new ArrayList<PyramidKltFeature>();
-		List<PyramidKltFeature> available = new ArrayList<PyramidKltFeature>();
+		FastQueue<PyramidKltFeature> active = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
+		FastQueue<PyramidKltFeature> available = new FastQueue<PyramidKltFeature>(maxFeatures,PyramidKltFeature.class,false);
 		for (int i = 0; i < maxFeatures; i++) {
 			available.add(new PyramidKltFeature(pyramid.getNumLayers(), featureReadius));
 		}
@@ -151,8 +149,8 @@ public class TestGenericPkltFeatSelector extends PyramidKltTestBase {
 		// swap the order so it can see if it just flushed the list or not
 		PyramidKltFeature a = active.get(4);
 		PyramidKltFeature b = active.get(5);
-		active.set(5, a);
-		active.set(4, b);
+		active.data[5] = a;
+		active.data[4] = b;
 
 		selector.compute(active, available);
 
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.pklt;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPkltManager {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 70;
+
+	int scales[] = new int[]{1,2,4};
+
+	ImageFloat32 background = new ImageFloat32(width+100,height+40);
+	ImageFloat32 image = new ImageFloat32(width,height);
+
+	PyramidUpdaterDiscrete<ImageFloat32> updater = FactoryPyramid.discreteGaussian(ImageFloat32.class,-1,2);
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+
+	PyramidDiscrete<ImageFloat32> pyramid = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+	PyramidDiscrete<ImageFloat32> derivX = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+	PyramidDiscrete<ImageFloat32> derivY = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+
+	@Before
+	public void before() {
+		ImageFloat32 noise = new ImageFloat32(background.width,background.height);
+		ImageTestingOps.randomize(noise,rand,0,255);
+		BlurImageOps.gaussian(noise,background,-1,2,null);
+	}
+
+	/**
+	 * Once the tracker has seen a sequence no memory should be declared when the same sequence is processed again.
+	 * Features are dropped and spawned during the sequence.
+	 *
+	 * The sequence is processed until several passes in a row allocate nothing and trigger no JIT compilation.
+	 * HotSpot resolves every string literal in a class, e.g. exception messages, on the calling thread when
+	 * it first queues one of the class's methods for C2 compilation.  Depending on which tests ran before,
+	 * that can happen long after the allocations from the first frames stop.
+	 */
+	@Test
+	public void noAllocationAfterWarmUp() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if( !(bean instanceof com.sun.management.ThreadMXBean) )
+			return;
+		com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean)bean;
+		if( !sunBean.isThreadAllocatedMemorySupported() )
+			return;
+		sunBean.setThreadAllocatedMemoryEnabled(true);
+
+		PkltManagerConfig<ImageFloat32,ImageFloat32> config =
+				PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		config.pyramidScaling = scales;
+		PkltManager<ImageFloat32,ImageFloat32> alg = new PkltManager<ImageFloat32,ImageFloat32>(config);
+
+		int numFrames = 30;
+		long allocated[] = new long[ numFrames ];
+		int counts[] = new int[2];
+
+		CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+		boolean checkCompiler = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+
+		// warm up until nothing is allocated or compiled for several passes in a row
+		int numStable = 0;
+		for( int pass = 0; pass < 200 && numStable < 5; pass++ ) {
+			long compileTime = checkCompiler ? compiler.getTotalCompilationTime() : 0;
+			processSequence(sunBean, alg, config, allocated, counts);
+			boolean compiled = checkCompiler && compiler.getTotalCompilationTime() != compileTime;
+			if( max(allocated) == 0 && !compiled )
+				numStable++;
+			else
+				numStable = 0;
+		}
+
+		counts[0] = counts[1] = 0;
+		processSequence(sunBean, alg, config, allocated, counts);
+
+		for( int frame = 0; frame < numFrames; frame++ ) {
+			assertEquals("frame "+frame,0,allocated[frame]);
+		}
+
+		// sanity check the test
+		assertTrue(counts[0] > 0);
+		assertTrue(counts[1] > 0);
+	}
+
+	/**
+	 * Tracks features through the image sequence and records how many bytes were allocated in each frame
+	 *
+	 * @param counts (Output) total number of dropped and spawned tracks are added to elements 0 and 1
+	 */
+	private void processSequence( com.sun.management.ThreadMXBean bean ,
+								  PkltManager<ImageFloat32,ImageFloat32> alg ,
+								  PkltManagerConfig<ImageFloat32,ImageFloat32> config ,
+								  long allocated[] , int counts[] ) {
+		long threadId = Thread.currentThread().getId();
+
+		alg.dropAllTracks();
+		for( int frame = 0; frame < allocated.length; frame++ ) {
+			setFrame(frame*2);
+
+			long before = bean.getThreadAllocatedBytes(threadId);
+			alg.processFrame(pyramid,derivX,derivY);
+			int numDropped = alg.dropped.size();
+			if( alg.active.size() < config.maxFeatures/2 )
+				alg.spawnTracks(pyramid,derivX,derivY);
+			int numSpawned = alg.spawned.size();
+			long after = bean.getThreadAllocatedBytes(threadId);
+
+			allocated[frame] = after-before;
+			counts[0] += numDropped;
+			counts[1] += numSpawned;
+		}
+	}
+
+	private static long max( long values[] ) {
+		long max = values[0];
+		for( int i = 1; i < values.length; i++ )
+			max = Math.max(max,values[i]);
+		return max;
+	}
+
+	/**
+	 * Drop a track in the middle of the list and see if the order of the others is preserved
+	 */
+	@Test
+	public void dropTrack() {
+		PkltManagerConfig<ImageFloat32,ImageFloat32> config =
+				PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		config.pyramidScaling = scales;
+		PkltManager<ImageFloat32,ImageFloat32> alg = new PkltManager<ImageFloat32,ImageFloat32>(config);
+
+		setFrame(0);
+		alg.processFrame(pyramid,derivX,derivY);
+		alg.spawnTracks(pyramid,derivX,derivY);
+
+		List<PyramidKltFeature> tracks = alg.getTracks();
+		int N = tracks.size();
+		assertTrue(N > 3);
+		PyramidKltFeature first = tracks.get(0);
+		PyramidKltFeature middle = tracks.get(1);
+		PyramidKltFeature last = tracks.get(2);
+		int numUnused = alg.unused.size();
+
+		alg.dropTrack(middle);
+
+		assertEquals(N-1,alg.getTracks().size());
+		assertTrue(first == alg.getTracks().get(0));
+		assertTrue(last == alg.getTracks().get(1));
+		assertEquals(1,alg.getDropped().size());
+		assertTrue(middle == alg.getDropped().get(0));
+		assertEquals(numUnused+1,alg.unused.size());
+
+		// it is no longer in the active list
+		try {
+			alg.dropTrack(middle);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Creates the image by cropping the background with an offset then computes the pyramid and gradient
+	 */
+	private void setFrame( int offset ) {
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				image.set(x,y,background.get(x+offset,y+offset/2));
+			}
+		}
+
+		updater.update(image,pyramid);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+	}
+}
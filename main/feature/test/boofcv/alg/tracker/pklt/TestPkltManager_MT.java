@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.pklt;
+
+import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.interpolate.impl.NearestNeighborRectangle_F32;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class TestPkltManager_MT {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 70;
+
+	int scales[] = new int[]{1,2,4};
+
+	ImageFloat32 background = new ImageFloat32(width+60,height+20);
+
+	PyramidUpdaterDiscrete<ImageFloat32> updater = FactoryPyramid.discreteGaussian(ImageFloat32.class,-1,2);
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+
+	PyramidDiscrete<ImageFloat32> pyramid = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+	PyramidDiscrete<ImageFloat32> derivX = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+	PyramidDiscrete<ImageFloat32> derivY = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,scales);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+
+		ImageFloat32 noise = new ImageFloat32(background.width,background.height);
+		ImageTestingOps.randomize(noise,rand,0,255);
+		BlurImageOps.gaussian(noise,background,-1,2,null);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Track features across several frames while the scene moves and compare the results against the single
+	 * threaded version.  The scene moves enough that features are dropped.
+	 */
+	@Test
+	public void compareToSingleThread() {
+		PkltManagerConfig<ImageFloat32,ImageFloat32> config =
+				PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		config.pyramidScaling = scales;
+
+		PkltManager<ImageFloat32,ImageFloat32> expected = new PkltManager<ImageFloat32,ImageFloat32>(config);
+		PkltManager_MT<ImageFloat32,ImageFloat32> found = new PkltManager_MT<ImageFloat32,ImageFloat32>(config);
+		assertEquals(4,found.getNumWorkers());
+
+		compareSequence(expected, found);
+	}
+
+	/**
+	 * All the workers should use the interpolation which was passed in, not the default one
+	 */
+	@Test
+	public void customInterpolation() {
+		PkltManagerConfig<ImageFloat32,ImageFloat32> config =
+				PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		config.pyramidScaling = scales;
+
+		PkltManager<ImageFloat32,ImageFloat32> expected = new PkltManager<ImageFloat32,ImageFloat32>();
+		PkltManager_MT<ImageFloat32,ImageFloat32> found = new PkltManager_MT<ImageFloat32,ImageFloat32>();
+		expected.configure(config,new NearestNeighborRectangle_F32(),new NearestNeighborRectangle_F32(),
+				createSelector(config));
+		found.configure(config,new NearestNeighborRectangle_F32(),new NearestNeighborRectangle_F32(),
+				createSelector(config));
+
+		compareSequence(expected, found);
+	}
+
+	/**
+	 * Track features across several frames while the scene moves and compare the results.
+	 */
+	private void compareSequence( PkltManager<ImageFloat32,ImageFloat32> expected ,
+								  PkltManager_MT<ImageFloat32,ImageFloat32> found ) {
+		// the image is passed to the tracker in processFrame
+		setFrame(0);
+		expected.processFrame(pyramid,derivX,derivY);
+		found.processFrame(pyramid,derivX,derivY);
+		expected.spawnTracks(pyramid,derivX,derivY);
+		found.spawnTracks(pyramid,derivX,derivY);
+		assertTrue(expected.getTracks().size() > 20);
+		compare(expected.getTracks(),found.getTracks());
+
+		int totalDropped = 0;
+		for( int frame = 1; frame < 12; frame++ ) {
+			setFrame(frame*4);
+			expected.processFrame(pyramid,derivX,derivY);
+			found.processFrame(pyramid,derivX,derivY);
+
+			compare(expected.getTracks(),found.getTracks());
+			compare(expected.getDropped(),found.getDropped());
+			totalDropped += found.getDropped().size();
+		}
+		// sanity check the test
+		assertTrue(totalDropped > 0);
+		assertTrue(found.getTracks().size() > 0);
+	}
+
+	private GenericPkltFeatSelector<ImageFloat32,ImageFloat32>
+	createSelector( PkltManagerConfig<ImageFloat32,ImageFloat32> config ) {
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> detector =
+				FactoryDetectPoint.createShiTomasi(config.featureRadius,
+						false, config.config.minDeterminant, config.maxFeatures, config.typeDeriv);
+		return new GenericPkltFeatSelector<ImageFloat32,ImageFloat32>(detector, null);
+	}
+
+	/**
+	 * More workers than features
+	 */
+	@Test
+	public void fewFeatures() {
+		PkltManagerConfig<ImageFloat32,ImageFloat32> config =
+				PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		config.pyramidScaling = scales;
+
+		PkltManager<ImageFloat32,ImageFloat32> expected = new PkltManager<ImageFloat32,ImageFloat32>(config);
+		PkltManager_MT<ImageFloat32,ImageFloat32> found = new PkltManager_MT<ImageFloat32,ImageFloat32>(config);
+
+		setFrame(0);
+		expected.processFrame(pyramid,derivX,derivY);
+		found.processFrame(pyramid,derivX,derivY);
+		assertTrue(expected.addTrack(40,35));
+		assertTrue(found.addTrack(40,35));
+		assertTrue(expected.addTrack(30,30));
+		assertTrue(found.addTrack(30,30));
+
+		setFrame(1);
+		expected.processFrame(pyramid,derivX,derivY);
+		found.processFrame(pyramid,derivX,derivY);
+		compare(expected.getTracks(),found.getTracks());
+
+		// no features
+		expected.dropAllTracks();
+		found.dropAllTracks();
+		found.processFrame(pyramid,derivX,derivY);
+		assertEquals(0,found.getTracks().size());
+	}
+
+	private void compare( List<PyramidKltFeature> expected , List<PyramidKltFeature> found ) {
+		assertEquals(expected.size(),found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			PyramidKltFeature e = expected.get(i);
+			PyramidKltFeature f = found.get(i);
+			assertTrue(e.x == f.x);
+			assertTrue(e.y == f.y);
+			assertEquals(e.maxLayer,f.maxLayer);
+		}
+	}
+
+	/**
+	 * Creates the image by cropping the background with an offset then computes the pyramid and gradient
+	 */
+	private void setFrame( int offset ) {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				image.set(x,y,background.get(x+offset,y+offset/4));
+			}
+		}
+
+		updater.update(image,pyramid);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+	}
+}
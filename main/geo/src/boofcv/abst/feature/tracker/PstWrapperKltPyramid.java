@@ -24,6 +24,7 @@ import boofcv.alg.tracker.pklt.PkltManagerConfig;
 import boofcv.alg.tracker.pklt.PyramidKltFeature;
 import boofcv.alg.transform.pyramid.PyramidOps;
 import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDown;
+import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDownGradient;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.ImageSingleBand;
@@ -47,6 +48,8 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 	PkltManager<I,D> trackManager;
 	PyramidUpdaterDiscrete<I>  inputPyramidUpdater;
 	ImageGradient<I,D> gradient;
+	// true if the pyramid updater also computes the gradient
+	boolean updaterComputesGradient;
 
 	PyramidDiscrete<I> basePyramid;
 	ImagePyramid<D> derivX;
@@ -62,8 +65,11 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 	 * Constructor which specified the KLT track manager and how the image pyramids are computed.
 	 *
 	 * @param trackManager KLT tracker
-	 * @param inputPyramidUpdater Computes the main image pyramid.
-	 * @param gradient Computes gradient image pyramid.
+	 * @param inputPyramidUpdater Computes the main image pyramid.  If it is a {@link PyramidUpdateIntegerDownGradient}
+	 *                            then a new updater with the same kernel is created which computes the gradient
+	 *                            with 'gradient' while the pyramid is updated.  The passed in updater is not modified.
+	 * @param gradient Computes gradient image pyramid.  If null and the updater computes the gradient then the
+	 *                 updater's gradient is used.
 	 */
 	public PstWrapperKltPyramid(PkltManager<I, D> trackManager,
 								PyramidUpdateIntegerDown<I> inputPyramidUpdater,
@@ -71,6 +77,7 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 		setup(trackManager, inputPyramidUpdater, gradient);
 	}
 
+	@SuppressWarnings({"unchecked"})
 	private void setup(PkltManager<I, D> trackManager,
 					   PyramidUpdaterDiscrete<I> inputPyramidUpdater,
 					   ImageGradient<I,D> gradient ) {
@@ -84,6 +91,20 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 		basePyramid = new PyramidDiscrete<I>(config.typeInput,true,config.pyramidScaling);
 		derivX = new PyramidDiscrete<D>(config.typeDeriv,false,config.pyramidScaling);
 		derivY = new PyramidDiscrete<D>(config.typeDeriv,false,config.pyramidScaling);
+
+		if( inputPyramidUpdater instanceof PyramidUpdateIntegerDownGradient ) {
+			// the updater could be shared with other trackers, so it can't write into this tracker's derivatives
+			PyramidUpdateIntegerDownGradient<I,D> shared = (PyramidUpdateIntegerDownGradient<I,D>)inputPyramidUpdater;
+			if( gradient == null )
+				this.gradient = gradient = shared.getGradient();
+			PyramidUpdateIntegerDownGradient<I,D> updater =
+					new PyramidUpdateIntegerDownGradient<I,D>(shared.getKernel(),shared.getImageType(),gradient);
+			updater.setDerivatives(derivX,derivY);
+			this.inputPyramidUpdater = updater;
+			updaterComputesGradient = true;
+		} else {
+			updaterComputesGradient = false;
+		}
 	}
 
 	/**
@@ -97,7 +118,7 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 
 		ImageGradient<I,D> gradient = FactoryDerivative.sobel(typeInput,typeDeriv);
 
-		PyramidUpdaterDiscrete<I> pyrUpdater = FactoryPyramid.discreteGaussian(typeInput,-1,2);
+		PyramidUpdaterDiscrete<I> pyrUpdater = FactoryPyramid.discreteGaussian(typeInput,-1,2,gradient);
 
 		setup(trackManager,pyrUpdater, gradient);
 	}
@@ -147,7 +168,8 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 		
 		// update image pyramids
 		inputPyramidUpdater.update(image,basePyramid);
-		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
+		if( !updaterComputesGradient )
+			PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
 
 		// track features
 		trackManager.processFrame(basePyramid,derivX,derivY);
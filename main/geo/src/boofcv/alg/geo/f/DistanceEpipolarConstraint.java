@@ -18,7 +18,7 @@
 
 package boofcv.alg.geo.f;
 
-import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.struct.geo.AssociatedPair;
 import georegression.geometry.GeometryMath_F64;
 import org.ejml.data.DenseMatrix64F;
@@ -28,14 +28,18 @@ import java.util.List;
 
 /**
  * Computes error using the epipolar constraint.  The input matrix is normalized so that different matrices
- * can be compared at the same scale.
+ * can be compared at the same scale.  For batch processing the observations are copied into arrays of coordinates.
  *
  * @author Peter Abeles
  */
-public class DistanceEpipolarConstraint implements DistanceFromModel<DenseMatrix64F,AssociatedPair> {
+public class DistanceEpipolarConstraint implements DistanceFromModelBatch<DenseMatrix64F,AssociatedPair> {
 
 	DenseMatrix64F M = new DenseMatrix64F(3,3);
 
+	// observations copied into arrays for batch processing
+	double x1[] = new double[0], y1[] = new double[0];
+	double x2[] = new double[0], y2[] = new double[0];
+
 	@Override
 	public void setModel(DenseMatrix64F F )
 	{
@@ -55,4 +59,38 @@ public class DistanceEpipolarConstraint implements DistanceFromModel<DenseMatrix
 			distance[i] = computeDistance(associatedPairs.get(i));
 		}
 	}
+
+	@Override
+	public void setPoints(List<AssociatedPair> points) {
+		int N = points.size();
+		if( x1.length < N ) {
+			x1 = new double[N]; y1 = new double[N];
+			x2 = new double[N]; y2 = new double[N];
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			AssociatedPair p = points.get(i);
+			x1[i] = p.p1.x; y1[i] = p.p1.y;
+			x2[i] = p.p2.x; y2[i] = p.p2.y;
+		}
+	}
+
+	@Override
+	public void computeDistance(int start, int end, double[] distance) {
+		final double m[] = M.data;
+		final double m11 = m[0], m12 = m[1], m13 = m[2];
+		final double m21 = m[3], m22 = m[4], m23 = m[5];
+		final double m31 = m[6], m32 = m[7], m33 = m[8];
+
+		for( int i = start; i < end; i++ ) {
+			double x = x1[i], y = y1[i];
+
+			// M*p1
+			double a = m11*x + m12*y + m13;
+			double b = m21*x + m22*y + m23;
+			double c = m31*x + m32*y + m33;
+
+			distance[i-start] = Math.abs(x2[i]*a + y2[i]*b + c);
+		}
+	}
 }
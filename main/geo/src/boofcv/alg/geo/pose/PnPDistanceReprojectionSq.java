@@ -20,6 +20,7 @@ package boofcv.alg.geo.pose;
 
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.geo.NormalizedToPixelError;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.struct.geo.Point2D3D;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
@@ -38,19 +39,29 @@ import java.util.List;
  * transformation.
  * </p>
  *
+ * <p>
+ * For batch processing the observations and 3D locations are copied into arrays of coordinates.
+ * </p>
+ *
  * @author Peter Abeles
  */
-public class PnPDistanceReprojectionSq implements DistanceModelMonoPixels<Se3_F64,Point2D3D> {
+public class PnPDistanceReprojectionSq implements DistanceModelMonoPixels<Se3_F64,Point2D3D>,
+		DistanceFromModelBatch<Se3_F64,Point2D3D>
+{
 
 	// transform from world to camera
 	private Se3_F64 worldToCamera;
 
 	// storage for point in camera frame
-	private Point3D_F64 X = new Point3D_F64();
+	private Point3D_F64 cameraPt = new Point3D_F64();
 
 	// computes the error in units of pixels
 	private NormalizedToPixelError pixelError;
 
+	// points copied into arrays for batch processing
+	private double X[] = new double[0], Y[] = new double[0], Z[] = new double[0];
+	private double obsX[] = new double[0], obsY[] = new double[0];
+
 	public PnPDistanceReprojectionSq() {
 		this(1,1,0);
 	}
@@ -79,15 +90,15 @@ public class PnPDistanceReprojectionSq implements DistanceModelMonoPixels<Se3_F6
 	@Override
 	public double computeDistance(Point2D3D pt) {
 		// compute point location in camera frame
-		SePointOps_F64.transform(worldToCamera,pt.location,X);
+		SePointOps_F64.transform(worldToCamera,pt.location,cameraPt);
 
 		// very large error if behind the camera
-		if( X.z <= 0 )
+		if( cameraPt.z <= 0 )
 			return Double.MAX_VALUE;
 
 		Point2D_F64 p = pt.getObservation();
 
-		return pixelError.errorSq(X.x/X.z,X.y/X.z,p.x,p.y);
+		return pixelError.errorSq(cameraPt.x/cameraPt.z,cameraPt.y/cameraPt.z,p.x,p.y);
 	}
 
 	@Override
@@ -95,4 +106,46 @@ public class PnPDistanceReprojectionSq implements DistanceModelMonoPixels<Se3_F6
 		for( int i = 0; i < obserations.size(); i++ )
 			distance[i] = computeDistance(obserations.get(i));
 	}
+
+	@Override
+	public void setPoints(List<Point2D3D> points) {
+		int N = points.size();
+		if( X.length < N ) {
+			X = new double[N]; Y = new double[N]; Z = new double[N];
+			obsX = new double[N]; obsY = new double[N];
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			Point2D3D p = points.get(i);
+			X[i] = p.location.x; Y[i] = p.location.y; Z[i] = p.location.z;
+			obsX[i] = p.observation.x; obsY[i] = p.observation.y;
+		}
+	}
+
+	@Override
+	public void computeDistance(int start, int end, double[] distance) {
+		final double R[] = worldToCamera.getR().data;
+		final double r11 = R[0], r12 = R[1], r13 = R[2];
+		final double r21 = R[3], r22 = R[4], r23 = R[5];
+		final double r31 = R[6], r32 = R[7], r33 = R[8];
+		final double tx = worldToCamera.getT().x, ty = worldToCamera.getT().y, tz = worldToCamera.getT().z;
+
+		for( int i = start; i < end; i++ ) {
+			double x = X[i], y = Y[i], z = Z[i];
+
+			// compute point location in camera frame
+			double cz = r31*x + r32*y + r33*z + tz;
+
+			// very large error if behind the camera
+			if( cz <= 0 ) {
+				distance[i-start] = Double.MAX_VALUE;
+				continue;
+			}
+
+			double cx = r11*x + r12*y + r13*z + tx;
+			double cy = r21*x + r22*y + r23*z + ty;
+
+			distance[i-start] = pixelError.errorSq(cx/cz,cy/cz,obsX[i],obsY[i]);
+		}
+	}
 }
@@ -36,12 +36,15 @@ import boofcv.alg.feature.describe.DescribePointPixelRegionNCC;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector_MT;
 import boofcv.alg.feature.orientation.OrientationIntegral;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.tracker.pklt.GenericPkltFeatSelector;
 import boofcv.alg.tracker.pklt.PkltManager;
 import boofcv.alg.tracker.pklt.PkltManagerConfig;
+import boofcv.alg.tracker.pklt.PkltManager_MT;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.associate.FactoryAssociation;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
@@ -64,7 +67,8 @@ import java.util.Random;
 public class FactoryPointSequentialTracker {
 
 	/**
-	 * Pyramid KLT feature tracker.
+	 * Pyramid KLT feature tracker.  If {@link BoofConcurrency#USE_CONCURRENT} is true then features are
+	 * tracked in parallel.
 	 *
 	 * @see boofcv.struct.pyramid.PyramidUpdaterDiscrete
 	 *
@@ -92,7 +96,8 @@ public class FactoryPointSequentialTracker {
 		GenericPkltFeatSelector<I, D> featureSelector = new GenericPkltFeatSelector<I, D>(detector, null);
 
 
-		PkltManager<I, D> trackManager = new PkltManager<I, D>();
+		PkltManager<I, D> trackManager = BoofConcurrency.USE_CONCURRENT ?
+				new PkltManager_MT<I, D>() : new PkltManager<I, D>();
 		trackManager.configure(config,
 				FactoryInterpolation.<I>bilinearRectangle(config.typeInput),
 				FactoryInterpolation.<D>bilinearRectangle(config.typeDeriv),
@@ -102,7 +107,8 @@ public class FactoryPointSequentialTracker {
 	}
 
 	/**
-	 * Pyramid KLT feature tracker.
+	 * Pyramid KLT feature tracker.  If {@link BoofConcurrency#USE_CONCURRENT} is true then features are
+	 * tracked in parallel.
 	 *
 	 * @see boofcv.struct.pyramid.PyramidUpdaterDiscrete
 	 *
@@ -111,13 +117,15 @@ public class FactoryPointSequentialTracker {
 	 */
 	public static <I extends ImageSingleBand, D extends ImageSingleBand>
 	ImagePointTracker<I> klt(PkltManagerConfig<I, D> config) {
-		PkltManager<I, D> trackManager = new PkltManager<I, D>(config);
+		PkltManager<I, D> trackManager = BoofConcurrency.USE_CONCURRENT ?
+				new PkltManager_MT<I, D>(config) : new PkltManager<I, D>(config);
 
 		return new PstWrapperKltPyramid<I, D>(trackManager);
 	}
 
 	/**
-	 * Creates a tracker which detects Fast-Hessian features and describes them with SURF.
+	 * Creates a tracker which detects Fast-Hessian features and describes them with SURF.  If
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true then features are detected in parallel.
 	 *
 	 * @see boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity
 	 * @see DescribePointSurf
@@ -139,7 +147,9 @@ public class FactoryPointSequentialTracker {
 
 		FeatureExtractor extractor = FactoryFeatureExtractor.nonmax(minSeparation, 1, 10, true);
 
-		FastHessianFeatureDetector<II> detector = new FastHessianFeatureDetector<II>(extractor, detectPerScale, 2, 9, 4, 4);
+		FastHessianFeatureDetector<II> detector = BoofConcurrency.USE_CONCURRENT ?
+				new FastHessianFeatureDetector_MT<II>(extractor, detectPerScale, 2, 9, 4, 4, true) :
+				new FastHessianFeatureDetector<II>(extractor, detectPerScale, 2, 9, 4, 4);
 		OrientationIntegral<II> orientation = FactoryOrientationAlgs.average_ii(6, 1, 6, 0, integralType);
 		DescribePointSurf<II> describe = new DescribePointSurf<II>(integralType);
 
@@ -18,10 +18,20 @@
 
 package boofcv.abst.feature.tracker;
 
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageTestingOps;
 import boofcv.alg.tracker.pklt.PkltManager;
 import boofcv.alg.tracker.pklt.PkltManagerConfig;
+import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDownGradient;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
 
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -39,4 +49,78 @@ public class TestPstWrapperKltPyramid extends StandardImagePointTracker<ImageFlo
 		pointTracker = new PstWrapperKltPyramid<ImageFloat32,ImageFloat32>(manager);
 		return pointTracker;
 	}
+
+	/**
+	 * An updater which computes the gradient can be shared between trackers.  Each tracker should use its own
+	 * derivatives and the passed in updater should not be modified.
+	 */
+	@Test
+	public void sharedGradientUpdater() {
+		ImageGradient<ImageFloat32,ImageFloat32> sobel =
+				FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+		PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32> shared =
+				FactoryPyramid.discreteGaussian(ImageFloat32.class,-1,2,sobel);
+
+		config = PkltManagerConfig.createDefault(ImageFloat32.class,ImageFloat32.class);
+		CountGradient countA = new CountGradient(sobel);
+		CountGradient countB = new CountGradient(sobel);
+		PstWrapperKltPyramid<ImageFloat32,ImageFloat32> trackerA = new PstWrapperKltPyramid<ImageFloat32,ImageFloat32>(
+				new PkltManager<ImageFloat32,ImageFloat32>(config),shared,countA);
+		PstWrapperKltPyramid<ImageFloat32,ImageFloat32> trackerB = new PstWrapperKltPyramid<ImageFloat32,ImageFloat32>(
+				new PkltManager<ImageFloat32,ImageFloat32>(config),shared,countB);
+
+		assertTrue(shared.getDerivX() == null);
+		assertTrue(shared.getDerivY() == null);
+		assertTrue(trackerA.inputPyramidUpdater != shared);
+		assertTrue(trackerA.inputPyramidUpdater != trackerB.inputPyramidUpdater);
+
+		ImageFloat32 image = new ImageFloat32(80,60);
+		ImageTestingOps.randomize(image,new Random(234),0,100);
+		trackerA.process(image);
+		trackerB.process(image);
+
+		// the passed in gradient is used and each tracker has its own derivatives
+		assertTrue(countA.count > 0);
+		assertTrue(countB.count > 0);
+		assertTrue(trackerA.derivX.getLayer(0) != trackerB.derivX.getLayer(0));
+		assertTrue(trackerA.derivX.getLayer(0).get(10,10) == trackerB.derivX.getLayer(0).get(10,10));
+	}
+
+	/**
+	 * Counts the number of times the gradient is computed
+	 */
+	private static class CountGradient implements ImageGradient<ImageFloat32,ImageFloat32> {
+		ImageGradient<ImageFloat32,ImageFloat32> alg;
+		int count;
+
+		private CountGradient(ImageGradient<ImageFloat32, ImageFloat32> alg) {
+			this.alg = alg;
+		}
+
+		@Override
+		public void process(ImageFloat32 inputImage, ImageFloat32 derivX, ImageFloat32 derivY) {
+			count++;
+			alg.process(inputImage,derivX,derivY);
+		}
+
+		@Override
+		public void setBorderType(BorderType type) {
+			alg.setBorderType(type);
+		}
+
+		@Override
+		public BorderType getBorderType() {
+			return alg.getBorderType();
+		}
+
+		@Override
+		public int getBorder() {
+			return alg.getBorder();
+		}
+
+		@Override
+		public Class<ImageFloat32> getDerivType() {
+			return alg.getDerivType();
+		}
+	}
 }
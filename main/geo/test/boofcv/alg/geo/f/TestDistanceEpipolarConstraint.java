@@ -28,6 +28,10 @@ import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.CommonOps;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -96,4 +100,29 @@ public class TestDistanceEpipolarConstraint {
 
 		assertEquals(orig,after,1e-8);
 	}
+
+	/**
+	 * Compare batch processing against computing the distance one point at a time
+	 */
+	@Test
+	public void checkBatch() {
+		Random rand = new Random(234);
+
+		List<AssociatedPair> pairs = new ArrayList<AssociatedPair>();
+		for( int i = 0; i < 20; i++ ) {
+			pairs.add( new AssociatedPair(p1.x+rand.nextGaussian(),p1.y+rand.nextGaussian(),
+					p2.x+rand.nextGaussian(),p2.y+rand.nextGaussian()));
+		}
+
+		DistanceEpipolarConstraint alg = new DistanceEpipolarConstraint();
+		alg.setPoints(pairs);
+		alg.setModel(F);
+
+		double found[] = new double[20];
+		alg.computeDistance(4,17,found);
+
+		for( int i = 4; i < 17; i++ ) {
+			assertEquals(alg.computeDistance(pairs.get(i)),found[i-4],1e-12);
+		}
+	}
 }
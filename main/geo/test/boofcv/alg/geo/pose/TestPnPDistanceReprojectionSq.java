@@ -20,6 +20,7 @@ package boofcv.alg.geo.pose;
 
 import boofcv.alg.geo.PerspectiveOps;
 import boofcv.struct.geo.Point2D3D;
+import georegression.geometry.RotationMatrixGenerator;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
@@ -141,4 +142,35 @@ public class TestPnPDistanceReprojectionSq {
 		}
 	}
 
+	/**
+	 * Compare batch processing against computing the distance one point at a time
+	 */
+	@Test
+	public void checkErrorBatch() {
+		Se3_F64 worldToCamera = new Se3_F64();
+		worldToCamera.getR().set(RotationMatrixGenerator.eulerArbitrary(0, 1, 2, 0.05, -0.1, 0.02));
+		worldToCamera.getT().set(0.1,-0.1,0.2);
+
+		List<Point2D3D> obs = new ArrayList<Point2D3D>();
+		for( int i = 0; i < 20; i++ ) {
+			// some points will be behind the camera
+			Point3D_F64 X = new Point3D_F64(rand.nextGaussian()*0.2,rand.nextGaussian()*0.2,
+					i % 5 == 0 ? -2.3 : 2.3+rand.nextGaussian()*0.2);
+			Point2D_F64 observed = new Point2D_F64(rand.nextGaussian()*0.1,rand.nextGaussian()*0.1);
+
+			obs.add( new Point2D3D(observed,X));
+		}
+
+		PnPDistanceReprojectionSq alg = new PnPDistanceReprojectionSq(100,120,0.01);
+		alg.setPoints(obs);
+		alg.setModel(worldToCamera);
+
+		double found[] = new double[20];
+		alg.computeDistance(5,20,found);
+
+		for( int i = 5; i < 20; i++ ) {
+			assertEquals(alg.computeDistance(obs.get(i)),found[i-5],1e-8);
+		}
+	}
+
 }
@@ -20,6 +20,7 @@ package boofcv.alg.filter.binary;
 
 import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.FastQueue;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
 import com.google.caliper.Runner;
@@ -38,10 +39,11 @@ public class BenchmarkBinaryBlobLabeling extends SimpleBenchmark {
 
 	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
 	static ImageSInt32 output = new ImageSInt32(imgWidth, imgHeight);
+	static FastQueue<BlobStatistics> stats = new FastQueue<BlobStatistics>(100,BlobStatistics.class,true);
 
 	public BenchmarkBinaryBlobLabeling() {
 		Random rand = new Random(234);
-		ImageTestingOps.randomize(input, rand, 0, 1);
+		ImageTestingOps.randomize(input, rand, 0, 2);
 	}
 
 	public int timeNormal8(int reps) {
@@ -80,6 +82,50 @@ public class BenchmarkBinaryBlobLabeling extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timeUnionFind8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsUnionFind(true).process(input, output, null);
+		return 0;
+	}
+
+	public int timeUnionFind8_Stats(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsUnionFind(true).process(input, output, stats);
+		return 0;
+	}
+
+	public int timeUnionFind8_MT(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsUnionFind_MT(true).process(input, output, null);
+		return 0;
+	}
+
+	public int timeUnionFind4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsUnionFind(false).process(input, output, null);
+		return 0;
+	}
+
+	public int timeStreaming8_Stats(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsStreaming(true,false).process(input, 1, false);
+		return 0;
+	}
+
+	public int timeStreaming8_Contour(int reps) {
+		for( int i = 0; i < reps; i++ )
+			new LabelBlobsStreaming(true,true).process(input, 1, false);
+		return 0;
+	}
+
+	public int timeThresholdUnionFind8_Stats(int reps) {
+		for( int i = 0; i < reps; i++ ) {
+			ImageUInt8 binary = ThresholdImageOps.threshold(input, null, 1, false);
+			new LabelBlobsUnionFind(true).process(binary, output, stats);
+		}
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
 
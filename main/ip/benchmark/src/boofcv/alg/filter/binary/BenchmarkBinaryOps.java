@@ -21,6 +21,7 @@ package boofcv.alg.filter.binary;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryNaiveOps;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageUInt8;
 import com.google.caliper.Runner;
 import com.google.caliper.SimpleBenchmark;
@@ -39,12 +40,16 @@ public class BenchmarkBinaryOps extends SimpleBenchmark {
 	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
 	static ImageUInt8 output = new ImageUInt8(imgWidth, imgHeight);
 
+	static ImageBinaryPacked packedInput = new ImageBinaryPacked(imgWidth, imgHeight);
+	static ImageBinaryPacked packedOutput = new ImageBinaryPacked(imgWidth, imgHeight);
+
 	public BenchmarkBinaryOps() {
 		Random rand = new Random(234);
 		// test structures and unstructured images
 		// naive is some times faster in unstructured because it can escape earlier
-		ImageTestingOps.randomize(input, rand, 0, 1);
+		ImageTestingOps.randomize(input, rand, 0, 2);
 //		ImageTestingOps.fillRectangle(input,1,100,200,150,100);
+		BinaryPackedOps.pack(input, packedInput);
 	}
 
 	public int timeNaiveErode4(int reps) {
@@ -173,6 +178,66 @@ public class BenchmarkBinaryOps extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timePackedErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.erode4(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.erode8(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.dilate4(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.dilate8(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.edge4(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.edge8(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedLogicAnd(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.logicAnd(packedInput, packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timeLogicAnd(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.logicAnd(input, input, output);
+		return 0;
+	}
+
+	public int timePackedLogicOr(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryPackedOps.logicOr(packedInput, packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timeLogicOr(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.logicOr(input, input, output);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.filter.binary.impl.ImplThresholdLocal_MT;
 import boofcv.alg.misc.ImageTestingOps;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
@@ -72,6 +73,36 @@ public class BenchmarkThresholding extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timeLocalMean_R5(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ThresholdImageOps.localMean(input, output_U8, 5, 0.95f, true);
+		return 0;
+	}
+
+	public int timeLocalMean_R50(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ThresholdImageOps.localMean(input, output_U8, 50, 0.95f, true);
+		return 0;
+	}
+
+	public int timeLocalMean_R50_MT(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ImplThresholdLocal_MT.mean(input, output_U8, 50, 0.95f, true);
+		return 0;
+	}
+
+	public int timeLocalSauvola_R5(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ThresholdImageOps.localSauvola(input, output_U8, 5, 0.3f, true);
+		return 0;
+	}
+
+	public int timeLocalSauvola_R50(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ThresholdImageOps.localSauvola(input, output_U8, 50, 0.3f, true);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
+
+/**
+ * Shows how the concurrent convolution in {@link ConvolveImageNoBorder_MT} scales with the number of threads.
+ * One thread is the same as the single threaded code.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkConvolveThreads extends SimpleBenchmark {
+	static int width = 1920;
+	static int height = 1080;
+
+	Random rand = new Random(234);
+
+	static Kernel2D_F32 kernel2D_F32;
+	static Kernel1D_F32 kernelF32;
+	static Kernel1D_I32 kernelI32;
+	static ImageFloat32 input_F32 = new ImageFloat32(width,height);
+	static ImageFloat32 out_F32 = new ImageFloat32(width,height);
+	static ImageUInt8 input_U8 = new ImageUInt8(width,height);
+	static ImageSInt16 out_S16 = new ImageSInt16(width,height);
+
+	@Param({"1", "2", "4", "8", "12"}) private int threads;
+	@Param({"2", "5"}) private int radius;
+
+	public BenchmarkConvolveThreads() {
+		ImageTestingOps.randomize(input_U8,rand,0,20);
+		ImageTestingOps.randomize(input_F32,rand,0,20);
+	}
+
+	@Override protected void setUp() throws Exception {
+		kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+		kernelI32 = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,radius);
+		kernel2D_F32 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class,-1,radius);
+
+		BoofConcurrency.setMaxThreads(threads);
+	}
+
+	public int timeHorizontal_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.horizontal(kernelF32, input_F32, out_F32, false);
+		return 0;
+	}
+
+	public int timeVertical_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.vertical(kernelF32, input_F32, out_F32, false);
+		return 0;
+	}
+
+	public int timeConvolve2D_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.convolve(kernel2D_F32, input_F32, out_F32);
+		return 0;
+	}
+
+	public int timeHorizontal_U8_I16(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.horizontal(kernelI32, input_U8, out_S16, false);
+		return 0;
+	}
+
+	public int timeVertical_U8_I16(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.vertical(kernelI32, input_U8, out_S16, false);
+		return 0;
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size "+ width +" x "+ height +" ==========");
+		System.out.println("Available Processors: "+Runtime.getRuntime().availableProcessors());
+		System.out.println();
+
+		Runner.main(BenchmarkConvolveThreads.class, args);
+	}
+}
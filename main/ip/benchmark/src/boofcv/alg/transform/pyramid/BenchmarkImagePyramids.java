@@ -18,8 +18,11 @@
 
 package boofcv.alg.transform.pyramid;
 
+import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.interpolate.InterpolatePixel;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.misc.PerformerBase;
@@ -51,6 +54,10 @@ public class BenchmarkImagePyramids {
 
 	static PyramidUpdaterDiscrete<ImageFloat32> updaterD;
 	static PyramidUpdaterFloat<ImageFloat32> updaterF;
+	static PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32> updaterG;
+
+	static ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
 
 	static Class<ImageFloat32> imageType = ImageFloat32.class;
 
@@ -76,9 +83,42 @@ public class BenchmarkImagePyramids {
 		}
 	}
 
+	public static class DiscreteThenGradient_F32 extends PerformerBase {
+
+		PyramidDiscrete<ImageFloat32> pyramid =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+		PyramidDiscrete<ImageFloat32> derivX =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+		PyramidDiscrete<ImageFloat32> derivY =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+
+		@Override
+		public void process() {
+			updaterD.update(input,pyramid);
+			PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+		}
+	}
+
+	public static class DiscreteGradient_F32 extends PerformerBase {
+
+		PyramidDiscrete<ImageFloat32> pyramid =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+		PyramidDiscrete<ImageFloat32> derivX =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+		PyramidDiscrete<ImageFloat32> derivY =
+				new PyramidDiscrete<ImageFloat32>(imageType,false,scalesD);
+
+		@Override
+		public void process() {
+			updaterG.setDerivatives(derivX,derivY);
+			updaterG.update(input,pyramid);
+		}
+	}
+
 	private static void createUpdate() {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1.0,2);
 		updaterD = new PyramidUpdateIntegerDown<ImageFloat32>(kernel,ImageFloat32.class);
+		updaterG = new PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32>(kernel,ImageFloat32.class,gradient);
 
 		InterpolatePixel<ImageFloat32> interp = FactoryInterpolation.bilinearPixel(ImageFloat32.class);
 		updaterF = new PyramidUpdateGaussianScale<ImageFloat32>(interp,scalesF);
@@ -96,5 +136,13 @@ public class BenchmarkImagePyramids {
 
 		ProfileOperation.printOpsPerSec(new ScaleSpace_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Discrete_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DiscreteThenGradient_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DiscreteGradient_F32(), TEST_TIME);
+
+		System.out.println();
+		System.out.println("Concurrent with "+BoofConcurrency.getMaxThreads()+" threads");
+		BoofConcurrency.USE_CONCURRENT = true;
+		ProfileOperation.printOpsPerSec(new DiscreteGradient_F32(), TEST_TIME);
+		BoofConcurrency.USE_CONCURRENT = false;
 	}
 }
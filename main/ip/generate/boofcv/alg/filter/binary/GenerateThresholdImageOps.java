@@ -49,6 +49,9 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		setOutputFile(className);
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;\n" +
+				"import boofcv.alg.filter.binary.impl.ImplThresholdLocal;\n" +
+				"import boofcv.alg.filter.binary.impl.ImplThresholdLocal_MT;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
 				"import boofcv.misc.BoofMiscOps;\n" +
 				"import boofcv.struct.image.*;\n" +
 				"\n" +
@@ -72,6 +75,10 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		printThresholdBlobs(imageIn);
 		printHysteresisLabel(imageIn,4);
 		printHysteresisLabel(imageIn,8);
+		if( imageIn == AutoTypeImage.F32 || imageIn == AutoTypeImage.U8 ) {
+			printLocalMean(imageIn);
+			printLocalSauvola(imageIn);
+		}
 	}
 
 	public void printThreshold( AutoTypeImage imageIn ) {
@@ -232,6 +239,67 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printLocalMean( AutoTypeImage imageIn ) {
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Thresholds the image using a locally adaptive threshold that is computed using the local mean around\n" +
+				"\t * each pixel, threshold = scale*mean.  The local region is a square with a width of 2*radius+1 that is\n" +
+				"\t * truncated at the image border.  Computation time per pixel is independent of the radius.  Useful\n" +
+				"\t * when lighting across the image is uneven.  See {@link ImplThresholdLocal}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param radius Radius of the square region.\n" +
+				"\t * @param scale The threshold is the local mean multiplied by this value.  Typically close to 1.\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 localMean( "+imageIn.getImageName()+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\tint radius , float scale , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT )\n" +
+				"\t\t\tImplThresholdLocal_MT.mean(input,output,radius,scale,down);\n" +
+				"\t\telse\n" +
+				"\t\t\tImplThresholdLocal.mean(input,output,radius,scale,down);\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
+	public void printLocalSauvola( AutoTypeImage imageIn ) {
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Thresholds the image using Sauvola's locally adaptive threshold, which is computed from the local mean\n" +
+				"\t * and standard deviation around each pixel, threshold = mean*(1 + k*(stdev/128 - 1)).  Pixel values are\n" +
+				"\t * assumed to be from 0 to 255.  The local region is a square with a width of 2*radius+1 that is\n" +
+				"\t * truncated at the image border.  Computation time per pixel is independent of the radius.\n" +
+				"\t * See {@link ImplThresholdLocal}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param radius Radius of the square region.\n" +
+				"\t * @param k Positive parameter which adjusts the threshold by the local standard deviation.  Typically 0.2 to 0.5\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 localSauvola( "+imageIn.getImageName()+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t   int radius , float k , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT )\n" +
+				"\t\t\tImplThresholdLocal_MT.sauvola(input,output,radius,k,down);\n" +
+				"\t\telse\n" +
+				"\t\t\tImplThresholdLocal.sauvola(input,output,radius,k,down);\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateThresholdImageOps app = new GenerateThresholdImageOps();
 		app.generate();
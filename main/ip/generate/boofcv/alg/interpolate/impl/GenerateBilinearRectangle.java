@@ -113,6 +113,11 @@ public class GenerateBilinearRectangle extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
+				"\tpublic "+className+" copy() {\n" +
+				"\t\treturn new "+className+"();\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic void region(float tl_x, float tl_y, ImageFloat32 output ) {\n" +
 				"\t\tint xt = (int) tl_x;\n" +
 				"\t\tint yt = (int) tl_y;\n" +
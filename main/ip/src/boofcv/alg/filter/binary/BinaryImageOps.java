@@ -22,8 +22,8 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;
 import boofcv.alg.filter.binary.impl.ImplBinaryBorderOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
-import boofcv.alg.filter.binary.impl.LabelNode;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.ImageBorderValue;
 import boofcv.core.image.border.ImageBorder_I32;
 import boofcv.struct.FastQueue;
@@ -283,64 +283,85 @@ public class BinaryImageOps {
 	/**
 	 * <p>
 	 * Connects pixels together using an 8-connect rule.  Each cluster of connected pixels (a blob)
-	 * is given a unique number >= 1.
+	 * is given a unique number >= 1.  Blobs are numbered in the order they are first encountered
+	 * in a raster scan.
 	 * </p>
 	 *
 	 * <p>
-	 * The coexist table is used internally to store intermediate results.  It is used supplied because
-	 * pre-allocating the array was shown to improve performance about 5 times.
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is labeled in parallel strips.
 	 * </p>
 	 *
-	 * @param input Binary input image.
+	 * @see LabelBlobsUnionFind
+	 *
+	 * @param input Binary input image. Not modified.
 	 * @param output The labeled blob image. Modified.
 	 * @return How many blobs were found.
 	 */
 	public static int labelBlobs8( ImageUInt8 input , ImageSInt32 output )
 	{
-		InputSanityCheck.checkSameShape(input,output);
+		return labelBlobs8(input,output,null);
+	}
 
-		List<LabelNode> labels = ImplBinaryBlobLabeling.quickLabelBlobs8(input,output);
-		ImplBinaryBlobLabeling.optimizeMaxConnect(labels);
-		int blobs[] = new int[ labels.size() ]; // todo clean this up
-		for( int i = 0; i < blobs.length; i++ ) {
-			blobs[i] = labels.get(i).maxIndex;
-		}
-		int newNumBlobs = ImplBinaryBlobLabeling.minimizeBlobID(blobs,blobs.length-1);
-		ImplBinaryBlobLabeling.relabelBlobs(output,blobs);
+	/**
+	 * <p>
+	 * Connects pixels together using an 8-connect rule and computes statistics for each blob while doing so.
+	 * See {@link #labelBlobs8(ImageUInt8, ImageSInt32)}.
+	 * </p>
+	 *
+	 * @param input Binary input image. Not modified.
+	 * @param output The labeled blob image. Modified.
+	 * @param stats (Output) Area, bounding box, and centroid of each blob.  Element 'i' is the blob
+	 *              with label 'i+1'.  If null then it is not computed.
+	 * @return How many blobs were found.
+	 */
+	public static int labelBlobs8( ImageUInt8 input , ImageSInt32 output , FastQueue<BlobStatistics> stats )
+	{
+		LabelBlobsUnionFind alg = BoofConcurrency.USE_CONCURRENT ?
+				new LabelBlobsUnionFind_MT(true) : new LabelBlobsUnionFind(true);
 
-		return newNumBlobs;
+		return alg.process(input,output,stats);
 	}
 
-
 	/**
 	 * <p>
 	 * Connects pixels together using an 4-connect rule.  Each cluster of connected pixels (a blob)
-	 * is given a unique number >= 1.
+	 * is given a unique number >= 1.  Blobs are numbered in the order they are first encountered
+	 * in a raster scan.
 	 * </p>
 	 *
 	 * <p>
-	 * The coexist table is used internally to store intermediate results.  It is used supplied because
-	 * pre-allocating the array was shown to improve performance about 5 times.
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is labeled in parallel strips.
 	 * </p>
 	 *
+	 * @see LabelBlobsUnionFind
+	 *
 	 * @param input Binary input image. Not modified.
 	 * @param output The labeled blob image. Modified.
 	 * @return How many blobs were found.
 	 */
 	public static int labelBlobs4( ImageUInt8 input , ImageSInt32 output )
 	{
-		InputSanityCheck.checkSameShape(input,output);
+		return labelBlobs4(input,output,null);
+	}
 
-		List<LabelNode> labels = ImplBinaryBlobLabeling.quickLabelBlobs4(input,output);
-		ImplBinaryBlobLabeling.optimizeMaxConnect(labels);
-		int blobs[] = new int[ labels.size() ]; // todo clean this up
-		for( int i = 0; i < blobs.length; i++ ) {
-			blobs[i] = labels.get(i).maxIndex;
-		}
-		int newNumBlobs = ImplBinaryBlobLabeling.minimizeBlobID(blobs,blobs.length-1);
-		ImplBinaryBlobLabeling.relabelBlobs(output,blobs);
+	/**
+	 * <p>
+	 * Connects pixels together using an 4-connect rule and computes statistics for each blob while doing so.
+	 * See {@link #labelBlobs4(ImageUInt8, ImageSInt32)}.
+	 * </p>
+	 *
+	 * @param input Binary input image. Not modified.
+	 * @param output The labeled blob image. Modified.
+	 * @param stats (Output) Area, bounding box, and centroid of each blob.  Element 'i' is the blob
+	 *              with label 'i+1'.  If null then it is not computed.
+	 * @return How many blobs were found.
+	 */
+	public static int labelBlobs4( ImageUInt8 input , ImageSInt32 output , FastQueue<BlobStatistics> stats )
+	{
+		LabelBlobsUnionFind alg = BoofConcurrency.USE_CONCURRENT ?
+				new LabelBlobsUnionFind_MT(false) : new LabelBlobsUnionFind(false);
 
-		return newNumBlobs;
+		return alg.process(input,output,stats);
 	}
 
 	/**
@@ -462,6 +483,50 @@ public class BinaryImageOps {
 		return ret;
 	}
 
+	/**
+	 * Same as {@link #labelToClusters(ImageSInt32, int, FastQueue)} but uses the statistics computed
+	 * while labeling to only examine the pixels inside each blob's bounding box and to declare each list with
+	 * the correct size.  Much faster than scanning the whole image when the blobs are small relative to the image.
+	 *
+	 * @param labelImage The labeled image.
+	 * @param stats Statistics of each blob, as computed by {@link #labelBlobs8(ImageUInt8, ImageSInt32, FastQueue)}
+	 * @param queue Predeclare returned points.  Improves runtime performance. Can be null.
+	 * @return List of pixels in each cluster.
+	 */
+	public static List<List<Point2D_I32>> labelToClusters( ImageSInt32 labelImage ,
+														   FastQueue<BlobStatistics> stats ,
+														   FastQueue<Point2D_I32> queue )
+	{
+		int numLabels = stats.size;
+		List<List<Point2D_I32>> ret = new ArrayList<List<Point2D_I32>>(numLabels);
+		if( queue == null ) {
+			queue = new FastQueue<Point2D_I32>(numLabels,Point2D_I32.class,true);
+		} else
+			queue.reset();
+
+		for( int i = 0; i < numLabels; i++ ) {
+			BlobStatistics b = stats.data[i];
+			int label = i+1;
+
+			List<Point2D_I32> list = new ArrayList<Point2D_I32>(b.area);
+			ret.add(list);
+
+			for( int y = b.y0; y < b.y1; y++ ) {
+				int start = labelImage.startIndex + y*labelImage.stride;
+				int end = start + b.x1;
+
+				for( int index = start + b.x0; index < end; index++ ) {
+					if( labelImage.data[index] == label ) {
+						Point2D_I32 p = queue.grow();
+						p.set(index-start,y);
+						list.add(p);
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
 	/**
 	 * Extracts edges from a labeled blob image using a 4-connect rule
 	 *
@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.ImageBinaryPacked;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Operations on {@link ImageBinaryPacked} binary images.  Each operation processes 64 pixels at once using
+ * bitwise logic and shifts.  Morphological operations produce exactly the same output as their equivalent in
+ * {@link BinaryImageOps}, including how the image border is handled.  Pixels outside the image are treated as
+ * one for erode and edge operations and zero for dilate operations.
+ * </p>
+ *
+ * <p>
+ * The left and right neighbors of every pixel in a word are found by shifting the word one bit and filling
+ * in the bit shifted in from the adjacent word.  For 8-neighborhood operations each row is first combined with
+ * its left and right neighbors, then the result is combined with the rows above and below.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BinaryPackedOps {
+
+	/**
+	 * Converts a binary {@link ImageUInt8}, such as one created by {@link ThresholdImageOps}, into a packed image.
+	 *
+	 * @param input Binary image. Not modified.
+	 * @param output Packed image.  If null a new image is declared. Modified.
+	 * @return The packed image
+	 */
+	public static ImageBinaryPacked pack( ImageUInt8 input , ImageBinaryPacked output ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64,input.width-x0);
+				long word = 0;
+				for( int i = 0; i < length; i++ ) {
+					word |= (long)(input.data[indexIn++] & 0x01) << i;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a binary {@link ImageUInt8}.
+	 *
+	 * @param input Packed image. Not modified.
+	 * @param output Binary image.  If null a new image is declared. Modified.
+	 * @return The binary image
+	 */
+	public static ImageUInt8 unpack( ImageBinaryPacked input , ImageUInt8 output ) {
+		if( output == null )
+			output = new ImageUInt8(input.width,input.height);
+		else if( output.width != input.width || output.height != input.height )
+			throw new IllegalArgumentException("Output must be the same shape as the input");
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64,input.width-x0);
+				long word = input.data[indexIn++];
+				for( int i = 0; i < length; i++ ) {
+					output.data[indexOut++] = (byte)((word >>> i) & 0x01);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results directly into a packed image.  Same as
+	 * {@link ThresholdImageOps#threshold(ImageUInt8, ImageUInt8, int, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked threshold( ImageUInt8 input , ImageBinaryPacked output ,
+											   int threshold , boolean down ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64,input.width-x0);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < length; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < length; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) >= threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results directly into a packed image.  Same as
+	 * {@link ThresholdImageOps#threshold(ImageFloat32, ImageUInt8, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked threshold( ImageFloat32 input , ImageBinaryPacked output ,
+											   float threshold , boolean down ) {
+		output = declare(input.width,input.height,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64,input.width-x0);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < length; i++ ) {
+						if( input.data[indexIn++] <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < length; i++ ) {
+						if( input.data[indexIn++] >= threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicAnd( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											  ImageBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicOr( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											 ImageBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static ImageBinaryPacked logicXor( ImageBinaryPacked inputA , ImageBinaryPacked inputB ,
+											  ImageBinaryPacked output ) {
+		checkSameShape(inputA, inputB);
+		output = declare(inputA.width,inputA.height,output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  See {@link BinaryImageOps#erode4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked erode4( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+		final long borderBit = borderBit(input.width);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*stride;
+			int indexUp = y > 0 ? index - stride : -1;
+			int indexDown = y < input.height-1 ? index + stride : -1;
+
+			for( int i = 0; i < stride; i++ ) {
+				long c = data[index+i];
+				long v = c & left(data,index,i,1L) & right(data,index,i,stride,borderBit);
+				if( indexUp >= 0 ) v &= data[indexUp+i];
+				if( indexDown >= 0 ) v &= data[indexDown+i];
+				output.data[index+i] = v;
+			}
+			output.data[index+stride-1] &= lastMask;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  See {@link BinaryImageOps#dilate4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked dilate4( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*stride;
+			int indexUp = y > 0 ? index - stride : -1;
+			int indexDown = y < input.height-1 ? index + stride : -1;
+
+			for( int i = 0; i < stride; i++ ) {
+				long c = data[index+i];
+				long v = c | left(data,index,i,0) | right(data,index,i,stride,0);
+				if( indexUp >= 0 ) v |= data[indexUp+i];
+				if( indexDown >= 0 ) v |= data[indexDown+i];
+				output.data[index+i] = v;
+			}
+			output.data[index+stride-1] &= lastMask;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object using a 4-neighborhood.
+	 * See {@link BinaryImageOps#edge4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked edge4( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+		final long borderBit = borderBit(input.width);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*stride;
+			int indexUp = y > 0 ? index - stride : -1;
+			int indexDown = y < input.height-1 ? index + stride : -1;
+
+			for( int i = 0; i < stride; i++ ) {
+				long c = data[index+i];
+				long v = left(data,index,i,1L) & right(data,index,i,stride,borderBit);
+				if( indexUp >= 0 ) v &= data[indexUp+i];
+				if( indexDown >= 0 ) v &= data[indexDown+i];
+				output.data[index+i] = c & ~v;
+			}
+			output.data[index+stride-1] &= lastMask;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood.  See {@link BinaryImageOps#erode8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked erode8( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+		final long borderBit = borderBit(input.width);
+
+		// each row combined with its left and right neighbors
+		long rowA[] = new long[ stride ];
+		long rowB[] = new long[ stride ];
+		long rowC[] = new long[ stride ];
+
+		// row above the image
+		for( int i = 0; i < stride; i++ ) rowA[i] = -1L;
+		horizontalAnd(data, 0, stride, borderBit, rowB);
+
+		for( int y = 0; y < input.height; y++ ) {
+			if( y+1 < input.height ) {
+				horizontalAnd(data, (y+1)*stride, stride, borderBit, rowC);
+			} else {
+				for( int i = 0; i < stride; i++ ) rowC[i] = -1L;
+			}
+
+			int index = y*stride;
+			for( int i = 0; i < stride; i++ ) {
+				output.data[index+i] = rowA[i] & rowB[i] & rowC[i];
+			}
+			output.data[index+stride-1] &= lastMask;
+
+			long tmp[] = rowA; rowA = rowB; rowB = rowC; rowC = tmp;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood.  See {@link BinaryImageOps#dilate8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked dilate8( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+
+		// each row combined with its left and right neighbors
+		long rowA[] = new long[ stride ];
+		long rowB[] = new long[ stride ];
+		long rowC[] = new long[ stride ];
+
+		// row above the image is all zeros
+		horizontalOr(data, 0, stride, rowB);
+
+		for( int y = 0; y < input.height; y++ ) {
+			if( y+1 < input.height ) {
+				horizontalOr(data, (y+1)*stride, stride, rowC);
+			} else {
+				for( int i = 0; i < stride; i++ ) rowC[i] = 0;
+			}
+
+			int index = y*stride;
+			for( int i = 0; i < stride; i++ ) {
+				output.data[index+i] = rowA[i] | rowB[i] | rowC[i];
+			}
+			output.data[index+stride-1] &= lastMask;
+
+			long tmp[] = rowA; rowA = rowB; rowB = rowC; rowC = tmp;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object using a 8-neighborhood.
+	 * See {@link BinaryImageOps#edge8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output If not null, the output image.  Can't be the input.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked edge8( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		output = declareMorph(input,output);
+
+		final int stride = input.stride;
+		final long data[] = input.data;
+		final long lastMask = input.getLastWordMask();
+		final long borderBit = borderBit(input.width);
+
+		// each row combined with its left and right neighbors
+		long rowA[] = new long[ stride ];
+		long rowC[] = new long[ stride ];
+
+		// row above the image
+		for( int i = 0; i < stride; i++ ) rowA[i] = -1L;
+
+		for( int y = 0; y < input.height; y++ ) {
+			if( y+1 < input.height ) {
+				horizontalAnd(data, (y+1)*stride, stride, borderBit, rowC);
+			} else {
+				for( int i = 0; i < stride; i++ ) rowC[i] = -1L;
+			}
+
+			int index = y*stride;
+			for( int i = 0; i < stride; i++ ) {
+				long neighbors = left(data,index,i,1L) & right(data,index,i,stride,borderBit) & rowA[i] & rowC[i];
+				output.data[index+i] = data[index+i] & ~neighbors;
+			}
+			output.data[index+stride-1] &= lastMask;
+
+			// the row above the next row is this row
+			horizontalAnd(data, index, stride, borderBit, rowA);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Value of the pixel to the left of each pixel in the word
+	 *
+	 * @param carry Value of the pixel to the left of the image
+	 */
+	private static long left( long data[] , int index , int i , long carry ) {
+		long prev = i > 0 ? data[index+i-1] >>> 63 : carry;
+		return (data[index+i] << 1) | prev;
+	}
+
+	/**
+	 * Value of the pixel to the right of each pixel in the word
+	 *
+	 * @param borderBit Bit which is set for the last pixel in the row when the pixel to the right of the image is one
+	 */
+	private static long right( long data[] , int index , int i , int stride , long borderBit ) {
+		if( i < stride-1 )
+			return (data[index+i] >>> 1) | (data[index+i+1] << 63);
+		else
+			return (data[index+i] >>> 1) | borderBit;
+	}
+
+	/**
+	 * Computes the 'and' of each pixel in the row with its left and right neighbors
+	 */
+	private static void horizontalAnd( long data[] , int index , int stride , long borderBit , long output[] ) {
+		for( int i = 0; i < stride; i++ ) {
+			output[i] = data[index+i] & left(data,index,i,1L) & right(data,index,i,stride,borderBit);
+		}
+	}
+
+	/**
+	 * Computes the 'or' of each pixel in the row with its left and right neighbors
+	 */
+	private static void horizontalOr( long data[] , int index , int stride , long output[] ) {
+		for( int i = 0; i < stride; i++ ) {
+			output[i] = data[index+i] | left(data,index,i,0) | right(data,index,i,stride,0);
+		}
+	}
+
+	/**
+	 * Bit for the last pixel in a row inside the row's last word
+	 */
+	private static long borderBit( int width ) {
+		return width == 0 ? 0 : 1L << ((width-1) & 63);
+	}
+
+	private static ImageBinaryPacked declare( int width , int height , ImageBinaryPacked output ) {
+		if( output == null )
+			return new ImageBinaryPacked(width,height);
+		else if( output.width != width || output.height != height )
+			throw new IllegalArgumentException("Output must be the same shape as the input");
+		return output;
+	}
+
+	private static ImageBinaryPacked declareMorph( ImageBinaryPacked input , ImageBinaryPacked output ) {
+		if( input == output )
+			throw new IllegalArgumentException("Output can't be the same instance as the input");
+		return declare(input.width,input.height,output);
+	}
+
+	private static void checkSameShape( ImageBinaryPacked a , ImageBinaryPacked b ) {
+		if( a.width != b.width || a.height != b.height )
+			throw new IllegalArgumentException("Images must have the same shape");
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+/**
+ * Statistics of a blob inside a binary image which can be computed while the image is being labeled.
+ *
+ * @author Peter Abeles
+ */
+public class BlobStatistics {
+	/** Number of pixels in the blob */
+	public int area;
+	/** Bounding box.  Lower extent is inclusive and upper extent is exclusive, like {@link boofcv.struct.ImageRectangle} */
+	public int x0,y0,x1,y1;
+	/** Sum of pixel coordinates */
+	public long sumX,sumY;
+	/** Sum of the products of pixel coordinates, i.e. second order raw moments */
+	public long sumXX,sumXY,sumYY;
+
+	/**
+	 * Sets the statistics to those of a blob with no pixels
+	 */
+	public void reset() {
+		area = 0;
+		x0 = y0 = Integer.MAX_VALUE;
+		x1 = y1 = Integer.MIN_VALUE;
+		sumX = sumY = 0;
+		sumXX = sumXY = sumYY = 0;
+	}
+
+	/**
+	 * Adds a single pixel to the blob
+	 */
+	public void addPixel( int x , int y ) {
+		area++;
+		if( x < x0 ) x0 = x;
+		if( y < y0 ) y0 = y;
+		if( x >= x1 ) x1 = x+1;
+		if( y >= y1 ) y1 = y+1;
+		sumX += x;
+		sumY += y;
+		sumXX += (long)x*x;
+		sumXY += (long)x*y;
+		sumYY += (long)y*y;
+	}
+
+	/**
+	 * Adds the pixels from another blob to this one.
+	 */
+	public void add( BlobStatistics b ) {
+		area += b.area;
+		if( b.x0 < x0 ) x0 = b.x0;
+		if( b.y0 < y0 ) y0 = b.y0;
+		if( b.x1 > x1 ) x1 = b.x1;
+		if( b.y1 > y1 ) y1 = b.y1;
+		sumX += b.sumX;
+		sumY += b.sumY;
+		sumXX += b.sumXX;
+		sumXY += b.sumXY;
+		sumYY += b.sumYY;
+	}
+
+	public double getCentroidX() {
+		return sumX/(double)area;
+	}
+
+	public double getCentroidY() {
+		return sumY/(double)area;
+	}
+
+	/**
+	 * Variance of the pixel x-coordinates, i.e. the normalized second order central moment along x.
+	 */
+	public double getVarianceX() {
+		double cx = getCentroidX();
+		return sumXX/(double)area - cx*cx;
+	}
+
+	/**
+	 * Variance of the pixel y-coordinates, i.e. the normalized second order central moment along y.
+	 */
+	public double getVarianceY() {
+		double cy = getCentroidY();
+		return sumYY/(double)area - cy*cy;
+	}
+
+	/**
+	 * Covariance between pixel x and y coordinates, i.e. the normalized second order central moment xy.
+	 */
+	public double getCovarianceXY() {
+		return sumXY/(double)area - getCentroidX()*getCentroidY();
+	}
+
+	/**
+	 * Angle of the blob's major axis found from its second order central moments.
+	 *
+	 * @return angle in radians from -pi/2 to pi/2
+	 */
+	public double getOrientation() {
+		return 0.5*Math.atan2(2*getCovarianceXY(),getVarianceX()-getVarianceY());
+	}
+
+	public int getWidth() {
+		return x1-x0;
+	}
+
+	public int getHeight() {
+		return y1-y0;
+	}
+
+	public void set( BlobStatistics b ) {
+		area = b.area;
+		x0 = b.x0; y0 = b.y0;
+		x1 = b.x1; y1 = b.y1;
+		sumX = b.sumX;
+		sumY = b.sumY;
+		sumXX = b.sumXX;
+		sumXY = b.sumXY;
+		sumYY = b.sumYY;
+	}
+}
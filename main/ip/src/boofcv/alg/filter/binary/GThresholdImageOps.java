@@ -49,6 +49,54 @@ public class GThresholdImageOps {
 		}
 	}
 
+	/**
+	 * Thresholds the image using the local mean around each pixel.
+	 * See {@link ThresholdImageOps#localMean(ImageUInt8, ImageUInt8, int, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.
+	 * @param scale The threshold is the local mean multiplied by this value.  Typically close to 1.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 localMean( T input , ImageUInt8 output ,
+						  int radius , double scale , boolean down )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.localMean((ImageFloat32)input,output,radius,(float)scale,down);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.localMean((ImageUInt8)input,output,radius,(float)scale,down);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Thresholds the image using Sauvola's method, which uses the local mean and standard deviation.
+	 * See {@link ThresholdImageOps#localSauvola(ImageUInt8, ImageUInt8, int, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.
+	 * @param k Positive parameter which adjusts the threshold by the local standard deviation.  Typically 0.2 to 0.5
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 localSauvola( T input , ImageUInt8 output ,
+							 int radius , double k , boolean down )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.localSauvola((ImageFloat32)input,output,radius,(float)k,down);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.localSauvola((ImageUInt8)input,output,radius,(float)k,down);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
 	public static <T extends ImageSingleBand>
 	void thresholdBlobs( T input , ImageSInt32 labeled ,
 						 int results[] , int numBlobs ,
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowingArrayInt;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+
+/**
+ * <p>
+ * Thresholds an image, labels its blobs, and computes statistics for each blob in a single pass which processes
+ * one row at a time.  Produces the same blobs as {@link ThresholdImageOps#threshold} followed by
+ * {@link LabelBlobsUnionFind}, but neither the binary image nor the labeled image is created.  Only the labels
+ * of the previous and current row are saved, plus the statistics for blobs which touch the previous row.  Memory
+ * usage therefore depends on the image's width and not its height, allowing arbitrarily tall images to be
+ * processed one row at a time, see {@link #processRow(byte[], int, int, boolean)}.
+ * </p>
+ *
+ * <p>
+ * Once the last row of a blob has been processed its {@link BlobStatistics} are passed to the {@link Listener}.
+ * Blobs are reported in the order that they are completed, which is not the raster order used by the labeled
+ * image.  Optionally the blob's contour can also be found.  The contour is the unordered set of pixels in the
+ * blob which have a 4-neighbor that is not in the blob or is outside the image.  This includes the boundary of any
+ * holes inside the blob.
+ * </p>
+ *
+ * <p>
+ * Connected pixels in the current row are merged with blobs in the previous row using a union-find.  At the end of
+ * each row every label in the row is replaced by its root, which allows non-root labels to be recycled and any
+ * blob that has no pixels in the current row to be reported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LabelBlobsStreaming {
+
+	// true for 8-connect rule and false for 4-connect
+	private boolean rule8;
+	// should it find the contour of each blob
+	private boolean computeContour;
+
+	// receives completed blobs
+	private Listener listener;
+
+	// width of the image
+	private int width;
+	// the row which is being processed
+	private int row;
+
+	// labels of pixels in the previous and current row.  Zero indicates background.  Padded with a zero element
+	// on each side so that neighbors can be read without checking the bounds.
+	private int labelsPrev[] = new int[0];
+	private int labelsCurr[] = new int[0];
+	// marks pixels in the previous row which are known to be on the contour without looking at the next row
+	private boolean contourPrev[] = new boolean[0];
+	private boolean contourCurr[] = new boolean[0];
+
+	// union-find parent of each label.  parent[label] == label for roots
+	private GrowingArrayInt parent = new GrowingArrayInt();
+	// statistics for each label.  Only valid for root labels
+	private FastQueue<BlobStatistics> stats = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+	// contour points for each label.  Only valid for root labels
+	private FastQueue<FastQueue<Point2D_I32>> contours;
+	// which labels are not in use
+	private GrowingArrayInt unused = new GrowingArrayInt();
+	// labels which are in use
+	private GrowingArrayInt active = new GrowingArrayInt();
+	private GrowingArrayInt activeNext = new GrowingArrayInt();
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param rule8 true for 8-connect rule and false for 4-connect
+	 * @param computeContour If true the contour of each blob will be found
+	 */
+	@SuppressWarnings({"unchecked"})
+	public LabelBlobsStreaming(boolean rule8, boolean computeContour) {
+		this.rule8 = rule8;
+		this.computeContour = computeContour;
+
+		if( computeContour ) {
+			contours = new FastQueue<FastQueue<Point2D_I32>>(10,(Class)FastQueue.class,true) {
+				@Override
+				protected FastQueue<Point2D_I32> createInstance() {
+					return new FastQueue<Point2D_I32>(10,Point2D_I32.class,true);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Thresholds and labels the entire image.  See {@link ThresholdImageOps#threshold(ImageUInt8, ImageUInt8, int, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param threshold threshold value.
+	 * @param down If true blobs are below the threshold and false they are above the threshold.
+	 */
+	public void process( ImageUInt8 input , int threshold , boolean down ) {
+		begin(input.width);
+		for( int y = 0; y < input.height; y++ ) {
+			processRow(input.data,input.startIndex+y*input.stride,threshold,down);
+		}
+		finish();
+	}
+
+	/**
+	 * Thresholds and labels the entire image.  See {@link ThresholdImageOps#threshold(ImageFloat32, ImageUInt8, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param threshold threshold value.
+	 * @param down If true blobs are below the threshold and false they are above the threshold.
+	 */
+	public void process( ImageFloat32 input , float threshold , boolean down ) {
+		begin(input.width);
+		for( int y = 0; y < input.height; y++ ) {
+			processRow(input.data,input.startIndex+y*input.stride,threshold,down);
+		}
+		finish();
+	}
+
+	/**
+	 * Must be called before the first row in an image is processed.
+	 *
+	 * @param width Number of pixels in each row
+	 */
+	public void begin( int width ) {
+		this.width = width;
+		this.row = 0;
+
+		if( labelsPrev.length < width+2 ) {
+			labelsPrev = new int[ width+2 ];
+			labelsCurr = new int[ width+2 ];
+			contourPrev = new boolean[ width+2 ];
+			contourCurr = new boolean[ width+2 ];
+		}
+		for( int i = 0; i < width+2; i++ ) {
+			labelsPrev[i] = labelsCurr[i] = 0;
+		}
+
+		parent.reset();
+		stats.reset();
+		if( contours != null )
+			contours.reset();
+		unused.reset();
+		active.reset();
+
+		// label zero is the background and is never used
+		newLabel();
+	}
+
+	/**
+	 * Thresholds and labels the next row in the image.
+	 *
+	 * @param data Array containing the row's pixels
+	 * @param offset Index of the first pixel in the row
+	 * @param threshold threshold value.
+	 * @param down If true blobs are below the threshold and false they are above the threshold.
+	 */
+	public void processRow( byte data[] , int offset , int threshold , boolean down ) {
+		// mark pixels which are part of a blob
+		int labels[] = labelsCurr;
+		if( down ) {
+			for( int x = 0; x < width; x++ ) {
+				labels[x+1] = (data[offset+x] & 0xFF) <= threshold ? -1 : 0;
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				labels[x+1] = (data[offset+x] & 0xFF) >= threshold ? -1 : 0;
+			}
+		}
+		labelRow();
+	}
+
+	/**
+	 * Thresholds and labels the next row in the image.
+	 *
+	 * @param data Array containing the row's pixels
+	 * @param offset Index of the first pixel in the row
+	 * @param threshold threshold value.
+	 * @param down If true blobs are below the threshold and false they are above the threshold.
+	 */
+	public void processRow( float data[] , int offset , float threshold , boolean down ) {
+		int labels[] = labelsCurr;
+		if( down ) {
+			for( int x = 0; x < width; x++ ) {
+				labels[x+1] = data[offset+x] <= threshold ? -1 : 0;
+			}
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				labels[x+1] = data[offset+x] >= threshold ? -1 : 0;
+			}
+		}
+		labelRow();
+	}
+
+	/**
+	 * Must be called after the last row in an image.  Reports all the remaining blobs.
+	 */
+	public void finish() {
+		// there is no row below the last row, so every pixel in the last row is on the contour
+		if( computeContour ) {
+			for( int x = 0; x < width; x++ ) {
+				int label = labelsPrev[x+1];
+				if( label != 0 )
+					contours.get(label).grow().set(x,row-1);
+			}
+		}
+
+		for( int i = 0; i < active.size; i++ ) {
+			int label = active.data[i];
+			if( parent.data[label] == label )
+				report(label);
+		}
+		active.reset();
+	}
+
+	/**
+	 * Labels pixels in the current row which have been marked with -1
+	 */
+	private void labelRow() {
+		final int prev[] = labelsPrev;
+		final int curr[] = labelsCurr;
+		final int y = row;
+
+		for( int x = 0; x < width; x++ ) {
+			int i = x+1;
+			if( curr[i] == 0 )
+				continue;
+
+			int label = curr[i-1];
+			if( rule8 ) {
+				label = connect(label,prev[i-1]);
+				label = connect(label,prev[i]);
+				label = connect(label,prev[i+1]);
+			} else {
+				label = connect(label,prev[i]);
+			}
+
+			if( label == 0 )
+				label = newLabel();
+			else
+				label = find(label);
+
+			curr[i] = label;
+			stats.data[label].addPixel(x,y);
+
+			if( computeContour ) {
+				contourCurr[i] = curr[i-1] == 0 || curr[i+1] == 0 || prev[i] == 0;
+			}
+		}
+
+		// replace every label with its root
+		for( int x = 0; x < width; x++ ) {
+			int i = x+1;
+			if( curr[i] != 0 )
+				curr[i] = find(curr[i]);
+		}
+
+		// now that the next row is known, finish the contour of the previous row
+		if( computeContour && y > 0 ) {
+			for( int x = 0; x < width; x++ ) {
+				int i = x+1;
+				if( prev[i] != 0 && (contourPrev[i] || curr[i] == 0) ) {
+					contours.get(find(prev[i])).grow().set(x,y-1);
+				}
+			}
+		}
+
+		// non-root labels are only referenced by the previous row, which is no longer needed.  Blobs which
+		// don't touch the current row are complete
+		activeNext.reset();
+		for( int j = 0; j < active.size; j++ ) {
+			int label = active.data[j];
+			if( parent.data[label] != label ) {
+				unused.add(label);
+			} else if( stats.data[label].y1 <= y ) {
+				report(label);
+				unused.add(label);
+			} else {
+				activeNext.add(label);
+			}
+		}
+		GrowingArrayInt tmp = active; active = activeNext; activeNext = tmp;
+
+		int tmpLabels[] = labelsPrev; labelsPrev = labelsCurr; labelsCurr = tmpLabels;
+		boolean tmpContour[] = contourPrev; contourPrev = contourCurr; contourCurr = tmpContour;
+		row++;
+	}
+
+	/**
+	 * Connects the pixel's current label to a neighbor
+	 *
+	 * @param label Label assigned to the pixel so far.  0 if none.
+	 * @param neighbor Label of the neighbor.  0 if background.
+	 * @return The label the pixel should be assigned
+	 */
+	private int connect( int label , int neighbor ) {
+		if( neighbor == 0 )
+			return label;
+		if( label == 0 )
+			return neighbor;
+		union(label,neighbor);
+		return label;
+	}
+
+	private int newLabel() {
+		int label;
+		if( unused.size > 0 ) {
+			label = unused.data[--unused.size];
+		} else {
+			label = parent.size;
+			parent.add(0);
+			stats.grow();
+			if( contours != null )
+				contours.grow();
+		}
+		parent.data[label] = label;
+		stats.data[label].reset();
+		if( contours != null )
+			contours.data[label].reset();
+		if( label != 0 )
+			active.add(label);
+		return label;
+	}
+
+	private int find( int label ) {
+		int p[] = parent.data;
+		while( p[label] != label ) {
+			p[label] = p[p[label]];
+			label = p[label];
+		}
+		return label;
+	}
+
+	private void union( int a , int b ) {
+		a = find(a);
+		b = find(b);
+		if( a == b )
+			return;
+
+		// the blob with more pixels becomes the root so that fewer contour points need to be copied
+		if( stats.data[a].area < stats.data[b].area ) {
+			int tmp = a; a = b; b = tmp;
+		}
+
+		parent.data[b] = a;
+		stats.data[a].add(stats.data[b]);
+		if( contours != null ) {
+			FastQueue<Point2D_I32> src = contours.data[b];
+			FastQueue<Point2D_I32> dst = contours.data[a];
+			for( int i = 0; i < src.size; i++ ) {
+				dst.grow().set(src.data[i]);
+			}
+			src.reset();
+		}
+	}
+
+	private void report( int label ) {
+		if( listener != null )
+			listener.blobFinished(stats.data[label], contours == null ? null : contours.data[label]);
+	}
+
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	public Listener getListener() {
+		return listener;
+	}
+
+	public boolean isRule8() {
+		return rule8;
+	}
+
+	public boolean isComputeContour() {
+		return computeContour;
+	}
+
+	/**
+	 * Receives blobs once all their pixels have been processed.
+	 */
+	public static interface Listener {
+		/**
+		 * Called once for each blob.  The passed in data structures are recycled and must not be saved.
+		 *
+		 * @param blob Statistics of the blob
+		 * @param contour Pixels in the blob which are on its contour.  null if contours are not being computed.
+		 */
+		public void blobFinished( BlobStatistics blob , FastQueue<Point2D_I32> contour );
+	}
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Labels blobs in a binary image using a two scan algorithm with a union-find equivalence table [1].  In the first
+ * scan each pixel is given a provisional label based on its already labeled neighbors and equivalent labels are
+ * merged in a table stored in a primitive array.  Labels are always merged into the smallest label, so the root
+ * of each blob is the label which was assigned to its first pixel.  The table is then flattened into the final
+ * consecutive labels, which are assigned in the order that each blob is first encountered in a raster scan, and
+ * the second scan writes the final labels.
+ * </p>
+ *
+ * <p>
+ * Optionally, the area, bounding box, and centroid of each blob are accumulated for the provisional labels during
+ * the first scan and then combined when the table is flattened, avoiding another pass through the image.
+ * </p>
+ *
+ * <p>
+ * The image is processed in strips of rows.  Each strip is labeled independently with its own equivalence table,
+ * then the tables are combined and labels which touch along the boundary between two strips are merged.
+ * {@link LabelBlobsUnionFind_MT} labels and relabels the strips in parallel.
+ * </p>
+ *
+ * <p>
+ * [1] Kesheng Wu, Ekow Otoo, Kenji Suzuki, "Optimizing two-pass connected-component labeling algorithms"
+ * Pattern Analysis and Applications, 2009
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LabelBlobsUnionFind {
+
+	// if true an 8-connect rule is used, otherwise 4-connect
+	protected boolean rule8;
+
+	// strips which the image is split into.  Only the first numStrips are used.
+	protected List<Strip> strips = new ArrayList<Strip>();
+	protected int numStrips;
+
+	// equivalence table for all the strips.  local labels are converted into global labels by adding the offset
+	protected int parent[] = new int[1];
+	// final label of each global label
+	protected int finalLabel[] = new int[1];
+
+	/**
+	 * @param rule8 If true then an 8-connect rule is used, otherwise 4-connect
+	 */
+	public LabelBlobsUnionFind(boolean rule8) {
+		this.rule8 = rule8;
+	}
+
+	/**
+	 * Labels the blobs in the binary image.  Each blob is given a unique number from 1 to the number of blobs.
+	 *
+	 * @param input Binary input image. Not modified.
+	 * @param output The labeled blob image. Modified.
+	 * @param stats (Output) Statistics for each blob.  Element 'i' is for the blob with label 'i+1'.  If null
+	 *              then the statistics are not computed.
+	 * @return Number of blobs found.
+	 */
+	public int process( ImageUInt8 input , ImageSInt32 output , FastQueue<BlobStatistics> stats ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		declareStrips(input.height,selectNumberOfStrips(input.height));
+
+		labelStrips(input, output, stats != null);
+		int numBlobs = mergeStrips(input,output,stats);
+		relabelStrips(output);
+
+		return numBlobs;
+	}
+
+	/**
+	 * Number of strips the image is split into
+	 */
+	protected int selectNumberOfStrips( int height ) {
+		return 1;
+	}
+
+	/**
+	 * Splits the rows evenly between the strips
+	 */
+	protected void declareStrips( int height , int numStrips ) {
+		numStrips = Math.max(1,Math.min(numStrips,height));
+		this.numStrips = numStrips;
+
+		while( strips.size() < numStrips )
+			strips.add( new Strip() );
+
+		for( int i = 0; i < numStrips; i++ ) {
+			Strip s = strips.get(i);
+			s.y0 = i*height/numStrips;
+			s.y1 = (i+1)*height/numStrips;
+		}
+	}
+
+	/**
+	 * Computes the provisional labels inside of each strip
+	 */
+	protected void labelStrips( ImageUInt8 input , ImageSInt32 output , boolean computeStats ) {
+		for( int i = 0; i < numStrips; i++ ) {
+			label(input,output,strips.get(i),computeStats);
+		}
+	}
+
+	/**
+	 * Replaces the provisional labels with the final labels in each strip
+	 */
+	protected void relabelStrips( ImageSInt32 output ) {
+		for( int i = 0; i < numStrips; i++ ) {
+			relabel(output,strips.get(i));
+		}
+	}
+
+	/**
+	 * First scan.  Assigns a provisional label to every pixel in the strip and records equivalent labels.
+	 * Neighbors outside of the strip are ignored.
+	 */
+	protected void label( ImageUInt8 input , ImageSInt32 output , Strip strip , boolean computeStats ) {
+		strip.reset(computeStats);
+
+		final int width = input.width;
+		final int stride = output.stride;
+
+		for( int y = strip.y0; y < strip.y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*stride;
+			boolean hasAbove = y > strip.y0;
+
+			for( int x = 0; x < width; x++ , indexIn++ , indexOut++ ) {
+				if( input.data[indexIn] == 0 ) {
+					output.data[indexOut] = 0;
+					continue;
+				}
+
+				int left = x > 0 ? output.data[indexOut-1] : 0;
+				int up = hasAbove ? output.data[indexOut-stride] : 0;
+				int label;
+
+				if( rule8 ) {
+					int upLeft = hasAbove && x > 0 ? output.data[indexOut-stride-1] : 0;
+					int upRight = hasAbove && x < width-1 ? output.data[indexOut-stride+1] : 0;
+
+					// pixels which are adjacent to each other have already been merged, which reduces
+					// the number of neighbors that need to be considered
+					if( up != 0 ) {
+						label = up;
+					} else if( upLeft != 0 ) {
+						label = upLeft;
+						if( upRight != 0 )
+							strip.union(upLeft,upRight);
+					} else if( left != 0 ) {
+						label = left;
+						if( upRight != 0 )
+							strip.union(left,upRight);
+					} else if( upRight != 0 ) {
+						label = upRight;
+					} else {
+						label = strip.newLabel();
+					}
+				} else {
+					if( up != 0 ) {
+						label = up;
+						if( left != 0 && left != up )
+							strip.union(up,left);
+					} else if( left != 0 ) {
+						label = left;
+					} else {
+						label = strip.newLabel();
+					}
+				}
+
+				output.data[indexOut] = label;
+
+				if( computeStats )
+					strip.addPixel(label,x,y);
+			}
+		}
+	}
+
+	/**
+	 * Combines the equivalence tables from each strip, merges labels which touch along strip boundaries, and
+	 * computes the final labels.
+	 *
+	 * @return number of blobs
+	 */
+	protected int mergeStrips( ImageUInt8 input , ImageSInt32 output , FastQueue<BlobStatistics> stats ) {
+		int total = 0;
+		for( int i = 0; i < numStrips; i++ ) {
+			Strip s = strips.get(i);
+			s.offset = total;
+			total += s.numLabels;
+		}
+
+		if( parent.length < total+1 ) {
+			parent = new int[ total+1 ];
+			finalLabel = new int[ total+1 ];
+		}
+
+		// combine the equivalence tables
+		for( int i = 0; i < numStrips; i++ ) {
+			Strip s = strips.get(i);
+			for( int j = 1; j <= s.numLabels; j++ ) {
+				parent[j+s.offset] = s.parent[j]+s.offset;
+			}
+		}
+
+		// merge blobs which cross a boundary
+		for( int i = 1; i < numStrips; i++ ) {
+			mergeBoundary(input,output,strips.get(i-1),strips.get(i));
+		}
+
+		// flatten the table.  parent is always less than the label so it has already been assigned a final label
+		int numBlobs = 0;
+		for( int i = 1; i <= total; i++ ) {
+			int p = parent[i];
+			if( p == i ) {
+				finalLabel[i] = ++numBlobs;
+			} else {
+				finalLabel[i] = finalLabel[p];
+			}
+		}
+
+		if( stats != null ) {
+			stats.reset();
+			for( int i = 0; i < numBlobs; i++ ) {
+				stats.grow().reset();
+			}
+			for( int i = 0; i < numStrips; i++ ) {
+				Strip s = strips.get(i);
+				for( int j = 1; j <= s.numLabels; j++ ) {
+					BlobStatistics b = stats.data[finalLabel[j+s.offset]-1];
+					s.addTo(j,b);
+				}
+			}
+		}
+
+		return numBlobs;
+	}
+
+	/**
+	 * Merges labels along the first row in strip 'b' with the last row in strip 'a'
+	 */
+	private void mergeBoundary( ImageUInt8 input , ImageSInt32 output , Strip a , Strip b ) {
+		final int width = input.width;
+		int indexOut = output.startIndex + b.y0*output.stride;
+		int indexAbove = indexOut - output.stride;
+
+		for( int x = 0; x < width; x++ , indexOut++ , indexAbove++ ) {
+			int label = output.data[indexOut];
+			if( label == 0 )
+				continue;
+			label += b.offset;
+
+			int up = output.data[indexAbove];
+			if( up != 0 )
+				union(label,up+a.offset);
+
+			if( rule8 ) {
+				if( x > 0 ) {
+					int upLeft = output.data[indexAbove-1];
+					if( upLeft != 0 )
+						union(label,upLeft+a.offset);
+				}
+				if( x < width-1 ) {
+					int upRight = output.data[indexAbove+1];
+					if( upRight != 0 )
+						union(label,upRight+a.offset);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Second scan.  Replaces the provisional labels with the final labels.
+	 */
+	protected void relabel( ImageSInt32 output , Strip strip ) {
+		final int offset = strip.offset;
+		for( int y = strip.y0; y < strip.y1; y++ ) {
+			int index = output.startIndex + y*output.stride;
+			int end = index + output.width;
+			for( ; index < end; index++ ) {
+				int v = output.data[index];
+				if( v != 0 )
+					output.data[index] = finalLabel[v+offset];
+			}
+		}
+	}
+
+	private int find( int label ) {
+		while( parent[label] != label ) {
+			parent[label] = parent[parent[label]];
+			label = parent[label];
+		}
+		return label;
+	}
+
+	private void union( int a , int b ) {
+		a = find(a);
+		b = find(b);
+		if( a < b )
+			parent[b] = a;
+		else if( b < a )
+			parent[a] = b;
+	}
+
+	public boolean isRule8() {
+		return rule8;
+	}
+
+	/**
+	 * Provisional labels and statistics for a strip of rows
+	 */
+	protected static class Strip {
+		// rows in the strip.  y0 is inclusive and y1 exclusive
+		public int y0,y1;
+		// offset which converts local labels into global labels
+		public int offset;
+
+		// number of provisional labels.  Labels go from 1 to numLabels
+		public int numLabels;
+		// equivalence table.  parent[i] <= i
+		public int parent[] = new int[32];
+
+		// statistics for each provisional label
+		boolean computeStats;
+		int area[] = new int[0];
+		int minX[] = new int[0], minY[] = new int[0];
+		int maxX[] = new int[0], maxY[] = new int[0];
+		long sumX[] = new long[0], sumY[] = new long[0];
+		long sumXX[] = new long[0], sumXY[] = new long[0], sumYY[] = new long[0];
+
+		public void reset( boolean computeStats ) {
+			this.computeStats = computeStats;
+			numLabels = 0;
+			if( computeStats && area.length < parent.length )
+				declareStats(parent.length);
+		}
+
+		public int newLabel() {
+			int label = ++numLabels;
+			if( label >= parent.length ) {
+				int tmp[] = new int[ parent.length*2 ];
+				System.arraycopy(parent,0,tmp,0,parent.length);
+				parent = tmp;
+				if( computeStats )
+					declareStats(parent.length);
+			}
+			parent[label] = label;
+			if( computeStats ) {
+				area[label] = 0;
+				minX[label] = minY[label] = Integer.MAX_VALUE;
+				maxX[label] = maxY[label] = Integer.MIN_VALUE;
+				sumX[label] = sumY[label] = 0;
+				sumXX[label] = sumXY[label] = sumYY[label] = 0;
+			}
+			return label;
+		}
+
+		public void addPixel( int label , int x , int y ) {
+			area[label]++;
+			if( x < minX[label] ) minX[label] = x;
+			if( x > maxX[label] ) maxX[label] = x;
+			if( y < minY[label] ) minY[label] = y;
+			if( y > maxY[label] ) maxY[label] = y;
+			sumX[label] += x;
+			sumY[label] += y;
+			sumXX[label] += (long)x*x;
+			sumXY[label] += (long)x*y;
+			sumYY[label] += (long)y*y;
+		}
+
+		/**
+		 * Adds the statistics for the provisional label to the blob
+		 */
+		public void addTo( int label , BlobStatistics b ) {
+			b.area += area[label];
+			if( minX[label] < b.x0 ) b.x0 = minX[label];
+			if( minY[label] < b.y0 ) b.y0 = minY[label];
+			if( maxX[label]+1 > b.x1 ) b.x1 = maxX[label]+1;
+			if( maxY[label]+1 > b.y1 ) b.y1 = maxY[label]+1;
+			b.sumX += sumX[label];
+			b.sumY += sumY[label];
+			b.sumXX += sumXX[label];
+			b.sumXY += sumXY[label];
+			b.sumYY += sumYY[label];
+		}
+
+		private void declareStats( int length ) {
+			area = grow(area,length);
+			minX = grow(minX,length);
+			minY = grow(minY,length);
+			maxX = grow(maxX,length);
+			maxY = grow(maxY,length);
+			sumX = grow(sumX,length);
+			sumY = grow(sumY,length);
+			sumXX = grow(sumXX,length);
+			sumXY = grow(sumXY,length);
+			sumYY = grow(sumYY,length);
+		}
+
+		private static int[] grow( int a[] , int length ) {
+			int tmp[] = new int[length];
+			System.arraycopy(a,0,tmp,0,a.length);
+			return tmp;
+		}
+
+		private static long[] grow( long a[] , int length ) {
+			long tmp[] = new long[length];
+			System.arraycopy(a,0,tmp,0,a.length);
+			return tmp;
+		}
+
+		private int find( int label ) {
+			while( parent[label] != label ) {
+				parent[label] = parent[parent[label]];
+				label = parent[label];
+			}
+			return label;
+		}
+
+		public void union( int a , int b ) {
+			a = find(a);
+			b = find(b);
+			if( a < b )
+				parent[b] = a;
+			else if( b < a )
+				parent[a] = b;
+		}
+	}
+}
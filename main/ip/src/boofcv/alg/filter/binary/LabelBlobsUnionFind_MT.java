@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link LabelBlobsUnionFind}.  The image is split into one strip of rows for each
+ * thread.  Each strip is labeled and later relabeled in its own thread.  Combining the equivalence tables and
+ * merging along strip boundaries is done in the calling thread, but only touches one row per strip and the
+ * table of provisional labels.  The output is identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LabelBlobsUnionFind_MT extends LabelBlobsUnionFind {
+
+	/**
+	 * Minimum number of rows in a strip.
+	 */
+	public static int MIN_STRIP = 32;
+
+	public LabelBlobsUnionFind_MT(boolean rule8) {
+		super(rule8);
+	}
+
+	@Override
+	protected int selectNumberOfStrips( int height ) {
+		return Math.max(1,Math.min(BoofConcurrency.getMaxThreads(),height/MIN_STRIP));
+	}
+
+	@Override
+	protected void labelStrips( final ImageUInt8 input , final ImageSInt32 output , final boolean computeStats ) {
+		BoofConcurrency.loopTasks(numStrips,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ )
+					label(input,output,strips.get(i),computeStats);
+			}
+		});
+	}
+
+	@Override
+	protected void relabelStrips( final ImageSInt32 output ) {
+		BoofConcurrency.loopTasks(numStrips,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ )
+					relabel(output,strips.get(i));
+			}
+		});
+	}
+}
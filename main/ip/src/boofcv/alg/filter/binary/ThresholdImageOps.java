@@ -20,6 +20,9 @@ package boofcv.alg.filter.binary;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;
+import boofcv.alg.filter.binary.impl.ImplThresholdLocal;
+import boofcv.alg.filter.binary.impl.ImplThresholdLocal_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.*;
 
@@ -240,6 +243,67 @@ public class ThresholdImageOps {
 		return BoofMiscOps.countNotZero(relabel,relabel.length);
 	}
 
+	/**
+	 * <p>
+	 * Thresholds the image using a locally adaptive threshold that is computed using the local mean around
+	 * each pixel, threshold = scale*mean.  The local region is a square with a width of 2*radius+1 that is
+	 * truncated at the image border.  Computation time per pixel is independent of the radius.  Useful
+	 * when lighting across the image is uneven.  See {@link ImplThresholdLocal}.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Must be zero or more.
+	 * @param scale The threshold is the local mean multiplied by this value.  Typically close to 1.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localMean( ImageFloat32 input , ImageUInt8 output ,
+										int radius , float scale , boolean down )
+	{
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be zero or more");
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplThresholdLocal_MT.mean(input,output,radius,scale,down);
+		else
+			ImplThresholdLocal.mean(input,output,radius,scale,down);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Thresholds the image using Sauvola's locally adaptive threshold, which is computed from the local mean
+	 * and standard deviation around each pixel, threshold = mean*(1 + k*(stdev/128 - 1)).  Pixel values are
+	 * assumed to be from 0 to 255.  The local region is a square with a width of 2*radius+1 that is
+	 * truncated at the image border.  Computation time per pixel is independent of the radius.
+	 * See {@link ImplThresholdLocal}.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Must be zero or more.
+	 * @param k Positive parameter which adjusts the threshold by the local standard deviation.  Typically 0.2 to 0.5
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localSauvola( ImageFloat32 input , ImageUInt8 output ,
+										   int radius , float k , boolean down )
+	{
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be zero or more");
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplThresholdLocal_MT.sauvola(input,output,radius,k,down);
+		else
+			ImplThresholdLocal.sauvola(input,output,radius,k,down);
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  Pixels which are
 	 * considered in the set defined by the threshold are set to 1, all others
@@ -644,6 +708,67 @@ public class ThresholdImageOps {
 		return BoofMiscOps.countNotZero(relabel,relabel.length);
 	}
 
+	/**
+	 * <p>
+	 * Thresholds the image using a locally adaptive threshold that is computed using the local mean around
+	 * each pixel, threshold = scale*mean.  The local region is a square with a width of 2*radius+1 that is
+	 * truncated at the image border.  Computation time per pixel is independent of the radius.  Useful
+	 * when lighting across the image is uneven.  See {@link ImplThresholdLocal}.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Must be zero or more.
+	 * @param scale The threshold is the local mean multiplied by this value.  Typically close to 1.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localMean( ImageUInt8 input , ImageUInt8 output ,
+										int radius , float scale , boolean down )
+	{
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be zero or more");
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplThresholdLocal_MT.mean(input,output,radius,scale,down);
+		else
+			ImplThresholdLocal.mean(input,output,radius,scale,down);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Thresholds the image using Sauvola's locally adaptive threshold, which is computed from the local mean
+	 * and standard deviation around each pixel, threshold = mean*(1 + k*(stdev/128 - 1)).  Pixel values are
+	 * assumed to be from 0 to 255.  The local region is a square with a width of 2*radius+1 that is
+	 * truncated at the image border.  Computation time per pixel is independent of the radius.
+	 * See {@link ImplThresholdLocal}.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Must be zero or more.
+	 * @param k Positive parameter which adjusts the threshold by the local standard deviation.  Typically 0.2 to 0.5
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localSauvola( ImageUInt8 input , ImageUInt8 output ,
+										   int radius , float k , boolean down )
+	{
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be zero or more");
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplThresholdLocal_MT.sauvola(input,output,radius,k,down);
+		else
+			ImplThresholdLocal.sauvola(input,output,radius,k,down);
+
+		return output;
+	}
+
 	/**
 	 * Applies a global threshold across the whole image.  Pixels which are
 	 * considered in the set defined by the threshold are set to 1, all others
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Local adaptive thresholding where each pixel's threshold is computed from the statistics of the square region
+ * around it.  The region has a width of 2*radius+1 and is truncated at the image border.  The local sum and sum of
+ * squares are found using sliding box sums, the same approach as {@link boofcv.alg.filter.convolve.noborder.ImplConvolveMean},
+ * but are fused with thresholding so that no intermediate mean image is created.  A sum for each column in the
+ * region is updated once per row by adding the row entering the region and subtracting the row leaving it.  The
+ * region's sum is then updated once per pixel by adding and subtracting a column sum.  The cost per pixel is
+ * constant and independent of the radius.
+ * </p>
+ *
+ * <p>
+ * Two methods for computing the threshold are provided:
+ * <ul>
+ * <li>Mean: threshold = scale*mean</li>
+ * <li>Sauvola: threshold = mean*(1 + k*(stdev/R - 1)), where R = {@link #SAUVOLA_R}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * J. Sauvola and M. Pietikainen, "Adaptive document image binarization," Pattern Recognition, vol. 33, 2000
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplThresholdLocal {
+
+	/**
+	 * Dynamic range of the standard deviation used by Sauvola, assumes pixel values from 0 to 255
+	 */
+	public static final float SAUVOLA_R = 128;
+
+	/**
+	 * Floating point column sums are recomputed at rows which are a multiple of this value times a factor
+	 * that depends on the radius.  See {@link #syncPeriod(int)}.
+	 */
+	public static final int SYNC_ROWS = 16;
+
+	/**
+	 * Number of rows between the rows where floating point column sums are recomputed.  It is a multiple of
+	 * {@link #SYNC_ROWS} which is larger than the region's height, so recomputing the sums adds no more than
+	 * one row of work per row on average.
+	 *
+	 * @param radius Radius of the square region.
+	 * @return Number of rows
+	 */
+	public static int syncPeriod( int radius ) {
+		return SYNC_ROWS*(1 + (2*radius+1)/SYNC_ROWS);
+	}
+
+	/**
+	 * Thresholds the image using the local mean.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. Modified.
+	 * @param radius Radius of the square region.
+	 * @param scale The threshold is the local mean multiplied by this value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 */
+	public static void mean( ImageUInt8 input , ImageUInt8 output , int radius , float scale , boolean down ) {
+		process(input, output, radius, false, scale, down, 0, input.height);
+	}
+
+	/**
+	 * Thresholds the image using Sauvola's method.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. Modified.
+	 * @param radius Radius of the square region.
+	 * @param k Positive parameter which adjusts the threshold by the local standard deviation.  Typically 0.2 to 0.5
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 */
+	public static void sauvola( ImageUInt8 input , ImageUInt8 output , int radius , float k , boolean down ) {
+		process(input, output, radius, true, k, down, 0, input.height);
+	}
+
+	/**
+	 * See {@link #mean(ImageUInt8, ImageUInt8, int, float, boolean)}
+	 */
+	public static void mean( ImageFloat32 input , ImageUInt8 output , int radius , float scale , boolean down ) {
+		process(input, output, radius, false, scale, down, 0, input.height);
+	}
+
+	/**
+	 * See {@link #sauvola(ImageUInt8, ImageUInt8, int, float, boolean)}
+	 */
+	public static void sauvola( ImageFloat32 input , ImageUInt8 output , int radius , float k , boolean down ) {
+		process(input, output, radius, true, k, down, 0, input.height);
+	}
+
+	/**
+	 * Thresholds the rows from y0 to y1.  Column sums are initialized from the rows around y0, which allows
+	 * different bands of rows to be processed independently.
+	 *
+	 * @param sauvola If true Sauvola's method is used, otherwise the local mean
+	 * @param param Either scale for the mean or k for Sauvola
+	 * @param y0 First row. Inclusive.
+	 * @param y1 Last row. Exclusive.
+	 */
+	public static void process( ImageUInt8 input , ImageUInt8 output , int radius ,
+								boolean sauvola , float param , boolean down ,
+								int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+
+		// sums of squares and the region's sum use longs, since they can exceed the range of an int
+		// for large regions
+		int colSum[] = new int[ width ];
+		long colSumSq[] = sauvola ? new long[ width ] : null;
+
+		// rows in the region of the first row
+		int top = Math.max(0,y0-radius);
+		int bottom = Math.min(height,y0+radius+1);
+		for( int y = top; y < bottom; y++ ) {
+			addRow(input, y, colSum, colSumSq, 1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 ) {
+				if( y+radius < height )
+					addRow(input, y+radius, colSum, colSumSq, 1);
+				if( y-radius-1 >= 0 )
+					addRow(input, y-radius-1, colSum, colSumSq, -1);
+			}
+			int rows = Math.min(height,y+radius+1) - Math.max(0,y-radius);
+
+			long sum = 0;
+			long sumSq = 0;
+			int end = Math.min(width,radius+1);
+			for( int x = 0; x < end; x++ ) {
+				sum += colSum[x];
+				if( sauvola ) sumSq += colSumSq[x];
+			}
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				if( x > 0 ) {
+					int xa = x+radius, xr = x-radius-1;
+					if( xa < width ) {
+						sum += colSum[xa];
+						if( sauvola ) sumSq += colSumSq[xa];
+					}
+					if( xr >= 0 ) {
+						sum -= colSum[xr];
+						if( sauvola ) sumSq -= colSumSq[xr];
+					}
+				}
+				int count = rows*(Math.min(width,x+radius+1) - Math.max(0,x-radius));
+
+				float threshold = sauvola ?
+						thresholdSauvola(sum, sumSq, count, param) : (float)(param*(double)sum/count);
+
+				int value = input.data[indexIn++] & 0xFF;
+				if( down )
+					output.data[indexOut++] = (byte)(value <= threshold ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value >= threshold ? 1 : 0);
+			}
+		}
+	}
+
+	/**
+	 * See {@link #process(ImageUInt8, ImageUInt8, int, boolean, float, boolean, int, int)}.  To produce the same
+	 * output as processing the whole image, y0 must be a multiple of {@link #syncPeriod(int)}.
+	 */
+	public static void process( ImageFloat32 input , ImageUInt8 output , int radius ,
+								boolean sauvola , float param , boolean down ,
+								int y0 , int y1 ) {
+		final int width = input.width;
+		final int height = input.height;
+
+		final int period = syncPeriod(radius);
+
+		double colSum[] = new double[ width ];
+		double colSumSq[] = sauvola ? new double[ width ] : null;
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y == y0 || y % period == 0 ) {
+				// recompute the sums from scratch using the rows in the region
+				for( int x = 0; x < width; x++ ) {
+					colSum[x] = 0;
+					if( sauvola ) colSumSq[x] = 0;
+				}
+				int top = Math.max(0,y-radius);
+				int bottom = Math.min(height,y+radius+1);
+				for( int i = top; i < bottom; i++ ) {
+					addRow(input, i, colSum, colSumSq, 1);
+				}
+			} else {
+				if( y+radius < height )
+					addRow(input, y+radius, colSum, colSumSq, 1);
+				if( y-radius-1 >= 0 )
+					addRow(input, y-radius-1, colSum, colSumSq, -1);
+			}
+			int rows = Math.min(height,y+radius+1) - Math.max(0,y-radius);
+
+			double sum = 0;
+			double sumSq = 0;
+			int end = Math.min(width,radius+1);
+			for( int x = 0; x < end; x++ ) {
+				sum += colSum[x];
+				if( sauvola ) sumSq += colSumSq[x];
+			}
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				if( x > 0 ) {
+					int xa = x+radius, xr = x-radius-1;
+					if( xa < width ) {
+						sum += colSum[xa];
+						if( sauvola ) sumSq += colSumSq[xa];
+					}
+					if( xr >= 0 ) {
+						sum -= colSum[xr];
+						if( sauvola ) sumSq -= colSumSq[xr];
+					}
+				}
+				int count = rows*(Math.min(width,x+radius+1) - Math.max(0,x-radius));
+
+				float threshold = sauvola ?
+						thresholdSauvola(sum, sumSq, count, param) : (float)(param*sum/count);
+
+				float value = input.data[indexIn++];
+				if( down )
+					output.data[indexOut++] = (byte)(value <= threshold ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value >= threshold ? 1 : 0);
+			}
+		}
+	}
+
+	/**
+	 * Computes Sauvola's threshold from the region's statistics
+	 */
+	public static float thresholdSauvola( double sum , double sumSq , int count , float k ) {
+		double mean = sum/count;
+		double variance = sumSq/count - mean*mean;
+		double stdev = variance > 0 ? Math.sqrt(variance) : 0;
+		return (float)(mean*(1.0 + k*(stdev/SAUVOLA_R - 1.0)));
+	}
+
+	/**
+	 * Adds or subtracts a row from the column sums
+	 */
+	private static void addRow( ImageUInt8 input , int y , int colSum[] , long colSumSq[] , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		if( colSumSq == null ) {
+			for( int x = 0; x < input.width; x++ ) {
+				colSum[x] += sign*(input.data[index++] & 0xFF);
+			}
+		} else {
+			for( int x = 0; x < input.width; x++ ) {
+				int v = input.data[index++] & 0xFF;
+				colSum[x] += sign*v;
+				colSumSq[x] += sign*v*v;
+			}
+		}
+	}
+
+	/**
+	 * Adds or subtracts a row from the column sums
+	 */
+	private static void addRow( ImageFloat32 input , int y , double colSum[] , double colSumSq[] , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		if( colSumSq == null ) {
+			for( int x = 0; x < input.width; x++ ) {
+				colSum[x] += sign*input.data[index++];
+			}
+		} else {
+			for( int x = 0; x < input.width; x++ ) {
+				double v = input.data[index++];
+				colSum[x] += sign*v;
+				colSumSq[x] += sign*v*v;
+			}
+		}
+	}
+}
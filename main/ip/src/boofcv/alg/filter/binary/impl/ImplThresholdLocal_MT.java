@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplThresholdLocal}.  The image is split into bands of rows and each band
+ * is processed in its own thread.  Each band computes its own column sums from the rows around it.  Integer sums
+ * are exact and floating point bands start at the rows where {@link ImplThresholdLocal} recomputes its sums,
+ * see {@link ImplThresholdLocal#syncPeriod(int)}, so the output is identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplThresholdLocal_MT {
+
+	/**
+	 * Minimum number of rows in a band.  Initializing the column sums for a band costs about as much as
+	 * processing radius rows.
+	 */
+	public static final int MIN_BAND = 32;
+
+	/**
+	 * Concurrent version of {@link ImplThresholdLocal#mean(ImageUInt8, ImageUInt8, int, float, boolean)}
+	 */
+	public static void mean( ImageUInt8 input , ImageUInt8 output , int radius , float scale , boolean down ) {
+		process(input, output, radius, false, scale, down);
+	}
+
+	/**
+	 * Concurrent version of {@link ImplThresholdLocal#sauvola(ImageUInt8, ImageUInt8, int, float, boolean)}
+	 */
+	public static void sauvola( ImageUInt8 input , ImageUInt8 output , int radius , float k , boolean down ) {
+		process(input, output, radius, true, k, down);
+	}
+
+	/**
+	 * Concurrent version of {@link ImplThresholdLocal#mean(ImageFloat32, ImageUInt8, int, float, boolean)}
+	 */
+	public static void mean( ImageFloat32 input , ImageUInt8 output , int radius , float scale , boolean down ) {
+		process(input, output, radius, false, scale, down);
+	}
+
+	/**
+	 * Concurrent version of {@link ImplThresholdLocal#sauvola(ImageFloat32, ImageUInt8, int, float, boolean)}
+	 */
+	public static void sauvola( ImageFloat32 input , ImageUInt8 output , int radius , float k , boolean down ) {
+		process(input, output, radius, true, k, down);
+	}
+
+	private static void process( final ImageUInt8 input , final ImageUInt8 output , final int radius ,
+								 final boolean sauvola , final float param , final boolean down ) {
+		BoofConcurrency.loopBlocks(0, input.height, Math.max(MIN_BAND,radius), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplThresholdLocal.process(input, output, radius, sauvola, param, down, y0, y1);
+			}
+		});
+	}
+
+	private static void process( final ImageFloat32 input , final ImageUInt8 output , final int radius ,
+								 final boolean sauvola , final float param , final boolean down ) {
+		// bands are made out of whole sync periods so that they start where the single threaded version
+		// recomputes its column sums
+		final int period = ImplThresholdLocal.syncPeriod(radius);
+		int numPeriods = (input.height + period - 1)/period;
+		int minPeriods = (Math.max(MIN_BAND,radius) + period - 1)/period;
+
+		BoofConcurrency.loopBlocks(0, numPeriods, minPeriods, new IntRangeTask() {
+			@Override
+			public void process(int p0, int p1) {
+				int y0 = p0*period;
+				int y1 = Math.min(input.height,p1*period);
+				ImplThresholdLocal.process(input, output, radius, sauvola, param, down, y0, y1);
+			}
+		});
+	}
+}
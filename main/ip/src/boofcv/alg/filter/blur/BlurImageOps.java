@@ -19,11 +19,14 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
@@ -31,13 +34,29 @@ import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 
 /**
+ * <p>
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
  * of noise in the image.
+ * </p>
+ *
+ * <p>
+ * Median filters switch to {@link ImplMedianHistogramConstant}, whose cost does not depend on the radius, once
+ * the radius is large enough for it to be faster.  If {@link BoofConcurrency#USE_CONCURRENT} is true then it is
+ * always used and the image is split into bands of rows which are processed in parallel.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class BlurImageOps {
 
+	/**
+	 * Radius at which the median filter for integer images switches to the constant time algorithm
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS_U8 = 6;
+	/**
+	 * Radius at which the median filter for floating point images switches to the constant time algorithm
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS_F32 = 2;
 
 	public static ImageUInt8 mean(ImageUInt8 input, ImageUInt8 output, int radius, ImageUInt8 storage) {
 
@@ -53,6 +72,15 @@ public class BlurImageOps {
 	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, int radius) {
 		output = InputSanityCheck.checkDeclare(input,output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ImplMedianHistogramConstant_MT.process(input, output, radius);
+			return output;
+		} else if( radius >= MEDIAN_CONSTANT_RADIUS_U8 || input.width < 2*radius+1 || input.height < 2*radius+1 ) {
+			// the histogram inner algorithm can't handle images which are smaller than the region
+			ImplMedianHistogramConstant.process(input, output, radius);
+			return output;
+		}
+
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
 		int histogram[] = new int[ 256 ];
@@ -90,7 +118,12 @@ public class BlurImageOps {
 	public static ImageFloat32 median(ImageFloat32 input, ImageFloat32 output, int radius) {
 		output = InputSanityCheck.checkDeclare(input,output);
 
-		ImplMedianSortNaive.process(input,output,radius,null);
+		if( BoofConcurrency.USE_CONCURRENT )
+			ImplMedianHistogramConstant_MT.process(input, output, radius);
+		else if( radius >= MEDIAN_CONSTANT_RADIUS_F32 )
+			ImplMedianHistogramConstant.process(input, output, radius);
+		else
+			ImplMedianSortNaive.process(input,output,radius,null);
 
 		return output;
 	}
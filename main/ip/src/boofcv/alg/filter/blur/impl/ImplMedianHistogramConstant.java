@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import pja.sorting.QuickSelectArray;
+
+/**
+ * <p>
+ * Median filter whose cost per pixel is independent of the filter's radius [1].  A histogram is maintained for each
+ * column of the image.  When moving down one row each column histogram has one pixel added and one removed.  The
+ * histogram for the filter region is then updated by adding the column histogram which is entering the region
+ * and subtracting the one which is leaving.  To make those updates cheap the histograms are split into 16 coarse
+ * bins and 256 fine bins.  Coarse bins are always kept up to date, while a segment of fine bins is only updated
+ * when the median falls inside of it, by adding and removing the columns which have changed since it was last used.
+ * </p>
+ *
+ * <p>
+ * Pixels along the image border are handled by shrinking the region so that it is contained inside the image,
+ * which produces the same output as {@link ImplMedianSortNaive}.  Only the rows from y0 to y1 are written to,
+ * allowing the image to be split into bands and processed in parallel.
+ * </p>
+ *
+ * <p>
+ * Floating point images are first quantized into 256 bins.  The histogram is used to find the bin containing the
+ * median and the median's rank inside that bin.  If every pixel in that bin has the same value the median is
+ * known, otherwise the pixels in the region which fall inside that bin are selected from.  The output is
+ * exactly the same as {@link ImplMedianSortNaive}.
+ * </p>
+ *
+ * <p>
+ * [1] Simon Perreault and Patrick Hebert, "Median Filtering in Constant Time" IEEE Trans. Image Processing, 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	/**
+	 * Applies a median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( ImageUInt8 input , ImageUInt8 output , int radius ) {
+		process(input,output,radius,0,input.height);
+	}
+
+	/**
+	 * Applies a median filter to the specified rows.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row which is processed. Inclusive.
+	 * @param y1 Last row which is processed. Exclusive.
+	 */
+	public static void process( ImageUInt8 input , final ImageUInt8 output , int radius , int y0 , int y1 ) {
+		process(input, radius, y0, y1, new Median() {
+			@Override
+			public void median(int x, int y, int bin, int rank) {
+				output.data[output.startIndex + y*output.stride + x] = (byte)bin;
+			}
+		});
+	}
+
+	/**
+	 * Applies a median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( ImageFloat32 input , ImageFloat32 output , int radius ) {
+		ImageUInt8 bins = new ImageUInt8(input.width,input.height);
+		float binMin[] = new float[256];
+		float binMax[] = new float[256];
+
+		quantize(input,bins,binMin,binMax);
+		process(input,bins,binMin,binMax,output,radius,0,input.height);
+	}
+
+	/**
+	 * Quantizes a floating point image into 256 bins whose order is the same as the order of the pixel values.
+	 * The smallest and largest value inside each bin is also found.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param bins (Output) Bin each pixel belongs to.  Same shape as the input.
+	 * @param binMin (Output) Smallest value in each bin.  256 elements.
+	 * @param binMax (Output) Largest value in each bin.  256 elements.
+	 */
+	public static void quantize( ImageFloat32 input , ImageUInt8 bins , float binMin[] , float binMax[] ) {
+		float min = Float.MAX_VALUE;
+		float max = -Float.MAX_VALUE;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			for( ; index < end; index++ ) {
+				float v = input.data[index];
+				if( v < min ) min = v;
+				if( v > max ) max = v;
+			}
+		}
+
+		for( int i = 0; i < 256; i++ ) {
+			binMin[i] = Float.MAX_VALUE;
+			binMax[i] = -Float.MAX_VALUE;
+		}
+
+		double range = (double)max - (double)min;
+		double scale = range > 0 && !Double.isInfinite(range) ? 256.0/range : 0;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int indexBin = bins.startIndex + y*bins.stride;
+			int end = index + input.width;
+			for( ; index < end; index++ , indexBin++ ) {
+				float v = input.data[index];
+				int b = (int)((v - min)*scale);
+				if( b > 255 ) b = 255;
+
+				bins.data[indexBin] = (byte)b;
+				if( v < binMin[b] ) binMin[b] = v;
+				if( v > binMax[b] ) binMax[b] = v;
+			}
+		}
+	}
+
+	/**
+	 * Applies a median filter to the specified rows.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param bins Quantized input image.  See {@link #quantize}.
+	 * @param binMin Smallest value in each bin.
+	 * @param binMax Largest value in each bin.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row which is processed. Inclusive.
+	 * @param y1 Last row which is processed. Exclusive.
+	 */
+	public static void process( final ImageFloat32 input , final ImageUInt8 bins ,
+								final float binMin[] , final float binMax[] ,
+								final ImageFloat32 output , final int radius , int y0 , int y1 ) {
+		int w = 2*radius+1;
+		final float storage[] = new float[ Math.min(w*w,input.width*input.height) ];
+
+		process(bins, radius, y0, y1, new Median() {
+			@Override
+			public void median(int x, int y, int bin, int rank) {
+				float value;
+				if( binMin[bin] == binMax[bin] ) {
+					value = binMin[bin];
+				} else {
+					// select from the pixels inside the region which are in the same bin
+					int minI = Math.max(0,y-radius);
+					int maxI = Math.min(input.height,y+radius+1);
+					int minJ = Math.max(0,x-radius);
+					int maxJ = Math.min(input.width,x+radius+1);
+
+					int N = 0;
+					for( int i = minI; i < maxI; i++ ) {
+						int indexBin = bins.startIndex + i*bins.stride + minJ;
+						int index = input.startIndex + i*input.stride + minJ;
+						for( int j = minJ; j < maxJ; j++ , index++ , indexBin++ ) {
+							if( (bins.data[indexBin] & 0xFF) == bin )
+								storage[N++] = input.data[index];
+						}
+					}
+					value = QuickSelectArray.select(storage,rank,N);
+				}
+				output.data[output.startIndex + y*output.stride + x] = value;
+			}
+		});
+	}
+
+	/**
+	 * Finds the bin which contains the median for every pixel in the specified rows.
+	 */
+	private static void process( ImageUInt8 input , int radius , int y0 , int y1 , Median result ) {
+		final int width = input.width;
+		final int height = input.height;
+
+		// histogram for each column
+		int colFine[] = new int[ width*256 ];
+		int colCoarse[] = new int[ width*16 ];
+
+		// histogram of the filter region
+		int fine[] = new int[ 256 ];
+		int coarse[] = new int[ 16 ];
+		// range of columns which each segment of the fine histogram was computed from.  inclusive
+		int segLo[] = new int[ 16 ];
+		int segHi[] = new int[ 16 ];
+
+		// initialize the column histograms
+		for( int y = Math.max(0,y0-radius); y < Math.min(height,y0+radius); y++ ) {
+			addRow(input,y,colFine,colCoarse,1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			// update the column histograms for this row
+			if( y-radius-1 >= 0 && y > y0 ) {
+				if( y+radius < height )
+					replaceRow(input,y-radius-1,y+radius,colFine,colCoarse);
+				else
+					addRow(input,y-radius-1,colFine,colCoarse,-1);
+			} else if( y+radius < height ) {
+				addRow(input,y+radius,colFine,colCoarse,1);
+			}
+
+			int rows = Math.min(height,y+radius+1) - Math.max(0,y-radius);
+
+			// initialize the region's histogram
+			for( int i = 0; i < 16; i++ ) {
+				coarse[i] = 0;
+				segLo[i] = 0;
+				segHi[i] = -1;
+			}
+			for( int x = 0; x < radius && x < width; x++ ) {
+				addCoarse(colCoarse,x,coarse,1);
+			}
+
+			for( int x = 0; x < width; x++ ) {
+				if( x - radius - 1 >= 0 ) {
+					if( x + radius < width )
+						replaceCoarse(colCoarse,x-radius-1,x+radius,coarse);
+					else
+						addCoarse(colCoarse,x-radius-1,coarse,-1);
+				} else if( x + radius < width ) {
+					addCoarse(colCoarse,x+radius,coarse,1);
+				}
+
+				int lo = Math.max(0,x-radius);
+				int hi = Math.min(width-1,x+radius);
+
+				// index of the median in the sorted list of pixels
+				int k = rows*(hi-lo+1)/2;
+
+				// find the coarse bin containing the median
+				int total = 0;
+				int b = 0;
+				while( total + coarse[b] <= k ) {
+					total += coarse[b++];
+				}
+
+				// bring the fine segment up to date
+				int offset = b*16;
+				if( lo > segHi[b] ) {
+					for( int i = 0; i < 16; i++ )
+						fine[offset+i] = 0;
+					for( int c = lo; c <= hi; c++ )
+						addFine(colFine,c,offset,fine,1);
+				} else {
+					for( int c = segLo[b]; c < lo; c++ )
+						addFine(colFine,c,offset,fine,-1);
+					for( int c = segHi[b]+1; c <= hi; c++ )
+						addFine(colFine,c,offset,fine,1);
+				}
+				segLo[b] = lo;
+				segHi[b] = hi;
+
+				// find the fine bin containing the median
+				int v = offset;
+				while( total + fine[v] <= k ) {
+					total += fine[v++];
+				}
+
+				result.median(x,y,v,k-total);
+			}
+		}
+	}
+
+	private static void addRow( ImageUInt8 input , int y , int colFine[] , int colCoarse[] , int amount ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int val = input.data[index++] & 0xFF;
+			colFine[x*256 + val] += amount;
+			colCoarse[x*16 + (val >> 4)] += amount;
+		}
+	}
+
+	/**
+	 * Removes row 'yRemove' from the column histograms and adds row 'yAdd'
+	 */
+	private static void replaceRow( ImageUInt8 input , int yRemove , int yAdd , int colFine[] , int colCoarse[] ) {
+		int indexRemove = input.startIndex + yRemove*input.stride;
+		int indexAdd = input.startIndex + yAdd*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int valRemove = input.data[indexRemove++] & 0xFF;
+			int valAdd = input.data[indexAdd++] & 0xFF;
+			if( valRemove != valAdd ) {
+				colFine[x*256 + valRemove]--;
+				colFine[x*256 + valAdd]++;
+				colCoarse[x*16 + (valRemove >> 4)]--;
+				colCoarse[x*16 + (valAdd >> 4)]++;
+			}
+		}
+	}
+
+	/**
+	 * Subtracts column 'xRemove' from the region's coarse histogram and adds column 'xAdd'
+	 */
+	private static void replaceCoarse( int colCoarse[] , int xRemove , int xAdd , int coarse[] ) {
+		int indexRemove = xRemove*16;
+		int indexAdd = xAdd*16;
+		for( int i = 0; i < 16; i++ ) {
+			coarse[i] += colCoarse[indexAdd+i] - colCoarse[indexRemove+i];
+		}
+	}
+
+	private static void addCoarse( int colCoarse[] , int x , int coarse[] , int amount ) {
+		int index = x*16;
+		for( int i = 0; i < 16; i++ ) {
+			coarse[i] += amount*colCoarse[index+i];
+		}
+	}
+
+	private static void addFine( int colFine[] , int x , int offset , int fine[] , int amount ) {
+		int index = x*256 + offset;
+		for( int i = 0; i < 16; i++ ) {
+			fine[offset+i] += amount*colFine[index+i];
+		}
+	}
+
+	/**
+	 * Receives the location of the median inside the histogram
+	 */
+	private static abstract class Median {
+		/**
+		 * @param bin Histogram bin which contains the median.
+		 * @param rank Number of pixels inside the bin which come before the median.
+		 */
+		public abstract void median( int x , int y , int bin , int rank );
+	}
+}
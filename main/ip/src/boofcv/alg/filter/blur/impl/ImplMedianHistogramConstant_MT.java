@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplMedianHistogramConstant}.  The image is split into bands of rows
+ * and each band is processed in its own thread.  Each band builds its own column histograms from the rows
+ * around it, so the output is identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant_MT {
+
+	/**
+	 * Minimum number of rows in a band.  Initializing the column histograms for a band costs
+	 * about as much as processing radius rows.
+	 */
+	public static final int MIN_BAND = 32;
+
+	/**
+	 * Concurrent version of {@link ImplMedianHistogramConstant#process(ImageUInt8, ImageUInt8, int)}
+	 */
+	public static void process( final ImageUInt8 input , final ImageUInt8 output , final int radius ) {
+		BoofConcurrency.loopBlocks(0, input.height, Math.max(MIN_BAND,radius), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplMedianHistogramConstant.process(input, output, radius, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Concurrent version of {@link ImplMedianHistogramConstant#process(ImageFloat32, ImageFloat32, int)}
+	 */
+	public static void process( final ImageFloat32 input , final ImageFloat32 output , final int radius ) {
+		final ImageUInt8 bins = new ImageUInt8(input.width,input.height);
+		final float binMin[] = new float[256];
+		final float binMax[] = new float[256];
+
+		ImplMedianHistogramConstant.quantize(input, bins, binMin, binMax);
+
+		BoofConcurrency.loopBlocks(0, input.height, Math.max(MIN_BAND,radius), new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplMedianHistogramConstant.process(input, bins, binMin, binMax, output, radius, y0, y1);
+			}
+		});
+	}
+}
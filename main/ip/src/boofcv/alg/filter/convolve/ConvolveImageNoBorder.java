@@ -20,6 +20,7 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -44,6 +45,11 @@ import boofcv.struct.image.*;
  * handle image edges specialized functions are provided.
  * </p>
  *
+ * <p>
+ * Concurrency: If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is split into bands of rows
+ * which are processed in parallel by {@link ConvolveImageNoBorder_MT}.  Output is identical.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"ForLoopReplaceableByForEach"})
@@ -64,6 +70,11 @@ public class ConvolveImageNoBorder {
 								  boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, includeVerticalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -83,6 +94,11 @@ public class ConvolveImageNoBorder {
 								  ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor, includeVerticalBorder);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input,  output, divisor, includeVerticalBorder);
 	}
@@ -101,6 +117,11 @@ public class ConvolveImageNoBorder {
 								  ImageUInt8 input,  ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, includeVerticalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input,  output, includeVerticalBorder);
 	}
@@ -119,6 +140,11 @@ public class ConvolveImageNoBorder {
 								  ImageUInt8 input, ImageSInt32 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, includeVerticalBorder);
+			return;
+		}
+
 		// todo add unroll
 		ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -137,6 +163,11 @@ public class ConvolveImageNoBorder {
 								  ImageSInt16 input, ImageInt16 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, includeVerticalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output, includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
@@ -156,6 +187,11 @@ public class ConvolveImageNoBorder {
 								  ImageSInt16 input, ImageInt16 output, int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor, includeVerticalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor , includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
 	}
@@ -175,6 +211,11 @@ public class ConvolveImageNoBorder {
 								  ImageSInt32 input, ImageSInt32 output, int divisor, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor, includeVerticalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor , includeVerticalBorder))
 			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
 	}
@@ -194,6 +235,11 @@ public class ConvolveImageNoBorder {
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, includeHorizontalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -213,6 +259,11 @@ public class ConvolveImageNoBorder {
 								ImageUInt8 input,  ImageInt8 output, int divisor, boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor, includeHorizontalBorder);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, divisor, includeHorizontalBorder);
 	}
@@ -232,6 +283,11 @@ public class ConvolveImageNoBorder {
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, includeHorizontalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -251,6 +307,11 @@ public class ConvolveImageNoBorder {
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, includeHorizontalBorder);
+			return;
+		}
+
 		// todo add unroll
 		ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -270,6 +331,11 @@ public class ConvolveImageNoBorder {
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, includeHorizontalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output, includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
@@ -290,6 +356,11 @@ public class ConvolveImageNoBorder {
 								int divisor , boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor, includeHorizontalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input,  output, divisor , includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, divisor , includeHorizontalBorder);
 	}
@@ -310,6 +381,11 @@ public class ConvolveImageNoBorder {
 								int divisor , boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor, includeHorizontalBorder);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input,  output, divisor , includeHorizontalBorder))
 			ConvolveImageStandard.vertical(kernel, input,  output, divisor , includeHorizontalBorder);
 	}
@@ -324,6 +400,11 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -340,6 +421,11 @@ public class ConvolveImageNoBorder {
 								ImageUInt8 input,  ImageInt8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
 			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
 	}
@@ -354,6 +440,11 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -368,6 +459,11 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		// todo add unrolled
 		ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -382,6 +478,11 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
 			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
@@ -397,6 +498,11 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
 			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
 	}
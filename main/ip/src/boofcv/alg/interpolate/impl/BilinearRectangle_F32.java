@@ -60,6 +60,11 @@ public class BilinearRectangle_F32 implements InterpolateRectangle<ImageFloat32>
 		return orig;
 	}
 
+	@Override
+	public BilinearRectangle_F32 copy() {
+		return new BilinearRectangle_F32();
+	}
+
 	@Override
 	public void region(float lt_x, float tl_y, ImageFloat32 output ) {
 		int xt = (int) lt_x;
@@ -61,6 +61,11 @@ public class BilinearRectangle_S16 implements InterpolateRectangle<ImageSInt16>
 		return orig;
 	}
 
+	@Override
+	public BilinearRectangle_S16 copy() {
+		return new BilinearRectangle_S16();
+	}
+
 	@Override
 	public void region(float lt_x, float tl_y, ImageFloat32 output ) {
 		int xt = (int) lt_x;
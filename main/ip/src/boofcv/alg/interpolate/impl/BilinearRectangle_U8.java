@@ -61,6 +61,11 @@ public class BilinearRectangle_U8 implements InterpolateRectangle<ImageUInt8> {
 		return orig;
 	}
 
+	@Override
+	public BilinearRectangle_U8 copy() {
+		return new BilinearRectangle_U8();
+	}
+
 	@Override
 	public void region(float lt_x, float tl_y, ImageFloat32 output ) {
 		int xt = (int) lt_x;
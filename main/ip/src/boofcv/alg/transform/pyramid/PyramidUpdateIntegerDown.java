@@ -47,7 +47,13 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 	GenericConvolveDown<T,T> horizontal;
 	GenericConvolveDown<T,T> vertical;
 
+	// blur kernel and type of image being processed
+	protected Kernel1D kernel;
+	protected Class<T> imageType;
+
 	public PyramidUpdateIntegerDown(Kernel1D kernel, Class<T> imageType ) {
+		this.kernel = kernel;
+		this.imageType = imageType;
 
 		horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
 				BorderType.NORMALIZED,true,1);
@@ -58,7 +64,17 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 
 	@Override
 	public void update(T input , PyramidDiscrete<T> pyramid ) {
+		initialize(input,pyramid);
+
+		for (int index = 0; index < pyramid.getNumLayers(); index++) {
+			updateLayer(input,pyramid,index);
+		}
+	}
 
+	/**
+	 * Initializes the pyramid and internal storage for the input image
+	 */
+	protected void initialize(T input , PyramidDiscrete<T> pyramid ) {
 		if( !pyramid.isInitialized() ||
 				pyramid.getInputWidth() != input.width ||
 				pyramid.getInputHeight() != input.height )
@@ -67,25 +83,34 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 		if( temp == null )
 			// declare it to be the latest image that it might need to be, resize below
 			temp = (T)input._createNew(input.width/2,input.height);
+	}
 
-		if (pyramid.scale[0] == 1) {
-			if (pyramid.isSaveOriginalReference()) {
-				pyramid.setFirstLayer(input);
+	/**
+	 * Computes the specified layer from the layer below it, or from the input image for the first layer.
+	 *
+	 * @param input Original full resolution image.
+	 * @param pyramid The pyramid which is being updated.
+	 * @param index Index of the layer being computed.
+	 */
+	protected void updateLayer(T input , PyramidDiscrete<T> pyramid , int index ) {
+		if( index == 0 ) {
+			if (pyramid.scale[0] == 1) {
+				if (pyramid.isSaveOriginalReference()) {
+					pyramid.setFirstLayer(input);
+				} else {
+					pyramid.getLayer(0).setTo(input);
+				}
 			} else {
-				pyramid.getLayer(0).setTo(input);
-			}
-		} else {
-			int skip = pyramid.scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+				int skip = pyramid.scale[0];
 
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,pyramid.getLayer(0));
-		}
+				horizontal.setSkip(skip);
+				vertical.setSkip(skip);
 
-		for (int index = 1; index < pyramid.getNumLayers(); index++) {
+				temp.reshape(input.width/skip,input.height);
+				horizontal.process(input,temp);
+				vertical.process(temp,pyramid.getLayer(0));
+			}
+		} else {
 			int skip = pyramid.scale[index]/pyramid.scale[index-1];
 			T prev = pyramid.getLayer(index-1);
 			temp.reshape(prev.width/skip,prev.height);
@@ -98,4 +123,11 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 		}
 	}
 
+	public Kernel1D getKernel() {
+		return kernel;
+	}
+
+	public Class<T> getImageType() {
+		return imageType;
+	}
 }
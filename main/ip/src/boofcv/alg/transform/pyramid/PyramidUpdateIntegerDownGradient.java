@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+/**
+ * <p>
+ * Extension of {@link PyramidUpdateIntegerDown} which computes the image gradient of each layer while the pyramid
+ * is being updated.  This avoids a second pass through the pyramid, as is done by
+ * {@link PyramidOps#gradient}, and allows the work to be pipelined.  Each layer only depends on the layer below it,
+ * so while layer i is being down sampled the gradient of layer i-1 is computed.  If
+ * {@link BoofConcurrency#USE_CONCURRENT} is true then those two steps are run in parallel.
+ * </p>
+ *
+ * <p>
+ * The derivative pyramids are specified using {@link #setDerivatives}.  If they have not been specified then
+ * only the image pyramid is updated.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidUpdateIntegerDownGradient<T extends ImageSingleBand, D extends ImageSingleBand>
+		extends PyramidUpdateIntegerDown<T>
+{
+	// computes the gradient of each layer
+	protected ImageGradient<T,D> gradient;
+
+	// pyramids where the gradient is written to
+	protected ImagePyramid<D> derivX;
+	protected ImagePyramid<D> derivY;
+
+	// down samples one layer while the gradient of the previous layer is computed
+	private PipelineTask pipeline = new PipelineTask();
+
+	public PyramidUpdateIntegerDownGradient(Kernel1D kernel, Class<T> imageType, ImageGradient<T, D> gradient) {
+		super(kernel, imageType);
+		this.gradient = gradient;
+	}
+
+	/**
+	 * Specifies where the gradient of each layer is saved.  Can be null.  Every call to {@link #update} writes
+	 * into these pyramids, so an instance should not be shared by users which need different derivatives.
+	 *
+	 * @param derivX Pyramid where x-derivative is stored.
+	 * @param derivY Pyramid where y-derivative is stored.
+	 */
+	public void setDerivatives(ImagePyramid<D> derivX, ImagePyramid<D> derivY) {
+		this.derivX = derivX;
+		this.derivY = derivY;
+	}
+
+	@Override
+	public void update(T input, PyramidDiscrete<T> pyramid) {
+		if( derivX == null || derivY == null ) {
+			super.update(input,pyramid);
+			return;
+		}
+
+		initialize(input,pyramid);
+		initializeDerivative(pyramid,derivX);
+		initializeDerivative(pyramid,derivY);
+
+		pipeline.input = input;
+		pipeline.pyramid = pyramid;
+
+		updateLayer(input,pyramid,0);
+		for( int index = 1; index < pyramid.getNumLayers(); index++ ) {
+			pipeline.index = index;
+			if( BoofConcurrency.USE_CONCURRENT ) {
+				BoofConcurrency.loopTasks(2,pipeline);
+			} else {
+				pipeline.process(0,2);
+			}
+		}
+		computeGradient(pyramid,pyramid.getNumLayers()-1);
+
+		pipeline.input = null;
+		pipeline.pyramid = null;
+	}
+
+	private void initializeDerivative( PyramidDiscrete<T> pyramid , ImagePyramid<D> deriv ) {
+		if( !deriv.isInitialized() ||
+				deriv.getInputWidth() != pyramid.getInputWidth() ||
+				deriv.getInputHeight() != pyramid.getInputHeight() )
+			deriv.initialize(pyramid.getInputWidth(),pyramid.getInputHeight());
+	}
+
+	private void computeGradient( PyramidDiscrete<T> pyramid , int index ) {
+		gradient.process(pyramid.getLayer(index),derivX.getLayer(index),derivY.getLayer(index));
+	}
+
+	public ImageGradient<T, D> getGradient() {
+		return gradient;
+	}
+
+	public ImagePyramid<D> getDerivX() {
+		return derivX;
+	}
+
+	public ImagePyramid<D> getDerivY() {
+		return derivY;
+	}
+
+	/**
+	 * Task 0 computes layer 'index' and task 1 computes the gradient of layer 'index-1'.
+	 */
+	private class PipelineTask implements IntRangeTask {
+		T input;
+		PyramidDiscrete<T> pyramid;
+		int index;
+
+		@Override
+		public void process(int start, int end) {
+			for( int task = start; task < end; task++ ) {
+				if( task == 0 )
+					updateLayer(input,pyramid,index);
+				else
+					computeGradient(pyramid,index-1);
+			}
+		}
+	}
+}
@@ -18,9 +18,11 @@
 
 package boofcv.factory.transform.pyramid;
 
+import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.interpolate.InterpolatePixel;
 import boofcv.alg.transform.pyramid.PyramidUpdateGaussianScale;
 import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDown;
+import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDownGradient;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
@@ -54,6 +56,27 @@ public class FactoryPyramid {
 		return new PyramidUpdateIntegerDown<T>(FactoryKernelGaussian.gaussian(kernelType,sigma,radius),imageType);
 	}
 
+	/**
+	 * Creates an updater for discrete pyramids where a Gaussian is convolved across the input
+	 * prior to sub-sampling.  The gradient of each layer is computed while the pyramid is updated
+	 * and saved into the pyramids specified by {@link PyramidUpdateIntegerDownGradient#setDerivatives}.
+	 *
+	 * @param imageType Type of input image.
+	 * @param sigma Gaussian sigma.  If < 0 then a sigma is selected using the radius.
+	 * @param radius Radius of the Gaussian kernel.  If < 0 then the radius is selected using sigma.
+	 * @param gradient Computes the gradient of each layer.
+	 * @return PyramidUpdateIntegerDownGradient
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	PyramidUpdateIntegerDownGradient<T,D> discreteGaussian( Class<T> imageType , double sigma , int radius ,
+															ImageGradient<T,D> gradient ) {
+
+		Class<Kernel1D> kernelType = FactoryKernel.getKernelType(imageType,1);
+
+		return new PyramidUpdateIntegerDownGradient<T,D>(
+				FactoryKernelGaussian.gaussian(kernelType,sigma,radius),imageType,gradient);
+	}
+
 	/**
 	 * Creates an updater for float pyramids where each layer is blurred using a Gaussian with the specified
 	 * sigma.  Bilinear interpolation is used when sub-sampling.
@@ -19,6 +19,10 @@
 package boofcv.misc;
 
 /**
+ * Simple in-process timing of an operation.  Useful for quick comparisons while developing.  For tracking
+ * runtime performance between releases use the benchmark suite in the 'benchmark' module instead, which
+ * forks a new VM for each measurement and can save and compare results.
+ *
  * @author Peter Abeles
  */
 public class ProfileOperation {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit and 64 pixels are packed into a long.  Pixel (x,y) is
+ * stored in bit (x % 64) of word (y*stride + x/64).  Bits in the last word of each row which are past the
+ * image's width are always zero.  Uses 8x less memory than an {@link ImageUInt8} binary image and operations
+ * in {@link boofcv.alg.filter.binary.BinaryPackedOps} process 64 pixels at once.
+ * </p>
+ *
+ * <p>
+ * Unlike other image types sub-images are not supported, since a sub-image would not start on a word boundary.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBinaryPacked {
+	/**
+	 * Number of columns in the image.
+	 */
+	public int width;
+	/**
+	 * Number of rows in the image.
+	 */
+	public int height;
+	/**
+	 * Number of words in each row
+	 */
+	public int stride;
+
+	/**
+	 * Packed pixel values
+	 */
+	public long data[] = new long[0];
+
+	/**
+	 * Creates a new binary image with all pixels set to zero
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBinaryPacked(int width, int height) {
+		reshape(width,height);
+	}
+
+	public ImageBinaryPacked() {
+	}
+
+	/**
+	 * Changes the shape of the image.  The data array is only declared again if it is too small.
+	 * Pixel values are not defined after the shape changes, but bits past the image's width are cleared.
+	 */
+	public void reshape(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = (width+63)/64;
+
+		if( data.length < stride*height ) {
+			data = new long[ stride*height ];
+		} else {
+			// the data array is reused, so old pixels could now be outside the image
+			long mask = getLastWordMask();
+			if( mask != -1L ) {
+				for( int index = stride-1; index < stride*height; index += stride )
+					data[index] &= mask;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of the specified pixel, 0 or 1.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		return (int)(data[ y*stride + (x >> 6) ] >>> (x & 63)) & 1;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any value other than zero is treated as one.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		int index = y*stride + (x >> 6);
+		long bit = 1L << (x & 63);
+		if( value != 0 )
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	public final boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Mask for the last word in each row which has a bit set for each pixel which is inside the image.
+	 */
+	public long getLastWordMask() {
+		int r = width & 63;
+		return r == 0 ? -1L : (1L << r) - 1;
+	}
+
+	public ImageBinaryPacked clone() {
+		ImageBinaryPacked ret = new ImageBinaryPacked(width,height);
+		System.arraycopy(data,0,ret.data,0,stride*height);
+		return ret;
+	}
+}
@@ -242,6 +242,32 @@ public class TestBinaryImageOps {
 		assertEquals(1,ret.get(4).size());
 	}
 
+	@Test
+	public void labelToClusters_stats() {
+		ImageUInt8 input = new ImageUInt8(30,25);
+		GeneralizedImageOps.randomize(input,rand,0,2);
+		ImageSInt32 labels = new ImageSInt32(30,25);
+
+		FastQueue<BlobStatistics> stats = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+		int numLabels = BinaryImageOps.labelBlobs8(input,labels,stats);
+		assertEquals(numLabels,stats.size);
+
+		List<List<Point2D_I32>> expected = BinaryImageOps.labelToClusters(labels,numLabels,null);
+		List<List<Point2D_I32>> found = BinaryImageOps.labelToClusters(labels,stats,null);
+
+		assertEquals(expected.size(),found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			List<Point2D_I32> e = expected.get(i);
+			List<Point2D_I32> f = found.get(i);
+			assertEquals(e.size(),f.size());
+			assertEquals(e.size(),stats.get(i).area);
+			for( int j = 0; j < e.size(); j++ ) {
+				assertEquals(e.get(j).x,f.get(j).x);
+				assertEquals(e.get(j).y,f.get(j).y);
+			}
+		}
+	}
+
 	@Test
 	public void labelEdgeCluster4() {
 		int w = 30;
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.image.ImageBinaryPacked;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBinaryPackedOps {
+
+	Random rand = new Random(234);
+
+	// widths which test partial words and word boundaries
+	int widths[] = new int[]{1,2,63,64,65,130};
+	int height = 7;
+
+	@Test
+	public void pack_unpack() {
+		for( int width : widths ) {
+			ImageUInt8 input = createBinary(width,height);
+
+			ImageBinaryPacked packed = BinaryPackedOps.pack(input,null);
+			checkEquals(input, packed);
+
+			ImageUInt8 found = BinaryPackedOps.unpack(packed,null);
+			BoofTesting.assertEquals(input,found,0);
+		}
+	}
+
+	@Test
+	public void pack_subimage() {
+		ImageUInt8 input = createBinary(80,height);
+		ImageUInt8 sub = BoofTesting.createSubImageOf(input);
+
+		ImageBinaryPacked packed = BinaryPackedOps.pack(sub,null);
+		checkEquals(input, packed);
+
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(80,height));
+		BinaryPackedOps.unpack(packed,found);
+		BoofTesting.assertEquals(input,found,0);
+	}
+
+	@Test
+	public void threshold_U8() {
+		for( int width : widths ) {
+			ImageUInt8 input = new ImageUInt8(width,height);
+			ImageTestingOps.randomize(input,rand,0,256);
+
+			for( boolean down : new boolean[]{true,false}) {
+				ImageUInt8 expected = ThresholdImageOps.threshold(input,null,120,down);
+				ImageBinaryPacked found = BinaryPackedOps.threshold(input,null,120,down);
+				checkEquals(expected, found);
+			}
+		}
+	}
+
+	@Test
+	public void threshold_F32() {
+		for( int width : widths ) {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageTestingOps.randomize(input,rand,0,100);
+
+			for( boolean down : new boolean[]{true,false}) {
+				ImageUInt8 expected = ThresholdImageOps.threshold(input,null,40.5f,down);
+				ImageBinaryPacked found = BinaryPackedOps.threshold(input,null,40.5f,down);
+				checkEquals(expected, found);
+			}
+		}
+	}
+
+	@Test
+	public void logic() {
+		for( int width : widths ) {
+			ImageUInt8 inputA = createBinary(width,height);
+			ImageUInt8 inputB = createBinary(width,height);
+			ImageBinaryPacked packedA = BinaryPackedOps.pack(inputA,null);
+			ImageBinaryPacked packedB = BinaryPackedOps.pack(inputB,null);
+
+			checkEquals(BinaryImageOps.logicAnd(inputA,inputB,null),
+					BinaryPackedOps.logicAnd(packedA,packedB,null));
+			checkEquals(BinaryImageOps.logicOr(inputA,inputB,null),
+					BinaryPackedOps.logicOr(packedA,packedB,null));
+			checkEquals(BinaryImageOps.logicXor(inputA,inputB,null),
+					BinaryPackedOps.logicXor(packedA,packedB,null));
+		}
+	}
+
+	@Test
+	public void morphology() {
+		for( int width : widths ) {
+			for( int trial = 0; trial < 3; trial++ ) {
+				ImageUInt8 input = trial == 0 ? filled(width) : createBinary(width,height);
+				ImageBinaryPacked packed = BinaryPackedOps.pack(input,null);
+
+				checkEquals(BinaryImageOps.erode4(input,null),BinaryPackedOps.erode4(packed,null));
+				checkEquals(BinaryImageOps.erode8(input,null),BinaryPackedOps.erode8(packed,null));
+				checkEquals(BinaryImageOps.dilate4(input,null),BinaryPackedOps.dilate4(packed,null));
+				checkEquals(BinaryImageOps.dilate8(input,null),BinaryPackedOps.dilate8(packed,null));
+				checkEquals(BinaryImageOps.edge4(input,null),BinaryPackedOps.edge4(packed,null));
+				checkEquals(BinaryImageOps.edge8(input,null),BinaryPackedOps.edge8(packed,null));
+			}
+		}
+	}
+
+	/**
+	 * Image which is all ones tests to see if the image border is handled correctly
+	 */
+	private ImageUInt8 filled( int width ) {
+		ImageUInt8 ret = new ImageUInt8(width,height);
+		ImageTestingOps.fill(ret,1);
+		return ret;
+	}
+
+	private ImageUInt8 createBinary( int width , int height ) {
+		ImageUInt8 ret = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(ret,rand,0,2);
+		return ret;
+	}
+
+	/**
+	 * Checks to see if the two images have the same pixel values and that the padding is zero
+	 */
+	private static void checkEquals( ImageUInt8 expected , ImageBinaryPacked found ) {
+		assertEquals(expected.width,found.width);
+		assertEquals(expected.height,found.height);
+
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				assertEquals(x+" "+y,expected.get(x,y),found.get(x,y));
+			}
+			long last = found.data[y*found.stride+found.stride-1];
+			assertEquals(0L,last & ~found.getLastWordMask());
+		}
+	}
+}
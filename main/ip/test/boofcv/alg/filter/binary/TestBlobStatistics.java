@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBlobStatistics {
+
+	@Test
+	public void addPixel() {
+		BlobStatistics b = new BlobStatistics();
+		b.reset();
+		b.addPixel(2,3);
+		b.addPixel(4,1);
+
+		assertEquals(2,b.area);
+		assertEquals(2,b.x0);
+		assertEquals(1,b.y0);
+		assertEquals(5,b.x1);
+		assertEquals(4,b.y1);
+		assertEquals(6,b.sumX);
+		assertEquals(4,b.sumY);
+		assertEquals(4+16,b.sumXX);
+		assertEquals(6+4,b.sumXY);
+		assertEquals(9+1,b.sumYY);
+	}
+
+	@Test
+	public void add() {
+		BlobStatistics a = new BlobStatistics();
+		BlobStatistics b = new BlobStatistics();
+		BlobStatistics expected = new BlobStatistics();
+		a.reset(); b.reset(); expected.reset();
+
+		a.addPixel(2,3); expected.addPixel(2,3);
+		b.addPixel(7,1); expected.addPixel(7,1);
+		b.addPixel(5,6); expected.addPixel(5,6);
+
+		a.add(b);
+		assertEquals(expected.area,a.area);
+		assertEquals(expected.x0,a.x0);
+		assertEquals(expected.y0,a.y0);
+		assertEquals(expected.x1,a.x1);
+		assertEquals(expected.y1,a.y1);
+		assertEquals(expected.sumXX,a.sumXX);
+		assertEquals(expected.sumXY,a.sumXY);
+		assertEquals(expected.sumYY,a.sumYY);
+	}
+
+	/**
+	 * Diagonal line of pixels
+	 */
+	@Test
+	public void moments() {
+		BlobStatistics b = new BlobStatistics();
+		b.reset();
+		for( int i = 0; i < 5; i++ )
+			b.addPixel(10+i,20+i);
+
+		assertEquals(12,b.getCentroidX(),1e-8);
+		assertEquals(22,b.getCentroidY(),1e-8);
+		assertEquals(2,b.getVarianceX(),1e-8);
+		assertEquals(2,b.getVarianceY(),1e-8);
+		assertEquals(2,b.getCovarianceXY(),1e-8);
+		assertEquals(Math.PI/4,b.getOrientation(),1e-8);
+	}
+}
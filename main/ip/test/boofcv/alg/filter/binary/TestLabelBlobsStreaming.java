@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLabelBlobsStreaming {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compares the found blobs against thresholding then labeling with {@link LabelBlobsUnionFind}
+	 */
+	@Test
+	public void compareToLabelBlobs_U8() {
+		for( boolean rule8 : new boolean[]{true,false}) {
+			for( boolean down : new boolean[]{true,false}) {
+				ImageUInt8 input = new ImageUInt8(40,35);
+				ImageTestingOps.randomize(input,rand,0,256);
+
+				LabelBlobsStreaming alg = new LabelBlobsStreaming(rule8,true);
+				Collector collector = new Collector();
+				alg.setListener(collector);
+				alg.process(input,100,down);
+
+				ImageUInt8 binary = ThresholdImageOps.threshold(input,null,100,down);
+				checkBlobs(binary, rule8, collector);
+			}
+		}
+	}
+
+	@Test
+	public void compareToLabelBlobs_F32() {
+		for( boolean rule8 : new boolean[]{true,false}) {
+			for( boolean down : new boolean[]{true,false}) {
+				ImageFloat32 input = new ImageFloat32(40,35);
+				ImageTestingOps.randomize(input,rand,0,100);
+
+				LabelBlobsStreaming alg = new LabelBlobsStreaming(rule8,true);
+				Collector collector = new Collector();
+				alg.setListener(collector);
+				alg.process(input,40.5f,down);
+
+				ImageUInt8 binary = ThresholdImageOps.threshold(input,null,40.5f,down);
+				checkBlobs(binary, rule8, collector);
+			}
+		}
+	}
+
+	/**
+	 * Large blobs which require many merges and span many rows
+	 */
+	@Test
+	public void largeBlobs() {
+		ImageUInt8 input = new ImageUInt8(60,50);
+		ImageTestingOps.randomize(input,rand,0,2);
+		// vertical stripes connected at the bottom form a comb which is only merged on the last row
+		for( int x = 0; x < input.width; x += 3 ) {
+			ImageTestingOps.fillRectangle(input,1,x,0,1,input.height);
+		}
+		ImageTestingOps.fillRectangle(input,1,0,input.height-1,input.width,1);
+
+		for( boolean rule8 : new boolean[]{true,false}) {
+			LabelBlobsStreaming alg = new LabelBlobsStreaming(rule8,true);
+			Collector collector = new Collector();
+			alg.setListener(collector);
+			alg.process(input,1,false);
+
+			checkBlobs(input, rule8, collector);
+		}
+	}
+
+	@Test
+	public void subImage() {
+		ImageUInt8 input = new ImageUInt8(30,25);
+		ImageTestingOps.randomize(input,rand,0,2);
+		ImageUInt8 sub = BoofTesting.createSubImageOf(input);
+
+		LabelBlobsStreaming alg = new LabelBlobsStreaming(true,true);
+		Collector collector = new Collector();
+		alg.setListener(collector);
+		alg.process(sub,1,false);
+
+		checkBlobs(input, true, collector);
+	}
+
+	/**
+	 * Process multiple images with the same instance
+	 */
+	@Test
+	public void multipleCalls() {
+		LabelBlobsStreaming alg = new LabelBlobsStreaming(true,false);
+
+		for( int i = 0; i < 3; i++ ) {
+			ImageUInt8 input = new ImageUInt8(20+i*10,15);
+			ImageTestingOps.randomize(input,rand,0,2);
+
+			Collector collector = new Collector();
+			alg.setListener(collector);
+			alg.process(input,1,false);
+
+			assertEquals(0,collector.contours.size());
+			checkBlobs(input, true, collector);
+		}
+	}
+
+	/**
+	 * Checks the found blob statistics and contours against the brute force solution.
+	 */
+	private void checkBlobs( ImageUInt8 binary , boolean rule8 , Collector collector ) {
+		ImageSInt32 labeled = new ImageSInt32(binary.width,binary.height);
+		FastQueue<BlobStatistics> expected = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+		int numBlobs = new LabelBlobsUnionFind(rule8).process(binary,labeled,expected);
+
+		assertEquals(numBlobs,collector.stats.size());
+
+		boolean matched[] = new boolean[numBlobs];
+		for( int i = 0; i < collector.stats.size(); i++ ) {
+			BlobStatistics found = collector.stats.get(i);
+
+			// the first pixel in the top row of the blob identifies it in the labeled image
+			int label = 0;
+			for( int x = found.x0; x < found.x1 && label == 0; x++ ) {
+				int l = labeled.get(x,found.y0);
+				if( l != 0 && expected.get(l-1).y0 == found.y0 && expected.get(l-1).x0 == found.x0 &&
+						expected.get(l-1).area == found.area && expected.get(l-1).sumX == found.sumX )
+					label = l;
+			}
+			assertTrue(label != 0);
+			assertFalse(matched[label-1]);
+			matched[label-1] = true;
+
+			checkEquals(expected.get(label-1),found);
+			if( collector.contours.size() > 0 )
+				checkContour(labeled, label, collector.contours.get(i));
+		}
+	}
+
+	private void checkEquals( BlobStatistics expected , BlobStatistics found ) {
+		assertEquals(expected.area,found.area);
+		assertEquals(expected.x0,found.x0);
+		assertEquals(expected.y0,found.y0);
+		assertEquals(expected.x1,found.x1);
+		assertEquals(expected.y1,found.y1);
+		assertEquals(expected.sumX,found.sumX);
+		assertEquals(expected.sumY,found.sumY);
+		assertEquals(expected.sumXX,found.sumXX);
+		assertEquals(expected.sumXY,found.sumXY);
+		assertEquals(expected.sumYY,found.sumYY);
+	}
+
+	private void checkContour( ImageSInt32 labeled , int label , List<Point2D_I32> found ) {
+		ImageUInt8 marked = new ImageUInt8(labeled.width,labeled.height);
+		for( Point2D_I32 p : found ) {
+			assertEquals(label,labeled.get(p.x,p.y));
+			// each point should only be added once
+			assertEquals(0,marked.get(p.x,p.y));
+			marked.set(p.x,p.y,1);
+		}
+
+		for( int y = 0; y < labeled.height; y++ ) {
+			for( int x = 0; x < labeled.width; x++ ) {
+				if( labeled.get(x,y) != label )
+					continue;
+				boolean contour = !inBlob(labeled,x-1,y,label) || !inBlob(labeled,x+1,y,label) ||
+						!inBlob(labeled,x,y-1,label) || !inBlob(labeled,x,y+1,label);
+				assertEquals(contour ? 1 : 0, marked.get(x,y));
+			}
+		}
+	}
+
+	private boolean inBlob( ImageSInt32 labeled , int x , int y , int label ) {
+		return labeled.isInBounds(x,y) && labeled.get(x,y) == label;
+	}
+
+	/**
+	 * Saves a copy of each blob
+	 */
+	private static class Collector implements LabelBlobsStreaming.Listener {
+		List<BlobStatistics> stats = new ArrayList<BlobStatistics>();
+		List<List<Point2D_I32>> contours = new ArrayList<List<Point2D_I32>>();
+
+		@Override
+		public void blobFinished(BlobStatistics blob, FastQueue<Point2D_I32> contour) {
+			BlobStatistics copy = new BlobStatistics();
+			copy.set(blob);
+			stats.add(copy);
+
+			if( contour != null ) {
+				List<Point2D_I32> points = new ArrayList<Point2D_I32>();
+				for( int i = 0; i < contour.size; i++ )
+					points.add(contour.get(i).copy());
+				contours.add(points);
+			}
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;
+import boofcv.alg.filter.binary.impl.LabelNode;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLabelBlobsUnionFind {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against the label node based algorithm on random images
+	 */
+	@Test
+	public void compareToLabelNode() {
+		for( int i = 0; i < 20; i++ ) {
+			ImageUInt8 input = new ImageUInt8(30+rand.nextInt(20),25+rand.nextInt(20));
+			ImageTestingOps.randomize(input, rand, 0, 2);
+
+			compareToLabelNode(input, true);
+			compareToLabelNode(input, false);
+		}
+	}
+
+	private void compareToLabelNode( ImageUInt8 input , boolean rule8 ) {
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		ImageSInt32 found = new ImageSInt32(input.width,input.height);
+
+		List<LabelNode> labels = rule8 ? ImplBinaryBlobLabeling.quickLabelBlobs8(input,expected) :
+				ImplBinaryBlobLabeling.quickLabelBlobs4(input,expected);
+		ImplBinaryBlobLabeling.optimizeMaxConnect(labels);
+		int blobs[] = new int[ labels.size() ];
+		for( int i = 0; i < blobs.length; i++ ) {
+			blobs[i] = labels.get(i).maxIndex;
+		}
+		int numExpected = ImplBinaryBlobLabeling.minimizeBlobID(blobs,blobs.length-1);
+		ImplBinaryBlobLabeling.relabelBlobs(expected,blobs);
+
+		LabelBlobsUnionFind alg = new LabelBlobsUnionFind(rule8);
+		int numFound = alg.process(input,found,null);
+
+		assertEquals(numExpected,numFound);
+		checkSamePartition(expected, found, numFound);
+		checkRasterOrder(found);
+	}
+
+	/**
+	 * Checks to see if the two labeled images have the same blobs, even if the labels are different
+	 */
+	public static void checkSamePartition( ImageSInt32 a , ImageSInt32 b , int numBlobs ) {
+		int aToB[] = new int[ numBlobs+1 ];
+		int bToA[] = new int[ numBlobs+1 ];
+
+		for( int y = 0; y < a.height; y++ ) {
+			for( int x = 0; x < a.width; x++ ) {
+				int va = a.get(x,y);
+				int vb = b.get(x,y);
+
+				if( va == 0 || vb == 0 ) {
+					assertEquals(va,vb);
+					continue;
+				}
+				if( aToB[va] == 0 ) aToB[va] = vb;
+				if( bToA[vb] == 0 ) bToA[vb] = va;
+
+				assertEquals(aToB[va],vb);
+				assertEquals(bToA[vb],va);
+			}
+		}
+	}
+
+	/**
+	 * Labels should be assigned in the order they are first seen in a raster scan
+	 */
+	public static void checkRasterOrder( ImageSInt32 labeled ) {
+		int next = 1;
+		for( int y = 0; y < labeled.height; y++ ) {
+			for( int x = 0; x < labeled.width; x++ ) {
+				int v = labeled.get(x,y);
+				if( v == next )
+					next++;
+				else
+					assertEquals(true, v < next);
+			}
+		}
+	}
+
+	@Test
+	public void statistics() {
+		ImageUInt8 input = new ImageUInt8(40,35);
+		ImageTestingOps.randomize(input, rand, 0, 2);
+
+		ImageSInt32 found = new ImageSInt32(input.width,input.height);
+		FastQueue<BlobStatistics> stats = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+
+		// see if it resets the statistics
+		stats.grow().area = 10;
+
+		for( int rule = 0; rule < 2; rule++ ) {
+			LabelBlobsUnionFind alg = new LabelBlobsUnionFind(rule == 0);
+			int numFound = alg.process(input,found,stats);
+
+			assertEquals(numFound,stats.size);
+			checkStatistics(found, stats);
+		}
+	}
+
+	/**
+	 * Computes the statistics by brute force and compares
+	 */
+	public static void checkStatistics( ImageSInt32 labeled , FastQueue<BlobStatistics> stats ) {
+		for( int i = 0; i < stats.size; i++ ) {
+			BlobStatistics found = stats.get(i);
+			BlobStatistics expected = new BlobStatistics();
+			expected.reset();
+
+			for( int y = 0; y < labeled.height; y++ ) {
+				for( int x = 0; x < labeled.width; x++ ) {
+					if( labeled.get(x,y) == i+1 ) {
+						expected.area++;
+						expected.x0 = Math.min(expected.x0,x);
+						expected.y0 = Math.min(expected.y0,y);
+						expected.x1 = Math.max(expected.x1,x+1);
+						expected.y1 = Math.max(expected.y1,y+1);
+						expected.sumX += x;
+						expected.sumY += y;
+						expected.sumXX += x*x;
+						expected.sumXY += x*y;
+						expected.sumYY += y*y;
+					}
+				}
+			}
+
+			assertEquals(expected.area,found.area);
+			assertEquals(expected.x0,found.x0);
+			assertEquals(expected.y0,found.y0);
+			assertEquals(expected.x1,found.x1);
+			assertEquals(expected.y1,found.y1);
+			assertEquals(expected.sumX,found.sumX);
+			assertEquals(expected.sumY,found.sumY);
+			assertEquals(expected.sumXX,found.sumXX);
+			assertEquals(expected.sumXY,found.sumXY);
+			assertEquals(expected.sumYY,found.sumYY);
+		}
+	}
+
+	@Test
+	public void subImage() {
+		ImageUInt8 input = new ImageUInt8(30,25);
+		ImageTestingOps.randomize(input, rand, 0, 2);
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+
+		LabelBlobsUnionFind alg = new LabelBlobsUnionFind(true);
+		int numExpected = alg.process(input,expected,null);
+
+		ImageUInt8 subInput = BoofTesting.createSubImageOf(input);
+		ImageSInt32 found = BoofTesting.createSubImageOf(expected);
+		ImageTestingOps.fill(found,0);
+
+		assertEquals(numExpected,alg.process(subInput,found,null));
+		BoofTesting.assertEquals(expected,found,0);
+	}
+}
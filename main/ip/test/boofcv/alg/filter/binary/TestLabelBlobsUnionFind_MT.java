@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLabelBlobsUnionFind_MT {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Output should be identical to the single threaded version, even when blobs cross many strips
+	 */
+	@Test
+	public void compareToSingle() {
+		int before = BoofConcurrency.getMaxThreads();
+		int minStrip = LabelBlobsUnionFind_MT.MIN_STRIP;
+		BoofConcurrency.setMaxThreads(5);
+		LabelBlobsUnionFind_MT.MIN_STRIP = 2;
+		try {
+			for( int trial = 0; trial < 10; trial++ ) {
+				ImageUInt8 input = new ImageUInt8(30+rand.nextInt(20),25+rand.nextInt(20));
+				ImageTestingOps.randomize(input, rand, 0, 2);
+
+				for( int rule = 0; rule < 2; rule++ ) {
+					ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+					ImageSInt32 found = new ImageSInt32(input.width,input.height);
+					FastQueue<BlobStatistics> statsExpected = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+					FastQueue<BlobStatistics> statsFound = new FastQueue<BlobStatistics>(10,BlobStatistics.class,true);
+
+					int numExpected = new LabelBlobsUnionFind(rule==0).process(input,expected,statsExpected);
+					int numFound = new LabelBlobsUnionFind_MT(rule==0).process(input,found,statsFound);
+
+					assertEquals(numExpected,numFound);
+					BoofTesting.assertEquals(expected,found,0);
+					TestLabelBlobsUnionFind.checkStatistics(found,statsFound);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+			LabelBlobsUnionFind_MT.MIN_STRIP = minStrip;
+		}
+	}
+}
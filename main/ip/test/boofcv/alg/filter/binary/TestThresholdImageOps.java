@@ -29,8 +29,11 @@ import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Peter Abeles
@@ -52,6 +55,8 @@ public class TestThresholdImageOps {
 								6,6,6,6,6,6,6,6,5,6};
 
 
+	Random rand = new Random(234);
+
 	int width = 20;
 	int height = 30;
 
@@ -94,6 +99,122 @@ public class TestThresholdImageOps {
 		assertEquals(390, GeneralizedImageOps.sum(output),1e-4);
 	}
 
+	@Test
+	public void localMean() {
+		int total = 0;
+		Method[] list = ThresholdImageOps.class.getMethods();
+
+		for( Method m : list ) {
+			if( !m.getName().equals("localMean"))
+				continue;
+
+			Class param[] = m.getParameterTypes();
+
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], width, height);
+			ImageUInt8 output = new ImageUInt8(width,height);
+			GeneralizedImageOps.randomize(input, rand, 0, 200);
+
+			BoofTesting.checkSubImage(this,"performLocal",true,m,input,output);
+			total++;
+		}
+
+		assertEquals(2,total);
+	}
+
+	@Test
+	public void localSauvola() {
+		int total = 0;
+		Method[] list = ThresholdImageOps.class.getMethods();
+
+		for( Method m : list ) {
+			if( !m.getName().equals("localSauvola"))
+				continue;
+
+			Class param[] = m.getParameterTypes();
+
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], width, height);
+			ImageUInt8 output = new ImageUInt8(width,height);
+			GeneralizedImageOps.randomize(input, rand, 0, 200);
+
+			BoofTesting.checkSubImage(this,"performLocal",true,m,input,output);
+			total++;
+		}
+
+		assertEquals(2,total);
+	}
+
+	/**
+	 * A negative radius is not a valid region and should be rejected
+	 */
+	@Test
+	public void local_negativeRadius() {
+		int total = 0;
+		for( Method m : ThresholdImageOps.class.getMethods() ) {
+			if( !m.getName().equals("localMean") && !m.getName().equals("localSauvola") )
+				continue;
+
+			Class param[] = m.getParameterTypes();
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], width, height);
+			try {
+				m.invoke(null,input,null,-1,0.5f,true);
+				fail("Expected an exception");
+			} catch( InvocationTargetException e ) {
+				assertTrue(e.getCause() instanceof IllegalArgumentException);
+			} catch( IllegalAccessException e ) {
+				throw new RuntimeException(e);
+			}
+			total++;
+		}
+
+		assertEquals(4,total);
+	}
+
+	/**
+	 * Compares against the equivalent global threshold, which it should match when the radius is large enough
+	 * for every local region to include the whole image.
+	 */
+	public void performLocal( Method m , ImageSingleBand input , ImageUInt8 output )
+			throws InvocationTargetException, IllegalAccessException
+	{
+		GImageSingleBand a = FactoryGImageSingleBand.wrap(input);
+		double sum = 0, sumSq = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double v = a.get(x,y).doubleValue();
+				sum += v;
+				sumSq += v*v;
+			}
+		}
+		int N = input.width*input.height;
+		double mean = sum/N;
+		double threshold;
+		float param;
+		if( m.getName().equals("localMean") ) {
+			param = 0.9f;
+			threshold = param*mean;
+		} else {
+			param = 0.3f;
+			double stdev = Math.sqrt(sumSq/N - mean*mean);
+			threshold = mean*(1 + param*(stdev/128.0 - 1));
+		}
+
+		int radius = Math.max(input.width,input.height);
+
+		for( boolean down : new boolean[]{true,false} ) {
+			m.invoke(null,input,output,radius,param,down);
+
+			for( int y = 0; y < input.height; y++ ) {
+				for( int x = 0; x < input.width; x++ ) {
+					double v = a.get(x,y).doubleValue();
+					if( Math.abs(v-threshold) < 1e-3 )
+						continue;
+					boolean inlier = down ? v <= threshold : v >= threshold;
+					assertEquals(inlier ? 1 : 0, output.get(x,y));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void thresholdBlobs() {
 		int total = 0;
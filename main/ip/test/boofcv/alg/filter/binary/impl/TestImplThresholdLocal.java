@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.FactoryGImageSingleBand;
+import boofcv.core.image.GImageSingleBand;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplThresholdLocal {
+
+	Random rand = new Random(234);
+
+	int width = 25;
+	int height = 30;
+
+	@Test
+	public void mean_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,256);
+
+		for( int radius : new int[]{0,1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocal.mean(input,found,radius,0.95f,down);
+				compareToBruteForce(input,found,radius,false,0.95f,down);
+			}
+		}
+	}
+
+	@Test
+	public void mean_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,255);
+
+		for( int radius : new int[]{0,1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocal.mean(input,found,radius,0.95f,down);
+				compareToBruteForce(input,found,radius,false,0.95f,down);
+			}
+		}
+	}
+
+	@Test
+	public void sauvola_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,256);
+
+		for( int radius : new int[]{0,1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocal.sauvola(input,found,radius,0.3f,down);
+				compareToBruteForce(input,found,radius,true,0.3f,down);
+			}
+		}
+	}
+
+	@Test
+	public void sauvola_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,255);
+
+		for( int radius : new int[]{0,1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocal.sauvola(input,found,radius,0.3f,down);
+				compareToBruteForce(input,found,radius,true,0.3f,down);
+			}
+		}
+	}
+
+	/**
+	 * The sum inside a large region can exceed the range of an int.  Make sure it doesn't overflow.
+	 */
+	@Test
+	public void largeRegion_U8() {
+		ImageUInt8 input = new ImageUInt8(3000,3000);
+		ImageTestingOps.fill(input,255);
+
+		ImageUInt8 found = new ImageUInt8(input.width,input.height);
+		ImplThresholdLocal.mean(input,found,1500,1.0f,true);
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(1,found.data[i]);
+
+		// with k = 0 the threshold is the mean
+		ImageTestingOps.fill(found,0);
+		ImplThresholdLocal.sauvola(input,found,1500,0,true);
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(1,found.data[i]);
+	}
+
+	/**
+	 * Processing the image in bands of rows should produce the same output as processing it all at once
+	 */
+	@Test
+	public void process_bands() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(inputU8,rand,0,256);
+		ImageTestingOps.randomize(inputF32,rand,0,255);
+
+		for( boolean sauvola : new boolean[]{true,false} ) {
+			float param = sauvola ? 0.3f : 0.95f;
+
+			ImageUInt8 expected = new ImageUInt8(width,height);
+			ImageUInt8 found = new ImageUInt8(width,height);
+
+			ImplThresholdLocal.process(inputU8,expected,3,sauvola,param,true,0,height);
+			ImplThresholdLocal.process(inputU8,found,3,sauvola,param,true,0,7);
+			ImplThresholdLocal.process(inputU8,found,3,sauvola,param,true,7,height);
+			BoofTesting.assertEquals(expected,found,0);
+
+			ImplThresholdLocal.process(inputF32,expected,3,sauvola,param,true,0,height);
+			ImplThresholdLocal.process(inputF32,found,3,sauvola,param,true,0,7);
+			ImplThresholdLocal.process(inputF32,found,3,sauvola,param,true,7,height);
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void subImage() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,256);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImplThresholdLocal.sauvola(input,expected,3,0.3f,true);
+
+		ImageUInt8 subInput = BoofTesting.createSubImageOf(input);
+		ImageUInt8 found = BoofTesting.createSubImageOf(expected);
+		ImplThresholdLocal.sauvola(subInput,found,3,0.3f,true);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Computes the threshold of each pixel directly from the pixels in its local region.  Pixels which are
+	 * very close to the threshold are skipped, since round off errors can flip them.
+	 */
+	private void compareToBruteForce( ImageSingleBand input , ImageUInt8 found ,
+									  int radius , boolean sauvola , float param , boolean down ) {
+		GImageSingleBand a = FactoryGImageSingleBand.wrap(input);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				double sum = 0, sumSq = 0;
+				int count = 0;
+				for( int i = y-radius; i <= y+radius; i++ ) {
+					for( int j = x-radius; j <= x+radius; j++ ) {
+						if( !input.isInBounds(j,i) )
+							continue;
+						double v = a.get(j,i).doubleValue();
+						sum += v;
+						sumSq += v*v;
+						count++;
+					}
+				}
+
+				double mean = sum/count;
+				double threshold;
+				if( sauvola ) {
+					double stdev = Math.sqrt(Math.max(0,sumSq/count - mean*mean));
+					threshold = mean*(1 + param*(stdev/128.0 - 1));
+				} else {
+					threshold = param*mean;
+				}
+
+				double value = a.get(x,y).doubleValue();
+				if( Math.abs(value-threshold) < 1e-3 )
+					continue;
+
+				int expected;
+				if( down )
+					expected = value <= threshold ? 1 : 0;
+				else
+					expected = value >= threshold ? 1 : 0;
+
+				assertEquals(x+" "+y,expected,found.get(x,y));
+			}
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplThresholdLocal_MT {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSingle_U8() {
+		ImageUInt8 image = new ImageUInt8(30,100);
+		ImageTestingOps.randomize(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+		try {
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				ImplThresholdLocal.mean(image,expected,radius,0.95f,true);
+				ImplThresholdLocal_MT.mean(image,found,radius,0.95f,true);
+				BoofTesting.assertEquals(expected,found,0);
+
+				ImplThresholdLocal.sauvola(image,expected,radius,0.3f,false);
+				ImplThresholdLocal_MT.sauvola(image,found,radius,0.3f,false);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	@Test
+	public void compareToSingle_F32() {
+		ImageFloat32 image = new ImageFloat32(30,100);
+		ImageTestingOps.randomize(image,rand, 0, 255);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+		try {
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				ImplThresholdLocal.mean(image,expected,radius,0.95f,true);
+				ImplThresholdLocal_MT.mean(image,found,radius,0.95f,true);
+				BoofTesting.assertEquals(expected,found,0);
+
+				ImplThresholdLocal.sauvola(image,expected,radius,0.3f,false);
+				ImplThresholdLocal_MT.sauvola(image,found,radius,0.3f,false);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	/**
+	 * Tall image with values that are not exactly representable.  Running floating point sums drift along the
+	 * column, so if the bands did not start where the sums are recomputed the thresholds would not match.
+	 */
+	@Test
+	public void compareToSingle_F32_tall() {
+		ImageFloat32 image = createTall();
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(7);
+		try {
+			for( int radius = 2; radius <= 20; radius += 9 ) {
+				ImplThresholdLocal.mean(image,expected,radius,1.0f,true);
+				ImplThresholdLocal_MT.mean(image,found,radius,1.0f,true);
+				BoofTesting.assertEquals(expected,found,0);
+
+				ImplThresholdLocal.sauvola(image,expected,radius,0.3f,false);
+				ImplThresholdLocal_MT.sauvola(image,found,radius,0.3f,false);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	/**
+	 * Processing can start at any multiple of the sync period and produce the same output
+	 */
+	@Test
+	public void bandsStartingAtSyncRows() {
+		ImageFloat32 image = createTall();
+
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+
+		int radius = 5;
+		int period = ImplThresholdLocal.syncPeriod(radius);
+		assertTrue(period > 2*radius+1);
+		assertEquals(0,period % ImplThresholdLocal.SYNC_ROWS);
+
+		ImplThresholdLocal.process(image,expected,radius,false,1.0f,true,0,image.height);
+		for( int y0 = 0; y0 < image.height; y0 += 3*period ) {
+			int y1 = Math.min(image.height,y0+3*period);
+			ImplThresholdLocal.process(image,found,radius,false,1.0f,true,y0,y1);
+		}
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Mostly constant image with a few rows of very large values.  In a constant region the pixel is equal to
+	 * the local mean, so the round off left behind in a running sum after a large row leaves the region changes
+	 * the output.
+	 */
+	private ImageFloat32 createTall() {
+		ImageFloat32 image = new ImageFloat32(40,1500);
+		ImageTestingOps.fill(image,0.1f);
+		for( int y = 0; y < image.height; y += 97 ) {
+			for( int x = 0; x < image.width; x++ ) {
+				image.set(x,y,rand.nextFloat()*1e12f);
+			}
+		}
+		return image;
+	}
+}
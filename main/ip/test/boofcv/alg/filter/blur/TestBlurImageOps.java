@@ -100,7 +100,7 @@ public class TestBlurImageOps {
 
 		GeneralizedImageOps.randomize(input,rand,0,20);
 
-		for( int radius = 1; radius <= 4; radius++ ) {
+		for( int radius = 1; radius <= 8; radius++ ) {
 			ImplMedianSortNaive.process(input,expected,radius,null);
 			BlurImageOps.median(input,found,radius);
 
@@ -116,7 +116,7 @@ public class TestBlurImageOps {
 
 		GeneralizedImageOps.randomize(input,rand,0,20);
 
-		for( int radius = 1; radius <= 4; radius++ ) {
+		for( int radius = 1; radius <= 8; radius++ ) {
 			ImplMedianSortNaive.process(input,expected,radius,null);
 			BlurImageOps.median(input,found,radius);
 
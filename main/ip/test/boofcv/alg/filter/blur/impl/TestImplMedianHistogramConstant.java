@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSort_U8() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageTestingOps.randomize(image,rand, 0, 100);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U8", true, image, found, expected);
+	}
+
+	public void compareToSort_U8(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		// include a region which is larger than the image
+		for( int radius = 0; radius <= 17; radius++ ) {
+			ImplMedianHistogramConstant.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void compareToSort_F32() {
+		ImageFloat32 image = new ImageFloat32(20,30);
+		ImageTestingOps.randomize(image,rand, -20, 100);
+		// add a few repeated values
+		for( int i = 0; i < 50; i++ )
+			image.set(rand.nextInt(20),rand.nextInt(30),5.5f);
+
+		ImageFloat32 found = new ImageFloat32( image.width , image.height );
+		ImageFloat32 expected = new ImageFloat32( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_F32", true, image, found, expected);
+	}
+
+	public void compareToSort_F32(ImageFloat32 image, ImageFloat32 found, ImageFloat32 expected) {
+		for( int radius = 0; radius <= 17; radius++ ) {
+			ImplMedianHistogramConstant.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0,0);
+		}
+	}
+
+	/**
+	 * Every bin only contains a single value
+	 */
+	@Test
+	public void compareToSort_F32_discrete() {
+		ImageFloat32 image = new ImageFloat32(20,30);
+		for( int i = 0; i < image.data.length; i++ )
+			image.data[i] = rand.nextInt(10)*0.5f;
+
+		ImageFloat32 found = new ImageFloat32( image.width , image.height );
+		ImageFloat32 expected = new ImageFloat32( image.width , image.height );
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			ImplMedianHistogramConstant.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0,0);
+		}
+	}
+
+	/**
+	 * Process the image in several bands and see if it produces the same output as processing it all at once
+	 */
+	@Test
+	public void bands() {
+		ImageUInt8 image = new ImageUInt8(25,40);
+		ImageTestingOps.randomize(image,rand, 0, 255);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int radius = 4;
+		ImplMedianHistogramConstant.process(image,expected,radius);
+
+		ImplMedianHistogramConstant.process(image,found,radius,0,7);
+		ImplMedianHistogramConstant.process(image,found,radius,7,8);
+		ImplMedianHistogramConstant.process(image,found,radius,8,30);
+		ImplMedianHistogramConstant.process(image,found,radius,30,40);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant_MT {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSingle_U8() {
+		ImageUInt8 image = new ImageUInt8(30,100);
+		ImageTestingOps.randomize(image,rand, 0, 255);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+		try {
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				ImplMedianHistogramConstant.process(image,expected,radius);
+				ImplMedianHistogramConstant_MT.process(image,found,radius);
+
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	@Test
+	public void compareToSingle_F32() {
+		ImageFloat32 image = new ImageFloat32(30,100);
+		ImageTestingOps.randomize(image,rand, 0, 255);
+
+		ImageFloat32 found = new ImageFloat32( image.width , image.height );
+		ImageFloat32 expected = new ImageFloat32( image.width , image.height );
+
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(3);
+		try {
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				ImplMedianHistogramConstant.process(image,expected,radius);
+				ImplMedianHistogramConstant_MT.process(image,found,radius);
+
+				BoofTesting.assertEquals(expected,found,0,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	int originalThreads;
+
+	// tall enough for the image to be split into several bands
+	int height = 4*ConvolveImageNoBorder_MT.MIN_BAND + 10;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void compareToStandard() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.height = height;
+		a.performTests(20);
+
+		// larger kernel will use the standard implementation
+		a.kernelRadius = 6;
+		a.performTests(20);
+	}
+
+	/**
+	 * See if the concurrent implementation is invoked and produces the same results when the flag is set
+	 */
+	@Test
+	public void useConcurrentFlag() {
+		BoofConcurrency.USE_CONCURRENT = true;
+		try {
+			CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+			a.height = height;
+			a.performTests(20);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+		}
+	}
+}
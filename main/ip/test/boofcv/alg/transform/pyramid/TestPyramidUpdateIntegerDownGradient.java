@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdater;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidUpdateIntegerDownGradient extends GenericPyramidUpdateTests<ImageFloat32> {
+
+	Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+
+	public TestPyramidUpdateIntegerDownGradient() {
+		super(ImageFloat32.class);
+	}
+
+	@Test
+	public void initialized() {
+		checkInitialized();
+	}
+
+	@Test
+	public void modifiesLayersOnUpdate() {
+		checkModifiesLayersOnUpdate();
+	}
+
+	/**
+	 * Compare the results against updating the pyramid and then computing the gradient
+	 */
+	@Test
+	public void compareToSeparate() {
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = false;
+			compareToSeparate(1,2,4);
+			compareToSeparate(2,4);
+			BoofConcurrency.USE_CONCURRENT = true;
+			compareToSeparate(1,2,4);
+			compareToSeparate(2,4,8);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+
+	private void compareToSeparate( int ...scales ) {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input, rand, 0, 100);
+
+		PyramidDiscrete<ImageFloat32> expected = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+		PyramidDiscrete<ImageFloat32> expectedX = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+		PyramidDiscrete<ImageFloat32> expectedY = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+
+		new PyramidUpdateIntegerDown<ImageFloat32>(kernel,ImageFloat32.class).update(input,expected);
+		PyramidOps.gradient(expected,gradient,expectedX,expectedY);
+
+		PyramidDiscrete<ImageFloat32> found = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+		PyramidDiscrete<ImageFloat32> foundX = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+		PyramidDiscrete<ImageFloat32> foundY = new PyramidDiscrete<ImageFloat32>(imageType,false,scales);
+
+		PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32> alg =
+				new PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32>(kernel,ImageFloat32.class,gradient);
+		alg.setDerivatives(foundX,foundY);
+
+		// process it twice to make sure it can be reused
+		alg.update(input,found);
+		alg.update(input,found);
+
+		for( int i = 0; i < scales.length; i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i),found.getLayer(i),0,1e-4);
+			BoofTesting.assertEquals(expectedX.getLayer(i),foundX.getLayer(i),0,1e-4);
+			BoofTesting.assertEquals(expectedY.getLayer(i),foundY.getLayer(i),0,1e-4);
+		}
+	}
+
+	@Override
+	protected PyramidUpdater createUpdater() {
+		return new PyramidUpdateIntegerDownGradient<ImageFloat32,ImageFloat32>(kernel,ImageFloat32.class,gradient);
+	}
+
+	@Override
+	protected ImagePyramid<ImageFloat32> createPyramid(int... scales) {
+		return new PyramidDiscrete<ImageFloat32>(imageType,true,scales);
+	}
+}
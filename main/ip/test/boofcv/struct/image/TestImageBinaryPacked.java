@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBinaryPacked {
+
+	@Test
+	public void constructor() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,5);
+		assertEquals(130,img.width);
+		assertEquals(5,img.height);
+		assertEquals(3,img.stride);
+		assertEquals(15,img.data.length);
+
+		img = new ImageBinaryPacked(64,2);
+		assertEquals(1,img.stride);
+	}
+
+	@Test
+	public void reshape() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,5);
+		long[] original = img.data;
+
+		// smaller shouldn't declare a new array
+		img.reshape(20,4);
+		assertEquals(20,img.width);
+		assertEquals(4,img.height);
+		assertEquals(1,img.stride);
+		assertTrue(original == img.data);
+
+		// larger must
+		img.reshape(200,10);
+		assertEquals(4,img.stride);
+		assertTrue(img.data.length >= 40);
+	}
+
+	/**
+	 * When the data array is reused, bits past the new width must be zero
+	 */
+	@Test
+	public void reshape_clearPadding() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,5);
+		for( int i = 0; i < img.data.length; i++ )
+			img.data[i] = -1L;
+		long[] original = img.data;
+
+		img.reshape(70,4);
+		assertTrue(original == img.data);
+		long mask = img.getLastWordMask();
+		for( int y = 0; y < img.height; y++ ) {
+			assertEquals(-1L,img.data[y*img.stride]);
+			assertEquals(0L,img.data[y*img.stride+1] & ~mask);
+		}
+	}
+
+	@Test
+	public void get_set() {
+		ImageBinaryPacked img = new ImageBinaryPacked(130,5);
+
+		img.set(0,0,1);
+		img.set(63,1,1);
+		img.set(64,2,5);
+		img.set(129,4,1);
+
+		assertEquals(1,img.get(0,0));
+		assertEquals(1,img.get(63,1));
+		assertEquals(1,img.get(64,2));
+		assertEquals(1,img.get(129,4));
+		assertEquals(0,img.get(1,0));
+		assertEquals(0,img.get(64,1));
+
+		assertEquals(1L,img.data[0]);
+		assertEquals(1L << 63,img.data[3]);
+		assertEquals(1L,img.data[7]);
+		assertEquals(2L,img.data[14]);
+
+		img.set(63,1,0);
+		assertEquals(0,img.get(63,1));
+		assertEquals(0L,img.data[3]);
+	}
+
+	@Test
+	public void get_set_outOfBounds() {
+		ImageBinaryPacked img = new ImageBinaryPacked(10,5);
+
+		try {
+			img.get(10,0);
+			fail("Should have thrown an exception");
+		} catch( ImageAccessException ignore ) {}
+
+		try {
+			img.set(0,-1,1);
+			fail("Should have thrown an exception");
+		} catch( ImageAccessException ignore ) {}
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(0x1L,new ImageBinaryPacked(1,1).getLastWordMask());
+		assertEquals(-1L,new ImageBinaryPacked(64,1).getLastWordMask());
+		assertEquals(0x7L,new ImageBinaryPacked(67,1).getLastWordMask());
+	}
+
+	@Test
+	public void testClone() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,3);
+		img.set(3,1,1);
+		img.set(69,2,1);
+
+		ImageBinaryPacked found = img.clone();
+		assertEquals(img.width,found.width);
+		assertEquals(img.height,found.height);
+		assertEquals(img.stride,found.stride);
+		assertTrue(img.data != found.data);
+		for( int i = 0; i < img.stride*img.height; i++ )
+			assertEquals(img.data[i],found.data[i]);
+	}
+}
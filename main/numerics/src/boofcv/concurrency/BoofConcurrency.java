@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * Shared thread pool and utility functions for algorithms which have a concurrent implementation.  The range
+ * being processed is broken up into contiguous blocks, one block per thread.  The calling thread processes
+ * the last block itself and then waits for the other blocks to finish.
+ * </p>
+ *
+ * <p>
+ * By default concurrent implementations are turned off and algorithms behave exactly as they did before.
+ * Set {@link #USE_CONCURRENT} to true to have functions which support it automatically switch to
+ * their concurrent implementation.  If a task is launched from inside of a worker thread it is processed
+ * in the calling thread to avoid dead locks from nested parallel loops.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	/**
+	 * If true then functions which have a concurrent implementation will use it.
+	 */
+	public static boolean USE_CONCURRENT = false;
+
+	// maximum number of threads, including the calling thread
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// pool which the worker threads are drawn from.  Lazily created.
+	private static ExecutorService pool;
+
+	/**
+	 * Specifies the maximum number of threads that will be used, including the calling thread.  The existing
+	 * thread pool is shut down and a new one created the next time it is needed.
+	 *
+	 * @param threads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		maxThreads = threads;
+		if( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Breaks the range into at most {@link #getMaxThreads()} contiguous blocks which are then processed
+	 * in parallel.  Returns after every block has been processed.
+	 *
+	 * @param start First index. Inclusive.
+	 * @param end Last index. Exclusive.
+	 * @param minBlock Minimum number of indexes in a block.  Prevents tiny ranges from being split.
+	 * @param task Processes a block.
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , IntRangeTask task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		int numBlocks = Math.min(getMaxThreads(), length/Math.max(1,minBlock));
+
+		if( numBlocks <= 1 || Thread.currentThread() instanceof WorkerThread ) {
+			task.process(start,end);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+
+		List<Future<?>> futures = new ArrayList<Future<?>>(numBlocks-1);
+		for( int i = 0; i < numBlocks-1; i++ ) {
+			int blockStart = start + i*length/numBlocks;
+			int blockEnd = start + (i+1)*length/numBlocks;
+			futures.add(pool.submit(new BlockRunnable(task,blockStart,blockEnd)));
+		}
+
+		// use the calling thread for the last block
+		task.process(start + (numBlocks-1)*length/numBlocks,end);
+
+		waitForAll(futures);
+	}
+
+	/**
+	 * Processes each index in the range [0,numTasks) as a single task, which is useful when the number of
+	 * tasks is small and each one has its own state, e.g. one per thread.
+	 *
+	 * @param numTasks Number of tasks.
+	 * @param task Invoked with start = index and end = index+1
+	 */
+	public static void loopTasks( int numTasks , IntRangeTask task ) {
+		if( numTasks <= 0 )
+			return;
+
+		if( numTasks == 1 || Thread.currentThread() instanceof WorkerThread ) {
+			for( int i = 0; i < numTasks; i++ )
+				task.process(i,i+1);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+
+		List<Future<?>> futures = new ArrayList<Future<?>>(numTasks-1);
+		for( int i = 1; i < numTasks; i++ ) {
+			futures.add(pool.submit(new BlockRunnable(task,i,i+1)));
+		}
+		task.process(0,1);
+
+		waitForAll(futures);
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(Math.max(1,maxThreads-1),new ThreadFactory() {
+				int count = 0;
+				@Override
+				public synchronized Thread newThread(Runnable r) {
+					Thread t = new WorkerThread(r,"BoofConcurrency-"+(count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Waits for all the futures to finish.  If any of them threw an exception it is rethrown
+	 * in the calling thread.
+	 */
+	private static void waitForAll( List<Future<?>> futures ) {
+		RuntimeException exception = null;
+		for( Future<?> f : futures ) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				exception = new RuntimeException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if( cause instanceof Error )
+					throw (Error)cause;
+				else if( cause instanceof RuntimeException )
+					exception = (RuntimeException)cause;
+				else
+					exception = new RuntimeException(cause);
+			}
+		}
+		if( exception != null )
+			throw exception;
+	}
+
+	private static class BlockRunnable implements Runnable {
+		IntRangeTask task;
+		int start,end;
+
+		private BlockRunnable(IntRangeTask task, int start, int end) {
+			this.task = task;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public void run() {
+			task.process(start,end);
+		}
+	}
+
+	/**
+	 * Used to identify threads which belong to the pool
+	 */
+	private static class WorkerThread extends Thread {
+		private WorkerThread(Runnable target, String name) {
+			super(target, name);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Processes a contiguous range of integer indexes.  Used by {@link BoofConcurrency} to hand out
+ * blocks of rows, points, or hypotheses to worker threads.
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeTask {
+
+	/**
+	 * Process all indexes from start to end-1.
+	 *
+	 * @param start First index in the range. Inclusive.
+	 * @param end Last index in the range. Exclusive.
+	 */
+	public void process( int start , int end );
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset;
+
+import java.util.List;
+
+
+/**
+ * <p>
+ * Extension of {@link DistanceFromModel} which can compute the distance of many points at once in a tight loop.
+ * Before any models are evaluated the entire data set is passed in using {@link #setPoints(java.util.List)},
+ * which gives the implementation a chance to copy the points into a more efficient internal format, such as
+ * arrays of primitive coordinates.  The distance for a range of points can then be computed without accessing
+ * the original point objects.
+ * </p>
+ *
+ * <p>
+ * Robust estimators check to see if the distance implements this interface and will use it if it does.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface DistanceFromModelBatch<Model, Point> extends DistanceFromModel<Model,Point> {
+
+	/**
+	 * Specifies the data set which is to be evaluated.  Must be called again if the data set is modified.
+	 *
+	 * @param points The data set.  Not modified.
+	 */
+	public void setPoints( List<Point> points );
+
+	/**
+	 * Computes the distance of points in the range [start,end) from the model.  Point indexes refer to the
+	 * list passed into {@link #setPoints(java.util.List)}.
+	 *
+	 * @param start Index of the first point, inclusive.
+	 * @param end Index of the last point, exclusive.
+	 * @param distance Storage for distances.  The distance of point 'i' is written into element i-start.
+	 */
+	public void computeDistance( int start , int end , double distance[] );
+}
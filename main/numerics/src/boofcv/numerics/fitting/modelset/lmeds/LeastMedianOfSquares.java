@@ -20,6 +20,7 @@ package boofcv.numerics.fitting.modelset.lmeds;
 
 
 import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.numerics.fitting.modelset.ModelGenerator;
 import boofcv.numerics.fitting.modelset.ModelMatcher;
 import boofcv.numerics.fitting.modelset.ransac.Ransac;
@@ -36,6 +37,16 @@ import java.util.Random;
  * is fit to these points and then the error is computed for the whole set.  The model which minimizes the
  * median is selected as the final model.  No pruning or formal selection of inlier set is done.
  * </p>
+ *
+ * <p>
+ * The median is found using quick select.  Before that is done the number of points with an error less than
+ * the best median so far is counted.  If fewer than half the points are below it then the median can't be an
+ * improvement and the selection step is skipped.
+ * </p>
+ *
+ * <p>
+ * For a multi-threaded version see {@link LeastMedianOfSquares_MT}.
+ * </p>
  * @author Peter Abeles
  */
 // TODO Better algorithm for selecting the inlier set.
@@ -54,9 +65,13 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 	private ModelGenerator<Model,Point> generator;
 	// computes the error for a point to the model
 	private DistanceFromModel<Model,Point> errorMetric;
+	// same as errorMetric if it supports batch processing, otherwise null
+	private DistanceFromModelBatch<Model,Point> batchMetric;
 
 	// where the initial small set of points is stored
 	private List<Point> smallSet = new ArrayList<Point>();
+	// permutation of the data set indexes used to draw samples
+	private int []sampleIndexes = new int[0];
 
 	// parameter being considered
 	private Model candidate;
@@ -69,6 +84,8 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 
 	// list of indexes converting it from match set to input list
 	private int []matchToInput = new int[1];
+	// storage for sorted indexes when computing the inlier set
+	private int []indexes = new int[1];
 
 	private List<Point> inlierSet;
 	private double inlierFrac;
@@ -98,6 +115,8 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 		this.inlierFrac = inlierFraction;
 		this.generator = generator;
 		this.errorMetric = errorMetric;
+		if( errorMetric instanceof DistanceFromModelBatch )
+			this.batchMetric = (DistanceFromModelBatch<Model,Point>)errorMetric;
 
 		bestParam = generator.createModelInstance();
 		candidate = generator.createModelInstance();
@@ -120,16 +139,27 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 		if( errors.length < N ) {
 			errors = new double[ N ];
 			matchToInput = new int[N];
+			indexes = new int[N];
+		}
+		if( sampleIndexes.length != N ) {
+			sampleIndexes = new int[N];
+			for( int i = 0; i < N; i++ )
+				sampleIndexes[i] = i;
 		}
+		if( batchMetric != null )
+			batchMetric.setPoints(dataSet);
 
 		bestMedian = Double.MAX_VALUE;
 
 		for( int i = 0; i < totalCycles; i++ ) {
-			Ransac.randomDraw(dataSet, sampleSize, smallSet, rand);
+			Ransac.randomDraw(dataSet, sampleSize, sampleIndexes, smallSet, rand);
 
 			if( generator.generate(smallSet, candidate) ) {
 				errorMetric.setModel(candidate);
-				errorMetric.computeDistance(dataSet,errors);
+				computeDistances(dataSet, N);
+
+				if( !canImprove(errors,N,bestMedian) )
+					continue;
 
 				double median = QuickSelectArray.select(errors,N/2,N);
 
@@ -154,9 +184,8 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 		if( inlierFrac > 0 && numPts > sampleSize ) {
 			inlierSet.clear();
 			errorMetric.setModel(bestParam);
-			errorMetric.computeDistance(dataSet,errors);
+			computeDistances(dataSet, n);
 
-			int []indexes = new int[n];
 			QuickSelectArray.selectIndex(errors,numPts, n,indexes);
 			for( int i = 0; i < numPts; i++ ) {
 				int origIndex = indexes[i];
@@ -168,6 +197,36 @@ public class LeastMedianOfSquares<Model, Point> implements ModelMatcher<Model, P
 		}
 	}
 
+	/**
+	 * Checks to see if the median of the errors could be less than the best median.  This is true if more than
+	 * half the points have an error which is less than the best median.
+	 *
+	 * @param errors Array of errors
+	 * @param N Number of elements in the array
+	 * @param bestMedian Best median found so far
+	 * @return true if the median might be less than bestMedian
+	 */
+	public static boolean canImprove( double errors[] , int N , double bestMedian ) {
+		// the median is element N/2 after sorting, so N/2+1 elements need to be less than the best
+		int needed = N/2+1;
+		int count = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( errors[i] < bestMedian && ++count >= needed )
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the distance of every point from the current model
+	 */
+	private void computeDistances(List<Point> dataSet, int N) {
+		if( batchMetric != null )
+			batchMetric.computeDistance(0, N, errors);
+		else
+			errorMetric.computeDistance(dataSet, errors);
+	}
+
 	@Override
 	public Model getModel() {
 		return bestParam;
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.lmeds;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
+import boofcv.numerics.fitting.modelset.ModelGenerator;
+import boofcv.numerics.fitting.modelset.ModelMatcher;
+import boofcv.numerics.fitting.modelset.ransac.Ransac;
+import pja.sorting.QuickSelectArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * <p>
+ * Multi-threaded version of {@link LeastMedianOfSquares}.  Produces identical results to the single threaded
+ * version when given the same random seed.
+ * </p>
+ *
+ * <p>
+ * All the samples are drawn up front in the calling thread using the same sequence of random numbers as the
+ * single threaded version.  Hypotheses are then divided into contiguous blocks and each worker, with its own
+ * {@link ModelGenerator} and {@link DistanceFromModel}, computes the median error for each hypothesis in its
+ * block.  Workers run as tasks in the {@link BoofConcurrency} thread pool.  The best hypothesis is the one with
+ * the lowest median, with ties going to the one which was drawn first, and the final model is generated again
+ * from its sample.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LeastMedianOfSquares_MT<Model, Point> implements ModelMatcher<Model, Point> {
+	// random number generator for selecting points
+	private Random rand;
+
+	// number of times it performs its fit cycle
+	private int totalCycles;
+	// how many points it samples to generate a model from
+	private int sampleSize;
+	// if the best model has more than this error then it is considered a bad match
+	private double maxMedianError;
+
+	// evaluates hypotheses
+	private Worker workers[];
+
+	// indexes of points in each sample.  sample 'i' starts at element i*sampleSize
+	private int samples[] = new int[0];
+	// permutation of the data set indexes used to draw samples
+	private int []sampleIndexes = new int[0];
+	// median error for each hypothesis.  MAX_VALUE if a model couldn't be generated or can't be the best.
+	private double medians[] = new double[0];
+
+	// the parameter with the best error
+	private Model bestParam;
+	private double bestMedian;
+
+	// list of indexes converting it from match set to input list
+	private int []matchToInput = new int[1];
+	// storage for sorted indexes when computing the inlier set
+	private int []indexes = new int[1];
+
+	private List<Point> inlierSet;
+	private double inlierFrac;
+
+	// evaluates the block of hypotheses which belongs to a worker
+	private IntRangeTask evaluateTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int i = start; i < end; i++ ) {
+				int blockStart = Math.min(totalCycles,i*blockSize);
+				int blockEnd = Math.min(totalCycles,blockStart+blockSize);
+				workers[i].evaluate(blockData,blockStart,blockEnd);
+			}
+		}
+	};
+	// inputs for evaluateTask
+	private List<Point> blockData;
+	private int blockSize;
+
+	/**
+	 * Creates a new instance.  The number of workers is specified by the number of generators.
+	 *
+	 * @see LeastMedianOfSquares#LeastMedianOfSquares
+	 *
+	 * @param randSeed Random seed used internally.
+	 * @param sampleSize Number of points it samples to compute a model from.  Typically this is the minimum number of points needed.
+	 * @param totalCycles Number of random draws it will make when estimating model parameters.
+	 * @param maxMedianError If the best median error is larger than this it is considered a failure.
+	 * @param inlierFraction Data which is this fraction or lower is considered an inlier and used to recompute model parameters at the end.  Set to 0 to turn off. Domain: 0 to 1.
+	 * @param generators One generator for each worker.  Each must be a different instance.
+	 * @param errorMetrics One distance for each worker.  Each must be a different instance.
+	 */
+	public LeastMedianOfSquares_MT( long randSeed ,
+									int sampleSize,
+									int totalCycles ,
+									double maxMedianError ,
+									double inlierFraction ,
+									List<ModelGenerator<Model,Point>> generators,
+									List<DistanceFromModel<Model,Point>> errorMetrics )
+	{
+		if( generators.size() != errorMetrics.size() )
+			throw new IllegalArgumentException("The number of generators and distances must be the same");
+		if( generators.size() == 0 )
+			throw new IllegalArgumentException("There must be at least one worker");
+
+		this.rand = new Random(randSeed);
+		this.sampleSize = sampleSize;
+		this.totalCycles = totalCycles;
+		this.maxMedianError = maxMedianError;
+		this.inlierFrac = inlierFraction;
+
+		workers = new LeastMedianOfSquares_MT.Worker[ generators.size() ];
+		for( int i = 0; i < workers.length; i++ ) {
+			workers[i] = new Worker(generators.get(i),errorMetrics.get(i));
+		}
+
+		bestParam = generators.get(0).createModelInstance();
+
+		if( inlierFrac > 0.0 ) {
+			inlierSet = new ArrayList<Point>();
+		} else if( inlierFrac > 1.0 ) {
+			throw new IllegalArgumentException("Inlier fraction must be <= 1");
+		}
+	}
+
+	@Override
+	public boolean process(List<Point> dataSet) {
+		if( dataSet.size() < sampleSize )
+			return false;
+
+		int N = dataSet.size();
+
+		if( matchToInput.length < N ) {
+			matchToInput = new int[N];
+			indexes = new int[N];
+		}
+		if( sampleIndexes.length != N ) {
+			sampleIndexes = new int[N];
+			for( int i = 0; i < N; i++ )
+				sampleIndexes[i] = i;
+		}
+		if( medians.length < totalCycles ) {
+			medians = new double[totalCycles];
+			samples = new int[totalCycles*sampleSize];
+		}
+
+		// draw the samples in the same order as the single threaded version
+		for( int i = 0; i < totalCycles; i++ ) {
+			drawSample(N);
+			System.arraycopy(sampleIndexes,0,samples,i*sampleSize,sampleSize);
+		}
+
+		// evaluate each hypothesis
+		for( Worker w : workers )
+			w.setPoints(dataSet);
+
+		blockSize = (totalCycles + workers.length-1)/workers.length;
+		blockData = dataSet;
+		BoofConcurrency.loopTasks(workers.length,evaluateTask);
+		blockData = null;
+
+		// select the best hypothesis, the first one drawn in case of a tie
+		bestMedian = Double.MAX_VALUE;
+		int best = -1;
+		for( int i = 0; i < totalCycles; i++ ) {
+			if( medians[i] < bestMedian ) {
+				bestMedian = medians[i];
+				best = i;
+			}
+		}
+
+		Worker w = workers[0];
+		if( best >= 0 ) {
+			w.loadSample(dataSet,best);
+			w.generator.generate(w.smallSet,bestParam);
+		}
+
+		// if configured to do so compute the inlier set
+		computeInlierSet(dataSet, N);
+
+		return bestMedian <= maxMedianError;
+	}
+
+	/**
+	 * Draws the next sample.  Must use exactly the same random numbers as {@link Ransac#randomDraw}.
+	 */
+	private void drawSample( int N ) {
+		for (int i = 0; i < sampleSize; i++) {
+			int j = i + rand.nextInt(N-i);
+			int tmp = sampleIndexes[i];
+			sampleIndexes[i] = sampleIndexes[j];
+			sampleIndexes[j] = tmp;
+		}
+	}
+
+	private void computeInlierSet(List<Point> dataSet, int n) {
+		int numPts = (int)(n *inlierFrac);
+
+		if( inlierFrac > 0 && numPts > sampleSize ) {
+			inlierSet.clear();
+			Worker w = workers[0];
+			w.errorMetric.setModel(bestParam);
+			w.computeDistances(dataSet, n);
+
+			QuickSelectArray.selectIndex(w.errors,numPts, n,indexes);
+			for( int i = 0; i < numPts; i++ ) {
+				int origIndex = indexes[i];
+				inlierSet.add( dataSet.get(origIndex) );
+				matchToInput[i] = origIndex;
+			}
+		} else {
+			inlierSet = dataSet;
+		}
+	}
+
+	@Override
+	public Model getModel() {
+		return bestParam;
+	}
+
+	/**
+	 * If configured to computer the inlier set it returns the computed inliers.  Otherwise
+	 * it returns the data set orginally passed in.
+	 *
+	 * @return Set of points that are inliers to the returned model parameters..
+	 */
+	@Override
+	public List<Point> getMatchSet() {
+		return inlierSet;
+	}
+
+	@Override
+	public int getInputIndex(int matchIndex) {
+		return matchToInput[matchIndex];
+	}
+
+	/**
+	 * Value of the best median error.
+	 */
+	@Override
+	public double getError() {
+		return bestMedian;
+	}
+
+	@Override
+	public int getMinimumSize() {
+		return sampleSize;
+	}
+
+	/**
+	 * Number of workers.  The number of threads used is also limited by {@link BoofConcurrency#getMaxThreads()}.
+	 */
+	public int getNumWorkers() {
+		return workers.length;
+	}
+
+	/**
+	 * Evaluates a block of hypotheses
+	 */
+	private class Worker {
+		ModelGenerator<Model,Point> generator;
+		DistanceFromModel<Model,Point> errorMetric;
+		DistanceFromModelBatch<Model,Point> batchMetric;
+
+		Model candidate;
+		List<Point> smallSet = new ArrayList<Point>();
+		double errors[] = new double[0];
+
+		private Worker(ModelGenerator<Model, Point> generator, DistanceFromModel<Model, Point> errorMetric) {
+			this.generator = generator;
+			this.errorMetric = errorMetric;
+			if( errorMetric instanceof DistanceFromModelBatch )
+				this.batchMetric = (DistanceFromModelBatch<Model,Point>)errorMetric;
+			this.candidate = generator.createModelInstance();
+		}
+
+		public void setPoints( List<Point> dataSet ) {
+			if( errors.length < dataSet.size() )
+				errors = new double[ dataSet.size() ];
+			if( batchMetric != null )
+				batchMetric.setPoints(dataSet);
+		}
+
+		/**
+		 * Computes the median error for hypotheses in the range [start,end)
+		 */
+		public void evaluate( List<Point> dataSet , int start , int end ) {
+			int N = dataSet.size();
+			double bestMedian = Double.MAX_VALUE;
+
+			for( int i = start; i < end; i++ ) {
+				medians[i] = Double.MAX_VALUE;
+
+				loadSample(dataSet,i);
+				if( !generator.generate(smallSet, candidate) )
+					continue;
+
+				errorMetric.setModel(candidate);
+				computeDistances(dataSet, N);
+
+				// hypotheses in this block are processed in order so a median which is not better than
+				// an earlier one can never be selected
+				if( !LeastMedianOfSquares.canImprove(errors,N,bestMedian) )
+					continue;
+
+				double median = QuickSelectArray.select(errors,N/2,N);
+				if( median < bestMedian ) {
+					bestMedian = median;
+					medians[i] = median;
+				}
+			}
+		}
+
+		public void loadSample( List<Point> dataSet , int which ) {
+			smallSet.clear();
+			for( int i = 0; i < sampleSize; i++ )
+				smallSet.add( dataSet.get(samples[which*sampleSize+i]));
+		}
+
+		public void computeDistances(List<Point> dataSet, int N) {
+			if( batchMetric != null )
+				batchMetric.computeDistance(0, N, errors);
+			else
+				errorMetric.computeDistance(dataSet, errors);
+		}
+	}
+}
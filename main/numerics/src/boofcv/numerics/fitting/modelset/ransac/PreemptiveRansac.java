@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
+import boofcv.numerics.fitting.modelset.ModelGenerator;
+import boofcv.numerics.fitting.modelset.ModelMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * <p>
+ * Preemptive RANSAC [1] evaluates a fixed number of hypotheses breadth first instead of one at a time.  All
+ * the hypotheses are generated up front and then scored against blocks of points, visited in a random order.
+ * After each block only the best scoring half of the hypotheses are kept.  This continues until a single
+ * hypothesis remains or all the points have been used.  The inlier set of the winning hypothesis is then found
+ * using all the points.  The total cost is bounded and most hypotheses are only checked against a small
+ * number of points, which makes it well suited for large data sets and real-time applications.
+ * </p>
+ *
+ * <p>
+ * The score of a hypothesis is the number of points in its inlier set.  Distances are computed a block at a time
+ * using the batch functions in {@link DistanceFromModel}, or {@link DistanceFromModelBatch} if supported.
+ * </p>
+ *
+ * <p>
+ * [1] David Nistér, "Preemptive RANSAC for Live Structure and Motion Estimation" ICCV 2003
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreemptiveRansac<Model, Point> implements ModelMatcher<Model,Point> {
+	// how many points are drawn to generate the model
+	protected int sampleSize;
+
+	// how close a point needs to be considered part of the model
+	protected double thresholdFit;
+
+	// generates an initial model given a set of points
+	protected ModelGenerator<Model,Point> modelGenerator;
+	// computes the distance a point is from the model
+	protected DistanceFromModel<Model,Point> modelDistance;
+	// same as modelDistance if it supports batch processing, otherwise null
+	protected DistanceFromModelBatch<Model,Point> batchDistance;
+
+	// used to randomly select points/samples
+	protected Random rand;
+
+	// number of hypotheses it generates
+	protected int numHypotheses;
+	// number of points evaluated before hypotheses are pruned
+	protected int blockSize;
+
+	// storage for hypotheses
+	protected List<Model> hypotheses = new ArrayList<Model>();
+	// score of each hypothesis
+	protected int scores[] = new int[0];
+	// index of hypotheses which have not been pruned, sorted by score
+	protected int active[] = new int[0];
+
+	// the set of points which were initially sampled
+	protected List<Point> initialSample = new ArrayList<Point>();
+	// permutation of the data set indexes used to draw samples and to select the order points are evaluated in
+	protected int []sampleIndexes = new int[0];
+	protected int []order = new int[0];
+	// the data set in the order it is evaluated
+	protected List<Point> shuffled = new ArrayList<Point>();
+	// storage for distances and which points are inliers to the best model
+	protected double distances[] = new double[0];
+	protected boolean inliers[] = new boolean[0];
+
+	// the best model and its inlier set
+	protected Model bestFitParam;
+	protected List<Point> bestFitPoints = new ArrayList<Point>();
+	protected int []bestMatchToInput = new int[0];
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param randSeed The random seed used by the random number generator.
+	 * @param modelGenerator Creates new model(s) given a small number of points.
+	 * @param modelDistance Computes the difference between a point an a model.
+	 * @param numHypotheses Number of hypotheses it will generate.  Try 200.
+	 * @param blockSize Number of points evaluated between each pruning step.  Try 100.
+	 * @param thresholdFit How close of a fit a points needs to be to the model to be considered a fit.
+	 */
+	public PreemptiveRansac(long randSeed,
+							ModelGenerator<Model, Point> modelGenerator,
+							DistanceFromModel<Model, Point> modelDistance,
+							int numHypotheses, int blockSize,
+							double thresholdFit) {
+		if( numHypotheses <= 0 || blockSize <= 0 )
+			throw new IllegalArgumentException("numHypotheses and blockSize must be more than zero");
+
+		this.modelGenerator = modelGenerator;
+		this.modelDistance = modelDistance;
+		if( modelDistance instanceof DistanceFromModelBatch )
+			this.batchDistance = (DistanceFromModelBatch<Model,Point>)modelDistance;
+		this.rand = new Random(randSeed);
+		this.numHypotheses = numHypotheses;
+		this.blockSize = blockSize;
+		this.thresholdFit = thresholdFit;
+
+		this.sampleSize = modelGenerator.getMinimumPoints();
+		this.bestFitParam = modelGenerator.createModelInstance();
+	}
+
+	@Override
+	public boolean process(List<Point> dataSet) {
+		bestFitPoints.clear();
+
+		// see if it has the minimum number of points
+		int N = dataSet.size();
+		if (N < sampleSize || N < modelGenerator.getMinimumPoints() )
+			return false;
+
+		initialize(N);
+
+		// generate the hypotheses, a sample which fails to produce a model is not counted
+		int numActive = 0;
+		for( int i = 0; i < numHypotheses; i++ ) {
+			Ransac.randomDraw(dataSet, sampleSize, sampleIndexes, initialSample, rand);
+			if( modelGenerator.generate(initialSample, hypotheses.get(numActive)) ) {
+				scores[numActive] = 0;
+				active[numActive] = numActive;
+				numActive++;
+			}
+		}
+
+		if( numActive == 0 )
+			return false;
+
+		// the order points are evaluated in
+		shuffled.clear();
+		for( int i = 0; i < N; i++ ) {
+			int j = i + rand.nextInt(N-i);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+			shuffled.add(dataSet.get(order[i]));
+		}
+		if( batchDistance != null )
+			batchDistance.setPoints(shuffled);
+
+		// score blocks of points and prune hypotheses after each block
+		for( int start = 0; start < N && numActive > 1; start += blockSize ) {
+			int end = Math.min(N,start+blockSize);
+
+			for( int i = 0; i < numActive; i++ ) {
+				int h = active[i];
+				modelDistance.setModel(hypotheses.get(h));
+				computeDistances(start, end);
+
+				int score = 0;
+				for( int j = 0; j < end-start; j++ ) {
+					if( distances[j] < thresholdFit )
+						score++;
+				}
+				scores[h] += score;
+			}
+
+			// keep the best half
+			sortActive(numActive);
+			numActive /= 2;
+		}
+
+		if( numActive > 1 )
+			sortActive(numActive);
+
+		// find the inlier set of the winning hypothesis using all the points
+		Model winner = hypotheses.get(active[0]);
+		modelDistance.setModel(winner);
+		computeDistances(0, N);
+		for( int j = 0; j < N; j++ ) {
+			inliers[order[j]] = distances[j] < thresholdFit;
+		}
+		// add inliers in the order of the input list
+		for( int i = 0; i < N; i++ ) {
+			if( inliers[i] ) {
+				bestMatchToInput[bestFitPoints.size()] = i;
+				bestFitPoints.add(dataSet.get(i));
+			}
+		}
+
+		// swap so that the winning hypothesis isn't modified the next time process is called
+		hypotheses.set(active[0],bestFitParam);
+		bestFitParam = winner;
+
+		return bestFitPoints.size() > 0;
+	}
+
+	/**
+	 * Declares internal data structures
+	 */
+	protected void initialize( int N ) {
+		while( hypotheses.size() < numHypotheses )
+			hypotheses.add( modelGenerator.createModelInstance() );
+
+		if( scores.length < numHypotheses ) {
+			scores = new int[ numHypotheses ];
+			active = new int[ numHypotheses ];
+		}
+
+		if( bestMatchToInput.length < N )
+			bestMatchToInput = new int[ N ];
+		if( distances.length < N )
+			distances = new double[ N ];
+		if( inliers.length < N )
+			inliers = new boolean[ N ];
+
+		if( sampleIndexes.length != N ) {
+			sampleIndexes = new int[ N ];
+			order = new int[ N ];
+			for( int i = 0; i < N; i++ ) {
+				sampleIndexes[i] = i;
+				order[i] = i;
+			}
+		}
+	}
+
+	/**
+	 * Computes the distance of shuffled points in the range [start,end) from the current model.
+	 */
+	protected void computeDistances( int start , int end ) {
+		if( batchDistance != null )
+			batchDistance.computeDistance(start, end, distances);
+		else
+			modelDistance.computeDistance(shuffled.subList(start, end), distances);
+	}
+
+	/**
+	 * Sorts active hypotheses by score in descending order.  Insertion sort is used since it's stable,
+	 * ties are resolved by original order, and the list is already mostly sorted.
+	 */
+	protected void sortActive( int numActive ) {
+		for( int i = 1; i < numActive; i++ ) {
+			int h = active[i];
+			int score = scores[h];
+			int j = i-1;
+			while( j >= 0 && scores[active[j]] < score ) {
+				active[j+1] = active[j];
+				j--;
+			}
+			active[j+1] = h;
+		}
+	}
+
+	@Override
+	public Model getModel() {
+		return bestFitParam;
+	}
+
+	@Override
+	public List<Point> getMatchSet() {
+		return bestFitPoints;
+	}
+
+	@Override
+	public int getInputIndex(int matchIndex) {
+		return bestMatchToInput[matchIndex];
+	}
+
+	@Override
+	public double getError() {
+		return bestFitPoints.size();
+	}
+
+	@Override
+	public int getMinimumSize() {
+		return sampleSize;
+	}
+
+	/**
+	 * Override the number of points that are sampled and used to generate models.  If this value
+	 * is not set it defaults to the minimum number.
+	 *
+	 * @param sampleSize Number of sample points.
+	 */
+	public void setSampleSize(int sampleSize) {
+		this.sampleSize = sampleSize;
+	}
+
+	public int getNumHypotheses() {
+		return numHypotheses;
+	}
+
+	public void setNumHypotheses(int numHypotheses) {
+		if( numHypotheses <= 0 )
+			throw new IllegalArgumentException("numHypotheses must be more than zero");
+		this.numHypotheses = numHypotheses;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	public void setBlockSize(int blockSize) {
+		if( blockSize <= 0 )
+			throw new IllegalArgumentException("blockSize must be more than zero");
+		this.blockSize = blockSize;
+	}
+
+	public double getThresholdFit() {
+		return thresholdFit;
+	}
+
+	public void setThresholdFit(double thresholdFit) {
+		this.thresholdFit = thresholdFit;
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.numerics.fitting.modelset.ransac;
 
 import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.numerics.fitting.modelset.ModelGenerator;
 import boofcv.numerics.fitting.modelset.ModelMatcher;
 
@@ -42,9 +43,34 @@ import java.util.Random;
  * it to any number.
  * </p>
  *
+ * <p>
+ * Early Termination: If a confidence level is specified, see {@link #setConfidence(double)}, then the number of
+ * iterations is adaptively reduced using the fraction of inliers in the best model found so far.  After each
+ * improvement the number of iterations needed to sample an outlier free set with the specified confidence is
+ * computed as log(1-confidence)/log(1-w<sup>s</sup>), where w is the inlier fraction and s the sample size.
+ * The maximum number of iterations is still an upper limit.
+ * </p>
+ *
+ * <p>
+ * Verification: A candidate model stops being checked once it can no longer have more inliers than the best
+ * model.  Bad models can be rejected even sooner by turning on the Sequential Probability Ratio Test, see
+ * {@link #setSprt(SequentialProbabilityRatioTest)}.  Then points are checked starting at a random location
+ * and a model is abandoned when the test decides it is most likely bad.  A small fraction of good models will
+ * be rejected too, which is accounted for when early termination is turned on.  Distances are computed for
+ * blocks of points at a time using the batch functions in {@link DistanceFromModel}, or using
+ * {@link DistanceFromModelBatch} if the distance function implements it.
+ * </p>
+ *
+ * <p>
+ * For a multi-threaded version see {@link Ransac_MT}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
+	// number of points which have their distance computed at once
+	protected static final int BLOCK_SIZE = 64;
+
 	// how many points are drawn to generate the model
 	protected int sampleSize;
 
@@ -55,6 +81,10 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 	protected ModelGenerator<Model,Point> modelGenerator;
 	// computes the distance a point is from the model
 	protected DistanceFromModel<Model,Point> modelDistance;
+	// same as modelDistance if it supports batch processing, otherwise null
+	protected DistanceFromModelBatch<Model,Point> batchDistance;
+	// storage for distances of points in a block
+	protected double distances[] = new double[BLOCK_SIZE];
 
 	// used to randomly select points/samples
 	protected Random rand;
@@ -72,9 +102,21 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 
 	// the maximum number of iterations it will perform
 	protected int maxIterations;
+	// number of iterations after which it will stop, adjusted as better models are found
+	protected int iterationLimit;
+	// the number of iterations performed in the most recent call to process
+	protected int iteration;
+
+	// confidence that an outlier free sample has been drawn, used for early termination.  0 = disabled
+	protected double confidence = 0;
+
+	// used to reject bad models early.  null = disabled
+	protected SequentialProbabilityRatioTest sprt;
 
 	// the set of points which were initially sampled
 	protected List<Point> initialSample = new ArrayList<Point>();
+	// permutation of the data set indexes used to draw samples
+	protected int []sampleIndexes = new int[0];
 
 	// list of indexes converting it from match set to input list
 	protected int []matchToInput = new int[1];
@@ -97,6 +139,8 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 				  double thresholdFit) {
 		this.modelGenerator = modelGenerator;
 		this.modelDistance = modelDistance;
+		if( modelDistance instanceof DistanceFromModelBatch )
+			this.batchDistance = (DistanceFromModelBatch<Model,Point>)modelDistance;
 
 		this.rand = new Random(randSeed);
 		this.maxIterations = maxIterations;
@@ -120,24 +164,85 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 
 		// iterate until it has exhausted all iterations or stop if the entire data set
 		// is in the inlier set
-		for (int i = 0; i < maxIterations && bestFitPoints.size() != dataSet.size(); i++) {
-			// sample the a small set of points
-			randomDraw(dataSet, sampleSize, initialSample, rand);
-			
-			// get the candidate(s) for this sample set
-			if( modelGenerator.generate(initialSample, candidateParam ) ) {
-
-				// see if it can find a model better than the current best one
+		for (iteration = 0; iteration < iterationLimit && bestFitPoints.size() != dataSet.size(); iteration++) {
+			if( performIteration(dataSet) && confidence > 0 ) {
+				double probAccept = sprt == null ? 1 : sprt.getProbabilityAcceptGood();
+				int limit = computeIterationLimit(confidence,bestFitPoints.size(),dataSet.size(),sampleSize,probAccept);
+				iterationLimit = Math.min(maxIterations,limit);
+			}
+		}
+
+		return bestFitPoints.size() > 0;
+	}
+
+	/**
+	 * Draws a sample, generates a model from it, and checks to see if the model is better than the current
+	 * best model.
+	 *
+	 * @param dataSet The points being considered
+	 * @return true if a new best model was found
+	 */
+	protected boolean performIteration( List<Point> dataSet ) {
+		// sample the a small set of points
+		randomDraw(dataSet, sampleSize, sampleIndexes, initialSample, rand);
+
+		// get the candidate(s) for this sample set
+		if( modelGenerator.generate(initialSample, candidateParam ) ) {
+
+			// see if it can find a model better than the current best one
+			if( sprt == null ) {
 				selectMatchSet(dataSet, thresholdFit, candidateParam);
+			} else if( !selectMatchSetSprt(dataSet, thresholdFit, candidateParam) ) {
+				return false;
+			}
 
-				// save this results
-				if (bestFitPoints.size() < candidatePoints.size()) {
-					swapCandidateWithBest();
-				}
+			// save this results
+			if (bestFitPoints.size() < candidatePoints.size()) {
+				swapCandidateWithBest();
+				if( sprt != null )
+					sprt.setInlierFraction(bestFitPoints.size()/(double)dataSet.size());
+				return true;
 			}
 		}
+		return false;
+	}
 
-		return bestFitPoints.size() > 0;
+	/**
+	 * Computes the number of iterations needed to draw at least one sample which is free of outliers with
+	 * the specified level of confidence.
+	 *
+	 * @param confidence Confidence level.  Domain: 0 to 1, exclusive.
+	 * @param numInliers Number of inliers in the best model
+	 * @param numPoints Total number of points
+	 * @param sampleSize Number of points in each sample
+	 * @return Number of iterations.  Integer.MAX_VALUE if it can't be estimated.
+	 */
+	public static int computeIterationLimit( double confidence , int numInliers , int numPoints , int sampleSize ) {
+		return computeIterationLimit(confidence,numInliers,numPoints,sampleSize,1.0);
+	}
+
+	/**
+	 * Same as {@link #computeIterationLimit(double, int, int, int)} but takes in account the probability
+	 * of a good model being rejected by the verification step.
+	 *
+	 * @param probAcceptGood Probability that a model generated from an outlier free sample is accepted.
+	 */
+	public static int computeIterationLimit( double confidence , int numInliers , int numPoints , int sampleSize ,
+											 double probAcceptGood ) {
+		if( numInliers >= numPoints )
+			return 0;
+
+		double probGoodSample = Math.pow(numInliers/(double)numPoints, sampleSize)*probAcceptGood;
+		if( probGoodSample <= 0 )
+			return Integer.MAX_VALUE;
+
+		double denominator = Math.log(1.0-probGoodSample);
+		if( denominator >= 0 )
+			return Integer.MAX_VALUE;
+
+		double N = Math.ceil(Math.log(1.0-confidence)/denominator);
+
+		return N >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)N;
 	}
 
 	/**
@@ -145,11 +250,48 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 	 */
 	public void initialize( List<Point> dataSet ) {
 		bestFitPoints.clear();
+		iterationLimit = maxIterations;
+		if( sprt != null )
+			sprt.reset();
+		if( batchDistance != null )
+			batchDistance.setPoints(dataSet);
 
 		if( dataSet.size() > matchToInput.length ) {
 			matchToInput = new int[ dataSet.size() ];
 			bestMatchToInput = new int[ dataSet.size() ];
 		}
+
+		if( dataSet.size() != sampleIndexes.length ) {
+			sampleIndexes = new int[ dataSet.size() ];
+			for( int i = 0; i < sampleIndexes.length; i++ )
+				sampleIndexes[i] = i;
+		}
+	}
+
+	/**
+	 * Randomly selects points without replacement by partially shuffling an array of indexes.  Only
+	 * 'numSample' swaps are performed and the data set is not modified.  The index array must contain a
+	 * permutation of the data set's indexes and remains a permutation after this function is called.
+	 *
+	 * @param dataSet The points being sampled
+	 * @param numSample Number of points to select
+	 * @param indexes (Input/Output) Permutation of data set indexes.
+	 * @param initialSample (Output) Storage for selected points.
+	 * @param rand Random number generator
+	 */
+	public static <T> void randomDraw(List<T> dataSet, int numSample, int []indexes,
+									  List<T> initialSample, Random rand) {
+		initialSample.clear();
+
+		int N = dataSet.size();
+		for (int i = 0; i < numSample; i++) {
+			int j = i + rand.nextInt(N-i);
+			int tmp = indexes[i];
+			indexes[i] = indexes[j];
+			indexes[j] = tmp;
+
+			initialSample.add(dataSet.get(indexes[i]));
+		}
 	}
 
 	/**
@@ -170,10 +312,10 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 				}
 			}
 		} else {
-			// shuffle the data set
-			Collections.shuffle(dataSet, rand);
-
+			// partially shuffle the data set, only the first numSample elements are needed
+			int N = dataSet.size();
 			for (int i = 0; i < numSample; i++) {
+				Collections.swap(dataSet, i, i + rand.nextInt(N-i));
 				initialSample.add(dataSet.get(i));
 			}
 		}
@@ -191,17 +333,83 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 		candidatePoints.clear();
 		modelDistance.setModel(param);
 
-		for (int i = 0; i < dataSet.size(); i++) {
-			Point point = dataSet.get(i);
+		int N = dataSet.size();
+		int numBest = bestFitPoints.size();
+
+		for (int start = 0; start < N; start += BLOCK_SIZE) {
+			// stop if it can't beat the best model
+			if( candidatePoints.size() + N - start <= numBest )
+				return;
+
+			int end = Math.min(N,start+BLOCK_SIZE);
+			computeDistances(dataSet, start, end);
 
-			double distance = modelDistance.computeDistance(point);
-			if (distance < threshold) {
-				matchToInput[candidatePoints.size()] = i;
-				candidatePoints.add(point);
+			for (int i = start; i < end; i++) {
+				if (distances[i-start] < threshold) {
+					matchToInput[candidatePoints.size()] = i;
+					candidatePoints.add(dataSet.get(i));
+				}
 			}
 		}
 	}
 
+	/**
+	 * Computes the distance of points in the range [start,end) from the current model and stores the results
+	 * in 'distances'.
+	 */
+	protected void computeDistances( List<Point> dataSet , int start , int end ) {
+		if( batchDistance != null )
+			batchDistance.computeDistance(start, end, distances);
+		else
+			modelDistance.computeDistance(dataSet.subList(start, end), distances);
+	}
+
+	/**
+	 * Same as {@link #selectMatchSet} but uses SPRT to reject bad models early.  Points are checked starting
+	 * at a random index so that the ordering of the input doesn't bias the test.
+	 *
+	 * @return true if the model was accepted and the candidate set is complete.
+	 */
+	protected boolean selectMatchSetSprt(List<Point> dataSet, double threshold, Model param) {
+		candidatePoints.clear();
+		modelDistance.setModel(param);
+		sprt.startModel();
+
+		int N = dataSet.size();
+		int numBest = bestFitPoints.size();
+		int offset = rand.nextInt(N);
+
+		// number of points tested so far
+		int k = 0;
+		while( k < N ) {
+			if( candidatePoints.size() + N - k <= numBest )
+				return false;
+
+			// wrap around at the end of the data set
+			int start = offset + k;
+			if( start >= N )
+				start -= N;
+			int end = Math.min(Math.min(N, start + BLOCK_SIZE), start + N - k);
+
+			computeDistances(dataSet, start, end);
+
+			for (int i = start; i < end; i++, k++) {
+				boolean consistent = distances[i-start] < threshold;
+				if( consistent ) {
+					matchToInput[candidatePoints.size()] = i;
+					candidatePoints.add(dataSet.get(i));
+				}
+
+				if( !sprt.update(consistent) ) {
+					sprt.modelRejected(candidatePoints.size(),k+1);
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * Turns the current candidates into the best ones.
 	 */
@@ -247,6 +455,29 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 		this.maxIterations = maxIterations;
 	}
 
+	/**
+	 * Number of iterations performed in the most recent call to {@link #process(java.util.List)}.
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	public double getConfidence() {
+		return confidence;
+	}
+
+	/**
+	 * Specifies the confidence level used for early termination.  If set to 0 early termination is turned off
+	 * and it will always run for the maximum number of iterations, unless all points are inliers.
+	 *
+	 * @param confidence Confidence that an outlier free sample has been drawn.  Try 0.99.  Domain: 0 to 1, exclusive.
+	 */
+	public void setConfidence(double confidence) {
+		if( confidence < 0 || confidence >= 1 )
+			throw new IllegalArgumentException("Confidence must be between 0 and 1, exclusive");
+		this.confidence = confidence;
+	}
+
 	@Override
 	public int getMinimumSize() {
 		return sampleSize;
@@ -262,6 +493,19 @@ public class Ransac<Model, Point> implements ModelMatcher<Model,Point> {
 		this.sampleSize = sampleSize;
 	}
 
+	public SequentialProbabilityRatioTest getSprt() {
+		return sprt;
+	}
+
+	/**
+	 * Turns on SPRT verification of models.  Set to null to turn off.
+	 *
+	 * @param sprt SPRT used to verify models.  Can be null.
+	 */
+	public void setSprt(SequentialProbabilityRatioTest sprt) {
+		this.sprt = sprt;
+	}
+
 	public double getThresholdFit() {
 		return thresholdFit;
 	}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.ModelGenerator;
+import boofcv.numerics.fitting.modelset.ModelMatcher;
+
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * <p>
+ * Multi-threaded version of {@link Ransac}.  Each worker has its own copy of the
+ * {@link ModelGenerator}, {@link DistanceFromModel}, and random number generator.  Workers are seeded from
+ * a single random seed and run as tasks in the {@link BoofConcurrency} thread pool.
+ * </p>
+ *
+ * <p>
+ * Iterations are performed in rounds.  In each round every worker performs a fixed number of iterations
+ * then the best model across all workers is found, with ties going to the worker with the lowest index.
+ * Early termination is only considered between rounds.  As a result the output is deterministic for a given
+ * random seed and number of workers and does not depend on how threads are scheduled.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class Ransac_MT<Model, Point> implements ModelMatcher<Model,Point> {
+
+	// performs the actual iterations
+	protected Ransac<Model,Point> workers[];
+
+	// worker with the best model
+	protected Ransac<Model,Point> best;
+
+	// performs one round of iterations for a worker
+	protected IntRangeTask roundTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int i = start; i < end; i++ )
+				iterate(workers[i],roundData,roundIterations);
+		}
+	};
+	// inputs for the current round
+	protected List<Point> roundData;
+	protected int roundIterations;
+
+	// number of iterations each worker performs in a round
+	protected int iterationsPerRound = 10;
+	// the number of iterations performed in the most recent call to process
+	protected int iteration;
+
+	protected int maxIterations;
+	protected double confidence = 0;
+	protected int sampleSize;
+
+	/**
+	 * Creates a new instance.  The number of workers is specified by the number of generators.
+	 *
+	 * @param randSeed The random seed used to seed each worker's random number generator.
+	 * @param modelGenerators One generator for each worker.  Each must be a different instance.
+	 * @param modelDistances One distance for each worker.  Each must be a different instance.
+	 * @param maxIterations The maximum number of iterations, summed across all workers.
+	 * @param thresholdFit How close of a fit a points needs to be to the model to be considered a fit.
+	 */
+	public Ransac_MT(long randSeed,
+					 List<ModelGenerator<Model, Point>> modelGenerators,
+					 List<DistanceFromModel<Model, Point>> modelDistances,
+					 int maxIterations,
+					 double thresholdFit) {
+		if( modelGenerators.size() != modelDistances.size() )
+			throw new IllegalArgumentException("The number of generators and distances must be the same");
+		if( modelGenerators.size() == 0 )
+			throw new IllegalArgumentException("There must be at least one worker");
+
+		Random rand = new Random(randSeed);
+
+		workers = new Ransac[ modelGenerators.size() ];
+		for( int i = 0; i < workers.length; i++ ) {
+			workers[i] = new Ransac<Model,Point>(rand.nextLong(),modelGenerators.get(i),modelDistances.get(i),
+					maxIterations,thresholdFit);
+		}
+
+		this.maxIterations = maxIterations;
+		this.sampleSize = workers[0].getMinimumSize();
+	}
+
+	@Override
+	public boolean process(List<Point> dataSet) {
+		best = workers[0];
+
+		// see if it has the minimum number of points
+		if (dataSet.size() < workers[0].modelGenerator.getMinimumPoints() )
+			return false;
+
+		for( Ransac<Model,Point> w : workers ) {
+			w.setSampleSize(sampleSize);
+			w.initialize(dataSet);
+		}
+
+		int iterationLimit = maxIterations;
+		iteration = 0;
+
+		while( iteration < iterationLimit && best.bestFitPoints.size() != dataSet.size() ) {
+			// evenly distribute the remaining iterations, up to the round size
+			int remaining = iterationLimit - iteration;
+			roundIterations = Math.min(iterationsPerRound,(remaining+workers.length-1)/workers.length);
+			roundData = dataSet;
+
+			BoofConcurrency.loopTasks(workers.length,roundTask);
+			iteration += roundIterations*workers.length;
+
+			// select the best model, ties go to the lowest index
+			for( Ransac<Model,Point> w : workers ) {
+				if( w.bestFitPoints.size() > best.bestFitPoints.size() )
+					best = w;
+			}
+
+			if( confidence > 0 && best.bestFitPoints.size() > 0 ) {
+				double probAccept = best.sprt == null ? 1 : best.sprt.getProbabilityAcceptGood();
+				int limit = Ransac.computeIterationLimit(confidence,best.bestFitPoints.size(),
+						dataSet.size(),sampleSize,probAccept);
+				iterationLimit = Math.min(maxIterations,limit);
+			}
+		}
+
+		roundData = null;
+
+		return best.bestFitPoints.size() > 0;
+	}
+
+	/**
+	 * Performs the specified number of iterations, stopping early if all the points are inliers
+	 */
+	private static <Model,Point> void iterate( Ransac<Model,Point> worker , List<Point> dataSet , int numIterations ) {
+		for( int i = 0; i < numIterations && worker.bestFitPoints.size() != dataSet.size(); i++ ) {
+			worker.performIteration(dataSet);
+		}
+	}
+
+	@Override
+	public Model getModel() {
+		return best.getModel();
+	}
+
+	@Override
+	public List<Point> getMatchSet() {
+		return best.getMatchSet();
+	}
+
+	@Override
+	public int getInputIndex(int matchIndex) {
+		return best.getInputIndex(matchIndex);
+	}
+
+	@Override
+	public double getError() {
+		return best.getError();
+	}
+
+	@Override
+	public int getMinimumSize() {
+		return sampleSize;
+	}
+
+	/**
+	 * Number of workers.  The number of threads used is also limited by {@link BoofConcurrency#getMaxThreads()}.
+	 */
+	public int getNumWorkers() {
+		return workers.length;
+	}
+
+	/**
+	 * Number of iterations performed in the most recent call to {@link #process(java.util.List)}, summed
+	 * across all workers.
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Override the number of points that are sampled and used to generate models.  If this value
+	 * is not set it defaults to the minimum number.
+	 *
+	 * @param sampleSize Number of sample points.
+	 */
+	public void setSampleSize(int sampleSize) {
+		this.sampleSize = sampleSize;
+	}
+
+	public double getThresholdFit() {
+		return workers[0].getThresholdFit();
+	}
+
+	public void setThresholdFit(double thresholdFit) {
+		for( Ransac<Model,Point> w : workers )
+			w.setThresholdFit(thresholdFit);
+	}
+
+	public double getConfidence() {
+		return confidence;
+	}
+
+	/**
+	 * @see Ransac#setConfidence(double)
+	 */
+	public void setConfidence(double confidence) {
+		if( confidence < 0 || confidence >= 1 )
+			throw new IllegalArgumentException("Confidence must be between 0 and 1, exclusive");
+		this.confidence = confidence;
+	}
+
+	/**
+	 * Turns on SPRT verification of models.  Each worker is given its own copy of the test.
+	 *
+	 * @see Ransac#setSprt(SequentialProbabilityRatioTest)
+	 * @param sprt Configuration of SPRT.  Can be null to turn off.
+	 */
+	public void setSprt( SequentialProbabilityRatioTest sprt ) {
+		for( Ransac<Model,Point> w : workers ) {
+			w.setSprt( sprt == null ? null : new SequentialProbabilityRatioTest(sprt));
+		}
+	}
+
+	public int getIterationsPerRound() {
+		return iterationsPerRound;
+	}
+
+	/**
+	 * Number of iterations each worker performs before results are combined and early termination is
+	 * considered.  Larger values reduce synchronization overhead but can perform unneeded iterations.
+	 * Changing this value changes the output.
+	 */
+	public void setIterationsPerRound(int iterationsPerRound) {
+		if( iterationsPerRound <= 0 )
+			throw new IllegalArgumentException("Must be more than zero");
+		this.iterationsPerRound = iterationsPerRound;
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+/**
+ * <p>
+ * Sequential Probability Ratio Test (SPRT) for quickly rejecting bad hypotheses while their inlier set is
+ * being computed [1].  After each point is checked against the model the likelihood ratio between the model
+ * being bad and the model being good is updated.  If the ratio exceeds a threshold the model is rejected
+ * without checking the remaining points.  The threshold is selected to minimize the expected run time, which
+ * is a function of how expensive it is to generate a model relative to checking a single point.
+ * </p>
+ *
+ * <p>
+ * Two probabilities are used: epsilon is the probability that a point is consistent with a good model, i.e.
+ * the inlier fraction, and delta is the probability that a point is consistent with a bad model.  Epsilon is
+ * updated each time a better model is found and delta is estimated from rejected models.
+ * </p>
+ *
+ * <p>
+ * [1] Matas, J. and Chum, O. "Randomized RANSAC with Sequential Probability Ratio Test" ICCV 2005
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SequentialProbabilityRatioTest {
+	// cost of generating a model relative to checking a single point against the model
+	protected double modelCost;
+
+	// initial values of epsilon and delta
+	protected double initialEpsilon;
+	protected double initialDelta;
+
+	// probability that a point is consistent with a good model
+	protected double epsilon;
+	// probability that a point is consistent with a bad model
+	protected double delta;
+
+	// if the likelihood ratio is more than this value the model is rejected
+	protected double threshold;
+
+	// change in the likelihood ratio for consistent and inconsistent points
+	protected double ratioConsistent;
+	protected double ratioInconsistent;
+
+	// the likelihood ratio for the current model
+	protected double lambda;
+
+	// statistics from rejected models which are used to estimate delta
+	protected long totalConsistent;
+	protected long totalTested;
+
+	/**
+	 * Configures the test.
+	 *
+	 * @param modelCost Cost of generating a single model in units of checking a single point.  Try 200.
+	 * @param epsilon Initial estimate of the inlier fraction.  Try 0.1.
+	 * @param delta Initial estimate of the fraction of points consistent with a bad model.  Try 0.01.
+	 */
+	public SequentialProbabilityRatioTest(double modelCost, double epsilon, double delta) {
+		if( epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1 )
+			throw new IllegalArgumentException("epsilon and delta must be between 0 and 1, exclusive");
+
+		this.modelCost = modelCost;
+		this.initialEpsilon = epsilon;
+		this.initialDelta = delta;
+
+		reset();
+	}
+
+	/**
+	 * Creates a new instance with the same configuration as the original
+	 */
+	public SequentialProbabilityRatioTest( SequentialProbabilityRatioTest original ) {
+		this(original.modelCost,original.initialEpsilon,original.initialDelta);
+	}
+
+	/**
+	 * Restores epsilon and delta to their initial values.  Should be called before a new data set is processed.
+	 */
+	public void reset() {
+		epsilon = initialEpsilon;
+		delta = initialDelta;
+		totalConsistent = 0;
+		totalTested = 0;
+		updateThreshold();
+	}
+
+	/**
+	 * Call before the first point of a new model is tested
+	 */
+	public void startModel() {
+		lambda = 1;
+	}
+
+	/**
+	 * Updates the likelihood ratio using the results from testing a single point.
+	 *
+	 * @param consistent true if the point is consistent with the model.
+	 * @return true if the model should continue to be tested, false if it has been rejected.
+	 */
+	public boolean update( boolean consistent ) {
+		if( consistent )
+			lambda *= ratioConsistent;
+		else
+			lambda *= ratioInconsistent;
+
+		return lambda <= threshold;
+	}
+
+	/**
+	 * Informs the test that a model was rejected and updates its estimate of delta.
+	 *
+	 * @param numConsistent Number of points tested which were consistent with the model.
+	 * @param numTested Number of points tested before being rejected.
+	 */
+	public void modelRejected( int numConsistent , int numTested ) {
+		totalConsistent += numConsistent;
+		totalTested += numTested;
+
+		double found = totalConsistent/(double)totalTested;
+
+		// avoid degenerate probabilities
+		found = Math.max(1e-6,Math.min(found,1-1e-6));
+
+		// only recompute the threshold if there is a significant change
+		if( Math.abs(found-delta) > 0.05*delta ) {
+			delta = found;
+			updateThreshold();
+		}
+	}
+
+	/**
+	 * Specifies the inlier fraction of the best model found so far.
+	 */
+	public void setInlierFraction( double epsilon ) {
+		this.epsilon = Math.max(1e-6,Math.min(epsilon,1-1e-6));
+		updateThreshold();
+	}
+
+	/**
+	 * Probability that a good model will be accepted by the test.
+	 */
+	public double getProbabilityAcceptGood() {
+		return 1.0 - 1.0/threshold;
+	}
+
+	private void updateThreshold() {
+		if( epsilon <= delta ) {
+			// a good model can't be distinguished from a bad model, never reject
+			threshold = Double.POSITIVE_INFINITY;
+			ratioConsistent = ratioInconsistent = 1;
+		} else {
+			threshold = computeThreshold(modelCost,epsilon,delta);
+			ratioConsistent = delta/epsilon;
+			ratioInconsistent = (1-delta)/(1-epsilon);
+		}
+	}
+
+	/**
+	 * Computes the optimal decision threshold, A, by solving A = modelCost*C + 1 + log(A) iteratively.
+	 * C is the expected information gained by testing a point.
+	 */
+	public static double computeThreshold( double modelCost , double epsilon , double delta ) {
+		double C = (1-delta)*Math.log((1-delta)/(1-epsilon)) + delta*Math.log(delta/epsilon);
+		double K = modelCost*C + 1;
+
+		double A = K;
+		for( int i = 0; i < 20; i++ ) {
+			double next = K + Math.log(A);
+			if( Math.abs(next-A) <= 1e-6*A ) {
+				A = next;
+				break;
+			}
+			A = next;
+		}
+		return A;
+	}
+
+	public double getModelCost() {
+		return modelCost;
+	}
+
+	public double getEpsilon() {
+		return epsilon;
+	}
+
+	public double getDelta() {
+		return delta;
+	}
+
+	public double getThreshold() {
+		return threshold;
+	}
+}
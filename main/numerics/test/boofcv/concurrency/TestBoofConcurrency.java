@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads = BoofConcurrency.getMaxThreads();
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks() {
+		BoofConcurrency.setMaxThreads(3);
+
+		final int counts[] = new int[103];
+		BoofConcurrency.loopBlocks(2,101,1,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ )
+					counts[i]++;
+			}
+		});
+
+		for( int i = 0; i < counts.length; i++ ) {
+			if( i < 2 || i >= 101 )
+				assertEquals(0,counts[i]);
+			else
+				assertEquals(1,counts[i]);
+		}
+	}
+
+	/**
+	 * The minimum block size should limit the number of blocks
+	 */
+	@Test
+	public void loopBlocks_minBlock() {
+		BoofConcurrency.setMaxThreads(8);
+
+		final AtomicInteger numBlocks = new AtomicInteger();
+		BoofConcurrency.loopBlocks(0,20,10,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				numBlocks.incrementAndGet();
+			}
+		});
+		assertEquals(2,numBlocks.get());
+	}
+
+	/**
+	 * Nested loops should not dead lock
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		BoofConcurrency.setMaxThreads(2);
+
+		final AtomicInteger total = new AtomicInteger();
+		BoofConcurrency.loopBlocks(0,10,1,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ ) {
+					BoofConcurrency.loopBlocks(0,10,1,new IntRangeTask() {
+						@Override
+						public void process(int start, int end) {
+							total.addAndGet(end-start);
+						}
+					});
+				}
+			}
+		});
+		assertEquals(100,total.get());
+	}
+
+	/**
+	 * Exceptions in worker threads are passed on to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		BoofConcurrency.setMaxThreads(2);
+
+		try {
+			BoofConcurrency.loopBlocks(0,10,1,new IntRangeTask() {
+				@Override
+				public void process(int start, int end) {
+					if( start == 0 )
+						throw new IllegalArgumentException("Test");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void loopTasks() {
+		BoofConcurrency.setMaxThreads(3);
+
+		final int counts[] = new int[5];
+		BoofConcurrency.loopTasks(5,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				assertEquals(start+1,end);
+				counts[start]++;
+			}
+		});
+
+		for( int i = 0; i < counts.length; i++ )
+			assertEquals(1,counts[i]);
+	}
+}
@@ -19,6 +19,10 @@
 package boofcv.numerics.fitting.modelset.lmeds;
 
 import boofcv.numerics.fitting.modelset.*;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -37,4 +41,18 @@ public class TestLeastMedianOfSquares extends GenericModelSetTests {
 												int minPoints, double fitThreshold) {
 		return new LeastMedianOfSquares<double[],Double>(4234,10,10000,fitThreshold,0.9,generator,distance);
 	}
+
+	@Test
+	public void canImprove() {
+		double errors[] = new double[]{5,1,2,8,9,3,0};
+
+		// median is 3
+		assertTrue(LeastMedianOfSquares.canImprove(errors,7,3.1));
+		assertFalse(LeastMedianOfSquares.canImprove(errors,7,3));
+		assertFalse(LeastMedianOfSquares.canImprove(errors,7,1));
+
+		// even number of elements, median is the element at index N/2 = 3
+		assertTrue(LeastMedianOfSquares.canImprove(errors,6,5.1));
+		assertFalse(LeastMedianOfSquares.canImprove(errors,6,5));
+	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.lmeds;
+
+import boofcv.numerics.fitting.modelset.*;
+import boofcv.numerics.fitting.modelset.distance.DistanceFromMeanModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLeastMedianOfSquares_MT extends GenericModelSetTests {
+
+	Random rand = new Random(234);
+
+	public TestLeastMedianOfSquares_MT() {
+		configure(0.9, 0.1, false);
+	}
+
+	@Override
+	public ModelMatcher<double[],Double> createModelMatcher(DistanceFromModel<double[],Double> distance,
+															ModelGenerator<double[],Double> generator,
+												ModelFitter<double[],Double> fitter,
+												int minPoints, double fitThreshold) {
+		return create(4234,10,10000,fitThreshold,0.9,3);
+	}
+
+	private LeastMedianOfSquares_MT<double[],Double> create( long seed , int sampleSize , int cycles ,
+															 double maxError , double inlierFrac , int numWorkers ) {
+		List<ModelGenerator<double[],Double>> generators = new ArrayList<ModelGenerator<double[],Double>>();
+		List<DistanceFromModel<double[],Double>> distances = new ArrayList<DistanceFromModel<double[],Double>>();
+
+		for( int i = 0; i < numWorkers; i++ ) {
+			generators.add( new MeanModelFitter());
+			distances.add( new DistanceFromMeanModel());
+		}
+
+		return new LeastMedianOfSquares_MT<double[],Double>(seed,sampleSize,cycles,maxError,inlierFrac,
+				generators,distances);
+	}
+
+	/**
+	 * Results should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( int numWorkers = 1; numWorkers <= 4; numWorkers++ ) {
+			LeastMedianOfSquares<double[],Double> expected = new LeastMedianOfSquares<double[],Double>(
+					2345,3,97,0.5,0.6,new MeanModelFitter(),new DistanceFromMeanModel());
+			LeastMedianOfSquares_MT<double[],Double> found = create(2345,3,97,0.5,0.6,numWorkers);
+
+			// process several data sets to make sure the state is handled correctly
+			for( int trial = 0; trial < 3; trial++ ) {
+				List<Double> dataSet = new ArrayList<Double>();
+				for (int i = 0; i < 150+trial*20; i++) {
+					if( rand.nextDouble() < 0.3 )
+						dataSet.add(50 + rand.nextDouble()*10);
+					else
+						dataSet.add(2 + rand.nextDouble()*0.5);
+				}
+
+				assertEquals(expected.process(dataSet),found.process(dataSet));
+
+				assertEquals(expected.getError(),found.getError(),0);
+				assertEquals(expected.getModel()[0],found.getModel()[0],0);
+				assertEquals(expected.getMatchSet().size(),found.getMatchSet().size());
+				for( int i = 0; i < expected.getMatchSet().size(); i++ ) {
+					assertEquals(expected.getInputIndex(i),found.getInputIndex(i));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void numWorkers() {
+		assertEquals(3,create(2345,3,97,0.5,0.6,3).getNumWorkers());
+		assertTrue(create(2345,3,97,0.5,0.6,1).process(createData()));
+	}
+
+	private List<Double> createData() {
+		List<Double> dataSet = new ArrayList<Double>();
+		for (int i = 0; i < 100; i++)
+			dataSet.add(2 + rand.nextDouble()*0.1);
+		return dataSet;
+	}
+}
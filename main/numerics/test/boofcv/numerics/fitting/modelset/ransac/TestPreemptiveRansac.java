@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+import boofcv.numerics.fitting.modelset.*;
+import boofcv.numerics.fitting.modelset.distance.DistanceFromMeanModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPreemptiveRansac extends GenericModelSetTests {
+
+	Random rand = new Random(234);
+
+	public TestPreemptiveRansac() {
+		configure(0.9, 0.05, true);
+	}
+
+	@Override
+	public ModelMatcher<double[],Double> createModelMatcher(DistanceFromModel<double[],Double> distance,
+															ModelGenerator<double[],Double> generator,
+															ModelFitter<double[],Double> fitter,
+															int minPoints,
+															double fitThreshold) {
+		PreemptiveRansac<double[],Double> ret =
+				new PreemptiveRansac<double[],Double>(344, generator, distance, 200, 20, fitThreshold);
+		ret.setSampleSize(minPoints);
+
+		return ret;
+	}
+
+	/**
+	 * Sort should be in descending order and stable
+	 */
+	@Test
+	public void sortActive() {
+		PreemptiveRansac<double[],Double> alg = new PreemptiveRansac<double[],Double>(344,
+				new MeanModelFitter(), new DistanceFromMeanModel(), 10, 20, 1);
+
+		alg.scores = new int[]{2,5,1,5,3,0};
+		alg.active = new int[]{0,1,2,3,4,5};
+
+		alg.sortActive(5);
+
+		int expected[] = new int[]{1,3,4,0,2,5};
+		for( int i = 0; i < expected.length; i++ )
+			assertEquals(expected[i],alg.active[i]);
+	}
+
+	/**
+	 * If the block size is larger than the data set it should select the best hypothesis after one block
+	 */
+	@Test
+	public void singleBlock() {
+		List<Double> dataSet = new ArrayList<Double>();
+		for (int i = 0; i < 100; i++) {
+			if( i % 4 == 0 )
+				dataSet.add(50 + rand.nextDouble());
+			else
+				dataSet.add(2 + rand.nextDouble()*0.1);
+		}
+
+		PreemptiveRansac<double[],Double> alg = new PreemptiveRansac<double[],Double>(344,
+				new MeanModelFitter(), new DistanceFromMeanModel(), 20, 500, 0.2);
+
+		assertTrue(alg.process(dataSet));
+		assertEquals(75,alg.getMatchSet().size());
+		assertEquals(2.05,alg.getModel()[0],0.1);
+	}
+
+	/**
+	 * Data set with a single point, which is the minimum needed by the model
+	 */
+	@Test
+	public void singlePoint() {
+		List<Double> dataSet = new ArrayList<Double>();
+		dataSet.add(3.0);
+
+		PreemptiveRansac<double[],Double> alg = new PreemptiveRansac<double[],Double>(344,
+				new MeanModelFitter(), new DistanceFromMeanModel(), 20, 500, 0.2);
+
+		assertTrue(alg.process(dataSet));
+		assertEquals(1,alg.getMatchSet().size());
+		assertEquals(0,alg.getInputIndex(0));
+		assertEquals(3.0,alg.getModel()[0],1e-8);
+	}
+
+	/**
+	 * The number of hypotheses and the block size must be positive, whether set by the constructor or a setter
+	 */
+	@Test
+	public void checkPositiveParameters() {
+		PreemptiveRansac<double[],Double> alg = new PreemptiveRansac<double[],Double>(344,
+				new MeanModelFitter(), new DistanceFromMeanModel(), 20, 500, 0.2);
+
+		for( int value : new int[]{0,-1} ) {
+			try {
+				alg.setNumHypotheses(value);
+				fail("Exception should have been thrown");
+			} catch( IllegalArgumentException ignore ) {}
+			try {
+				alg.setBlockSize(value);
+				fail("Exception should have been thrown");
+			} catch( IllegalArgumentException ignore ) {}
+			try {
+				new PreemptiveRansac<double[],Double>(344,
+						new MeanModelFitter(), new DistanceFromMeanModel(), value, 500, 0.2);
+				fail("Exception should have been thrown");
+			} catch( IllegalArgumentException ignore ) {}
+			try {
+				new PreemptiveRansac<double[],Double>(344,
+						new MeanModelFitter(), new DistanceFromMeanModel(), 20, value, 0.2);
+				fail("Exception should have been thrown");
+			} catch( IllegalArgumentException ignore ) {}
+		}
+
+		assertEquals(20,alg.getNumHypotheses());
+		assertEquals(500,alg.getBlockSize());
+	}
+}
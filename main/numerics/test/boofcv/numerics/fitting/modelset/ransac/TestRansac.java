@@ -19,6 +19,7 @@
 package boofcv.numerics.fitting.modelset.ransac;
 
 import boofcv.numerics.fitting.modelset.*;
+import boofcv.numerics.fitting.modelset.distance.DistanceFromMeanModel;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -137,6 +138,116 @@ public class TestRansac extends GenericModelSetTests {
 		assertEquals(15, initSet.size());
 	}
 
+	/**
+	 * Draw points using an array of indexes and see if the input list is modified
+	 */
+	@SuppressWarnings({"NumberEquality"})
+	@Test
+	public void randomDraw_indexes() {
+		List<Integer> dataSet = new ArrayList<Integer>();
+		int indexes[] = new int[200];
+
+		for (int i = 0; i < 200; i++) {
+			dataSet.add(i);
+			indexes[i] = i;
+		}
+
+		List<Integer> initSet = new ArrayList<Integer>();
+		for( int trial = 0; trial < 2; trial++ ) {
+			Ransac.randomDraw(dataSet, 150, indexes, initSet, rand);
+
+			assertEquals(150, initSet.size());
+
+			// make sure only one copy is in the init set
+			for (int i = 0; i < initSet.size(); i++) {
+				for (int j = i + 1; j < initSet.size(); j++) {
+					if (initSet.get(i) == initSet.get(j)) {
+						fail("Multiple copies in initSet");
+					}
+				}
+			}
+		}
+
+		// the data set should not be modified and indexes should still be a permutation
+		boolean found[] = new boolean[200];
+		for (int i = 0; i < 200; i++) {
+			assertEquals(i,(int)dataSet.get(i));
+			found[indexes[i]] = true;
+		}
+		for (int i = 0; i < 200; i++) {
+			assertTrue(found[i]);
+		}
+	}
+
+	@Test
+	public void computeIterationLimit() {
+		// compare against the equation
+		double expected = Math.log(1-0.99)/Math.log(1-Math.pow(0.5,4));
+		assertEquals((int)Math.ceil(expected),Ransac.computeIterationLimit(0.99,50,100,4));
+
+		// more inliers should require fewer iterations
+		assertTrue(Ransac.computeIterationLimit(0.99,80,100,4) < Ransac.computeIterationLimit(0.99,50,100,4));
+
+		// pathological cases
+		assertEquals(0,Ransac.computeIterationLimit(0.99,100,100,4));
+		assertEquals(Integer.MAX_VALUE,Ransac.computeIterationLimit(0.99,0,100,4));
+	}
+
+	/**
+	 * With early termination turned on it should need fewer iterations on an easy problem
+	 */
+	@Test
+	public void earlyTermination() {
+		List<Double> dataSet = new ArrayList<Double>();
+		for (int i = 0; i < 100; i++) {
+			if( i % 5 == 0 )
+				dataSet.add(50 + rand.nextDouble());
+			else
+				dataSet.add(2 + rand.nextDouble()*0.1);
+		}
+
+		MeanModelFitter fitter = new MeanModelFitter();
+		Ransac<double[],Double> alg = new Ransac<double[],Double>(234,fitter,new DistanceFromMeanModel(),
+				500, 0.2);
+
+		assertTrue(alg.process(dataSet));
+		assertEquals(500, alg.getIteration());
+		int numMatched = alg.getMatchSet().size();
+
+		alg.setConfidence(0.99);
+		assertTrue(alg.process(dataSet));
+		assertTrue(alg.getIteration() < 50);
+		assertEquals(numMatched, alg.getMatchSet().size());
+	}
+
+	/**
+	 * Turn on SPRT and see if it still finds the correct solution
+	 */
+	@Test
+	public void sprt() {
+		List<Double> dataSet = new ArrayList<Double>();
+		for (int i = 0; i < 1000; i++) {
+			if( i % 2 == 0 )
+				dataSet.add(50 + rand.nextDouble()*100);
+			else
+				dataSet.add(2 + rand.nextDouble()*0.1);
+		}
+
+		MeanModelFitter fitter = new MeanModelFitter();
+		Ransac<double[],Double> alg = new Ransac<double[],Double>(234,fitter,new DistanceFromMeanModel(),
+				200, 0.2);
+		alg.setSprt(new SequentialProbabilityRatioTest(50,0.1,0.01));
+
+		assertTrue(alg.process(dataSet));
+		assertEquals(500, alg.getMatchSet().size());
+		assertEquals(2.05, alg.getModel()[0], 0.05);
+		// should have learned the inlier fraction
+		assertEquals(0.5, alg.getSprt().getEpsilon(), 1e-8);
+		for( int i = 0; i < alg.getMatchSet().size(); i++ ) {
+			assertTrue(dataSet.get(alg.getInputIndex(i)) == alg.getMatchSet().get(i));
+		}
+	}
+
 	/**
 	 * See if it will select models with more of the correct points in it
 	 */
@@ -187,7 +298,9 @@ public class TestRansac extends GenericModelSetTests {
 
 		@Override
 		public void computeDistance(List<Integer> points, double[] distance) {
-			throw new RuntimeException("Why was this called?");
+			for (int i = 0; i < points.size(); i++) {
+				distance[i] = computeDistance(points.get(i));
+			}
 		}
 
 		@Override
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+import boofcv.numerics.fitting.modelset.*;
+import boofcv.numerics.fitting.modelset.distance.DistanceFromMeanModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRansac_MT extends GenericModelSetTests {
+
+	Random rand = new Random(234);
+
+	public TestRansac_MT() {
+		configure(0.9, 0.05, true);
+	}
+
+	@Override
+	public ModelMatcher<double[],Double> createModelMatcher(DistanceFromModel<double[],Double> distance,
+															ModelGenerator<double[],Double> generator,
+															ModelFitter<double[],Double> fitter,
+															int minPoints,
+															double fitThreshold) {
+		Ransac_MT<double[],Double> ret = create(344,3,200,fitThreshold);
+		ret.setSampleSize(minPoints);
+
+		return ret;
+	}
+
+	private Ransac_MT<double[],Double> create( long seed , int numWorkers , int maxIterations , double fitThreshold ) {
+		List<ModelGenerator<double[],Double>> generators = new ArrayList<ModelGenerator<double[],Double>>();
+		List<DistanceFromModel<double[],Double>> distances = new ArrayList<DistanceFromModel<double[],Double>>();
+
+		for( int i = 0; i < numWorkers; i++ ) {
+			generators.add( new MeanModelFitter());
+			distances.add( new DistanceFromMeanModel());
+		}
+
+		return new Ransac_MT<double[],Double>(seed, generators, distances, maxIterations, fitThreshold);
+	}
+
+	private List<Double> createData( int N , double fracOutlier ) {
+		List<Double> dataSet = new ArrayList<Double>();
+		for (int i = 0; i < N; i++) {
+			if( rand.nextDouble() < fracOutlier )
+				dataSet.add(50 + rand.nextDouble()*10);
+			else
+				dataSet.add(2 + rand.nextDouble()*0.5);
+		}
+		return dataSet;
+	}
+
+	/**
+	 * The same seed should always produce the same results
+	 */
+	@Test
+	public void deterministic() {
+		List<Double> dataSet = createData(300,0.4);
+
+		for( int trial = 0; trial < 5; trial++ ) {
+			Ransac_MT<double[],Double> algA = create(2345,4,100,0.2);
+			Ransac_MT<double[],Double> algB = create(2345,4,100,0.2);
+
+			// require more than one point so that the best inlier set is not trivially unique
+			algA.setSampleSize(3);
+			algB.setSampleSize(3);
+
+			assertTrue(algA.process(dataSet));
+			assertTrue(algB.process(dataSet));
+
+			assertEquals(algA.getModel()[0],algB.getModel()[0],0);
+			assertEquals(algA.getMatchSet().size(),algB.getMatchSet().size());
+			for( int i = 0; i < algA.getMatchSet().size(); i++ ) {
+				assertEquals(algA.getInputIndex(i),algB.getInputIndex(i));
+			}
+		}
+	}
+
+	/**
+	 * With a single worker it should produce the same solution as a single threaded Ransac with the
+	 * first seed generated from the original seed
+	 */
+	@Test
+	public void singleWorkerSameAsSerial() {
+		List<Double> dataSet = createData(300,0.4);
+
+		Ransac_MT<double[],Double> algMT = create(2345,1,100,0.2);
+		Ransac<double[],Double> alg = new Ransac<double[],Double>(new Random(2345).nextLong(),
+				new MeanModelFitter(),new DistanceFromMeanModel(),100,0.2);
+		algMT.setSampleSize(3);
+		alg.setSampleSize(3);
+
+		assertTrue(algMT.process(dataSet));
+		assertTrue(alg.process(dataSet));
+
+		assertEquals(alg.getModel()[0],algMT.getModel()[0],0);
+		assertEquals(alg.getMatchSet().size(),algMT.getMatchSet().size());
+	}
+
+	@Test
+	public void sprt() {
+		List<Double> dataSet = createData(500,0.4);
+
+		Ransac_MT<double[],Double> alg = create(234,3,100,0.6);
+		alg.setSprt(new SequentialProbabilityRatioTest(50,0.1,0.01));
+
+		assertTrue(alg.process(dataSet));
+		int numInliers = 0;
+		for( double d : dataSet )
+			if( d < 10 ) numInliers++;
+		assertEquals(numInliers, alg.getMatchSet().size());
+	}
+
+	@Test
+	public void earlyTermination() {
+		List<Double> dataSet = createData(100,0.2);
+
+		Ransac_MT<double[],Double> alg = create(234,3,600,0.6);
+
+		assertTrue(alg.process(dataSet));
+		assertEquals(600, alg.getIteration());
+
+		alg.setConfidence(0.99);
+		assertTrue(alg.process(dataSet));
+		assertTrue(alg.getIteration() < 600);
+	}
+}
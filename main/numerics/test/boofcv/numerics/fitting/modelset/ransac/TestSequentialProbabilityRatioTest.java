@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.numerics.fitting.modelset.ransac;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSequentialProbabilityRatioTest {
+
+	/**
+	 * The threshold should be the solution to A = K*C + 1 + log(A)
+	 */
+	@Test
+	public void computeThreshold() {
+		double epsilon = 0.3, delta = 0.05, cost = 200;
+		double A = SequentialProbabilityRatioTest.computeThreshold(cost, epsilon, delta);
+
+		double C = (1-delta)*Math.log((1-delta)/(1-epsilon)) + delta*Math.log(delta/epsilon);
+		assertEquals(cost*C + 1 + Math.log(A), A, 1e-4);
+		assertTrue(A > 1);
+	}
+
+	/**
+	 * A model with few consistent points should be rejected quickly and a model with the expected number of
+	 * consistent points should never be rejected
+	 */
+	@Test
+	public void rejectBadAcceptGood() {
+		SequentialProbabilityRatioTest alg = new SequentialProbabilityRatioTest(200,0.5,0.05);
+
+		// bad model
+		alg.startModel();
+		int numTested = 0;
+		while( alg.update(false) )
+			numTested++;
+		assertTrue(numTested < 20);
+
+		// good model
+		alg.startModel();
+		for( int i = 0; i < 1000; i++ ) {
+			assertTrue(alg.update(i % 2 == 0));
+		}
+	}
+
+	@Test
+	public void modelRejected_updateDelta() {
+		SequentialProbabilityRatioTest alg = new SequentialProbabilityRatioTest(200,0.5,0.05);
+
+		double before = alg.getThreshold();
+		alg.modelRejected(10,50);
+		assertEquals(0.2,alg.getDelta(),1e-8);
+		assertTrue(before != alg.getThreshold());
+
+		// small change should be ignored
+		alg.modelRejected(201,1000);
+		assertEquals(0.2,alg.getDelta(),1e-8);
+	}
+
+	/**
+	 * If a good model can't be distinguished from a bad one then it should never reject
+	 */
+	@Test
+	public void degenerate() {
+		SequentialProbabilityRatioTest alg = new SequentialProbabilityRatioTest(200,0.5,0.05);
+		alg.setInlierFraction(0.01);
+
+		alg.startModel();
+		for( int i = 0; i < 1000; i++ )
+			assertTrue(alg.update(false));
+		assertEquals(1,alg.getProbabilityAcceptGood(),1e-8);
+	}
+
+	@Test
+	public void reset() {
+		SequentialProbabilityRatioTest alg = new SequentialProbabilityRatioTest(200,0.5,0.05);
+		double threshold = alg.getThreshold();
+
+		alg.setInlierFraction(0.8);
+		alg.modelRejected(10,50);
+		alg.reset();
+
+		assertEquals(0.5,alg.getEpsilon(),1e-8);
+		assertEquals(0.05,alg.getDelta(),1e-8);
+		assertEquals(threshold,alg.getThreshold(),1e-8);
+	}
+}
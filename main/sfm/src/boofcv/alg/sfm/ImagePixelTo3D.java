@@ -18,6 +18,10 @@
 
 package boofcv.alg.sfm;
 
+import georegression.struct.point.Point2D_F64;
+
+import java.util.List;
+
 /**
  * <p>
  * Generalized interface for sensors which allow pixels in an image to be converted into
@@ -53,6 +57,17 @@ public interface ImagePixelTo3D {
 	 */
 	public boolean process( double x , double y );
 
+	/**
+	 * Estimates the location of several pixels in 3D camera coordinates in a single call.  Implementations
+	 * can share calculations between pixels.
+	 *
+	 * @param pixels Pixel coordinates.
+	 * @param found (Output) Homogeneous coordinate (x,y,z,w) of each pixel stored one after another.  w is set
+	 *              to NaN if a position could not be estimated.  Must have at least 4*pixels.size() elements.
+	 * @return Number of pixels whose position could be estimated.
+	 */
+	public int process( List<Point2D_F64> pixels , double found[] );
+
 	/**
 	 * Found x-coordinate of point in camera coordinate system.
 	 *
@@ -9,6 +9,8 @@ import georegression.geometry.GeometryMath_F64;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 
+import java.util.List;
+
 /**
  * Computes stereo disparity on a per pixel basis as requested.
  *
@@ -42,6 +44,13 @@ public class StereoSparse3D<T extends ImageSingleBand>
 	// 3D coordinate in the left camera
 	private Point3D_F64 pointLeft = new Point3D_F64();
 
+	// storage for processing a batch of pixels
+	private double batchRectX[] = new double[0];
+	private double batchRectY[] = new double[0];
+	private int batchX[] = new int[0];
+	private int batchY[] = new int[0];
+	private double batchDisparity[] = new double[0];
+
 	/**
 	 * Configures and declares internal data
 	 *
@@ -87,11 +96,64 @@ public class StereoSparse3D<T extends ImageSingleBand>
 		if( !disparity.process((int)(pixelRect.x+0.5),(int)(pixelRect.y+0.5)) )
 			return false;
 
+		computePoint(pixelRect.x,pixelRect.y,disparity.getDisparity());
+
+		return true;
+	}
+
+	/**
+	 * Takes in pixel coordinates from the left camera in the original image coordinate system.  Disparity
+	 * for all the pixels is computed in a single call to {@link StereoDisparitySparse}.
+	 */
+	@Override
+	public int process( List<Point2D_F64> pixels , double found[] ) {
+		int N = pixels.size();
+		if( batchX.length < N ) {
+			batchRectX = new double[N];
+			batchRectY = new double[N];
+			batchX = new int[N];
+			batchY = new int[N];
+			batchDisparity = new double[N];
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			Point2D_F64 p = pixels.get(i);
+			leftPixelToRect.compute(p.x,p.y,pixelRect);
+			batchRectX[i] = pixelRect.x;
+			batchRectY[i] = pixelRect.y;
+			// round to the nearest pixel
+			batchX[i] = (int)(pixelRect.x+0.5);
+			batchY[i] = (int)(pixelRect.y+0.5);
+		}
+
+		int numFound = disparity.process(batchX,batchY,N,batchDisparity);
+
+		for( int i = 0, index = 0; i < N; i++ ) {
+			if( Double.isNaN(batchDisparity[i]) ) {
+				found[index+3] = Double.NaN;
+			} else {
+				computePoint(batchRectX[i],batchRectY[i],batchDisparity[i]);
+				found[index] = x;
+				found[index+1] = y;
+				found[index+2] = z;
+				found[index+3] = w;
+			}
+			index += 4;
+		}
+
+		return numFound;
+	}
+
+	/**
+	 * Computes the homogeneous coordinate of a point in the left camera frame from its rectified
+	 * pixel coordinate and disparity.
+	 */
+	private void computePoint( double rectX , double rectY , double disparity ) {
 		// Coordinate in rectified camera frame
-		this.w = disparity.getDisparity();
+		this.w = disparity;
 		pointRect.z = baseline*fx;
-		pointRect.x = pointRect.z*(pixelRect.x - cx)/fx;
-		pointRect.y = pointRect.z*(pixelRect.y - cy)/fy;
+		pointRect.x = pointRect.z*(rectX - cx)/fx;
+		pointRect.y = pointRect.z*(rectY - cy)/fy;
 
 		// rotate into the original left camera frame
 		GeometryMath_F64.multTran(rectR,pointRect,pointLeft);
@@ -99,8 +161,6 @@ public class StereoSparse3D<T extends ImageSingleBand>
 		this.x = pointLeft.x;
 		this.y = pointLeft.y;
 		this.z = pointLeft.z;
-
-		return true;
 	}
 
 	@Override
@@ -53,6 +53,9 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	private List<PointPoseTrack> inlierTracks = new ArrayList<PointPoseTrack>();
 	// list of tracks which were just spawned
 	private List<PointPoseTrack> spawnedTracks = new ArrayList<PointPoseTrack>();
+	// pixel coordinates of newly spawned tracks and their estimated 3D location
+	private List<Point2D_F64> spawnedPixels = new ArrayList<Point2D_F64>();
+	private double spawnedLocation[] = new double[0];
 
 	// transform from key frame to world frame
 	private Se3_F64 keyToWorld = new Se3_F64();
@@ -185,18 +188,27 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		pixelTo3D.initialize();
 		List<PointPoseTrack> spawned = tracker.spawnTracks(null);
 
-		// estimate 3D coordinate using stereo vision
+		// estimate 3D coordinate using stereo vision, all the new tracks at once
+		spawnedPixels.clear();
 		for( PointPoseTrack p : spawned ) {
-			Point2D_F64 pixel = p.getPixel().p1;
+			spawnedPixels.add(p.getPixel().p1);
+		}
+		if( spawnedLocation.length < 4*spawned.size() )
+			spawnedLocation = new double[4*spawned.size()];
+		pixelTo3D.process(spawnedPixels,spawnedLocation);
+
+		for( int i = 0; i < spawned.size(); i++ ) {
+			PointPoseTrack p = spawned.get(i);
+			int index = i*4;
+			double w = spawnedLocation[index+3];
 
 			// discard point if it can't localized
-			if( !pixelTo3D.process(pixel.x,pixel.y) || pixelTo3D.getW() == 0 ) {
+			if( Double.isNaN(w) || w == 0 ) {
 				tracker.dropTrack(p);
 			} else {
 				Point3D_F64 X = p.getLocation();
 
-				double w = pixelTo3D.getW();
-				X.set(pixelTo3D.getX() / w, pixelTo3D.getY() / w, pixelTo3D.getZ() / w);
+				X.set(spawnedLocation[index] / w, spawnedLocation[index+1] / w, spawnedLocation[index+2] / w);
 
 				// translate the point into the key frame
 				// SePointOps_F64.transform(currToKey,X,X);
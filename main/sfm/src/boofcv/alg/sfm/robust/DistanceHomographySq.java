@@ -18,7 +18,7 @@
 
 package boofcv.alg.sfm.robust;
 
-import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.struct.geo.AssociatedPair;
 import georegression.struct.homo.Homography2D_F64;
 import georegression.struct.point.Point2D_F64;
@@ -35,14 +35,22 @@ import java.util.List;
  * distance have the same minimum, this exaggerates the magnitude of outliers.
  * The transform is applied to the "keyLoc".
  * </p>
+ *
+ * <p>
+ * For batch processing the observations are copied into arrays of coordinates.
+ * </p>
  * 
  * @author Peter Abeles
  */
-public class DistanceHomographySq implements DistanceFromModel<Homography2D_F64,AssociatedPair> {
+public class DistanceHomographySq implements DistanceFromModelBatch<Homography2D_F64,AssociatedPair> {
 
 	Homography2D_F64 model;
 	Point2D_F64 expected = new Point2D_F64();
 
+	// observations copied into arrays for batch processing
+	double x1[] = new double[0], y1[] = new double[0];
+	double x2[] = new double[0], y2[] = new double[0];
+
 	@Override
 	public void setModel(Homography2D_F64 model ) {
 		this.model = model;
@@ -64,4 +72,36 @@ public class DistanceHomographySq implements DistanceFromModel<Homography2D_F64,
 			distance[i] = expected.distance2(p.p2);
 		}
 	}
+
+	@Override
+	public void setPoints(List<AssociatedPair> points) {
+		int N = points.size();
+		if( x1.length < N ) {
+			x1 = new double[N]; y1 = new double[N];
+			x2 = new double[N]; y2 = new double[N];
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			AssociatedPair p = points.get(i);
+			x1[i] = p.p1.x; y1[i] = p.p1.y;
+			x2[i] = p.p2.x; y2[i] = p.p2.y;
+		}
+	}
+
+	@Override
+	public void computeDistance(int start, int end, double[] distance) {
+		final double a11 = model.a11, a12 = model.a12, a13 = model.a13;
+		final double a21 = model.a21, a22 = model.a22, a23 = model.a23;
+		final double a31 = model.a31, a32 = model.a32, a33 = model.a33;
+
+		for( int i = start; i < end; i++ ) {
+			double x = x1[i], y = y1[i];
+
+			double z = a31*x + a32*y + a33;
+			double dx = (a11*x + a12*y + a13)/z - x2[i];
+			double dy = (a21*x + a22*y + a23)/z - y2[i];
+
+			distance[i-start] = dx*dx + dy*dy;
+		}
+	}
 }
@@ -3,7 +3,9 @@ package boofcv.alg.sfm.robust;
 import boofcv.abst.geo.TriangulateTwoViewsCalibrated;
 import boofcv.alg.geo.DistanceModelStereoPixels;
 import boofcv.alg.geo.NormalizedToPixelError;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import boofcv.struct.geo.AssociatedPair;
+import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
@@ -36,9 +38,15 @@ import java.util.List;
  * NOTE: The provided transform must be from the key frame into the current frame.
  * </p>
  *
+ * <p>
+ * For batch processing the observations are copied into arrays of coordinates.
+ * </p>
+ *
  * @author Peter Abeles
  */
-public class DistanceSe3SymmetricSq implements DistanceModelStereoPixels<Se3_F64,AssociatedPair> {
+public class DistanceSe3SymmetricSq implements DistanceModelStereoPixels<Se3_F64,AssociatedPair>,
+		DistanceFromModelBatch<Se3_F64,AssociatedPair>
+{
 
 	// transform from key frame to current frame
 	private Se3_F64 keyToCurr;
@@ -46,6 +54,12 @@ public class DistanceSe3SymmetricSq implements DistanceModelStereoPixels<Se3_F64
 	private TriangulateTwoViewsCalibrated triangulate;
 	// working storage
 	private Point3D_F64 p = new Point3D_F64();
+	private Point2D_F64 obsKey = new Point2D_F64();
+	private Point2D_F64 obsCurr = new Point2D_F64();
+
+	// observations copied into arrays for batch processing
+	private double x1[] = new double[0], y1[] = new double[0];
+	private double x2[] = new double[0], y2[] = new double[0];
 
 	// Used to compute error in pixels
 	private NormalizedToPixelError errorKey;
@@ -129,4 +143,55 @@ public class DistanceSe3SymmetricSq implements DistanceModelStereoPixels<Se3_F64
 			distance[i] = computeDistance(obs);
 		}
 	}
+
+	@Override
+	public void setPoints(List<AssociatedPair> points) {
+		int N = points.size();
+		if( x1.length < N ) {
+			x1 = new double[N]; y1 = new double[N];
+			x2 = new double[N]; y2 = new double[N];
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			AssociatedPair obs = points.get(i);
+			x1[i] = obs.p1.x; y1[i] = obs.p1.y;
+			x2[i] = obs.p2.x; y2[i] = obs.p2.y;
+		}
+	}
+
+	@Override
+	public void computeDistance(int start, int end, double[] distance) {
+		final double R[] = keyToCurr.getR().data;
+		final double r11 = R[0], r12 = R[1], r13 = R[2];
+		final double r21 = R[3], r22 = R[4], r23 = R[5];
+		final double r31 = R[6], r32 = R[7], r33 = R[8];
+		final double tx = keyToCurr.getT().x, ty = keyToCurr.getT().y, tz = keyToCurr.getT().z;
+
+		for( int i = start; i < end; i++ ) {
+			obsKey.set(x1[i],y1[i]);
+			obsCurr.set(x2[i],y2[i]);
+
+			// triangulate the point in 3D space
+			triangulate.triangulate(obsKey,obsCurr,keyToCurr,p);
+
+			if( p.z < 0 ) {
+				distance[i-start] = Double.MAX_VALUE;
+				continue;
+			}
+
+			// compute observational error in each view
+			double error = errorKey.errorSq(x1[i],y1[i],p.x/p.z,p.y/p.z);
+
+			double x = r11*p.x + r12*p.y + r13*p.z + tx;
+			double y = r21*p.x + r22*p.y + r23*p.z + ty;
+			double z = r31*p.x + r32*p.y + r33*p.z + tz;
+
+			if( z < 0 ) {
+				distance[i-start] = Double.MAX_VALUE;
+				continue;
+			}
+
+			distance[i-start] = error + errorCurr.errorSq(x2[i],y2[i], x/z , y/z);
+		}
+	}
 }
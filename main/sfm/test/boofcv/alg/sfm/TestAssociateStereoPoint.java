@@ -79,6 +79,9 @@ public class TestAssociateStereoPoint {
 		@Override
 		public boolean process(int x, int y) {return true;}
 
+		@Override
+		public int process(int[] x, int[] y, int numPoints, double[] disparity) {return 0;}
+
 		@Override
 		public double getDisparity() {
 			return disparity;
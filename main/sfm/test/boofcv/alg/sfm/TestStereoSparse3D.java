@@ -13,6 +13,9 @@ import georegression.struct.se.Se3_F64;
 import org.ejml.data.DenseMatrix64F;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -81,9 +84,42 @@ public class TestStereoSparse3D {
 
 	}
 
+	/**
+	 * Processing a batch of pixels should produce the same results as processing them one at a time
+	 */
+	@Test
+	public void process_batch() {
+		Dummy disparity = new Dummy();
+		disparity.d = 12.5;
+		disparity.failIndex = 1;
+		StereoSparse3D alg = new StereoSparse3D(disparity, ImageFloat32.class);
+
+		alg.setCalibration(param);
+
+		List<Point2D_F64> pixels = new ArrayList<Point2D_F64>();
+		pixels.add(new Point2D_F64(320,240));
+		pixels.add(new Point2D_F64(400,100));
+		pixels.add(new Point2D_F64(100.3,50.6));
+
+		double found[] = new double[4*pixels.size()];
+		assertEquals(2,alg.process(pixels,found));
+
+		assertTrue(Double.isNaN(found[7]));
+		for( int i : new int[]{0,2} ) {
+			Point2D_F64 p = pixels.get(i);
+			assertTrue(alg.process(p.x,p.y));
+			assertEquals(alg.getX(),found[i*4],1e-8);
+			assertEquals(alg.getY(),found[i*4+1],1e-8);
+			assertEquals(alg.getZ(),found[i*4+2],1e-8);
+			assertEquals(alg.getW(),found[i*4+3],1e-8);
+		}
+	}
+
 	private static class Dummy implements StereoDisparitySparse {
 
 		double d;
+		// index of the point in a batch which fails
+		int failIndex = -1;
 
 		@Override
 		public void setImages(ImageSingleBand imageLeft, ImageSingleBand imageRight) {}
@@ -91,6 +127,20 @@ public class TestStereoSparse3D {
 		@Override
 		public boolean process(int x, int y) {return true;}
 
+		@Override
+		public int process(int[] x, int[] y, int numPoints, double[] disparity) {
+			int numFound = 0;
+			for( int i = 0; i < numPoints; i++ ) {
+				if( i == failIndex ) {
+					disparity[i] = Double.NaN;
+				} else {
+					disparity[i] = d;
+					numFound++;
+				}
+			}
+			return numFound;
+		}
+
 		@Override
 		public double getDisparity() {
 			return d;
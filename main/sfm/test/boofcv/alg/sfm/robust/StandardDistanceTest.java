@@ -19,6 +19,7 @@
 package boofcv.alg.sfm.robust;
 
 import boofcv.numerics.fitting.modelset.DistanceFromModel;
+import boofcv.numerics.fitting.modelset.DistanceFromModelBatch;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -79,4 +80,32 @@ public abstract class StandardDistanceTest<Model,Data> {
 			assertEquals(expected[i],found[i],1e-4);
 		}
 	}
+
+	/**
+	 * If batch processing is supported see if a range of points produces the same results
+	 */
+	@Test
+	public void testBatch() {
+		DistanceFromModel<Model,Data> alg = create();
+		if( !(alg instanceof DistanceFromModelBatch) )
+			return;
+		DistanceFromModelBatch<Model,Data> batch = (DistanceFromModelBatch<Model,Data>)alg;
+
+		Model m = createRandomModel();
+
+		List<Data> obs = new ArrayList<Data>();
+		for( int i = 0; i < 10; i++ ) {
+			obs.add(createRandomData());
+		}
+
+		batch.setPoints(obs);
+		batch.setModel(m);
+
+		double found[] = new double[10];
+		batch.computeDistance(3,9,found);
+
+		for( int i = 3; i < 9; i++ ) {
+			assertEquals(distance(m,obs.get(i)),found[i-3],1e-4);
+		}
+	}
 }
@@ -14,6 +14,10 @@ import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.CommonOps;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -96,6 +100,48 @@ public class TestDistanceSe3SymmetricSq {
 		assertTrue(Double.MAX_VALUE == alg.computeDistance(obs));
 	}
 
+	/**
+	 * Compare batch processing against computing the distance one point at a time
+	 */
+	@Test
+	public void testBatch() {
+		Random rand = new Random(234);
+
+		Se3_F64 keyToCurr = new Se3_F64();
+		keyToCurr.getR().set(RotationMatrixGenerator.eulerArbitrary(0, 1, 2, 0.05, -0.03, 0.02));
+		keyToCurr.getT().set(0.1,-0.1,0.01);
+
+		List<AssociatedPair> list = new ArrayList<AssociatedPair>();
+		for( int i = 0; i < 20; i++ ) {
+			// some points will be behind the camera
+			Point3D_F64 X = new Point3D_F64(rand.nextGaussian()*0.2,rand.nextGaussian()*0.2,
+					i % 5 == 0 ? -3 : 3 + rand.nextGaussian()*0.2);
+
+			AssociatedPair obs = new AssociatedPair();
+
+			obs.p1.x = X.x/X.z + rand.nextGaussian()*0.01;
+			obs.p1.y = X.y/X.z + rand.nextGaussian()*0.01;
+
+			SePointOps_F64.transform(keyToCurr,X,X);
+
+			obs.p2.x = X.x/X.z + rand.nextGaussian()*0.01;
+			obs.p2.y = X.y/X.z + rand.nextGaussian()*0.01;
+
+			list.add(obs);
+		}
+
+		alg.setIntrinsic(100,110,0.1,120,130,0);
+		alg.setPoints(list);
+		alg.setModel(keyToCurr);
+
+		double found[] = new double[20];
+		alg.computeDistance(2,20,found);
+
+		for( int i = 2; i < 20; i++ ) {
+			assertEquals(alg.computeDistance(list.get(i)),found[i-2],1e-8);
+		}
+	}
+
 	/**
 	 * Manually compute the error using a calibration matrix and see if they match
 	 */